@@ -482,4 +482,16 @@ public interface GridScapeConfig extends Config
 	{
 		return "";
 	}
+
+	@ConfigItem(
+		keyName = "autoCompleteTasks",
+		name = "Auto-complete tasks",
+		description = "Mark revealed tasks as completed when the game reports them done (levels reached, items obtained, kill counts, collection log, quests, clues). You still click Claim to earn points.",
+		position = 8,
+		section = taskSection
+	)
+	default boolean autoCompleteTasks()
+	{
+		return true;
+	}
 }
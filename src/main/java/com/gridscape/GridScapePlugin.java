@@ -29,6 +29,10 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.MenuEntryAdded;
+import net.runelite.api.events.VarClientIntChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.events.ProfileChanged;
 import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.config.ConfigManager;
@@ -61,6 +65,10 @@ public class GridScapePlugin extends Plugin
 	/** Config group for persisted state (unlocked areas, task progress, etc.). */
 	private static final String STATE_GROUP = com.gridscape.util.GridScapeConfigConstants.STATE_GROUP;
 	private static final String KEY_MIGRATION_DONE = "migrationFromLeagueScapeDone";
+	/** Plugin config keys that task grid generation reads; changing one triggers a background grid rebuild. */
+	private static final Set<String> GRID_CONFIG_KEYS = new java.util.HashSet<>(java.util.Arrays.asList(
+		"taskMode", "unlockMode", "startingArea", "tasksFilePath",
+		"taskTier1Points", "taskTier2Points", "taskTier3Points", "taskTier4Points", "taskTier5Points"));
 
 	/** Registers Escape key to close the given window (dispose). Call after creating a JDialog/JFrame. */
 	public static void registerEscapeToClose(java.awt.Window window)
@@ -115,6 +123,12 @@ public class GridScapePlugin extends Plugin
 	@Inject
 	private Provider<com.gridscape.task.TaskGridService> taskGridServiceProvider;
 
+	@Inject
+	private com.gridscape.task.QuestStateService questStateService;
+
+	@Inject
+	private com.gridscape.task.TaskAutoCompletionService taskAutoCompletionService;
+
 	@Inject
 	private OverlayManager overlayManager;
 
@@ -165,6 +179,7 @@ public class GridScapePlugin extends Plugin
 		log.info("GridScape started!");
 		migrateLegacyConfigAndStateIfNeeded();
 		eventBus.register(lockEnforcer);
+		eventBus.register(taskAutoCompletionService);
 		pointsService.loadFromConfig();
 		areaCompletionService.loadFromConfig();
 		// Apply configured starting points when no persisted state exists (first run)
@@ -331,6 +346,7 @@ public class GridScapePlugin extends Plugin
 	{
 		log.info("GridScape stopped!");
 		stopAreaEditing();
+		taskGridServiceProvider.get().shutDown();
 		eventBus.unregister(this);
 		if (mapMouseListenerRegistered)
 		{
@@ -348,6 +364,7 @@ public class GridScapePlugin extends Plugin
 			areaEditOverlay = null;
 		}
 		eventBus.unregister(lockEnforcer);
+		eventBus.unregister(taskAutoCompletionService);
 		if (navButton != null)
 		{
 			clientToolbar.removeNavigation(navButton);
@@ -622,7 +639,46 @@ public class GridScapePlugin extends Plugin
 	public void onGameStateChanged(GameStateChanged event)
 	{
 		if (event.getGameState() == net.runelite.api.GameState.LOGGED_IN)
+		{
+			questStateService.markStale();
 			clientThread.invokeLater(this::tryOpenSetupForFirstTime);
+		}
+		else if (event.getGameState() == net.runelite.api.GameState.LOGIN_SCREEN)
+			questStateService.clear();
+	}
+
+	@Subscribe
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		// Quest progress lives in varbits/varps; quest states are re-read on the next requirement check
+		questStateService.markStale();
+	}
+
+	@Subscribe
+	public void onVarClientIntChanged(VarClientIntChanged event)
+	{
+		questStateService.markStale();
+	}
+
+	@Subscribe
+	public void onConfigChanged(ConfigChanged event)
+	{
+		if (!com.gridscape.util.GridScapeConfigConstants.CONFIG_GROUP.equals(event.getGroup())) return;
+		if (GRID_CONFIG_KEYS.contains(event.getKey()))
+		{
+			// Grids depend on these settings; rebuild them now rather than on the next popup
+			com.gridscape.task.TaskGridService taskGridService = taskGridServiceProvider.get();
+			if ("tasksFilePath".equals(event.getKey()))
+				taskGridService.invalidateTasksCache();
+			taskGridService.precomputeGrids();
+		}
+	}
+
+	@Subscribe
+	public void onProfileChanged(ProfileChanged event)
+	{
+		// Task progress is cached in memory; re-read it from the newly active profile
+		taskGridServiceProvider.get().reloadProgress();
 	}
 
 	@Subscribe
@@ -922,6 +978,12 @@ public class GridScapePlugin extends Plugin
 		return areaEditState.getEditingPolygons();
 	}
 
+	/** Versioned read-only copy of the editing corners, polygons and holes (for overlays that draw every frame). */
+	public com.gridscape.config.AreaEditState.Geometry getEditGeometry()
+	{
+		return areaEditState.getGeometry();
+	}
+
 	/** All polygons for save: editingPolygons + current polygon if it has >= 3 corners. */
 	public List<List<int[]>> getAllEditingPolygons()
 	{
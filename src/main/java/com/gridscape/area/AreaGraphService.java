@@ -137,7 +137,11 @@ public class AreaGraphService
 	private final ConfigManager configManager;
 
 	private volatile List<Area> areas = new ArrayList<>();
+	/** Region-bucketed index over {@link #areas}; rebuilt on every reload. */
+	private volatile AreaSpatialIndex spatialIndex = AreaSpatialIndex.empty();
 	private final Set<String> unlockedAreaIds = new HashSet<>();
+	/** Bumped whenever the area list or unlocked set changes, so render snapshots know to rebuild. */
+	private volatile int stateVersion;
 
 	/** Cache: "areaId|plane" -> tiles inside that area's polygons. Cleared when areas reload. */
 	private final Map<String, Set<WorldPoint>> tilesInAreaCache = new ConcurrentHashMap<>();
@@ -164,8 +168,10 @@ public class AreaGraphService
 			areas.removeIf(a -> a.getId().equals(c.getId()));
 			areas.add(c);
 		}
+		spatialIndex = AreaSpatialIndex.build(areas);
 		tilesInAreaCache.clear();
 		tilesInLockedAreasCache.clear();
+		stateVersion++;
 		log.debug("Loaded {} areas ({} built-in, {} removed, {} custom)", areas.size(), builtIn.size(), removed.size(), custom.size());
 	}
 
@@ -514,12 +520,20 @@ public class AreaGraphService
 			unlockedAreaIds.addAll(ids);
 		}
 		tilesInLockedAreasCache.clear();
+		stateVersion++;
 	}
 
 	public void addUnlocked(String areaId)
 	{
 		unlockedAreaIds.add(areaId);
 		tilesInLockedAreasCache.clear();
+		stateVersion++;
+	}
+
+	/** Changes whenever areas reload or the unlocked set changes. */
+	public int getStateVersion()
+	{
+		return stateVersion;
 	}
 
 	public Set<String> getUnlockedAreaIds()
@@ -536,7 +550,7 @@ public class AreaGraphService
 	/** Returns the first area that has any polygon containing the given world point (surface plane), or null. Points inside any hole are excluded. */
 	public Area getAreaAt(WorldPoint worldPoint)
 	{
-		for (Area a : areas)
+		for (Area a : spatialIndex.candidatesAt(worldPoint.getX(), worldPoint.getY(), worldPoint.getPlane()))
 		{
 			if (!isWorldPointInArea(worldPoint, a)) continue;
 			return a;
@@ -765,6 +779,12 @@ public class AreaGraphService
 		return Collections.unmodifiableList(areas);
 	}
 
+	/** Spatial index over the current areas (polygon bounds and corners by region). */
+	public AreaSpatialIndex getSpatialIndex()
+	{
+		return spatialIndex;
+	}
+
 	/**
 	 * Returns boundary edges (corner-to-corner) that separate locked from unlocked areas.
 	 * Edges between two unlocked areas are excluded. Each edge is {x1,y1,plane,x2,y2} (plane shared).
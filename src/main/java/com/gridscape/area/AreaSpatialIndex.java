@@ -0,0 +1,208 @@
+package com.gridscape.area;
+
+import com.gridscape.data.Area;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable world-space grid hash over area polygons and their corners. Buckets are 64x64 map regions per plane,
+ * so hover lookups and viewport corner queries only touch the few regions involved instead of every area.
+ * Rebuilt by {@link AreaGraphService} whenever the area list reloads.
+ */
+public final class AreaSpatialIndex
+{
+	/** Bucket size in tiles (one map region). */
+	private static final int CELL_SHIFT = 6;
+	private static final int[] NO_ENTRIES = new int[0];
+
+	/** Receives one corner per call from {@link #forEachVertexInBounds}. */
+	public interface VertexVisitor
+	{
+		void visit(int x, int y);
+	}
+
+	private final List<Area> areas;
+	/** Bucket key -> ascending area ordinals whose polygon bounds touch that bucket. */
+	private final Map<Integer, int[]> areaBuckets;
+	/** Bucket key -> packed (x, y) corners lying in that bucket, deduplicated. */
+	private final Map<Integer, int[]> vertexBuckets;
+	/** Per area ordinal: {minX, minY, maxX, maxY} over all polygons, or null when the area has no polygon. */
+	private final int[][] bounds;
+
+	private AreaSpatialIndex(List<Area> areas, Map<Integer, int[]> areaBuckets, Map<Integer, int[]> vertexBuckets, int[][] bounds)
+	{
+		this.areas = areas;
+		this.areaBuckets = areaBuckets;
+		this.vertexBuckets = vertexBuckets;
+		this.bounds = bounds;
+	}
+
+	/** Empty index (no areas). */
+	public static AreaSpatialIndex empty()
+	{
+		return new AreaSpatialIndex(Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap(), new int[0][]);
+	}
+
+	/** Builds the index for the given areas; ordinals follow list order. */
+	public static AreaSpatialIndex build(List<Area> source)
+	{
+		List<Area> areas = new ArrayList<>(source);
+		Map<Integer, List<Integer>> areaLists = new HashMap<>();
+		Map<Integer, Set<Integer>> vertexSets = new HashMap<>();
+		int[][] bounds = new int[areas.size()][];
+		for (int ordinal = 0; ordinal < areas.size(); ordinal++)
+		{
+			Area area = areas.get(ordinal);
+			if (area.getPolygons() == null) continue;
+			Set<Integer> areaKeys = new HashSet<>();
+			for (List<int[]> poly : area.getPolygons())
+			{
+				if (poly == null || poly.size() < 3) continue;
+				int plane = poly.get(0).length >= 3 ? poly.get(0)[2] : 0;
+				int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+				int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+				for (int[] v : poly)
+				{
+					if (v.length < 2) continue;
+					minX = Math.min(minX, v[0]);
+					minY = Math.min(minY, v[1]);
+					maxX = Math.max(maxX, v[0]);
+					maxY = Math.max(maxY, v[1]);
+					int vPlane = v.length >= 3 ? v[2] : 0;
+					vertexSets.computeIfAbsent(bucketKey(v[0], v[1], vPlane), k -> new HashSet<>()).add(packXY(v[0], v[1]));
+				}
+				if (minX > maxX) continue;
+				for (int cx = minX >> CELL_SHIFT; cx <= maxX >> CELL_SHIFT; cx++)
+				{
+					for (int cy = minY >> CELL_SHIFT; cy <= maxY >> CELL_SHIFT; cy++)
+						areaKeys.add(cellKey(cx, cy, plane));
+				}
+				int[] b = bounds[ordinal];
+				if (b == null)
+					bounds[ordinal] = new int[]{ minX, minY, maxX, maxY };
+				else
+				{
+					b[0] = Math.min(b[0], minX);
+					b[1] = Math.min(b[1], minY);
+					b[2] = Math.max(b[2], maxX);
+					b[3] = Math.max(b[3], maxY);
+				}
+			}
+			for (Integer key : areaKeys)
+				areaLists.computeIfAbsent(key, k -> new ArrayList<>()).add(ordinal);
+		}
+
+		Map<Integer, int[]> areaBuckets = new HashMap<>();
+		for (Map.Entry<Integer, List<Integer>> e : areaLists.entrySet())
+		{
+			List<Integer> list = e.getValue();
+			int[] arr = new int[list.size()];
+			for (int i = 0; i < arr.length; i++)
+				arr[i] = list.get(i);
+			areaBuckets.put(e.getKey(), arr);
+		}
+		Map<Integer, int[]> vertexBuckets = new HashMap<>();
+		for (Map.Entry<Integer, Set<Integer>> e : vertexSets.entrySet())
+		{
+			int[] arr = new int[e.getValue().size()];
+			int i = 0;
+			for (Integer packed : e.getValue())
+				arr[i++] = packed;
+			vertexBuckets.put(e.getKey(), arr);
+		}
+		return new AreaSpatialIndex(Collections.unmodifiableList(areas), areaBuckets, vertexBuckets, bounds);
+	}
+
+	/**
+	 * Areas whose polygon bounds contain (x, y) on the given plane, in area list order. Callers still need an exact
+	 * point-in-polygon test; this only narrows the candidates to the areas sharing the point's region.
+	 */
+	public List<Area> candidatesAt(int x, int y, int plane)
+	{
+		int[] ordinals = areaBuckets.getOrDefault(bucketKey(x, y, plane), NO_ENTRIES);
+		if (ordinals.length == 0) return Collections.emptyList();
+		List<Area> out = new ArrayList<>(ordinals.length);
+		for (int ordinal : ordinals)
+		{
+			int[] b = bounds[ordinal];
+			if (b != null && x >= b[0] && x <= b[2] && y >= b[1] && y <= b[3])
+				out.add(areas.get(ordinal));
+		}
+		return out;
+	}
+
+	/**
+	 * Areas with at least one polygon on {@code plane} whose bounds overlap the inclusive world rectangle, in area list
+	 * order. Used to limit polygon boolean operations to areas that can actually touch the input.
+	 */
+	public List<Area> candidatesInBounds(int minX, int minY, int maxX, int maxY, int plane)
+	{
+		Set<Integer> seen = new HashSet<>();
+		for (int cx = Math.max(0, minX) >> CELL_SHIFT; cx <= maxX >> CELL_SHIFT; cx++)
+		{
+			for (int cy = Math.max(0, minY) >> CELL_SHIFT; cy <= maxY >> CELL_SHIFT; cy++)
+			{
+				for (int ordinal : areaBuckets.getOrDefault(cellKey(cx, cy, plane), NO_ENTRIES))
+				{
+					int[] b = bounds[ordinal];
+					if (b != null && b[0] <= maxX && b[2] >= minX && b[1] <= maxY && b[3] >= minY)
+						seen.add(ordinal);
+				}
+			}
+		}
+		List<Integer> ordinals = new ArrayList<>(seen);
+		Collections.sort(ordinals);
+		List<Area> out = new ArrayList<>(ordinals.size());
+		for (int ordinal : ordinals)
+			out.add(areas.get(ordinal));
+		return out;
+	}
+
+	/**
+	 * Visits every distinct area corner on {@code plane} inside the inclusive world bounds. When {@code thinStep} is
+	 * greater than 1 only one corner per {@code thinStep x thinStep} tile block is visited, so zoomed-out maps do not
+	 * stack hundreds of markers on the same pixels.
+	 */
+	public void forEachVertexInBounds(int minX, int minY, int maxX, int maxY, int plane, int thinStep, VertexVisitor visitor)
+	{
+		Set<Long> thinned = thinStep > 1 ? new HashSet<>() : null;
+		for (int cx = Math.max(0, minX) >> CELL_SHIFT; cx <= maxX >> CELL_SHIFT; cx++)
+		{
+			for (int cy = Math.max(0, minY) >> CELL_SHIFT; cy <= maxY >> CELL_SHIFT; cy++)
+			{
+				int[] packed = vertexBuckets.get(cellKey(cx, cy, plane));
+				if (packed == null) continue;
+				for (int p : packed)
+				{
+					int x = p >>> 16;
+					int y = p & 0xFFFF;
+					if (x < minX || x > maxX || y < minY || y > maxY) continue;
+					if (thinned != null && !thinned.add(((long) (x / thinStep) << 32) | (y / thinStep)))
+						continue;
+					visitor.visit(x, y);
+				}
+			}
+		}
+	}
+
+	private static int bucketKey(int x, int y, int plane)
+	{
+		return cellKey(x >> CELL_SHIFT, y >> CELL_SHIFT, plane);
+	}
+
+	/** Same layout as a region id (cx << 8 | cy) with the plane above it. */
+	private static int cellKey(int cx, int cy, int plane)
+	{
+		return (plane << 16) | ((cx & 0xFF) << 8) | (cy & 0xFF);
+	}
+
+	private static int packXY(int x, int y)
+	{
+		return (x << 16) | (y & 0xFFFF);
+	}
+}
@@ -0,0 +1,350 @@
+package com.gridscape.area;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Integer-exact set of world tiles with polygon union, difference and intersection. A polygon covers tile (x, y)
+ * exactly when {@code AreaGraphService}'s ray-cast test says so (same integer crossing formula), so results agree
+ * with how areas are hit-tested in game. {@link #toShells()} traces the result back into tile-aligned rings:
+ * each shell is a counter-clockwise outer ring plus its clockwise holes, and re-rasterizes to the same tiles.
+ */
+public final class TileRegion
+{
+	/** Directions of boundary edges, counter-clockwise order: east, north, west, south. */
+	private static final int[] DX = { 1, 0, -1, 0 };
+	private static final int[] DY = { 0, 1, 0, -1 };
+
+	/** One connected piece of a region: outer ring (counter-clockwise) and hole rings (clockwise). */
+	public static final class Shell
+	{
+		private final List<int[]> outer;
+		private final List<List<int[]>> holes;
+		private final long area;
+
+		Shell(List<int[]> outer, long area)
+		{
+			this.outer = outer;
+			this.holes = new ArrayList<>();
+			this.area = area;
+		}
+
+		public List<int[]> getOuter()
+		{
+			return outer;
+		}
+
+		public List<List<int[]>> getHoles()
+		{
+			return Collections.unmodifiableList(holes);
+		}
+
+		/** Enclosed area of the outer ring in tiles (holes not subtracted). */
+		public long getOuterArea()
+		{
+			return area;
+		}
+	}
+
+	private int minX;
+	private int minY;
+	private int width;
+	private int height;
+	private BitSet bits;
+	private final int plane;
+
+	private TileRegion(int minX, int minY, int width, int height, int plane)
+	{
+		this.minX = minX;
+		this.minY = minY;
+		this.width = width;
+		this.height = height;
+		this.plane = plane;
+		this.bits = new BitSet(width * height);
+	}
+
+	/** Tiles covered by the polygon ({@code [x, y, plane]} corners, 3+ points). Empty for degenerate input. */
+	public static TileRegion fromPolygon(List<int[]> polygon)
+	{
+		int[] b = bounds(polygon);
+		int plane = polygon != null && !polygon.isEmpty() && polygon.get(0).length >= 3 ? polygon.get(0)[2] : 0;
+		if (b == null) return new TileRegion(0, 0, 0, 0, plane);
+		TileRegion region = new TileRegion(b[0], b[1], b[2] - b[0] + 1, b[3] - b[1] + 1, plane);
+		region.rasterize(polygon, region.bits);
+		return region;
+	}
+
+	/** Tile bounds {minX, minY, maxX, maxY} of a polygon's corners, or null if it has fewer than 3. */
+	public static int[] bounds(List<int[]> polygon)
+	{
+		if (polygon == null || polygon.size() < 3) return null;
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		for (int[] v : polygon)
+		{
+			minX = Math.min(minX, v[0]);
+			minY = Math.min(minY, v[1]);
+			maxX = Math.max(maxX, v[0]);
+			maxY = Math.max(maxY, v[1]);
+		}
+		return new int[]{ minX, minY, maxX, maxY };
+	}
+
+	public boolean isEmpty()
+	{
+		return bits.isEmpty();
+	}
+
+	public int tileCount()
+	{
+		return bits.cardinality();
+	}
+
+	public boolean contains(int x, int y)
+	{
+		int lx = x - minX, ly = y - minY;
+		return lx >= 0 && ly >= 0 && lx < width && ly < height && bits.get(ly * width + lx);
+	}
+
+	public TileRegion copy()
+	{
+		TileRegion c = new TileRegion(minX, minY, width, height, plane);
+		c.bits = (BitSet) bits.clone();
+		return c;
+	}
+
+	/** Adds the polygon's tiles, growing the region's window if needed. */
+	public void add(List<int[]> polygon)
+	{
+		int[] b = bounds(polygon);
+		if (b == null) return;
+		ensureWindow(b[0], b[1], b[2], b[3]);
+		rasterize(polygon, bits);
+	}
+
+	/** Removes the polygon's tiles. */
+	public void subtract(List<int[]> polygon)
+	{
+		if (!overlapsWindow(polygon)) return;
+		BitSet other = new BitSet(width * height);
+		rasterize(polygon, other);
+		bits.andNot(other);
+	}
+
+	/** Keeps only tiles also covered by the polygon. */
+	public void intersect(List<int[]> polygon)
+	{
+		if (!overlapsWindow(polygon))
+		{
+			bits.clear();
+			return;
+		}
+		BitSet other = new BitSet(width * height);
+		rasterize(polygon, other);
+		bits.and(other);
+	}
+
+	private boolean overlapsWindow(List<int[]> polygon)
+	{
+		int[] b = bounds(polygon);
+		return b != null && width > 0 && height > 0
+			&& b[2] >= minX && b[0] < minX + width && b[3] >= minY && b[1] < minY + height;
+	}
+
+	private void ensureWindow(int bMinX, int bMinY, int bMaxX, int bMaxY)
+	{
+		if (width > 0 && height > 0 && bMinX >= minX && bMinY >= minY && bMaxX < minX + width && bMaxY < minY + height)
+			return;
+		int nMinX = width > 0 ? Math.min(minX, bMinX) : bMinX;
+		int nMinY = height > 0 ? Math.min(minY, bMinY) : bMinY;
+		int nMaxX = width > 0 ? Math.max(minX + width - 1, bMaxX) : bMaxX;
+		int nMaxY = height > 0 ? Math.max(minY + height - 1, bMaxY) : bMaxY;
+		int nWidth = nMaxX - nMinX + 1;
+		BitSet grown = new BitSet(nWidth * (nMaxY - nMinY + 1));
+		for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+		{
+			int x = minX + i % width, y = minY + i / width;
+			grown.set((y - nMinY) * nWidth + (x - nMinX));
+		}
+		minX = nMinX;
+		minY = nMinY;
+		width = nWidth;
+		height = nMaxY - nMinY + 1;
+		bits = grown;
+	}
+
+	/**
+	 * Scanline rasterization into {@code target} (window coordinates). For each row the crossing x of every edge is
+	 * computed with the same truncating integer formula as {@code AreaGraphService.pointInPolygonRaw}; a tile is inside
+	 * when an odd number of crossings lie strictly to its right.
+	 */
+	private void rasterize(List<int[]> polygon, BitSet target)
+	{
+		int n = polygon.size();
+		if (n < 3 || width <= 0 || height <= 0) return;
+		int[] crossings = new int[n];
+		for (int row = 0; row < height; row++)
+		{
+			int y = minY + row;
+			int count = 0;
+			for (int i = 0, j = n - 1; i < n; j = i++)
+			{
+				int[] vi = polygon.get(i);
+				int[] vj = polygon.get(j);
+				int xi = vi[0], yi = vi[1];
+				int xj = vj[0], yj = vj[1];
+				if (yi == yj) continue;
+				if ((yi > y) != (yj > y))
+					crossings[count++] = (xj - xi) * (y - yi) / (yj - yi) + xi;
+			}
+			if (count < 2) continue;
+			Arrays.sort(crossings, 0, count);
+			// Tile x is inside when #crossings > x is odd: spans are [c[k-1], c[k]) for k = count-1, count-3, ...
+			int rowBase = row * width;
+			for (int k = count - 1; k >= 1; k -= 2)
+			{
+				int from = Math.max(crossings[k - 1], minX) - minX;
+				int to = Math.min(crossings[k], minX + width) - minX;
+				if (from < to)
+					target.set(rowBase + from, rowBase + to);
+			}
+		}
+	}
+
+	/**
+	 * Traces the region's boundary into tile-aligned rings (corners on tile edges, so tile (x, y) spans
+	 * [x, x+1) x [y, y+1)). Collinear corners are merged. Outer rings are counter-clockwise, holes clockwise and
+	 * attached to the smallest shell that encloses them. Shells are sorted largest first.
+	 */
+	public List<Shell> toShells()
+	{
+		// Directed boundary edges with the region on the left, keyed by start corner
+		Map<Long, List<int[]>> outgoing = new HashMap<>();
+		for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+		{
+			int x = minX + i % width, y = minY + i / width;
+			if (!contains(x, y - 1)) addEdge(outgoing, x, y, 0);
+			if (!contains(x + 1, y)) addEdge(outgoing, x + 1, y, 1);
+			if (!contains(x, y + 1)) addEdge(outgoing, x + 1, y + 1, 2);
+			if (!contains(x - 1, y)) addEdge(outgoing, x, y + 1, 3);
+		}
+
+		List<Shell> shells = new ArrayList<>();
+		List<List<int[]>> holeRings = new ArrayList<>();
+		while (!outgoing.isEmpty())
+		{
+			Map.Entry<Long, List<int[]>> start = outgoing.entrySet().iterator().next();
+			int[] edge = takeEdge(outgoing, start.getKey(), -1);
+			List<int[]> ring = new ArrayList<>();
+			int startX = edge[0], startY = edge[1];
+			while (edge != null)
+			{
+				int dir = edge[2];
+				if (ring.isEmpty() || dir != ring.get(ring.size() - 1)[2])
+					ring.add(new int[]{ edge[0], edge[1], dir });
+				int nx = edge[0] + DX[dir], ny = edge[1] + DY[dir];
+				if (nx == startX && ny == startY) break;
+				edge = takeEdge(outgoing, key(nx, ny), dir);
+			}
+			if (ring.size() > 1 && ring.get(0)[2] == ring.get(ring.size() - 1)[2])
+				ring.remove(0);
+			List<int[]> corners = new ArrayList<>(ring.size());
+			for (int[] r : ring)
+				corners.add(new int[]{ r[0], r[1], plane });
+			long twiceArea = twiceSignedArea(corners);
+			if (twiceArea > 0)
+				shells.add(new Shell(corners, twiceArea / 2));
+			else if (twiceArea < 0)
+				holeRings.add(corners);
+		}
+
+		shells.sort((a, b) -> Long.compare(b.area, a.area));
+		for (List<int[]> hole : holeRings)
+		{
+			// Centre of the region tile just left of the hole's first edge belongs to the enclosing shell
+			int[] p = hole.get(0), q = hole.get(1);
+			int dx = Integer.signum(q[0] - p[0]), dy = Integer.signum(q[1] - p[1]);
+			double tx = p[0] + dx * 0.5 - dy * 0.5;
+			double ty = p[1] + dy * 0.5 + dx * 0.5;
+			Shell owner = null;
+			for (Shell s : shells)
+			{
+				if (ringContains(s.outer, tx, ty) && (owner == null || s.area < owner.area))
+					owner = s;
+			}
+			if (owner != null)
+				owner.holes.add(hole);
+		}
+		return shells;
+	}
+
+	private static void addEdge(Map<Long, List<int[]>> outgoing, int x, int y, int dir)
+	{
+		outgoing.computeIfAbsent(key(x, y), k -> new ArrayList<>(1)).add(new int[]{ x, y, dir });
+	}
+
+	/**
+	 * Removes and returns an edge starting at the corner. Where two boundaries touch diagonally, prefers the left turn
+	 * (staying around the same tile) so touching pieces become separate simple rings.
+	 */
+	private static int[] takeEdge(Map<Long, List<int[]>> outgoing, long corner, int incomingDir)
+	{
+		List<int[]> edges = outgoing.get(corner);
+		if (edges == null) return null;
+		int pick = 0;
+		if (edges.size() > 1 && incomingDir >= 0)
+		{
+			int leftTurn = (incomingDir + 1) % 4;
+			for (int i = 0; i < edges.size(); i++)
+			{
+				if (edges.get(i)[2] == leftTurn)
+				{
+					pick = i;
+					break;
+				}
+			}
+		}
+		int[] edge = edges.remove(pick);
+		if (edges.isEmpty())
+			outgoing.remove(corner);
+		return edge;
+	}
+
+	private static long key(int x, int y)
+	{
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private static long twiceSignedArea(List<int[]> ring)
+	{
+		long a = 0;
+		int n = ring.size();
+		for (int i = 0; i < n; i++)
+		{
+			int[] p = ring.get(i);
+			int[] q = ring.get((i + 1) % n);
+			a += (long) p[0] * q[1] - (long) q[0] * p[1];
+		}
+		return a;
+	}
+
+	private static boolean ringContains(List<int[]> ring, double x, double y)
+	{
+		boolean inside = false;
+		int n = ring.size();
+		for (int i = 0, j = n - 1; i < n; j = i++)
+		{
+			int[] vi = ring.get(i);
+			int[] vj = ring.get(j);
+			if (((vi[1] > y) != (vj[1] > y))
+				&& (x < (double) (vj[0] - vi[0]) * (y - vi[1]) / (vj[1] - vi[1]) + vi[0]))
+				inside = !inside;
+		}
+		return inside;
+	}
+}
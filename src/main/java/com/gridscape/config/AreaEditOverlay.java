@@ -35,6 +35,8 @@ public class AreaEditOverlay extends Overlay
 	private static final Color LINE_COLOR = new Color(255, 255, 255, 120);
 	private static final Color LABEL_BG = new Color(0, 0, 0, 200);
 	private static final Color LABEL_TEXT = Color.WHITE;
+	private static final Font LABEL_FONT = new Font("Arial", Font.PLAIN, 12);
+	private static final BasicStroke EDGE_STROKE = new BasicStroke(2);
 
 	private final Client client;
 	private final AreaGraphService areaGraphService;
@@ -65,9 +67,10 @@ public class AreaEditOverlay extends Overlay
 
 		int plane = wv.getPlane();
 		String editingId = plugin.getEditingAreaId();
-		List<int[]> editingCorners = plugin.getEditingCorners();
+		AreaEditState.Geometry geometry = plugin.getEditGeometry();
+		List<int[]> editingCorners = geometry.getCorners();
 
-		graphics.setFont(new Font("Arial", Font.PLAIN, 12));
+		graphics.setFont(LABEL_FONT);
 
 		int moveIdx = plugin.getMoveCornerIndex();
 
@@ -79,7 +82,7 @@ public class AreaEditOverlay extends Overlay
 			if (area.getId().equals(editingId))
 			{
 				// Editing this area: draw all completed polygons then current polygon (with move index)
-				for (List<int[]> poly : plugin.getEditingPolygons())
+				for (List<int[]> poly : geometry.getPolygons())
 				{
 					if (poly != null && poly.size() >= 3)
 						drawPolygonCorners(graphics, wv, plane, areaLabel, poly, areaColor, -1);
@@ -98,7 +101,7 @@ public class AreaEditOverlay extends Overlay
 		// If editing a new area (not in getAreas), draw all its polygons
 		if (editingId != null && editingId.startsWith("new_"))
 		{
-			for (List<int[]> poly : plugin.getEditingPolygons())
+			for (List<int[]> poly : geometry.getPolygons())
 			{
 				if (poly != null && poly.size() >= 3)
 					drawPolygonCorners(graphics, wv, plane, "New area", poly, EDITING_AREA_COLOR, -1);
@@ -115,7 +118,7 @@ public class AreaEditOverlay extends Overlay
 		if (corners.isEmpty()) return;
 
 		// Draw edges
-		graphics.setStroke(new BasicStroke(2));
+		graphics.setStroke(EDGE_STROKE);
 		graphics.setColor(LINE_COLOR);
 		Point prevScreen = null;
 		for (int i = 0; i <= corners.size(); i++)
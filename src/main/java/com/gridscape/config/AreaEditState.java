@@ -19,6 +19,64 @@ public final class AreaEditState
 	private int moveCornerIndex = -1;
 	private List<List<int[]>> editingHoles = null;
 	private List<String> editingNeighbors = null;
+	/** Bumped on every change to corners, polygons or holes. */
+	private volatile int geometryVersion = 0;
+	/** Read-only copy of the geometry at {@link #geometryVersion}; rebuilt lazily on the first read after a change. */
+	private volatile Geometry geometry = null;
+
+	/**
+	 * Immutable copy of the editing geometry at one version. Overlays read this every frame instead of copying the
+	 * live lists, and use {@link #getVersion()} to decide when projected screen shapes need rebuilding.
+	 */
+	public static final class Geometry
+	{
+		private final int version;
+		private final List<List<int[]>> polygons;
+		private final List<int[]> corners;
+		private final List<List<int[]>> allPolygons;
+		private final List<List<int[]>> holes;
+
+		private Geometry(int version, List<List<int[]>> polygons, List<int[]> corners, List<List<int[]>> holes)
+		{
+			this.version = version;
+			this.polygons = polygons;
+			this.corners = corners;
+			List<List<int[]>> all = new ArrayList<>(polygons);
+			if (corners.size() >= 3)
+				all.add(corners);
+			this.allPolygons = Collections.unmodifiableList(all);
+			this.holes = holes;
+		}
+
+		public int getVersion()
+		{
+			return version;
+		}
+
+		/** Completed polygons (each with >= 3 corners). */
+		public List<List<int[]>> getPolygons()
+		{
+			return polygons;
+		}
+
+		/** Current polygon being edited. */
+		public List<int[]> getCorners()
+		{
+			return corners;
+		}
+
+		/** Completed polygons plus the current one when it has >= 3 corners. */
+		public List<List<int[]>> getAllPolygons()
+		{
+			return allPolygons;
+		}
+
+		/** Holes, or null when not editing. */
+		public List<List<int[]>> getHoles()
+		{
+			return holes;
+		}
+	}
 
 	public void startEditing(String areaId, List<int[]> initialCorners, Area area)
 	{
@@ -29,6 +87,7 @@ public final class AreaEditState
 		this.editingNeighbors = (area != null && area.getNeighbors() != null) ? new ArrayList<>(area.getNeighbors()) : new ArrayList<>();
 		if (initialCorners != null && !initialCorners.isEmpty())
 			this.editingCorners.addAll(initialCorners);
+		geometryVersion++;
 	}
 
 	public void startEditingWithPolygons(String areaId, List<List<int[]>> polygons, Area area)
@@ -50,6 +109,7 @@ public final class AreaEditState
 			if (last != null)
 				this.editingCorners.addAll(last);
 		}
+		geometryVersion++;
 	}
 
 	public void stopEditing()
@@ -60,24 +120,40 @@ public final class AreaEditState
 		this.editingHoles = null;
 		this.editingNeighbors = null;
 		this.moveCornerIndex = -1;
+		geometryVersion++;
+	}
+
+	/** Current geometry snapshot; the same instance is returned until corners, polygons or holes change. */
+	public Geometry getGeometry()
+	{
+		Geometry g = geometry;
+		int version = geometryVersion;
+		if (g == null || g.version != version)
+		{
+			List<List<int[]>> polygons = new ArrayList<>(editingPolygons.size());
+			for (List<int[]> poly : editingPolygons)
+				polygons.add(Collections.unmodifiableList(new ArrayList<>(poly)));
+			List<List<int[]>> holes = editingHoles == null ? null : Collections.unmodifiableList(new ArrayList<>(editingHoles));
+			g = new Geometry(version, Collections.unmodifiableList(polygons),
+				Collections.unmodifiableList(new ArrayList<>(editingCorners)), holes);
+			geometry = g;
+		}
+		return g;
 	}
 
 	public List<int[]> getEditingCorners()
 	{
-		return Collections.unmodifiableList(new ArrayList<>(editingCorners));
+		return getGeometry().getCorners();
 	}
 
 	public List<List<int[]>> getEditingPolygons()
 	{
-		return Collections.unmodifiableList(new ArrayList<>(editingPolygons));
+		return getGeometry().getPolygons();
 	}
 
 	public List<List<int[]>> getAllEditingPolygons()
 	{
-		List<List<int[]>> all = new ArrayList<>(editingPolygons);
-		if (editingCorners.size() >= 3)
-			all.add(new ArrayList<>(editingCorners));
-		return all;
+		return new ArrayList<>(getGeometry().getAllPolygons());
 	}
 
 	public void startNewPolygon()
@@ -86,6 +162,7 @@ public final class AreaEditState
 			editingPolygons.add(new ArrayList<>(editingCorners));
 		editingCorners.clear();
 		moveCornerIndex = -1;
+		geometryVersion++;
 	}
 
 	/** @return the removed polygon, or null if index invalid */
@@ -96,6 +173,7 @@ public final class AreaEditState
 		{
 			List<int[]> removed = new ArrayList<>(editingPolygons.get(index));
 			editingPolygons.remove(index);
+			geometryVersion++;
 			return removed;
 		}
 		if (index == editingPolygons.size() && editingCorners.size() >= 3)
@@ -103,6 +181,7 @@ public final class AreaEditState
 			List<int[]> removed = new ArrayList<>(editingCorners);
 			editingCorners.clear();
 			moveCornerIndex = -1;
+			geometryVersion++;
 			return removed;
 		}
 		return null;
@@ -114,12 +193,14 @@ public final class AreaEditState
 		editingCorners.remove(index);
 		if (moveCornerIndex == index) moveCornerIndex = -1;
 		else if (moveCornerIndex > index) moveCornerIndex--;
+		geometryVersion++;
 	}
 
 	public void setCornerPosition(int index, WorldPoint wp)
 	{
 		if (wp == null || index < 0 || index >= editingCorners.size()) return;
 		editingCorners.set(index, new int[]{ wp.getX(), wp.getY(), wp.getPlane() });
+		geometryVersion++;
 	}
 
 	public boolean isEditingArea()
@@ -136,6 +217,7 @@ public final class AreaEditState
 	{
 		if (editingAreaId == null || wp == null) return;
 		editingCorners.add(new int[]{ wp.getX(), wp.getY(), wp.getPlane() });
+		geometryVersion++;
 	}
 
 	public String getEditingAreaId()
@@ -155,12 +237,13 @@ public final class AreaEditState
 
 	public List<List<int[]>> getEditingHoles()
 	{
-		return editingHoles == null ? null : Collections.unmodifiableList(new ArrayList<>(editingHoles));
+		return getGeometry().getHoles();
 	}
 
 	public void setEditingHoles(List<List<int[]>> holes)
 	{
 		this.editingHoles = (holes != null) ? new ArrayList<>(holes) : new ArrayList<>();
+		geometryVersion++;
 	}
 
 	public List<String> getEditingNeighbors()
@@ -179,6 +262,7 @@ public final class AreaEditState
 		if (corners != null)
 			editingCorners.addAll(corners);
 		moveCornerIndex = -1;
+		geometryVersion++;
 	}
 
 	/** Index of corner at (x, y, plane) or -1. */
@@ -0,0 +1,155 @@
+package com.gridscape.grid;
+
+/**
+ * Sparse grid of int values and per-cell state bytes, stored in 16x16 chunks keyed by chunk coordinate. Memory grows
+ * with the number of touched chunks rather than the grid's extent, and a lookup is one hash probe plus an array index
+ * (the last chunk used is cached, so neighbor checks usually skip the probe). Value 0 and state 0 mean empty. Rows and
+ * columns must fit in a signed short, as for {@link GridCoord}. Not thread-safe for writes; an instance that is no
+ * longer written may be read from several threads.
+ */
+public final class ChunkedGrid
+{
+	private static final int SHIFT = 4;
+	private static final int MASK = (1 << SHIFT) - 1;
+	private static final int CELLS = 1 << (2 * SHIFT);
+
+	/** Receives non-empty cells from {@link #forEach}. */
+	public interface CellConsumer
+	{
+		void accept(int row, int col, int value, byte state);
+	}
+
+	private static final class Chunk
+	{
+		final int key;
+		final int[] values = new int[CELLS];
+		final byte[] states = new byte[CELLS];
+
+		Chunk(int key)
+		{
+			this.key = key;
+		}
+
+		Chunk copy()
+		{
+			Chunk c = new Chunk(key);
+			System.arraycopy(values, 0, c.values, 0, CELLS);
+			System.arraycopy(states, 0, c.states, 0, CELLS);
+			return c;
+		}
+	}
+
+	private final CoordMap<Chunk> chunks;
+	/** Last chunk looked up; one reference so concurrent readers never pair a key with another chunk. */
+	private Chunk lastChunk;
+	private int valueCount;
+
+	public ChunkedGrid()
+	{
+		chunks = new CoordMap<>();
+	}
+
+	private ChunkedGrid(CoordMap<Chunk> chunks, int valueCount)
+	{
+		this.chunks = chunks;
+		this.valueCount = valueCount;
+	}
+
+	private static int chunkKey(int row, int col)
+	{
+		return GridCoord.of(row >> SHIFT, col >> SHIFT);
+	}
+
+	private static int cell(int row, int col)
+	{
+		return ((row & MASK) << SHIFT) | (col & MASK);
+	}
+
+	private Chunk chunk(int row, int col, boolean create)
+	{
+		int key = chunkKey(row, col);
+		Chunk c = lastChunk;
+		if (c != null && c.key == key)
+			return c;
+		c = chunks.get(key);
+		if (c == null)
+		{
+			if (!create) return null;
+			c = new Chunk(key);
+			chunks.put(key, c);
+		}
+		lastChunk = c;
+		return c;
+	}
+
+	/** Value at the cell, or 0. */
+	public int get(int row, int col)
+	{
+		Chunk c = chunk(row, col, false);
+		return c != null ? c.values[cell(row, col)] : 0;
+	}
+
+	/** Sets the value (0 clears it). @return the previous value */
+	public int put(int row, int col, int value)
+	{
+		Chunk c = chunk(row, col, value != 0);
+		if (c == null) return 0;
+		int i = cell(row, col);
+		int previous = c.values[i];
+		c.values[i] = value;
+		if (previous == 0 && value != 0) valueCount++;
+		else if (previous != 0 && value == 0) valueCount--;
+		return previous;
+	}
+
+	/** State byte at the cell, or 0. */
+	public byte state(int row, int col)
+	{
+		Chunk c = chunk(row, col, false);
+		return c != null ? c.states[cell(row, col)] : 0;
+	}
+
+	public void setState(int row, int col, byte state)
+	{
+		Chunk c = chunk(row, col, state != 0);
+		if (c != null)
+			c.states[cell(row, col)] = state;
+	}
+
+	/** True if every bit of {@code flags} is set in the cell's state. */
+	public boolean hasState(int row, int col, int flags)
+	{
+		return (state(row, col) & flags) == flags;
+	}
+
+	/** Number of cells with a non-zero value. */
+	public int size()
+	{
+		return valueCount;
+	}
+
+	/** Visits every cell with a non-zero value or state, chunk by chunk. */
+	public void forEach(CellConsumer action)
+	{
+		for (int key : chunks.keys())
+		{
+			Chunk c = chunks.get(key);
+			int baseRow = GridCoord.row(key) << SHIFT;
+			int baseCol = GridCoord.col(key) << SHIFT;
+			for (int i = 0; i < CELLS; i++)
+			{
+				if (c.values[i] != 0 || c.states[i] != 0)
+					action.accept(baseRow + (i >> SHIFT), baseCol + (i & MASK), c.values[i], c.states[i]);
+			}
+		}
+	}
+
+	/** Independent deep copy. */
+	public ChunkedGrid copy()
+	{
+		CoordMap<Chunk> copied = new CoordMap<>(chunks.size());
+		for (int key : chunks.keys())
+			copied.put(key, chunks.get(key).copy());
+		return new ChunkedGrid(copied, valueCount);
+	}
+}
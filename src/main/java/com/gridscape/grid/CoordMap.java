@@ -0,0 +1,127 @@
+package com.gridscape.grid;
+
+import java.util.Arrays;
+
+/**
+ * Map from packed {@link GridCoord} keys to values (open addressing, linear probing), so lookups by position need no
+ * "row,col" key strings. Null values are not allowed. Not thread-safe. Iteration order is unspecified.
+ */
+public final class CoordMap<V>
+{
+	private static final int EMPTY = GridCoord.NONE;
+
+	private int[] keys;
+	private Object[] values;
+	private int size;
+
+	public CoordMap()
+	{
+		this(16);
+	}
+
+	public CoordMap(int expectedSize)
+	{
+		int capacity = CoordSet.tableSizeFor(expectedSize);
+		keys = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+		values = new Object[capacity];
+	}
+
+	/** @return the previous value, or null */
+	public V put(int coord, V value)
+	{
+		if (coord == EMPTY) throw new IllegalArgumentException("invalid coordinate");
+		if (value == null) throw new NullPointerException("value");
+		int mask = keys.length - 1;
+		int i = CoordSet.mix(coord) & mask;
+		while (keys[i] != EMPTY)
+		{
+			if (keys[i] == coord)
+			{
+				V previous = valueAt(i);
+				values[i] = value;
+				return previous;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = coord;
+		values[i] = value;
+		if (++size * 2 > keys.length)
+			rehash(keys.length * 2);
+		return null;
+	}
+
+	public V get(int coord)
+	{
+		int i = find(coord);
+		return i < 0 ? null : valueAt(i);
+	}
+
+	public V get(int row, int col)
+	{
+		return get(GridCoord.of(row, col));
+	}
+
+	public boolean containsKey(int coord)
+	{
+		return find(coord) >= 0;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/** Keys as a new array, in unspecified order. */
+	public int[] keys()
+	{
+		int[] out = new int[size];
+		int n = 0;
+		for (int k : keys)
+			if (k != EMPTY) out[n++] = k;
+		return out;
+	}
+
+	private int find(int coord)
+	{
+		if (coord == EMPTY) return -1;
+		int mask = keys.length - 1;
+		int i = CoordSet.mix(coord) & mask;
+		while (keys[i] != EMPTY)
+		{
+			if (keys[i] == coord) return i;
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V valueAt(int i)
+	{
+		return (V) values[i];
+	}
+
+	private void rehash(int capacity)
+	{
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		keys = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+		values = new Object[capacity];
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			if (oldKeys[i] != EMPTY)
+			{
+				@SuppressWarnings("unchecked")
+				V v = (V) oldValues[i];
+				put(oldKeys[i], v);
+			}
+		}
+	}
+}
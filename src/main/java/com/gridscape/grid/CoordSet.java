@@ -0,0 +1,155 @@
+package com.gridscape.grid;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Hash set of packed {@link GridCoord} values (open addressing, linear probing). Stores plain ints, so adding and
+ * probing positions allocates nothing. Not thread-safe. Iteration order is unspecified.
+ */
+public final class CoordSet
+{
+	private static final int EMPTY = GridCoord.NONE;
+
+	private int[] slots;
+	private int size;
+
+	public CoordSet()
+	{
+		this(16);
+	}
+
+	public CoordSet(int expectedSize)
+	{
+		slots = new int[tableSizeFor(expectedSize)];
+		Arrays.fill(slots, EMPTY);
+	}
+
+	/** @return true if the set changed; {@link GridCoord#NONE} is ignored */
+	public boolean add(int coord)
+	{
+		if (coord == EMPTY) return false;
+		int mask = slots.length - 1;
+		int i = mix(coord) & mask;
+		while (slots[i] != EMPTY)
+		{
+			if (slots[i] == coord) return false;
+			i = (i + 1) & mask;
+		}
+		slots[i] = coord;
+		if (++size * 2 > slots.length)
+			rehash(slots.length * 2);
+		return true;
+	}
+
+	public void addAll(CoordSet other)
+	{
+		for (int c : other.slots)
+			if (c != EMPTY) add(c);
+	}
+
+	public boolean contains(int coord)
+	{
+		if (coord == EMPTY) return false;
+		int mask = slots.length - 1;
+		int i = mix(coord) & mask;
+		while (slots[i] != EMPTY)
+		{
+			if (slots[i] == coord) return true;
+			i = (i + 1) & mask;
+		}
+		return false;
+	}
+
+	public boolean contains(int row, int col)
+	{
+		return contains(GridCoord.of(row, col));
+	}
+
+	/** @return true if the set changed */
+	public boolean remove(int coord)
+	{
+		if (coord == EMPTY) return false;
+		int mask = slots.length - 1;
+		int i = mix(coord) & mask;
+		while (slots[i] != coord)
+		{
+			if (slots[i] == EMPTY) return false;
+			i = (i + 1) & mask;
+		}
+		// Backward-shift deletion keeps every probe chain contiguous
+		int gap = i;
+		int j = (i + 1) & mask;
+		while (slots[j] != EMPTY)
+		{
+			int home = mix(slots[j]) & mask;
+			if (((j - home) & mask) >= ((j - gap) & mask))
+			{
+				slots[gap] = slots[j];
+				gap = j;
+			}
+			j = (j + 1) & mask;
+		}
+		slots[gap] = EMPTY;
+		size--;
+		return true;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(slots, EMPTY);
+		size = 0;
+	}
+
+	public void forEach(IntConsumer action)
+	{
+		for (int c : slots)
+			if (c != EMPTY) action.accept(c);
+	}
+
+	/** Members as a new array, in unspecified order. */
+	public int[] toArray()
+	{
+		int[] out = new int[size];
+		int n = 0;
+		for (int c : slots)
+			if (c != EMPTY) out[n++] = c;
+		return out;
+	}
+
+	private void rehash(int capacity)
+	{
+		int[] old = slots;
+		slots = new int[capacity];
+		Arrays.fill(slots, EMPTY);
+		size = 0;
+		for (int c : old)
+			if (c != EMPTY) add(c);
+	}
+
+	/** Power-of-two table size keeping the load factor at or below 1/2. */
+	static int tableSizeFor(int expectedSize)
+	{
+		int n = 4;
+		while (n < expectedSize * 2 && n < (1 << 30))
+			n <<= 1;
+		return n;
+	}
+
+	/** Spreads row and column bits so neighboring positions do not cluster in one probe run. */
+	static int mix(int coord)
+	{
+		int h = coord * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
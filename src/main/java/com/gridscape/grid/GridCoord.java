@@ -0,0 +1,84 @@
+package com.gridscape.grid;
+
+/**
+ * Grid position packed into an int: row in the high 16 bits, column in the low 16 bits. Rows and columns must fit in
+ * a signed short (task and unlock grids are far smaller). Used for all in-memory position logic; "row,col" strings are
+ * only produced or parsed where positions are persisted or used as tile ids.
+ */
+public final class GridCoord
+{
+	/** Never a valid coordinate (row -32768 is outside the supported range); returned by {@link #parse} on bad input. */
+	public static final int NONE = Integer.MIN_VALUE;
+
+	/** Cardinal direction offsets in {@link #neighbor} order: north (row-1), east (col+1), south (row+1), west (col-1). */
+	private static final int[] DIR_ROW = { -1, 0, 1, 0 };
+	private static final int[] DIR_COL = { 0, 1, 0, -1 };
+
+	private GridCoord() {}
+
+	public static int of(int row, int col)
+	{
+		return (row << 16) | (col & 0xFFFF);
+	}
+
+	public static int row(int coord)
+	{
+		return coord >> 16;
+	}
+
+	public static int col(int coord)
+	{
+		return (short) coord;
+	}
+
+	/** Cardinal neighbor in direction {@code dir}: 0 north (row-1), 1 east (col+1), 2 south (row+1), 3 west (col-1). */
+	public static int neighbor(int coord, int dir)
+	{
+		return of(row(coord) + DIR_ROW[dir], col(coord) + DIR_COL[dir]);
+	}
+
+	public static int ringNumber(int coord)
+	{
+		return GridPos.ringNumber(row(coord), col(coord));
+	}
+
+	/**
+	 * Parses "row,col" (whitespace around either number allowed, as in {@link GridPos#parse}) without allocating.
+	 * @return packed coordinate, or {@link #NONE} if malformed or out of range
+	 */
+	public static int parse(String pos)
+	{
+		if (pos == null) return NONE;
+		int comma = pos.indexOf(',');
+		if (comma < 0) return NONE;
+		int row = parseShort(pos, 0, comma);
+		int col = parseShort(pos, comma + 1, pos.length());
+		if (row == NONE || col == NONE) return NONE;
+		return of(row, col);
+	}
+
+	/** Persistence/id form "row,col" (same as {@code TaskTile.idFor}). */
+	public static String toId(int coord)
+	{
+		return row(coord) + "," + col(coord);
+	}
+
+	private static int parseShort(String s, int from, int to)
+	{
+		while (from < to && Character.isWhitespace(s.charAt(from))) from++;
+		while (to > from && Character.isWhitespace(s.charAt(to - 1))) to--;
+		if (from >= to) return NONE;
+		boolean negative = s.charAt(from) == '-';
+		int i = negative ? from + 1 : from;
+		if (i >= to || to - i > 5) return NONE;
+		int value = 0;
+		for (; i < to; i++)
+		{
+			char ch = s.charAt(i);
+			if (ch < '0' || ch > '9') return NONE;
+			value = value * 10 + (ch - '0');
+		}
+		if (value > Short.MAX_VALUE) return NONE;
+		return negative ? -value : value;
+	}
+}
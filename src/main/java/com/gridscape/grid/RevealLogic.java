@@ -27,4 +27,28 @@ public final class RevealLogic
 		}
 		return false;
 	}
+
+	/** Positions revealed by a set of claimed positions: the center, the claimed positions and their cardinal neighbors. */
+	public static CoordSet revealedAround(CoordSet claimedCoords)
+	{
+		CoordSet revealed = new CoordSet(claimedCoords.size() * 5 + 1);
+		revealed.add(GridCoord.of(0, 0));
+		claimedCoords.forEach(c -> {
+			revealed.add(c);
+			for (int d = 0; d < 4; d++)
+				revealed.add(GridCoord.neighbor(c, d));
+		});
+		return revealed;
+	}
+
+	/** Same as {@link #revealedByClaimedTaskIds} over packed {@link GridCoord} positions. */
+	public static boolean revealedByClaimedCoords(int row, int col, CoordSet claimedCoords)
+	{
+		if (row == 0 && col == 0)
+			return true;
+		if (claimedCoords == null || claimedCoords.isEmpty())
+			return false;
+		return claimedCoords.contains(row + 1, col) || claimedCoords.contains(row - 1, col)
+			|| claimedCoords.contains(row, col + 1) || claimedCoords.contains(row, col - 1);
+	}
 }
@@ -0,0 +1,182 @@
+package com.gridscape.overlay;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.Stroke;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.Point;
+import net.runelite.api.worldmap.WorldMap;
+
+/**
+ * Screen-space shapes for polygons being edited on the world map. Projection is redone only when the source geometry
+ * version changes or the map is panned, zoomed or resized; other frames just draw the cached shapes.
+ * "Fixed" polygons are the completed/read-only ones; "current" is the polygon whose corners are being placed or dragged.
+ */
+final class EditGeometryPaths
+{
+	private static final int NO_POINT = Integer.MIN_VALUE;
+
+	private long sourceVersion;
+	private int mapX;
+	private int mapY;
+	private float pixelsPerTile;
+	private Rectangle mapRect;
+
+	private final List<Polygon> fixedPolygons = new ArrayList<>();
+	/** Fixed polygons minus holes; used instead of {@link #fixedPolygons} when there are holes. */
+	private java.awt.geom.Area fixedWithHoles;
+	/** Packed screen (x, y) pairs of fixed corners inside the map rectangle. */
+	private int[] fixedCorners = new int[0];
+	private int fixedCornerCount;
+	private Polygon currentPolygon;
+	/** Screen x/y per current corner, {@link #NO_POINT} when off the map rectangle. */
+	private int[] currentX = new int[0];
+	private int[] currentY = new int[0];
+	private int currentCornerCount;
+
+	/**
+	 * Re-projects the geometry if {@code version} or the map view differs from the last call. Callers bump
+	 * {@code version} whenever any of the corner lists change.
+	 */
+	void update(long version, List<List<int[]>> fixed, List<List<int[]>> holes, List<int[]> current,
+		WorldMap worldMap, Rectangle worldMapRect, float pixelsPerTile)
+	{
+		Point pos = worldMap.getWorldMapPosition();
+		if (mapRect != null && version == sourceVersion && pos.getX() == mapX && pos.getY() == mapY
+			&& pixelsPerTile == this.pixelsPerTile && worldMapRect.equals(mapRect))
+		{
+			return;
+		}
+		sourceVersion = version;
+		mapX = pos.getX();
+		mapY = pos.getY();
+		this.pixelsPerTile = pixelsPerTile;
+		mapRect = new Rectangle(worldMapRect);
+
+		fixedPolygons.clear();
+		fixedWithHoles = null;
+		fixedCornerCount = 0;
+		boolean hasHoles = holes != null && !holes.isEmpty();
+		if (hasHoles)
+			fixedWithHoles = new java.awt.geom.Area();
+		for (List<int[]> poly : fixed)
+		{
+			if (poly == null || poly.isEmpty()) continue;
+			for (int[] v : poly)
+				addFixedCorner(worldMap, worldMapRect, pixelsPerTile, v);
+			if (poly.size() < 3) continue;
+			if (hasHoles)
+			{
+				Path2D.Double path = WorldMapAreaPainter.worldPolygonToPath2D(poly, worldMap, worldMapRect, pixelsPerTile);
+				if (path != null) fixedWithHoles.add(new java.awt.geom.Area(path));
+			}
+			else
+			{
+				Polygon screenPoly = WorldMapAreaPainter.worldPolygonToScreen(poly, worldMap, worldMapRect, pixelsPerTile);
+				if (screenPoly != null && screenPoly.npoints >= 3) fixedPolygons.add(screenPoly);
+			}
+		}
+		if (hasHoles)
+		{
+			for (List<int[]> hole : holes)
+			{
+				if (hole == null || hole.size() < 3) continue;
+				Path2D.Double path = WorldMapAreaPainter.worldPolygonToPath2D(hole, worldMap, worldMapRect, pixelsPerTile);
+				if (path != null) fixedWithHoles.subtract(new java.awt.geom.Area(path));
+			}
+		}
+
+		int n = current == null ? 0 : current.size();
+		if (currentX.length < n)
+		{
+			currentX = new int[n];
+			currentY = new int[n];
+		}
+		for (int i = 0; i < n; i++)
+		{
+			int[] v = current.get(i);
+			Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
+			boolean visible = screen != null && worldMapRect.contains(screen.getX(), screen.getY());
+			currentX[i] = visible ? screen.getX() : NO_POINT;
+			currentY[i] = visible ? screen.getY() : NO_POINT;
+		}
+		currentCornerCount = n;
+		currentPolygon = null;
+		if (n >= 3)
+		{
+			Polygon screenPoly = WorldMapAreaPainter.worldPolygonToScreen(current, worldMap, worldMapRect, pixelsPerTile);
+			if (screenPoly != null && screenPoly.npoints >= 3) currentPolygon = screenPoly;
+		}
+	}
+
+	private void addFixedCorner(WorldMap worldMap, Rectangle worldMapRect, float pixelsPerTile, int[] v)
+	{
+		Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
+		if (screen == null || !worldMapRect.contains(screen.getX(), screen.getY())) return;
+		if (fixedCornerCount * 2 + 2 > fixedCorners.length)
+			fixedCorners = Arrays.copyOf(fixedCorners, Math.max(16, fixedCorners.length * 2));
+		fixedCorners[fixedCornerCount * 2] = screen.getX();
+		fixedCorners[fixedCornerCount * 2 + 1] = screen.getY();
+		fixedCornerCount++;
+	}
+
+	/** Fills and outlines the fixed polygons (holes cut out), then draws their corner markers. */
+	void drawFixed(Graphics2D g, Color fill, Color outline, Stroke stroke, Color cornerColor, int cornerRadius)
+	{
+		if (fixedWithHoles != null)
+		{
+			if (!fixedWithHoles.isEmpty())
+			{
+				g.setColor(fill);
+				g.fill(fixedWithHoles);
+				g.setColor(outline);
+				g.setStroke(stroke);
+				g.draw(fixedWithHoles);
+			}
+		}
+		else
+		{
+			g.setStroke(stroke);
+			for (Polygon poly : fixedPolygons)
+			{
+				g.setColor(fill);
+				g.fillPolygon(poly);
+				g.setColor(outline);
+				g.drawPolygon(poly);
+			}
+		}
+		g.setColor(cornerColor);
+		for (int i = 0; i < fixedCornerCount; i++)
+		{
+			g.fillOval(fixedCorners[i * 2] - cornerRadius, fixedCorners[i * 2 + 1] - cornerRadius,
+				cornerRadius * 2, cornerRadius * 2);
+		}
+	}
+
+	/** Fills and outlines the current polygon (when it has >= 3 corners). */
+	void drawCurrentPolygon(Graphics2D g, Color fill, Color outline, Stroke stroke)
+	{
+		if (currentPolygon == null) return;
+		g.setColor(fill);
+		g.fillPolygon(currentPolygon);
+		g.setColor(outline);
+		g.setStroke(stroke);
+		g.drawPolygon(currentPolygon);
+	}
+
+	/** Draws the current polygon's corner markers; {@code movingIndex} (or -1) gets {@code movingColor}. */
+	void drawCurrentCorners(Graphics2D g, Color cornerColor, Color movingColor, int movingIndex, int cornerRadius)
+	{
+		for (int i = 0; i < currentCornerCount; i++)
+		{
+			if (currentX[i] == NO_POINT) continue;
+			g.setColor(i == movingIndex ? movingColor : cornerColor);
+			g.fillOval(currentX[i] - cornerRadius, currentY[i] - cornerRadius, cornerRadius * 2, cornerRadius * 2);
+		}
+	}
+}
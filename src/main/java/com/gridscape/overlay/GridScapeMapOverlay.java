@@ -7,6 +7,8 @@ import com.gridscape.icons.IconCache;
 import com.gridscape.icons.IconResources;
 import com.gridscape.icons.IconResolver;
 import com.gridscape.area.AreaGraphService;
+import com.gridscape.area.TileRegion;
+import com.gridscape.grid.GridCoord;
 import com.gridscape.grid.GridPos;
 import com.gridscape.data.Area;
 import com.gridscape.util.FogTileCompositor;
@@ -38,11 +40,8 @@ import java.awt.Graphics2D;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.awt.Polygon;
 import java.awt.Rectangle;
 import java.awt.Window;
-import java.awt.geom.Path2D;
-import java.awt.geom.PathIterator;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
@@ -99,6 +98,9 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 	private static final Color CORNER_MARKER_COLOR = new Color(255, 255, 255, 200);
 	private static final Color CORNER_MARKER_EDIT_COLOR = new Color(255, 220, 100, 220);
 	private static final Color CORNER_MARKER_MOVE_COLOR = new Color(255, 180, 80, 255);
+	private static final BasicStroke HOVER_BORDER_STROKE = new BasicStroke(HOVER_BORDER_WIDTH);
+	private static final BasicStroke EDIT_OUTLINE_STROKE = new BasicStroke(1.5f);
+	private static final BasicStroke CURRENT_OUTLINE_STROKE = new BasicStroke(2f);
 	/** OSRS sound when unlocking a World Unlock tile from area details ({@link net.runelite.api.Client#playSoundEffect(int)}). */
 	private static final int WORLD_UNLOCK_TILE_SOUND_ID = 52;
 
@@ -127,6 +129,17 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 	private volatile String openTaskGridAreaId = null;
 	/** Padlock icon for locked areas on world map; loaded lazily. */
 	private volatile BufferedImage worldMapPadlockIcon = null;
+	/** Projected edit geometry for plugin edit mode, map-only edit mode and add-new-area mode. Client thread only. */
+	private final EditGeometryPaths pluginEditPaths = new EditGeometryPaths();
+	private final EditGeometryPaths localEditPaths = new EditGeometryPaths();
+	private final EditGeometryPaths newAreaPaths = new EditGeometryPaths();
+	/** Bumped whenever {@link #editingCorners} is replaced or modified. */
+	private volatile int localEditVersion = 0;
+	/** Edit fills derived from the unlocked map color; rebuilt only when that color changes. */
+	private Color editFillColor = null;
+	private Color editCurrentFillColor = null;
+	/** Per-area color classes; rebuilt only when unlock/completion state or unlock mode changes. */
+	private volatile MapRenderState renderState = null;
 
 	public GridScapeMapOverlay(Client client, AreaGraphService areaGraphService, GridScapeConfig config,
 		PointsService pointsService, AreaCompletionService areaCompletionService, GridScapePlugin plugin,
@@ -151,6 +164,23 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		drawAfterInterface(InterfaceID.WORLDMAP);
 	}
 
+	private void refreshEditFillColors()
+	{
+		Color base = config.mapUnlockedColor();
+		if (editFillColor == null || (editFillColor.getRGB() & 0xFFFFFF) != (base.getRGB() & 0xFFFFFF))
+		{
+			editFillColor = new Color(base.getRed(), base.getGreen(), base.getBlue(), 80);
+			editCurrentFillColor = new Color(base.getRed(), base.getGreen(), base.getBlue(), 120);
+		}
+	}
+
+	private MapRenderState currentRenderState()
+	{
+		MapRenderState state = MapRenderState.refresh(renderState, areaGraphService, areaCompletionService, config.unlockMode());
+		renderState = state;
+		return state;
+	}
+
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
@@ -172,25 +202,19 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		Rectangle worldMapRect = map.getBounds();
 		graphics.setClip(worldMapRect);
 
-		Set<String> unlocked = areaGraphService.getUnlockedAreaIds();
-		java.util.Set<String> completedIds = (config.unlockMode() == GridScapeConfig.UnlockMode.POINTS_TO_COMPLETE)
-			? areaCompletionService.getEffectiveCompletedAreaIds()
-			: null;
-		List<Area> unlockable = areaGraphService.getUnlockableNeighbors(completedIds);
+		MapRenderState state = currentRenderState();
+		List<Area> areas = state.getAreas();
+		Color[] colorsByClass = new Color[3];
+		colorsByClass[MapRenderState.LOCKED] = config.mapLockedColor();
+		colorsByClass[MapRenderState.UNLOCKABLE] = config.mapUnlockableColor();
+		colorsByClass[MapRenderState.UNLOCKED] = config.mapUnlockedColor();
 
 		// Draw area polygons (all polygons per area for locked/unlocked/unlockable); apply holes so they appear cut out
-		for (Area area : areaGraphService.getAreas())
+		for (int i = 0; i < areas.size(); i++)
 		{
+			Area area = areas.get(i);
 			if (area.getPolygons() == null) continue;
-
-			Color color;
-			if (unlocked.contains(area.getId()))
-				color = config.mapUnlockedColor();
-			else if (unlockable.contains(area))
-				color = config.mapUnlockableColor();
-			else
-				color = config.mapLockedColor();
-
+			Color color = colorsByClass[state.colorClass(i)];
 			WorldMapAreaPainter.drawAreaShapeWithHoles((Graphics2D) graphics, area, worldMap, worldMapRect, pixelsPerTile, color, false);
 		}
 
@@ -199,14 +223,14 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		{
 			worldMapPadlockIcon = WorldMapAreaPainter.loadWorldMapPadlockIcon();
 		}
-		WorldMapAreaPainter.drawLockedAreaPadlocks((Graphics2D) graphics, worldMap, worldMapRect, pixelsPerTile, unlocked, areaGraphService.getAreas(), worldMapPadlockIcon);
+		WorldMapAreaPainter.drawLockedAreaPadlocks((Graphics2D) graphics, worldMap, worldMapRect, pixelsPerTile, state.getUnlockedIds(), areas, worldMapPadlockIcon);
 
 		// Hover: white border on hovered area (with holes so outline is correct)
 		Area hovered = hoveredArea;
 		if (hovered != null && hovered.getPolygons() != null)
 		{
 			graphics.setColor(HOVER_BORDER_COLOR);
-			graphics.setStroke(new BasicStroke(HOVER_BORDER_WIDTH));
+			graphics.setStroke(HOVER_BORDER_STROKE);
 			WorldMapAreaPainter.drawAreaShapeWithHoles((Graphics2D) graphics, hovered, worldMap, worldMapRect, pixelsPerTile, null, true);
 		}
 
@@ -214,226 +238,61 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		boolean isEditMode = (editingAreaId != null && editingCorners != null);
 		boolean pluginEditMode = plugin.isEditingArea() && !plugin.isAddNewAreaMode();
 		boolean addNewAreaMode = plugin.isAddNewAreaMode();
+		if (pluginEditMode || addNewAreaMode || isEditMode)
+		{
+			refreshEditFillColors();
+		}
 		if (pluginEditMode)
 		{
-			// Draw all polygons (completed + current); if there are holes, draw shape with holes cut out
-			List<List<int[]>> allPolygons = plugin.getAllEditingPolygons();
-			List<List<int[]>> editingHoles = plugin.getEditingHoles() != null ? plugin.getEditingHoles() : Collections.<List<int[]>>emptyList();
-			boolean hasHoles = editingHoles != null && !editingHoles.isEmpty();
-			if (hasHoles)
-			{
-				java.awt.geom.Area combined = new java.awt.geom.Area();
-				for (List<int[]> poly : allPolygons)
-				{
-					if (poly == null || poly.size() < 3) continue;
-					Path2D.Double path = WorldMapAreaPainter.worldPolygonToPath2D(poly, worldMap, worldMapRect, pixelsPerTile);
-					if (path != null) combined.add(new java.awt.geom.Area(path));
-				}
-				for (List<int[]> hole : editingHoles)
-				{
-					if (hole == null || hole.size() < 3) continue;
-					Path2D.Double path = WorldMapAreaPainter.worldPolygonToPath2D(hole, worldMap, worldMapRect, pixelsPerTile);
-					if (path != null) combined.subtract(new java.awt.geom.Area(path));
-				}
-				if (!combined.isEmpty())
-				{
-					graphics.setColor(new Color(config.mapUnlockedColor().getRed(), config.mapUnlockedColor().getGreen(), config.mapUnlockedColor().getBlue(), 80));
-					((Graphics2D) graphics).fill(combined);
-					graphics.setColor(CORNER_MARKER_COLOR);
-					graphics.setStroke(new BasicStroke(1.5f));
-					((Graphics2D) graphics).draw(combined);
-				}
-			}
-			else
-			{
-				for (List<int[]> poly : allPolygons)
-				{
-					if (poly == null || poly.isEmpty()) continue;
-					Polygon screenPoly = WorldMapAreaPainter.worldPolygonToScreen(poly, worldMap, worldMapRect, pixelsPerTile);
-					if (screenPoly != null && screenPoly.npoints >= 3)
-					{
-						graphics.setColor(new Color(config.mapUnlockedColor().getRed(), config.mapUnlockedColor().getGreen(), config.mapUnlockedColor().getBlue(), 80));
-						graphics.fillPolygon(screenPoly);
-						graphics.setColor(CORNER_MARKER_COLOR);
-						graphics.setStroke(new BasicStroke(1.5f));
-						graphics.drawPolygon(screenPoly);
-					}
-				}
-			}
-			// Corner markers for all polygons
-			for (List<int[]> poly : allPolygons)
-			{
-				if (poly == null || poly.isEmpty()) continue;
-				for (int[] v : poly)
-				{
-					Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
-					if (screen == null) continue;
-					if (!worldMapRect.contains(screen.getX(), screen.getY())) continue;
-					graphics.setColor(CORNER_MARKER_COLOR);
-					graphics.fillOval(screen.getX() - CORNER_MARKER_RADIUS, screen.getY() - CORNER_MARKER_RADIUS,
-						CORNER_MARKER_RADIUS * 2, CORNER_MARKER_RADIUS * 2);
-				}
-			}
-			List<int[]> currentCorners = plugin.getEditingCorners();
-			int movingIdx = plugin.getMoveCornerIndex();
-			for (int i = 0; i < currentCorners.size(); i++)
-			{
-				int[] v = currentCorners.get(i);
-				Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
-				if (screen == null) continue;
-				if (!worldMapRect.contains(screen.getX(), screen.getY())) continue;
-				if (i == movingIdx)
-					graphics.setColor(CORNER_MARKER_MOVE_COLOR);
-				else
-					graphics.setColor(CORNER_MARKER_EDIT_COLOR);
-				graphics.fillOval(screen.getX() - CORNER_MARKER_RADIUS, screen.getY() - CORNER_MARKER_RADIUS,
-					CORNER_MARKER_RADIUS * 2, CORNER_MARKER_RADIUS * 2);
-			}
-			if (currentCorners.size() >= 3)
-			{
-				Polygon editPoly = WorldMapAreaPainter.worldPolygonToScreen(currentCorners, worldMap, worldMapRect, pixelsPerTile);
-				if (editPoly != null && editPoly.npoints >= 3)
-				{
-					graphics.setColor(new Color(config.mapUnlockedColor().getRed(), config.mapUnlockedColor().getGreen(), config.mapUnlockedColor().getBlue(), 120));
-					graphics.fillPolygon(editPoly);
-					graphics.setColor(CORNER_MARKER_EDIT_COLOR);
-					graphics.setStroke(new BasicStroke(2f));
-					graphics.drawPolygon(editPoly);
-				}
-			}
+			// Draw all polygons (completed + current) with holes cut out, all corners, then the current polygon
+			com.gridscape.config.AreaEditState.Geometry geometry = plugin.getEditGeometry();
+			pluginEditPaths.update(geometry.getVersion(), geometry.getAllPolygons(), geometry.getHoles(), geometry.getCorners(),
+				worldMap, worldMapRect, pixelsPerTile);
+			pluginEditPaths.drawFixed(graphics, editFillColor, CORNER_MARKER_COLOR, EDIT_OUTLINE_STROKE, CORNER_MARKER_COLOR, CORNER_MARKER_RADIUS);
+			pluginEditPaths.drawCurrentPolygon(graphics, editCurrentFillColor, CORNER_MARKER_EDIT_COLOR, CURRENT_OUTLINE_STROKE);
+			pluginEditPaths.drawCurrentCorners(graphics, CORNER_MARKER_EDIT_COLOR, CORNER_MARKER_MOVE_COLOR, plugin.getMoveCornerIndex(), CORNER_MARKER_RADIUS);
 		}
 		else if (isEditMode)
 		{
-			// Draw other polygons of this area (read-only), then current polygon being edited
+			// Draw other polygons of this area (read-only; the first is replaced by the one being edited), then the current polygon
+			List<int[]> corners = editingCorners;
 			Area area = areaGraphService.getArea(editingAreaId);
+			List<List<int[]>> fixed = new ArrayList<>();
 			if (area != null && area.getPolygons() != null)
 			{
 				for (int p = 0; p < area.getPolygons().size(); p++)
-				{
-					List<int[]> poly = (p == 0) ? editingCorners : area.getPolygons().get(p);
-					if (poly == null || poly.isEmpty()) continue;
-					for (int[] v : poly)
-					{
-						Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
-						if (screen == null) continue;
-						if (!worldMapRect.contains(screen.getX(), screen.getY())) continue;
-						graphics.setColor(CORNER_MARKER_COLOR);
-						graphics.fillOval(screen.getX() - CORNER_MARKER_RADIUS, screen.getY() - CORNER_MARKER_RADIUS,
-							CORNER_MARKER_RADIUS * 2, CORNER_MARKER_RADIUS * 2);
-					}
-					Polygon screenPoly = WorldMapAreaPainter.worldPolygonToScreen(poly, worldMap, worldMapRect, pixelsPerTile);
-					if (screenPoly != null && screenPoly.npoints >= 3)
-					{
-						graphics.setColor(new Color(config.mapUnlockedColor().getRed(), config.mapUnlockedColor().getGreen(), config.mapUnlockedColor().getBlue(), 80));
-						graphics.fillPolygon(screenPoly);
-						graphics.setColor(CORNER_MARKER_COLOR);
-						graphics.setStroke(new BasicStroke(1.5f));
-						graphics.drawPolygon(screenPoly);
-					}
-				}
-			}
-			// Current polygon corners with move highlight
-			List<int[]> cornersToDraw = editingCorners;
-			int movingIdx = moveCornerIndex;
-			for (int i = 0; i < cornersToDraw.size(); i++)
-			{
-				int[] v = cornersToDraw.get(i);
-				Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
-				if (screen == null) continue;
-				if (!worldMapRect.contains(screen.getX(), screen.getY())) continue;
-				if (i == movingIdx)
-					graphics.setColor(CORNER_MARKER_MOVE_COLOR);
-				else
-					graphics.setColor(CORNER_MARKER_EDIT_COLOR);
-				graphics.fillOval(screen.getX() - CORNER_MARKER_RADIUS, screen.getY() - CORNER_MARKER_RADIUS,
-					CORNER_MARKER_RADIUS * 2, CORNER_MARKER_RADIUS * 2);
+					fixed.add((p == 0) ? corners : area.getPolygons().get(p));
 			}
+			long version = ((long) areaGraphService.getStateVersion() << 32) | (localEditVersion & 0xFFFFFFFFL);
+			localEditPaths.update(version, fixed, null, corners, worldMap, worldMapRect, pixelsPerTile);
+			localEditPaths.drawFixed(graphics, editFillColor, CORNER_MARKER_COLOR, EDIT_OUTLINE_STROKE, CORNER_MARKER_COLOR, CORNER_MARKER_RADIUS);
+			localEditPaths.drawCurrentPolygon(graphics, editCurrentFillColor, CORNER_MARKER_EDIT_COLOR, CURRENT_OUTLINE_STROKE);
+			localEditPaths.drawCurrentCorners(graphics, CORNER_MARKER_EDIT_COLOR, CORNER_MARKER_MOVE_COLOR, moveCornerIndex, CORNER_MARKER_RADIUS);
 		}
 		else if (addNewAreaMode)
 		{
-			// Show corners of all polygons of all existing areas (read-only) when adding a new area
-			for (Area area : areaGraphService.getAreas())
-			{
-				if (area.getPolygons() == null) continue;
-				for (List<int[]> polygon : area.getPolygons())
-				{
-					if (polygon == null) continue;
-					for (int[] v : polygon)
-					{
-						Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
-						if (screen == null) continue;
-						if (!worldMapRect.contains(screen.getX(), screen.getY())) continue;
-						graphics.setColor(CORNER_MARKER_COLOR);
-						graphics.fillOval(screen.getX() - CORNER_MARKER_RADIUS, screen.getY() - CORNER_MARKER_RADIUS,
-							CORNER_MARKER_RADIUS * 2, CORNER_MARKER_RADIUS * 2);
-					}
-				}
-			}
-			// Draw completed polygons of the new area (same as edit mode: "Begin new polygon" keeps them)
-			for (List<int[]> poly : plugin.getEditingPolygons())
-			{
-				if (poly == null || poly.isEmpty()) continue;
-				for (int[] v : poly)
-				{
-					Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
-					if (screen == null) continue;
-					if (!worldMapRect.contains(screen.getX(), screen.getY())) continue;
-					graphics.setColor(CORNER_MARKER_COLOR);
-					graphics.fillOval(screen.getX() - CORNER_MARKER_RADIUS, screen.getY() - CORNER_MARKER_RADIUS,
-						CORNER_MARKER_RADIUS * 2, CORNER_MARKER_RADIUS * 2);
-				}
-				Polygon screenPoly = WorldMapAreaPainter.worldPolygonToScreen(poly, worldMap, worldMapRect, pixelsPerTile);
-				if (screenPoly != null && screenPoly.npoints >= 3)
-				{
-					graphics.setColor(new Color(config.mapUnlockedColor().getRed(), config.mapUnlockedColor().getGreen(), config.mapUnlockedColor().getBlue(), 80));
-					graphics.fillPolygon(screenPoly);
-					graphics.setColor(CORNER_MARKER_COLOR);
-					graphics.setStroke(new BasicStroke(1.5f));
-					graphics.drawPolygon(screenPoly);
-				}
-			}
-			// Draw the new area's current polygon corners (the one being built)
-			{
-				List<int[]> newCorners = plugin.getEditingCorners();
-				for (int[] v : newCorners)
-				{
-					Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
-					if (screen == null) continue;
-					if (!worldMapRect.contains(screen.getX(), screen.getY())) continue;
-					graphics.setColor(CORNER_MARKER_EDIT_COLOR);
+			// Show corners of existing areas (read-only) when adding a new area: only those in the viewport, thinned
+			// when zoomed out so overlapping markers collapse to one per marker-sized block of tiles
+			Rectangle view = WorldMapAreaPainter.viewportWorldBounds(worldMap, worldMapRect, pixelsPerTile);
+			int thinStep = Math.max(1, (int) Math.ceil(CORNER_MARKER_RADIUS * 2 / pixelsPerTile));
+			graphics.setColor(CORNER_MARKER_COLOR);
+			areaGraphService.getSpatialIndex().forEachVertexInBounds(view.x, view.y, view.x + view.width, view.y + view.height, 0, thinStep,
+				(x, y) -> {
+					Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, x, y);
+					if (screen == null) return;
+					if (!worldMapRect.contains(screen.getX(), screen.getY())) return;
 					graphics.fillOval(screen.getX() - CORNER_MARKER_RADIUS, screen.getY() - CORNER_MARKER_RADIUS,
 						CORNER_MARKER_RADIUS * 2, CORNER_MARKER_RADIUS * 2);
-				}
-				if (newCorners.size() >= 3)
-				{
-					Polygon newPoly = WorldMapAreaPainter.worldPolygonToScreen(newCorners, worldMap, worldMapRect, pixelsPerTile);
-					if (newPoly != null && newPoly.npoints >= 3)
-					{
-						graphics.setColor(new Color(config.mapUnlockedColor().getRed(), config.mapUnlockedColor().getGreen(), config.mapUnlockedColor().getBlue(), 120));
-						graphics.fillPolygon(newPoly);
-						graphics.setColor(CORNER_MARKER_EDIT_COLOR);
-						graphics.setStroke(new BasicStroke(2f));
-						graphics.drawPolygon(newPoly);
-					}
-				}
-			}
+				});
+			// Completed polygons of the new area (same as edit mode: "Begin new polygon" keeps them), then the one being built
+			com.gridscape.config.AreaEditState.Geometry geometry = plugin.getEditGeometry();
+			newAreaPaths.update(geometry.getVersion(), geometry.getPolygons(), null, geometry.getCorners(), worldMap, worldMapRect, pixelsPerTile);
+			newAreaPaths.drawFixed(graphics, editFillColor, CORNER_MARKER_COLOR, EDIT_OUTLINE_STROKE, CORNER_MARKER_COLOR, CORNER_MARKER_RADIUS);
+			newAreaPaths.drawCurrentPolygon(graphics, editCurrentFillColor, CORNER_MARKER_EDIT_COLOR, CURRENT_OUTLINE_STROKE);
+			newAreaPaths.drawCurrentCorners(graphics, CORNER_MARKER_EDIT_COLOR, CORNER_MARKER_EDIT_COLOR, -1, CORNER_MARKER_RADIUS);
 		}
 		// Corners are only shown in Edit Area mode or Add New Area mode; not when just hovering
 
-		// In edit mode, draw the editing polygon outline (and fill if >= 3 points)
-		if (isEditMode && editingCorners.size() >= 3)
-		{
-			Polygon editPoly = WorldMapAreaPainter.worldPolygonToScreen(editingCorners, worldMap, worldMapRect, pixelsPerTile);
-			if (editPoly != null && editPoly.npoints >= 3)
-			{
-				graphics.setColor(new Color(config.mapUnlockedColor().getRed(), config.mapUnlockedColor().getGreen(), config.mapUnlockedColor().getBlue(), 120));
-				graphics.fillPolygon(editPoly);
-				graphics.setColor(CORNER_MARKER_EDIT_COLOR);
-				graphics.setStroke(new BasicStroke(2f));
-				graphics.drawPolygon(editPoly);
-			}
-		}
-
 		// Draw chunk grid (like region-locker)
 		if (config.drawMapGrid())
 		{
@@ -485,6 +344,7 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		}
 		editingAreaId = area.getId();
 		editingCorners = copy;
+		localEditVersion++;
 		moveCornerIndex = -1;
 	}
 
@@ -541,6 +401,7 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		}
 		editingAreaId = null;
 		editingCorners = null;
+		localEditVersion++;
 		moveCornerIndex = -1;
 	}
 
@@ -554,11 +415,16 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		Rectangle worldMapRect = map.getBounds();
 		WorldMap worldMap = client.getWorldMap();
 		float pixelsPerTile = worldMap.getWorldMapZoom();
+		// Cheap world-space reject before projecting: only corners within the hit radius (in tiles) of the cursor tile
+		int[] cursor = WorldMapAreaPainter.screenToWorldTile(worldMap, worldMapRect, pixelsPerTile, screenX, screenY);
+		int radiusTiles = (int) Math.ceil(CORNER_HIT_RADIUS / pixelsPerTile) + 1;
 		int best = -1;
 		int bestDistSq = CORNER_HIT_RADIUS * CORNER_HIT_RADIUS + 1;
 		for (int i = 0; i < corners.size(); i++)
 		{
 			int[] v = corners.get(i);
+			if (Math.abs(v[0] - cursor[0]) > radiusTiles || Math.abs(v[1] - cursor[1]) > radiusTiles)
+				continue;
 			Point screen = WorldMapAreaPainter.mapWorldPointToGraphicsPoint(worldMap, worldMapRect, pixelsPerTile, v[0], v[1]);
 			if (screen == null) continue;
 			int dx = screen.getX() - screenX;
@@ -573,56 +439,11 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		return best;
 	}
 
-	/** Signed area of a polygon (positive = counterclockwise, negative = clockwise). */
-	private static double polygonSignedArea(List<int[]> poly)
-	{
-		if (poly == null || poly.size() < 3) return 0;
-		double a = 0;
-		int n = poly.size();
-		for (int i = 0; i < n; i++)
-		{
-			int[] p = poly.get(i);
-			int[] q = poly.get((i + 1) % n);
-			a += (double) p[0] * q[1] - (double) q[0] * p[1];
-		}
-		return 0.5 * a;
-	}
-
-	/** Extract all closed subpaths from a Java Area as lists of [x, y, plane] corners. */
-	private static List<List<int[]>> extractPolygonsFromArea(java.awt.geom.Area area)
-	{
-		if (area == null || area.isEmpty()) return new ArrayList<>();
-		List<List<int[]>> result = new ArrayList<>();
-		float[] coords = new float[6];
-		List<int[]> current = null;
-		for (PathIterator it = area.getPathIterator(null); !it.isDone(); it.next())
-		{
-			switch (it.currentSegment(coords))
-			{
-				case PathIterator.SEG_MOVETO:
-					current = new ArrayList<>();
-					current.add(new int[]{ (int) Math.round(coords[0]), (int) Math.round(coords[1]), 0 });
-					break;
-				case PathIterator.SEG_LINETO:
-					if (current != null)
-						current.add(new int[]{ (int) Math.round(coords[0]), (int) Math.round(coords[1]), 0 });
-					break;
-				case PathIterator.SEG_CLOSE:
-					if (current != null && current.size() >= 3)
-						result.add(current);
-					current = null;
-					break;
-				default:
-					break;
-			}
-		}
-		return result;
-	}
-
 	/**
 	 * Paint-bucket fill: start from the user's bounding polygon and "fill" the space,
 	 * using the edges of surrounding area polygons as the boundary. Result = (bounding polygon minus all other areas).
 	 * The boundary of that filled region follows the user's polygon and the "shoreline" of other areas.
+	 * Uses {@link TileRegion} (tile-exact, integer) against only the areas whose bounds overlap the bounding polygon.
 	 * Returns the main (exterior) boundary polygon and a list of holes (islands inside the fill).
 	 */
 	private void fillUsingOthersCorners()
@@ -635,76 +456,66 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		}
 		String excludeId = plugin.isEditingArea() ? plugin.getEditingAreaId() : editingAreaId;
 
-		// 1. Our bounding polygon as Area
-		Path2D.Double ourPath = new Path2D.Double();
-		ourPath.moveTo(bounding.get(0)[0], bounding.get(0)[1]);
-		for (int i = 1; i < bounding.size(); i++)
-			ourPath.lineTo(bounding.get(i)[0], bounding.get(i)[1]);
-		ourPath.closePath();
-		java.awt.geom.Area filledArea = new java.awt.geom.Area(ourPath);
-		if (filledArea.isEmpty())
+		// 1. Our bounding polygon as a tile region
+		TileRegion filled = TileRegion.fromPolygon(bounding);
+		if (filled.isEmpty())
 		{
 			client.addChatMessage(net.runelite.api.ChatMessageType.GAMEMESSAGE, "", "Fill: bounding polygon is invalid.", null);
 			return;
 		}
 
-		// 2. Subtract every other area's polygon from the fill; for the current area, also subtract any other
+		// 2. Subtract every other area's polygon that can overlap the fill; for the current area, also subtract any other
 		//    polygon that lies inside the bounding one (so it becomes a hole, not filled space)
-		for (Area area : areaGraphService.getAreas())
+		int[] b = TileRegion.bounds(bounding);
+		int plane = bounding.get(0).length >= 3 ? bounding.get(0)[2] : 0;
+		for (Area area : areaGraphService.getSpatialIndex().candidatesInBounds(b[0], b[1], b[2], b[3], plane))
 		{
 			if (area.getId() == null || area.getPolygons() == null) continue;
 			for (List<int[]> poly : area.getPolygons())
 			{
 				if (poly == null || poly.size() < 3) continue;
-				Path2D.Double otherPath = new Path2D.Double();
-				otherPath.moveTo(poly.get(0)[0], poly.get(0)[1]);
-				for (int i = 1; i < poly.size(); i++)
-					otherPath.lineTo(poly.get(i)[0], poly.get(i)[1]);
-				otherPath.closePath();
-				java.awt.geom.Area otherArea = new java.awt.geom.Area(otherPath);
 				if (area.getId().equals(excludeId))
 				{
 					// Same area: subtract only if it leaves non-empty fill (don't subtract the bounding polygon)
-					java.awt.geom.Area backup = (java.awt.geom.Area) filledArea.clone();
-					filledArea.subtract(otherArea);
-					if (filledArea.isEmpty())
-						filledArea = backup;
+					TileRegion backup = filled.copy();
+					filled.subtract(poly);
+					if (filled.isEmpty())
+						filled = backup;
 				}
 				else
-					filledArea.subtract(otherArea);
+					filled.subtract(poly);
 			}
 		}
 
-		if (filledArea.isEmpty())
+		if (filled.isEmpty())
 		{
 			client.addChatMessage(net.runelite.api.ChatMessageType.GAMEMESSAGE, "", "Fill: no space left (fully covered by other areas).", null);
 			return;
 		}
 
-		// 3. Extract polygons from the filled shape (exterior boundary + holes)
-		List<List<int[]>> allRings = extractPolygonsFromArea(filledArea);
-		if (allRings.isEmpty())
+		// 3. Trace the filled tiles back into rings; largest shell = exterior boundary (the "shoreline"), its holes = islands
+		List<TileRegion.Shell> shells = filled.toShells();
+		if (shells.isEmpty())
 		{
 			client.addChatMessage(net.runelite.api.ChatMessageType.GAMEMESSAGE, "", "Fill: could not extract boundary.", null);
 			return;
 		}
+		List<int[]> mainPolygon = new ArrayList<>(shells.get(0).getOuter());
+		List<List<int[]>> holes = new ArrayList<>(shells.get(0).getHoles());
 
-		// 4. Largest by absolute area = exterior boundary (the "shoreline"); rest = holes (islands)
-		allRings.sort((a, b) -> Double.compare(Math.abs(polygonSignedArea(b)), Math.abs(polygonSignedArea(a))));
-		List<int[]> mainPolygon = allRings.get(0);
-		List<List<int[]>> holes = allRings.size() > 1 ? new ArrayList<>(allRings.subList(1, allRings.size())) : new ArrayList<>();
-
-		// 5. Set as current polygon and holes
+		// 4. Set as current polygon and holes
 		plugin.setEditingCorners(mainPolygon);
 		plugin.setEditingHoles(holes);
 		if (!plugin.isEditingArea() && editingCorners != null)
 		{
 			editingCorners.clear();
 			editingCorners.addAll(mainPolygon);
+			localEditVersion++;
 			moveCornerIndex = -1;
 		}
+		String detached = shells.size() > 1 ? ", " + (shells.size() - 1) + " detached piece(s) dropped" : "";
 		client.addChatMessage(net.runelite.api.ChatMessageType.GAMEMESSAGE, "",
-			"Fill using others' corners: boundary updated (" + mainPolygon.size() + " corners, " + holes.size() + " hole(s)). Save (Done editing) to apply.", null);
+			"Fill using others' corners: boundary updated (" + mainPolygon.size() + " corners, " + holes.size() + " hole(s)" + detached + "). Save (Done editing) to apply.", null);
 	}
 
 	private static final Color POPUP_BG = new Color(0x54, 0x4D, 0x41);
@@ -890,11 +701,7 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		{
 			worldUnlockArea = false;
 			cost = area.getUnlockCost();
-			Set<String> completedIds = (config.unlockMode() == GridScapeConfig.UnlockMode.POINTS_TO_COMPLETE)
-				? areaCompletionService.getEffectiveCompletedAreaIds()
-				: null;
-			List<Area> unlockable = areaGraphService.getUnlockableNeighbors(completedIds);
-			canUnlock = unlockable.contains(area) && pointsService.getSpendable() >= cost;
+			canUnlock = currentRenderState().isUnlockable(area.getId()) && pointsService.getSpendable() >= cost;
 			costLabelText = (config.unlockMode() == GridScapeConfig.UnlockMode.POINTS_TO_COMPLETE)
 				? "Points to unlock: " + cost
 				: "Unlock cost: " + cost + " point" + (cost != 1 ? "s" : "");
@@ -1488,19 +1295,8 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 		int[][] d = { { -1, 0 }, { 0, 1 }, { 1, 0 }, { 0, -1 } };
 		for (int[] x : d)
 		{
-			String nid = TaskTile.idFor(tile.getRow() + x[0], tile.getCol() + x[1]);
-			TaskTile n = null;
-			for (TaskTile t : grid)
-			{
-				if (t.getId().equals(nid))
-				{
-					n = t;
-					break;
-				}
-			}
-			if (n == null) continue;
-			TaskState st = taskGridService.getState(areaId, nid, grid);
-			if (FrontierFogHelpers.isRevealedUnclaimedTaskState(st)) return true;
+			TaskState st = taskGridService.getStateAt(areaId, grid, tile.getRow() + x[0], tile.getCol() + x[1]);
+			if (st != null && FrontierFogHelpers.isRevealedUnclaimedTaskState(st)) return true;
 		}
 		return false;
 	}
@@ -1509,10 +1305,8 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 	private JPanel buildAreaFogCell(String areaId, TaskTile tile, List<TaskTile> grid, int tileSize,
 		BufferedImage fogTileBg, BufferedImage ftl, BufferedImage ftr, BufferedImage fbl, BufferedImage fbr)
 	{
-		Map<String, TaskTile> idMap = FrontierFogHelpers.idMap(grid);
 		boolean[] f = FrontierFogHelpers.cardinalFlagsForHiddenCell(tile.getRow(), tile.getCol(),
-			nid -> taskGridService.getState(areaId, nid, grid),
-			idMap::containsKey);
+			coord -> taskGridService.getStateAt(areaId, grid, GridCoord.row(coord), GridCoord.col(coord)));
 		final BufferedImage bg = fogTileBg;
 		JPanel cell = new JPanel()
 		{
@@ -1842,11 +1636,13 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 			if (idx < editingCorners.size())
 			{
 				editingCorners.set(idx, new int[]{ wp.getX(), wp.getY(), 0 });
+				localEditVersion++;
 			}
 			moveCornerIndex = -1;
 			return event;
 		}
 		editingCorners.add(new int[]{ wp.getX(), wp.getY(), 0 });
+		localEditVersion++;
 		return event;
 	}
 
@@ -1952,6 +1748,7 @@ public class GridScapeMapOverlay extends Overlay implements MouseListener
 				else if (editingCorners != null && idx >= 0 && idx < editingCorners.size())
 				{
 					editingCorners.remove(idx);
+					localEditVersion++;
 					if (moveCornerIndex == idx) moveCornerIndex = -1;
 					else if (moveCornerIndex > idx) moveCornerIndex--;
 				}
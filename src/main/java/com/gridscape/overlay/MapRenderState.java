@@ -0,0 +1,104 @@
+package com.gridscape.overlay;
+
+import com.gridscape.GridScapeConfig;
+import com.gridscape.area.AreaGraphService;
+import com.gridscape.data.Area;
+import com.gridscape.points.AreaCompletionService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of what the world map overlay needs per area: the area list and a color class per area ordinal.
+ * Built from {@link AreaGraphService} and {@link AreaCompletionService} and reused across frames until either
+ * service's version counter or the unlock mode changes.
+ */
+final class MapRenderState
+{
+	static final byte LOCKED = 0;
+	static final byte UNLOCKABLE = 1;
+	static final byte UNLOCKED = 2;
+
+	private final int areaVersion;
+	private final int completionVersion;
+	private final GridScapeConfig.UnlockMode unlockMode;
+
+	private final List<Area> areas;
+	/** Color class per area ordinal (index into {@link #areas}). */
+	private final byte[] colorClasses;
+	private final Set<String> unlockedIds;
+	private final Set<String> unlockableIds;
+
+	private MapRenderState(int areaVersion, int completionVersion, GridScapeConfig.UnlockMode unlockMode,
+		List<Area> areas, byte[] colorClasses, Set<String> unlockedIds, Set<String> unlockableIds)
+	{
+		this.areaVersion = areaVersion;
+		this.completionVersion = completionVersion;
+		this.unlockMode = unlockMode;
+		this.areas = areas;
+		this.colorClasses = colorClasses;
+		this.unlockedIds = unlockedIds;
+		this.unlockableIds = unlockableIds;
+	}
+
+	/**
+	 * Returns {@code previous} when it is still current, otherwise builds a new snapshot. Versions are read before the
+	 * services are queried, so a change racing the build just triggers another rebuild on the next frame.
+	 */
+	static MapRenderState refresh(MapRenderState previous, AreaGraphService areaGraphService,
+		AreaCompletionService areaCompletionService, GridScapeConfig.UnlockMode unlockMode)
+	{
+		int areaVersion = areaGraphService.getStateVersion();
+		int completionVersion = areaCompletionService.getCompletionVersion();
+		if (previous != null && previous.areaVersion == areaVersion && previous.completionVersion == completionVersion
+			&& previous.unlockMode == unlockMode)
+		{
+			return previous;
+		}
+
+		Set<String> completedIds = (unlockMode == GridScapeConfig.UnlockMode.POINTS_TO_COMPLETE)
+			? areaCompletionService.getEffectiveCompletedAreaIds()
+			: null;
+		Set<String> unlockableIds = new HashSet<>();
+		for (Area area : areaGraphService.getUnlockableNeighbors(completedIds))
+			unlockableIds.add(area.getId());
+		Set<String> unlockedIds = new HashSet<>(areaGraphService.getUnlockedAreaIds());
+
+		List<Area> areas = areaGraphService.getAreas();
+		byte[] colorClasses = new byte[areas.size()];
+		for (int i = 0; i < colorClasses.length; i++)
+		{
+			String id = areas.get(i).getId();
+			if (unlockedIds.contains(id))
+				colorClasses[i] = UNLOCKED;
+			else if (unlockableIds.contains(id))
+				colorClasses[i] = UNLOCKABLE;
+			else
+				colorClasses[i] = LOCKED;
+		}
+		return new MapRenderState(areaVersion, completionVersion, unlockMode, areas, colorClasses,
+			Collections.unmodifiableSet(unlockedIds), Collections.unmodifiableSet(unlockableIds));
+	}
+
+	List<Area> getAreas()
+	{
+		return areas;
+	}
+
+	/** {@link #LOCKED}, {@link #UNLOCKABLE} or {@link #UNLOCKED} for the area at this ordinal. */
+	byte colorClass(int ordinal)
+	{
+		return colorClasses[ordinal];
+	}
+
+	Set<String> getUnlockedIds()
+	{
+		return unlockedIds;
+	}
+
+	boolean isUnlockable(String areaId)
+	{
+		return unlockableIds.contains(areaId);
+	}
+}
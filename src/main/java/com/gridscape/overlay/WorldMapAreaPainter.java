@@ -25,6 +25,13 @@ public final class WorldMapAreaPainter
 	public static final int REGION_SIZE = 1 << 6;
 	public static final int REGION_TRUNCATE = ~0x3F;
 	private static final int LABEL_PADDING = 4;
+	private static final Color CHUNK_GRID_COLOR = new Color(0, 19, 36, 127);
+
+	/** Cached chunk grid lines; see {@link #chunkGridImage}. */
+	private static BufferedImage chunkGrid;
+	private static float chunkGridZoom;
+	private static int chunkGridMapWidth;
+	private static int chunkGridMapHeight;
 
 	private WorldMapAreaPainter()
 	{
@@ -147,6 +154,10 @@ public final class WorldMapAreaPainter
 		}
 	}
 
+	/**
+	 * Draws region (64x64) grid lines from a cached line image. The image depends only on zoom and map size, so panning
+	 * costs a single drawImage; it is re-rendered when either changes.
+	 */
 	public static void drawChunkGrid(Graphics2D graphics, WorldMap worldMap, Rectangle worldMapRect, float pixelsPerTile)
 	{
 		int widthInTiles = (int) Math.ceil(worldMapRect.getWidth() / pixelsPerTile);
@@ -155,26 +166,49 @@ public final class WorldMapAreaPainter
 
 		int yTileMin = worldMapPosition.getY() - heightInTiles / 2;
 		int xRegionMin = (worldMapPosition.getX() - widthInTiles / 2) & REGION_TRUNCATE;
-		int xRegionMax = ((worldMapPosition.getX() + widthInTiles / 2) & REGION_TRUNCATE) + REGION_SIZE;
 		int yRegionMin = yTileMin & REGION_TRUNCATE;
-		int yRegionMax = ((worldMapPosition.getY() + heightInTiles / 2) & REGION_TRUNCATE) + REGION_SIZE;
-		int regionPixelSize = (int) Math.ceil(REGION_SIZE * pixelsPerTile);
 
-		graphics.setColor(new Color(0, 19, 36, 127));
-		for (int x = xRegionMin; x < xRegionMax; x += REGION_SIZE)
-		{
-			for (int y = yRegionMin; y < yRegionMax; y += REGION_SIZE)
-			{
-				int yTileOffset = -(yTileMin - y);
-				int xTileOffset = x + widthInTiles / 2 - worldMapPosition.getX();
+		// Left edge of the first visible region column and bottom edge of the first visible region row
+		int xOrigin = (int) ((xRegionMin + widthInTiles / 2 - worldMapPosition.getX()) * pixelsPerTile) + (int) worldMapRect.getX();
+		int yOrigin = worldMapRect.height - (int) ((yRegionMin - yTileMin) * pixelsPerTile) + (int) worldMapRect.getY();
 
-				int xPos = (int) (xTileOffset * pixelsPerTile) + (int) worldMapRect.getX();
-				int yPos = (worldMapRect.height - (int) (yTileOffset * pixelsPerTile)) + (int) worldMapRect.getY();
-				yPos -= regionPixelSize;
+		BufferedImage grid = chunkGridImage(worldMapRect.width, worldMapRect.height, pixelsPerTile);
+		graphics.drawImage(grid, xOrigin, yOrigin - (grid.getHeight() - 1), null);
+	}
 
-				graphics.drawRect(xPos, yPos, regionPixelSize, regionPixelSize);
-			}
+	/**
+	 * Grid line image at the given zoom, large enough to cover the map plus one region of slack on each axis.
+	 * Vertical lines run from column 0 rightwards, horizontal lines from the bottom row upwards. Client thread only.
+	 */
+	private static BufferedImage chunkGridImage(int mapWidth, int mapHeight, float pixelsPerTile)
+	{
+		if (chunkGrid != null && chunkGridZoom == pixelsPerTile && chunkGridMapWidth == mapWidth && chunkGridMapHeight == mapHeight)
+		{
+			return chunkGrid;
 		}
+		float regionPixels = REGION_SIZE * pixelsPerTile;
+		int slack = (int) Math.ceil(regionPixels) + 2;
+		int width = Math.max(1, mapWidth + slack);
+		int height = Math.max(1, mapHeight + slack);
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = image.createGraphics();
+		g.setColor(CHUNK_GRID_COLOR);
+		for (int k = 0; (int) (k * regionPixels) < width; k++)
+		{
+			int x = (int) (k * regionPixels);
+			g.drawLine(x, 0, x, height - 1);
+		}
+		for (int k = 0; (int) (k * regionPixels) < height; k++)
+		{
+			int y = height - 1 - (int) (k * regionPixels);
+			g.drawLine(0, y, width - 1, y);
+		}
+		g.dispose();
+		chunkGrid = image;
+		chunkGridZoom = pixelsPerTile;
+		chunkGridMapWidth = mapWidth;
+		chunkGridMapHeight = mapHeight;
+		return image;
 	}
 
 	public static void drawAreaLabels(Graphics2D graphics, Iterable<Area> areas, WorldMap worldMap, Rectangle worldMapRect, float pixelsPerTile)
@@ -310,12 +344,37 @@ public final class WorldMapAreaPainter
 		return new Point(xGraphDiff, yGraphDiff);
 	}
 
+	/**
+	 * World tile bounds currently visible in the map widget (x, y = min corner; width/height in tiles), padded by one
+	 * tile so markers straddling the edge are kept.
+	 */
+	public static Rectangle viewportWorldBounds(WorldMap worldMap, Rectangle worldMapRect, float pixelsPerTile)
+	{
+		int widthInTiles = (int) Math.ceil(worldMapRect.getWidth() / pixelsPerTile);
+		int heightInTiles = (int) Math.ceil(worldMapRect.getHeight() / pixelsPerTile);
+		Point worldMapPosition = worldMap.getWorldMapPosition();
+		int minX = worldMapPosition.getX() - widthInTiles / 2 - 1;
+		int minY = worldMapPosition.getY() - heightInTiles / 2 - 1;
+		return new Rectangle(minX, minY, widthInTiles + 2, heightInTiles + 2);
+	}
+
 	public static WorldPoint screenToWorldPoint(WorldMap worldMap, Rectangle worldMapRect, float pixelsPerTile, int sx, int sy)
 	{
 		if (!worldMapRect.contains(sx, sy))
 		{
 			return null;
 		}
+		int[] tile = screenToWorldTile(worldMap, worldMapRect, pixelsPerTile, sx, sy);
+		if (!worldMap.getWorldMapData().surfaceContainsPosition(tile[0], tile[1]))
+		{
+			return null;
+		}
+		return new WorldPoint(tile[0], tile[1], 0);
+	}
+
+	/** Inverse of {@link #mapWorldPointToGraphicsPoint} without bounds or surface checks: {@code {wx, wy}}. */
+	public static int[] screenToWorldTile(WorldMap worldMap, Rectangle worldMapRect, float pixelsPerTile, int sx, int sy)
+	{
 		int widthInTiles = (int) Math.ceil(worldMapRect.getWidth() / pixelsPerTile);
 		int heightInTiles = (int) Math.ceil(worldMapRect.getHeight() / pixelsPerTile);
 		Point worldMapPosition = worldMap.getWorldMapPosition();
@@ -327,12 +386,7 @@ public final class WorldMapAreaPainter
 		double yTileOffset = (worldMapRect.getY() + worldMapRect.getHeight() - sy + halfTile) / pixelsPerTile;
 		int yTileMax = worldMapPosition.getY() - heightInTiles / 2;
 		int wy = yTileMax + (int) Math.round(yTileOffset) - 1;
-
-		if (!worldMap.getWorldMapData().surfaceContainsPosition(wx, wy))
-		{
-			return null;
-		}
-		return new WorldPoint(wx, wy, 0);
+		return new int[]{ wx, wy };
 	}
 
 	/** Lazy padlock for {@link #drawLockedAreaPadlocks}; overlay may cache the result. */
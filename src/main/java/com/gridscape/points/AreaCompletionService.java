@@ -34,6 +34,8 @@ public class AreaCompletionService
 
 	private final Map<String, Integer> pointsEarnedInArea = new ConcurrentHashMap<>();
 	private final Set<String> completedAreaIds = new HashSet<>();
+	/** Bumped whenever {@link #completedAreaIds} changes. */
+	private volatile int completionVersion;
 	private final Provider<TaskGridService> taskGridServiceProvider;
 
 	@Inject
@@ -84,6 +86,7 @@ public class AreaCompletionService
 			if (getPointsEarnedInArea(areaId) >= getPointsToComplete(areaId))
 				completedAreaIds.add(areaId);
 		}
+		completionVersion++;
 		persistCompleted();
 	}
 
@@ -111,6 +114,12 @@ public class AreaCompletionService
 		return Collections.unmodifiableSet(completedAreaIds);
 	}
 
+	/** Changes whenever the completed-area set changes (points-to-complete mode). */
+	public int getCompletionVersion()
+	{
+		return completionVersion;
+	}
+
 	/**
 	 * Set of area IDs that count as "complete" for gating the next unlock.
 	 * Points-to-complete mode: areas that have earned at least their points-to-complete threshold.
@@ -166,6 +175,7 @@ public class AreaCompletionService
 		int threshold = getPointsToComplete(areaId);
 		if (threshold > 0 && next >= threshold && completedAreaIds.add(areaId))
 		{
+			completionVersion++;
 			persistCompleted();
 			log.debug("Area {} completed ({} / {} points)", areaId, next, threshold);
 		}
@@ -0,0 +1,180 @@
+package com.gridscape.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+
+/**
+ * Cached quest completion for task requirements. Quest names are resolved through a case-insensitive map, requirement
+ * strings are parsed once, and finished flags for every quest are snapshotted on the client thread. The plugin marks the
+ * snapshot stale on varbit / varc changes; the next requirement check on the client thread re-reads all quests once,
+ * so claim buttons and popups read an array instead of running quest state scripts per check.
+ */
+@Singleton
+public class QuestStateService
+{
+	/** Requirement string that requires every quest to be finished. */
+	static final String ALL_QUESTS = "100% Quest Completion";
+
+	private static final Quest[] QUESTS = Quest.values();
+	/** Lower-cased quest name -> quest (first match, like the previous linear scan). */
+	private static final Map<String, Quest> QUESTS_BY_NAME = new HashMap<>();
+
+	static
+	{
+		for (Quest q : QUESTS)
+			QUESTS_BY_NAME.putIfAbsent(q.getName().toLowerCase(Locale.ROOT), q);
+	}
+
+	/** A requirements string parsed into quests; {@code quests[i]} is null when {@code names[i]} is not a known quest. */
+	private static final class Requirement
+	{
+		private static final Requirement NONE = new Requirement(false, new Quest[0], new String[0]);
+
+		private final boolean allQuests;
+		private final Quest[] quests;
+		private final String[] names;
+
+		Requirement(boolean allQuests, Quest[] quests, String[] names)
+		{
+			this.allQuests = allQuests;
+			this.quests = quests;
+			this.names = names;
+		}
+	}
+
+	private final Client client;
+	private final Map<String, Requirement> parsedRequirements = new ConcurrentHashMap<>();
+
+	/** Finished flag per quest ordinal; null until the first refresh while logged in. */
+	private volatile boolean[] finished;
+	private volatile int unfinishedCount;
+	private volatile boolean stale = true;
+
+	@Inject
+	public QuestStateService(Client client)
+	{
+		this.client = client;
+	}
+
+	/** Quest with this name (case-insensitive, trimmed), or null. */
+	public static Quest findQuestByName(String name)
+	{
+		if (name == null) return null;
+		String n = name.trim();
+		return n.isEmpty() ? null : QUESTS_BY_NAME.get(n.toLowerCase(Locale.ROOT));
+	}
+
+	/** Marks the snapshot stale; call on varbit / varc changes and login. Cheap, so safe for every event. */
+	public void markStale()
+	{
+		stale = true;
+	}
+
+	/** Rebuilds the snapshot if it was marked stale and we are on the client thread while logged in. */
+	private void refreshIfStale()
+	{
+		if (!stale || !client.isClientThread() || client.getGameState() != GameState.LOGGED_IN) return;
+		stale = false;
+		boolean[] next = new boolean[QUESTS.length];
+		int unfinished = 0;
+		for (int i = 0; i < QUESTS.length; i++)
+		{
+			next[i] = QUESTS[i].getState(client) == QuestState.FINISHED;
+			if (!next[i]) unfinished++;
+		}
+		unfinishedCount = unfinished;
+		finished = next;
+	}
+
+	/** Forgets the snapshot (e.g. on logout) so the next account starts fresh. */
+	public void clear()
+	{
+		finished = null;
+		stale = true;
+	}
+
+	/** True if all quests in the requirements string are finished. See {@link TaskGridService#areQuestRequirementsMet}. */
+	public boolean areRequirementsMet(String requirements)
+	{
+		Requirement req = parse(requirements);
+		if (req == Requirement.NONE) return true;
+		refreshIfStale();
+		boolean[] snapshot = finished;
+		if (req.allQuests)
+		{
+			if (snapshot != null) return unfinishedCount == 0;
+			for (Quest q : QUESTS)
+				if (!isFinished(null, q)) return false;
+			return true;
+		}
+		for (Quest q : req.quests)
+			if (q == null || !isFinished(snapshot, q)) return false;
+		return true;
+	}
+
+	/** Required quest names that are not yet finished, in requirement order. */
+	public List<String> getUnmetRequirements(String requirements)
+	{
+		Requirement req = parse(requirements);
+		if (req == Requirement.NONE) return new ArrayList<>();
+		refreshIfStale();
+		boolean[] snapshot = finished;
+		List<String> unmet = new ArrayList<>();
+		if (req.allQuests)
+		{
+			if (snapshot != null && unfinishedCount == 0) return unmet;
+			for (Quest q : QUESTS)
+				if (!isFinished(snapshot, q)) unmet.add(q.getName());
+			return unmet;
+		}
+		for (int i = 0; i < req.quests.length; i++)
+		{
+			Quest q = req.quests[i];
+			if (q == null) unmet.add(req.names[i]);
+			else if (!isFinished(snapshot, q)) unmet.add(q.getName());
+		}
+		return unmet;
+	}
+
+	/** Reads the snapshot, or asks the client directly when no snapshot has been taken yet. */
+	private boolean isFinished(boolean[] snapshot, Quest q)
+	{
+		if (snapshot != null) return snapshot[q.ordinal()];
+		return q.getState(client) == QuestState.FINISHED;
+	}
+
+	private Requirement parse(String requirements)
+	{
+		if (requirements == null || requirements.isEmpty()) return Requirement.NONE;
+		return parsedRequirements.computeIfAbsent(requirements, QuestStateService::parseRequirement);
+	}
+
+	/** Comma-separated quest names (e.g. "Waterfall Quest, Dragon Slayer II") or {@link #ALL_QUESTS}. */
+	private static Requirement parseRequirement(String requirements)
+	{
+		String req = requirements.trim();
+		if (req.equalsIgnoreCase(ALL_QUESTS))
+			return new Requirement(true, new Quest[0], new String[0]);
+		List<String> names = new ArrayList<>();
+		for (String part : req.split(","))
+		{
+			String name = part.trim();
+			if (!name.isEmpty()) names.add(name);
+		}
+		if (names.isEmpty()) return Requirement.NONE;
+		Quest[] quests = new Quest[names.size()];
+		for (int i = 0; i < quests.length; i++)
+			quests[i] = findQuestByName(names.get(i));
+		return new Requirement(false, quests, names.toArray(new String[0]));
+	}
+}
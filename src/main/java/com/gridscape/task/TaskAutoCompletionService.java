@@ -0,0 +1,254 @@
+package com.gridscape.task;
+
+import com.gridscape.GridScapeConfig;
+import com.gridscape.GridScapeSounds;
+import com.gridscape.area.AreaGraphService;
+import com.gridscape.worldunlock.GlobalTaskListService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.client.audio.AudioPlayer;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.util.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Completes tasks automatically from game events. Every effective task is compiled once into {@link TaskTrigger}s
+ * indexed by kind and key, so a stat change, item container change or chat message looks up only the few tasks that
+ * event can complete; those are then marked completed where they are currently revealed (area grids, or the global
+ * grid in World Unlock mode). Claiming and points still happen when the player clicks Claim. Registered on the event
+ * bus by the plugin; all handlers run on the client thread.
+ */
+@Singleton
+public class TaskAutoCompletionService
+{
+	private static final Logger log = LoggerFactory.getLogger(TaskAutoCompletionService.class);
+
+	private static final Pattern KILL_COUNT = Pattern.compile(
+		"Your (.+?) (?:kill|chest|completion|harvest|success|lap) count is: ?([\\d,]+)\\.?");
+	private static final Pattern COLLECTION_LOG = Pattern.compile("New item added to your collection log: (.+)");
+	private static final Pattern QUEST_COMPLETE = Pattern.compile("Congratulations, you've completed a quest: (.+)");
+	private static final Pattern CLUE_COMPLETE = Pattern.compile(
+		"You have completed [\\d,]+ (beginner|easy|medium|hard|elite|master) Treasure Trails?\\.?", Pattern.CASE_INSENSITIVE);
+
+	/** A compiled trigger and the task it completes. */
+	private static final class Entry
+	{
+		private final TaskTrigger trigger;
+		private final String taskKey;
+		private final String displayName;
+
+		Entry(TaskTrigger trigger, String taskKey, String displayName)
+		{
+			this.trigger = trigger;
+			this.taskKey = taskKey;
+			this.displayName = displayName;
+		}
+	}
+
+	/** Triggers of one {@link TaskCatalog}, by kind then key. */
+	private static final class TriggerIndex
+	{
+		private final TaskCatalog catalog;
+		private final Map<TaskTrigger.Kind, Map<String, List<Entry>>> byKind = new EnumMap<>(TaskTrigger.Kind.class);
+
+		TriggerIndex(TaskCatalog catalog)
+		{
+			this.catalog = catalog;
+			for (TaskTrigger.Kind kind : TaskTrigger.Kind.values())
+				byKind.put(kind, new HashMap<>());
+			for (TaskDefinition t : catalog.all())
+			{
+				for (TaskTrigger trigger : TaskTrigger.compile(t))
+				{
+					byKind.get(trigger.getKind()).computeIfAbsent(trigger.getKey(), k -> new ArrayList<>())
+						.add(new Entry(trigger, TaskCatalog.keyOf(t), t.getDisplayName()));
+				}
+			}
+		}
+
+		List<Entry> get(TaskTrigger.Kind kind, String key)
+		{
+			List<Entry> list = byKind.get(kind).get(key);
+			return list != null ? list : Collections.emptyList();
+		}
+
+		boolean isEmpty(TaskTrigger.Kind kind)
+		{
+			return byKind.get(kind).isEmpty();
+		}
+	}
+
+	private final Client client;
+	private final GridScapeConfig config;
+	private final TaskGridService taskGridService;
+	private final AreaGraphService areaGraphService;
+	private final Provider<GlobalTaskListService> globalTaskListServiceProvider;
+	private final AudioPlayer audioPlayer;
+
+	private volatile TriggerIndex index;
+	/** Item id -> normalized item name; client thread only. */
+	private final Map<Integer, String> itemNames = new HashMap<>();
+
+	@Inject
+	public TaskAutoCompletionService(Client client, GridScapeConfig config, TaskGridService taskGridService,
+		AreaGraphService areaGraphService, Provider<GlobalTaskListService> globalTaskListServiceProvider,
+		AudioPlayer audioPlayer)
+	{
+		this.client = client;
+		this.config = config;
+		this.taskGridService = taskGridService;
+		this.areaGraphService = areaGraphService;
+		this.globalTaskListServiceProvider = globalTaskListServiceProvider;
+		this.audioPlayer = audioPlayer;
+	}
+
+	/** Trigger index for the current task catalog; rebuilt when the tasks cache was invalidated. */
+	private TriggerIndex index()
+	{
+		TaskCatalog catalog = taskGridService.getTaskCatalog();
+		TriggerIndex idx = index;
+		if (idx == null || idx.catalog != catalog)
+		{
+			idx = new TriggerIndex(catalog);
+			index = idx;
+		}
+		return idx;
+	}
+
+	@Subscribe
+	public void onStatChanged(StatChanged event)
+	{
+		if (!config.autoCompleteTasks()) return;
+		TriggerIndex idx = index();
+		if (idx.isEmpty(TaskTrigger.Kind.SKILL_LEVEL)) return;
+		Set<Entry> hits = new LinkedHashSet<>();
+		int level = event.getLevel();
+		collect(hits, idx.get(TaskTrigger.Kind.SKILL_LEVEL, event.getSkill().name()), level);
+		collect(hits, idx.get(TaskTrigger.Kind.SKILL_LEVEL, TaskTrigger.ANY_SKILL), level);
+		collect(hits, idx.get(TaskTrigger.Kind.SKILL_LEVEL, TaskTrigger.TOTAL), client.getTotalLevel());
+		if (client.getLocalPlayer() != null)
+			collect(hits, idx.get(TaskTrigger.Kind.SKILL_LEVEL, TaskTrigger.COMBAT), client.getLocalPlayer().getCombatLevel());
+		complete(hits);
+	}
+
+	@Subscribe
+	public void onItemContainerChanged(ItemContainerChanged event)
+	{
+		if (!config.autoCompleteTasks()) return;
+		int containerId = event.getContainerId();
+		boolean equipment = containerId == InventoryID.WORN;
+		if (!equipment && containerId != InventoryID.INV) return;
+		TriggerIndex idx = index();
+		if (idx.isEmpty(TaskTrigger.Kind.ITEM) && (!equipment || idx.isEmpty(TaskTrigger.Kind.EQUIP))) return;
+		ItemContainer container = event.getItemContainer();
+		if (container == null) return;
+		Set<Entry> hits = new LinkedHashSet<>();
+		for (Item item : container.getItems())
+		{
+			if (item == null || item.getId() < 0 || item.getQuantity() <= 0) continue;
+			String name = itemName(item.getId());
+			collect(hits, idx.get(TaskTrigger.Kind.ITEM, name), 1);
+			if (equipment)
+				collect(hits, idx.get(TaskTrigger.Kind.EQUIP, name), 1);
+		}
+		complete(hits);
+	}
+
+	@Subscribe
+	public void onChatMessage(ChatMessage event)
+	{
+		if (!config.autoCompleteTasks()) return;
+		if (event.getType() != ChatMessageType.GAMEMESSAGE && event.getType() != ChatMessageType.SPAM) return;
+		String message = Text.removeTags(event.getMessage());
+		TriggerIndex idx = index();
+		Set<Entry> hits = new LinkedHashSet<>();
+		Matcher m;
+		if ((m = KILL_COUNT.matcher(message)).matches())
+		{
+			int count = parseCount(m.group(2));
+			collect(hits, idx.get(TaskTrigger.Kind.KILL_COUNT, TaskTrigger.normalizeName(m.group(1))), count);
+		}
+		else if ((m = COLLECTION_LOG.matcher(message)).matches())
+			collect(hits, idx.get(TaskTrigger.Kind.COLLECTION_LOG, TaskTrigger.normalizeName(m.group(1))), 1);
+		else if ((m = QUEST_COMPLETE.matcher(message)).matches())
+			collect(hits, idx.get(TaskTrigger.Kind.CHAT, "quest:" + TaskTrigger.normalizeName(m.group(1))), 1);
+		else if ((m = CLUE_COMPLETE.matcher(message)).matches())
+			collect(hits, idx.get(TaskTrigger.Kind.CHAT, "clue:" + m.group(1).toLowerCase()), 1);
+		complete(hits);
+	}
+
+	/** Adds entries whose threshold is met by {@code value}. */
+	private static void collect(Set<Entry> hits, List<Entry> entries, int value)
+	{
+		for (Entry e : entries)
+		{
+			if (value >= e.trigger.getAmount())
+				hits.add(e);
+		}
+	}
+
+	/** Marks the hit tasks completed where revealed; plays the completion sound and posts a chat line for each. */
+	private void complete(Set<Entry> hits)
+	{
+		if (hits.isEmpty()) return;
+		boolean worldUnlock = config.unlockMode() == GridScapeConfig.UnlockMode.WORLD_UNLOCK;
+		Set<String> unlocked = worldUnlock ? null : areaGraphService.getUnlockedAreaIds();
+		Set<String> done = new LinkedHashSet<>();
+		for (Entry e : hits)
+		{
+			if (done.contains(e.taskKey)) continue;
+			boolean completed = worldUnlock
+				? globalTaskListServiceProvider.get().completeIfRevealed(e.taskKey)
+				: taskGridService.completeRevealedTask(e.taskKey, unlocked) > 0;
+			if (!completed) continue;
+			done.add(e.taskKey);
+			log.debug("GridScape auto-completed task {}", e.displayName);
+			client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "GridScape task complete: " + e.displayName, null);
+		}
+		if (!done.isEmpty())
+			GridScapeSounds.play(audioPlayer, GridScapeSounds.TASK_COMPLETE, client);
+	}
+
+	private String itemName(int itemId)
+	{
+		String name = itemNames.get(itemId);
+		if (name == null)
+		{
+			name = TaskTrigger.normalizeName(client.getItemDefinition(itemId).getName());
+			itemNames.put(itemId, name);
+		}
+		return name;
+	}
+
+	private static int parseCount(String raw)
+	{
+		try
+		{
+			return Integer.parseInt(raw.replace(",", ""));
+		}
+		catch (NumberFormatException e)
+		{
+			return 0;
+		}
+	}
+}
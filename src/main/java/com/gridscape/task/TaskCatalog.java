@@ -0,0 +1,179 @@
+package com.gridscape.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, pre-indexed view of the effective default task list (base + custom). Built once per tasks version by
+ * {@link TaskGridService#getTaskCatalog()} so grid builds and unlock resolution can look tasks up by area, difficulty,
+ * type, skill bracket, boss id or key instead of filtering the full list. All lists keep the original task order.
+ */
+public final class TaskCatalog
+{
+	private static final TaskCatalog EMPTY = new TaskCatalog(Collections.emptyList());
+
+	private final List<TaskDefinition> all;
+	private final List<TaskDefinition> noArea;
+	private final List<TaskDefinition> onceOnly;
+	private final Map<String, List<TaskDefinition>> byArea = new HashMap<>();
+	private final Map<Integer, List<TaskDefinition>> byDifficulty = new HashMap<>();
+	private final Map<String, List<TaskDefinition>> byType = new HashMap<>();
+	/** Lower-cased task type + '#' + difficulty -> tasks; the skill bracket used by skill unlock tiles. */
+	private final Map<String, List<TaskDefinition>> byTypeAndDifficulty = new HashMap<>();
+	private final Map<String, List<TaskDefinition>> byBossId = new HashMap<>();
+	private final Map<String, List<TaskDefinition>> byKey = new HashMap<>();
+	/** Normalized key -> first task with that key. */
+	private final Map<String, TaskDefinition> firstByKey = new HashMap<>();
+	/** Task -> position in {@link #all}, by identity. */
+	private final Map<TaskDefinition, Integer> ordinals = new IdentityHashMap<>();
+
+	private TaskCatalog(List<TaskDefinition> tasks)
+	{
+		List<TaskDefinition> allList = new ArrayList<>(tasks.size());
+		List<TaskDefinition> noAreaList = new ArrayList<>();
+		List<TaskDefinition> onceOnlyList = new ArrayList<>();
+		for (TaskDefinition t : tasks)
+		{
+			if (t == null) continue;
+			ordinals.putIfAbsent(t, allList.size());
+			allList.add(t);
+			List<String> areaIds = t.getRequiredAreaIds();
+			if (areaIds.isEmpty())
+				noAreaList.add(t);
+			for (String areaId : areaIds)
+			{
+				List<TaskDefinition> list = byArea.computeIfAbsent(areaId, k -> new ArrayList<>());
+				if (list.isEmpty() || list.get(list.size() - 1) != t)
+					list.add(t);
+			}
+			if (Boolean.TRUE.equals(t.getOnceOnly()))
+				onceOnlyList.add(t);
+			int d = t.getDifficulty();
+			byDifficulty.computeIfAbsent(d, k -> new ArrayList<>()).add(t);
+			String type = normalize(t.getTaskType());
+			if (type != null)
+			{
+				byType.computeIfAbsent(type, k -> new ArrayList<>()).add(t);
+				byTypeAndDifficulty.computeIfAbsent(type + "#" + d, k -> new ArrayList<>()).add(t);
+			}
+			if (t.getBossId() != null && !t.getBossId().isEmpty())
+				byBossId.computeIfAbsent(t.getBossId(), k -> new ArrayList<>()).add(t);
+			String key = keyOf(t);
+			byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(t);
+			firstByKey.putIfAbsent(key, t);
+		}
+		this.all = Collections.unmodifiableList(allList);
+		this.noArea = Collections.unmodifiableList(noAreaList);
+		this.onceOnly = Collections.unmodifiableList(onceOnlyList);
+	}
+
+	/** Builds a catalog over the given tasks (nulls are skipped). */
+	public static TaskCatalog of(List<TaskDefinition> tasks)
+	{
+		return tasks == null || tasks.isEmpty() ? EMPTY : new TaskCatalog(tasks);
+	}
+
+	/** Normalized key for a task: trimmed, lower-cased display name (same as grid deduplication). */
+	public static String keyOf(TaskDefinition t)
+	{
+		return keyOfName(t.getDisplayName());
+	}
+
+	/** Normalized key for a display name, e.g. a grid tile's; same as {@link #keyOf}. */
+	public static String keyOfName(String displayName)
+	{
+		return displayName != null ? displayName.trim().toLowerCase() : "";
+	}
+
+	private static String normalize(String s)
+	{
+		return s == null ? null : s.toLowerCase(Locale.ROOT);
+	}
+
+	/** Every task, in file order. Unmodifiable. */
+	public List<TaskDefinition> all()
+	{
+		return all;
+	}
+
+	public int size()
+	{
+		return all.size();
+	}
+
+	/** Position of this task in {@link #all()}, or -1 if it is not part of the catalog. */
+	public int indexOf(TaskDefinition t)
+	{
+		Integer i = ordinals.get(t);
+		return i != null ? i : -1;
+	}
+
+	/** Tasks whose area list contains {@code areaId}. */
+	public List<TaskDefinition> byArea(String areaId)
+	{
+		return view(byArea.get(areaId));
+	}
+
+	/** Tasks with no area restriction (filler tasks for any area). */
+	public List<TaskDefinition> noArea()
+	{
+		return noArea;
+	}
+
+	public List<TaskDefinition> onceOnly()
+	{
+		return onceOnly;
+	}
+
+	public List<TaskDefinition> byDifficulty(int difficulty)
+	{
+		return view(byDifficulty.get(difficulty));
+	}
+
+	/** Tasks of this type (case-insensitive). */
+	public List<TaskDefinition> byType(String taskType)
+	{
+		String type = normalize(taskType);
+		return type == null ? Collections.emptyList() : view(byType.get(type));
+	}
+
+	/** Tasks of this type (case-insensitive) at exactly this difficulty, e.g. one skill's level bracket. */
+	public List<TaskDefinition> byTypeAndDifficulty(String taskType, int difficulty)
+	{
+		String type = normalize(taskType);
+		return type == null ? Collections.emptyList() : view(byTypeAndDifficulty.get(type + "#" + difficulty));
+	}
+
+	public List<TaskDefinition> byBossId(String bossId)
+	{
+		return bossId == null ? Collections.emptyList() : view(byBossId.get(bossId));
+	}
+
+	/** All tasks with this normalized key (see {@link #keyOf}). */
+	public List<TaskDefinition> byKey(String key)
+	{
+		return key == null ? Collections.emptyList() : view(byKey.get(key));
+	}
+
+	/** First task with this normalized key, or null. */
+	public TaskDefinition firstByKey(String key)
+	{
+		return key == null ? null : firstByKey.get(key);
+	}
+
+	/** Normalized key -> first task with that key. Unmodifiable. */
+	public Map<String, TaskDefinition> firstByKeyIndex()
+	{
+		return Collections.unmodifiableMap(firstByKey);
+	}
+
+	private static List<TaskDefinition> view(List<TaskDefinition> list)
+	{
+		return list == null ? Collections.emptyList() : Collections.unmodifiableList(list);
+	}
+}
@@ -0,0 +1,167 @@
+package com.gridscape.task;
+
+import com.gridscape.grid.GridCoord;
+import com.gridscape.grid.GridPos;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Position-indexed view of an area's task grid. Tiles keep their list order (index 0 is the center); a dense
+ * row-major table over the grid's bounding box maps (row, col) to tile index, so position and neighbor lookups are
+ * array reads instead of list scans and id string building.
+ */
+public final class TaskGrid
+{
+	private static final int[][] CARDINAL = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+
+	private final List<TaskTile> tiles;
+	private final int minRow;
+	private final int minCol;
+	private final int rows;
+	private final int cols;
+	/** Row-major over the bounding box: tile index, or -1 for an empty cell. */
+	private final int[] indexByCell;
+	/** Per tile index: the four cardinal neighbor tile indices (or -1), flattened. */
+	private final int[] neighbors;
+	/** Per tile index: Chebyshev ring ({@link GridPos#ringNumber}). */
+	private final int[] ringByIndex;
+	/** Per ring: number of tiles in that ring. */
+	private final int[] ringSizes;
+	/** Task key ({@link TaskCatalog#keyOfName}) -> tile indices; built on first use. */
+	private volatile Map<String, int[]> indicesByKey;
+
+	private TaskGrid(List<TaskTile> tiles)
+	{
+		this.tiles = tiles;
+		int minR = 0, maxR = 0, minC = 0, maxC = 0;
+		for (TaskTile t : tiles)
+		{
+			minR = Math.min(minR, t.getRow());
+			maxR = Math.max(maxR, t.getRow());
+			minC = Math.min(minC, t.getCol());
+			maxC = Math.max(maxC, t.getCol());
+		}
+		this.minRow = minR;
+		this.minCol = minC;
+		this.rows = maxR - minR + 1;
+		this.cols = maxC - minC + 1;
+		this.indexByCell = new int[rows * cols];
+		Arrays.fill(indexByCell, -1);
+		for (int i = 0; i < tiles.size(); i++)
+		{
+			TaskTile t = tiles.get(i);
+			int cell = (t.getRow() - minRow) * cols + (t.getCol() - minCol);
+			if (indexByCell[cell] < 0)
+				indexByCell[cell] = i;
+		}
+		this.ringByIndex = new int[tiles.size()];
+		int maxRing = 0;
+		for (int i = 0; i < tiles.size(); i++)
+		{
+			ringByIndex[i] = GridPos.ringNumber(tiles.get(i).getRow(), tiles.get(i).getCol());
+			maxRing = Math.max(maxRing, ringByIndex[i]);
+		}
+		this.ringSizes = new int[maxRing + 1];
+		for (int ring : ringByIndex)
+			ringSizes[ring]++;
+		this.neighbors = new int[tiles.size() * 4];
+		for (int i = 0; i < tiles.size(); i++)
+		{
+			TaskTile t = tiles.get(i);
+			for (int d = 0; d < 4; d++)
+				neighbors[i * 4 + d] = indexAt(t.getRow() + CARDINAL[d][0], t.getCol() + CARDINAL[d][1]);
+		}
+	}
+
+	/** Indexes the given tiles; the list is kept by reference and must not be modified afterwards. */
+	public static TaskGrid of(List<TaskTile> tiles)
+	{
+		return new TaskGrid(tiles);
+	}
+
+	public List<TaskTile> getTiles()
+	{
+		return tiles;
+	}
+
+	public int size()
+	{
+		return tiles.size();
+	}
+
+	public TaskTile get(int index)
+	{
+		return tiles.get(index);
+	}
+
+	/** Tile index at (row, col), or -1 if no tile is there. */
+	public int indexAt(int row, int col)
+	{
+		int r = row - minRow;
+		int c = col - minCol;
+		if (r < 0 || r >= rows || c < 0 || c >= cols) return -1;
+		return indexByCell[r * cols + c];
+	}
+
+	/** Index of the tile with this id ("row,col" as produced by {@link TaskTile#idFor}), or -1. */
+	public int indexOf(String tileId)
+	{
+		int coord = GridCoord.parse(tileId);
+		if (coord == GridCoord.NONE) return -1;
+		int idx = indexAt(coord);
+		return idx >= 0 && tiles.get(idx).getId().equals(tileId) ? idx : -1;
+	}
+
+	/** Tile index at a packed {@link GridCoord}, or -1. */
+	public int indexAt(int coord)
+	{
+		return indexAt(GridCoord.row(coord), GridCoord.col(coord));
+	}
+
+	/** Chebyshev ring of the tile at {@code index}. */
+	public int ring(int index)
+	{
+		return ringByIndex[index];
+	}
+
+	/** Number of tiles in {@code ring}; 0 beyond the outermost ring. */
+	public int ringSize(int ring)
+	{
+		return ring >= 0 && ring < ringSizes.length ? ringSizes[ring] : 0;
+	}
+
+	/** Outermost ring that has tiles. */
+	public int maxRing()
+	{
+		return ringSizes.length - 1;
+	}
+
+	/** Indices of the tiles whose task has this key ({@link TaskCatalog#keyOfName}); empty if none. */
+	public int[] indicesOfKey(String key)
+	{
+		Map<String, int[]> byKey = indicesByKey;
+		if (byKey == null)
+		{
+			byKey = new HashMap<>();
+			for (int i = 0; i < tiles.size(); i++)
+			{
+				String k = TaskCatalog.keyOfName(tiles.get(i).getDisplayName());
+				int[] prev = byKey.get(k);
+				int[] next = prev == null ? new int[1] : Arrays.copyOf(prev, prev.length + 1);
+				next[next.length - 1] = i;
+				byKey.put(k, next);
+			}
+			indicesByKey = byKey;
+		}
+		int[] found = byKey.get(key);
+		return found != null ? found : new int[0];
+	}
+
+	/** Cardinal neighbor {@code dir} (0..3: row+1, row-1, col+1, col-1) of the tile at {@code index}, or -1. */
+	public int neighbor(int index, int dir)
+	{
+		return neighbors[index * 4 + dir];
+	}
+}
@@ -3,42 +3,51 @@ package com.gridscape.task;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonParser;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
-import com.google.gson.reflect.TypeToken;
 import com.gridscape.GridScapeConfig;
 import com.gridscape.GridScapePlugin;
+import com.gridscape.grid.CoordMap;
+import com.gridscape.grid.CoordSet;
+import com.gridscape.grid.GridCoord;
 import com.gridscape.grid.GridPos;
 import com.gridscape.area.AreaGraphService;
 import com.gridscape.points.AreaCompletionService;
 import com.gridscape.points.PointsService;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.lang.reflect.Type;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import net.runelite.api.Client;
-import net.runelite.api.Quest;
-import net.runelite.api.QuestState;
 import net.runelite.client.config.ConfigManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,51 +80,6 @@ public class TaskGridService
 	private static final String KEY_CUSTOM_TASKS = "customTasksJson";
 	private static final String KEY_GRID_RESET_COUNTER = "taskGridResetCounter";
 
-	/** Custom Gson deserializer for TaskDefinition: reads displayName, taskType, difficulty, area (string or array), f2p. */
-	private static final JsonDeserializer<TaskDefinition> TASK_DESERIALIZER = new JsonDeserializer<TaskDefinition>()
-	{
-		@Override
-		public TaskDefinition deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException
-		{
-			JsonObject obj = json.getAsJsonObject();
-			TaskDefinition def = new TaskDefinition();
-			if (obj.has("displayName")) def.setDisplayName(obj.get("displayName").getAsString());
-			if (obj.has("taskType")) def.setTaskType(obj.get("taskType").getAsString());
-			if (obj.has("difficulty")) def.setDifficulty(obj.get("difficulty").getAsInt());
-			// area: comma-separated string (e.g. "lumbridge, draynor, varrock") or legacy JSON array
-			if (obj.has("area"))
-			{
-				JsonElement areaEl = obj.get("area");
-				List<String> list = new ArrayList<>();
-				if (areaEl.isJsonArray())
-				{
-					for (JsonElement e : areaEl.getAsJsonArray())
-						list.add(e.getAsString().trim());
-				}
-				else if (areaEl.isJsonPrimitive())
-				{
-					for (String part : areaEl.getAsString().split(","))
-					{
-						String id = part.trim();
-						if (!id.isEmpty()) list.add(id);
-					}
-				}
-				if (list.isEmpty())
-					{ /* leave area/areas null */ }
-				else if (list.size() == 1)
-					def.setArea(list.get(0));
-				else
-					def.setAreas(list);
-			}
-			if (obj.has("f2p")) def.setF2p(obj.get("f2p").getAsBoolean());
-			if (obj.has("requirements")) def.setRequirements(obj.get("requirements").getAsString());
-			if (obj.has("areaRequirement")) def.setAreaRequirement(obj.get("areaRequirement").getAsString());
-			if (obj.has("onceOnly")) def.setOnceOnly(obj.get("onceOnly").getAsBoolean());
-			if (obj.has("bossId")) def.setBossId(obj.get("bossId").getAsString());
-			return def;
-		}
-	};
-
 	/** Custom Gson serializer for TaskDefinition: writes displayName, taskType, difficulty, area (single or array), f2p, requirements. */
 	private static final JsonSerializer<TaskDefinition> TASK_SERIALIZER = (src, typeOfSrc, context) ->
 	{
@@ -134,26 +98,32 @@ public class TaskGridService
 		return obj;
 	};
 
-	private static final Gson GSON = new GsonBuilder()
-		.registerTypeAdapter(TaskDefinition.class, TASK_DESERIALIZER)
-		.create();
+	/** A parsed config/file payload together with the raw text it came from; reused while the text is unchanged. */
+	private static final class ParsedPayload<T>
+	{
+		private final int hash;
+		private final String raw;
+		private final T value;
 
-	private static final java.lang.reflect.Type LIST_TASK_DEFINITION = new TypeToken<List<TaskDefinition>>(){}.getType();
+		ParsedPayload(String raw, T value)
+		{
+			this.hash = raw.hashCode();
+			this.raw = raw;
+			this.value = value;
+		}
 
-	/** Parses JSON from the stream into TasksData. Accepts both root array {@code [ ... ]} and object {@code {"defaultTasks": [...]}. */
-	private static TasksData parseTasksDataFromStream(InputStream in) throws Exception
-	{
-		@SuppressWarnings("deprecation")
-		JsonElement root = new JsonParser().parse(new InputStreamReader(in, StandardCharsets.UTF_8));
-		if (root == null) return null;
-		if (root.isJsonArray())
+		boolean matches(String other)
 		{
-			List<TaskDefinition> list = GSON.fromJson(root, LIST_TASK_DEFINITION);
-			TasksData data = new TasksData();
-			data.setDefaultTasks(list != null ? list : new ArrayList<>());
-			return data;
+			return other.hashCode() == hash && other.equals(raw);
 		}
-		return GSON.fromJson(root, TasksData.class);
+	}
+
+	/** Parses an override/tasks file payload; a root array is only accepted when {@code allowRootArray}. */
+	private static TasksData parseTasksData(String json, boolean allowRootArray) throws IOException
+	{
+		if (!allowRootArray && json.startsWith("["))
+			throw new JsonParseException("Expected an object with defaultTasks");
+		return TaskJsonReader.readTasksData(new StringReader(json));
 	}
 
 	private static final Gson GSON_SERIALIZE = new GsonBuilder()
@@ -165,38 +135,222 @@ public class TaskGridService
 	private final PointsService pointsService;
 	private final AreaCompletionService areaCompletionService;
 	private final AreaGraphService areaGraphService;
-	private final Client client;
+	private final QuestStateService questStateService;
 
 	private volatile TasksData tasksData;
 
+	/** Last parsed tasks file, import override and custom tasks payloads; survive {@link #invalidateTasksCache()}. */
+	private volatile ParsedPayload<TasksData> parsedTasksFile;
+	private volatile ParsedPayload<TasksData> parsedOverride;
+	private volatile ParsedPayload<List<TaskDefinition>> parsedCustomTasks;
+	/** Built-in /tasks.json, parsed at most once. */
+	private volatile TasksData builtInTasksData;
+
 	/** Merged base + custom tasks; cleared with {@link #invalidateTasksCache()}. */
 	private volatile TasksData effectiveTasksDataSnapshot;
 
 	/** Cache: task key -> area id for onceOnly tasks. Cleared when tasks cache is invalidated. */
 	private volatile Map<String, String> onceOnlyAssignmentCache;
 
+	/** Delay before changed progress sets are written back to config, so bursts of claims produce one write. */
+	private static final long PROGRESS_FLUSH_DELAY_MS = 1000;
+	/** How long {@link #shutDown()} waits for the progress writer and precompute pool to finish. */
+	private static final long EXECUTOR_SHUTDOWN_TIMEOUT_MS = 2000;
+
+	/** Cache: progress config key -> live set of tile ids (claimed, completed or ring bonus). Loaded once, mutated in place. */
+	private final Map<String, Set<String>> progressSets = new ConcurrentHashMap<>();
+	/** Progress keys changed since the last {@link #flushProgress()}. */
+	private final Set<String> dirtyProgressKeys = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean progressFlushScheduled = new AtomicBoolean();
+	/** Runs the debounced flush; started on first use and stopped by {@link #shutDown()}. */
+	private ScheduledExecutorService progressWriter;
+	/** Bumped whenever any progress set changes, so {@link ProgressBits} snapshots know to rebuild. */
+	private volatile int progressVersion;
+	/** Cache: area id -> claimed/completed bits aligned to that area's {@link TaskGrid}. */
+	private final Map<String, ProgressBits> progressBits = new ConcurrentHashMap<>();
+
+	/**
+	 * Claimed/completed state of one area as bitsets over {@link TaskGrid} tile indices. Built from the progress sets
+	 * and reused until the grid or {@link #progressVersion} changes.
+	 */
+	private static final class ProgressBits
+	{
+		private final List<TaskTile> source;
+		private final TaskGrid taskGrid;
+		private final int version;
+		private final BitSet claimed;
+		private final BitSet completed;
+		/** Positions of claimed ids with no tile in this grid (e.g. left over from an older layout), or null if none. */
+		private final CoordSet strayClaimed;
+		/** Claimed tiles per ring of {@link #taskGrid}; a ring is complete when this equals {@link TaskGrid#ringSize}. */
+		private final int[] claimedPerRing;
+
+		private ProgressBits(List<TaskTile> source, TaskGrid taskGrid, int version, Set<String> claimedIds, Set<String> completedIds)
+		{
+			this.source = source;
+			this.taskGrid = taskGrid;
+			this.version = version;
+			this.claimed = new BitSet(taskGrid.size());
+			this.completed = new BitSet(taskGrid.size());
+			CoordSet stray = null;
+			for (String id : claimedIds)
+			{
+				int i = taskGrid.indexOf(id);
+				if (i >= 0) claimed.set(i);
+				else
+				{
+					// Only canonical "row,col" ids can match a neighbor id
+					int coord = GridCoord.parse(id);
+					if (coord == GridCoord.NONE || !GridCoord.toId(coord).equals(id)) continue;
+					if (stray == null) stray = new CoordSet();
+					stray.add(coord);
+				}
+			}
+			for (String id : completedIds)
+			{
+				int i = taskGrid.indexOf(id);
+				if (i >= 0) completed.set(i);
+			}
+			this.strayClaimed = stray;
+			this.claimedPerRing = new int[taskGrid.maxRing() + 1];
+			for (int i = claimed.nextSetBit(0); i >= 0; i = claimed.nextSetBit(i + 1))
+				claimedPerRing[taskGrid.ring(i)]++;
+		}
+
+		private ProgressBits(ProgressBits from, int version, BitSet claimed, int[] claimedPerRing)
+		{
+			this.source = from.source;
+			this.taskGrid = from.taskGrid;
+			this.version = version;
+			this.claimed = claimed;
+			this.completed = from.completed;
+			this.strayClaimed = from.strayClaimed;
+			this.claimedPerRing = claimedPerRing;
+		}
+
+		/** Copy with tile {@code index} also claimed; the claimed bits and ring counters are updated, not recomputed. */
+		private ProgressBits withClaimed(int index, int version)
+		{
+			BitSet nextClaimed = (BitSet) claimed.clone();
+			int[] nextCounts = claimedPerRing.clone();
+			if (!nextClaimed.get(index))
+			{
+				nextClaimed.set(index);
+				nextCounts[taskGrid.ring(index)]++;
+			}
+			return new ProgressBits(this, version, nextClaimed, nextCounts);
+		}
+	}
+
+	/** Indexed view of the effective default tasks; cleared with {@link #invalidateTasksCache()}. */
+	private volatile TaskCatalog taskCatalog;
+
+	/** Bumped by {@link #invalidateTasksCache()} so grids built from older task data are never reused. */
+	private volatile int tasksVersion;
+
+	/** Cache: area id -> generated grid, reused while its {@link GridKey} still matches. */
+	private final Map<String, CachedGrid> gridCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Background pool for {@link #precomputeGrids()}; grids are independent, so one area is built per worker. Started on
+	 * first use and stopped by {@link #shutDown()}.
+	 */
+	private ForkJoinPool gridPrecomputePool;
+	/** Bumped per {@link #precomputeGrids()} call; an older run stops building once a newer one has started. */
+	private final AtomicInteger precomputeGeneration = new AtomicInteger();
+
+	/**
+	 * Everything a generated grid depends on besides the area id: reset counter (seed), task data, area graph state
+	 * (unlocked set and area list feed the tier count, onceOnly assignment and mystery separation) and the config
+	 * values read during generation.
+	 */
+	private static final class GridKey
+	{
+		private final int resetCounter;
+		private final int tasksVersion;
+		private final int areaStateVersion;
+		private final List<Object> settings;
+
+		private GridKey(int resetCounter, int tasksVersion, int areaStateVersion, List<Object> settings)
+		{
+			this.resetCounter = resetCounter;
+			this.tasksVersion = tasksVersion;
+			this.areaStateVersion = areaStateVersion;
+			this.settings = settings;
+		}
+
+		private boolean matches(GridKey o)
+		{
+			return resetCounter == o.resetCounter && tasksVersion == o.tasksVersion
+				&& areaStateVersion == o.areaStateVersion && settings.equals(o.settings);
+		}
+	}
+
+	private static final class CachedGrid
+	{
+		private final GridKey key;
+		private final List<TaskTile> grid;
+		private final TaskGrid taskGrid;
+
+		private CachedGrid(GridKey key, List<TaskTile> grid)
+		{
+			this.key = key;
+			this.grid = grid;
+			this.taskGrid = TaskGrid.of(grid);
+		}
+	}
+
+	/**
+	 * Task data and area state a grid is generated from, copied on the thread that asks for the grid. Precompute workers
+	 * only read this, never the live unlocked set or the lazily rebuilt task caches.
+	 */
+	private static final class GridInputs
+	{
+		private final GridKey key;
+		private final TasksData tasksData;
+		private final TaskCatalog catalog;
+		private final Map<String, String> onceOnlyAssignments;
+		private final Set<String> unlockedAreaIds;
+		private final List<com.gridscape.data.Area> unlockableNeighbors;
+
+		private GridInputs(GridKey key, TasksData tasksData, TaskCatalog catalog, Map<String, String> onceOnlyAssignments,
+			Set<String> unlockedAreaIds, List<com.gridscape.data.Area> unlockableNeighbors)
+		{
+			this.key = key;
+			this.tasksData = tasksData;
+			this.catalog = catalog;
+			this.onceOnlyAssignments = onceOnlyAssignments;
+			this.unlockedAreaIds = unlockedAreaIds;
+			this.unlockableNeighbors = unlockableNeighbors;
+		}
+	}
+
 	/**
 	 * Clears the cached tasks data. Call after changing the tasks file path, override, or custom
 	 * tasks in config so the next {@link #getGridForArea(String)} or related call uses updated data.
+	 * Synchronized with the lazy rebuilds, so a stale catalog or onceOnly map is never published after a clear.
 	 */
-	public void invalidateTasksCache()
+	public synchronized void invalidateTasksCache()
 	{
 		tasksData = null;
 		effectiveTasksDataSnapshot = null;
 		onceOnlyAssignmentCache = null;
+		taskCatalog = null;
+		tasksVersion++;
+		gridCache.clear();
 	}
 
 	@Inject
 	public TaskGridService(ConfigManager configManager, GridScapeConfig config,
 		PointsService pointsService, AreaCompletionService areaCompletionService,
-		AreaGraphService areaGraphService, Client client)
+		AreaGraphService areaGraphService, QuestStateService questStateService)
 	{
 		this.configManager = configManager;
 		this.config = config;
 		this.pointsService = pointsService;
 		this.areaCompletionService = areaCompletionService;
 		this.areaGraphService = areaGraphService;
-		this.client = client;
+		this.questStateService = questStateService;
 	}
 
 	/**
@@ -220,14 +374,18 @@ public class TaskGridService
 					Path path = Paths.get(pathStr.trim());
 					if (Files.isRegularFile(path))
 					{
-						try (InputStream in = Files.newInputStream(path))
+						String raw = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+						ParsedPayload<TasksData> cached = parsedTasksFile;
+						if (cached == null || !cached.matches(raw))
 						{
-							tasksData = parseTasksDataFromStream(in);
-							if (tasksData != null && tasksData.getDefaultTasks() != null)
-							{
-								log.info("GridScape tasks loaded from {}", path);
-								return tasksData;
-							}
+							cached = new ParsedPayload<>(raw, parseTasksData(raw, true));
+							parsedTasksFile = cached;
+						}
+						if (cached.value != null && cached.value.getDefaultTasks() != null)
+						{
+							log.info("GridScape tasks loaded from {}", path);
+							tasksData = cached.value;
+							return tasksData;
 						}
 					}
 				}
@@ -236,22 +394,31 @@ public class TaskGridService
 					log.warn("GridScape failed to load tasks from config path: {}", e.getMessage());
 				}
 			}
-			// 2) Fall back to built-in resource
-			try (InputStream in = GridScapePlugin.class.getResourceAsStream(TASKS_RESOURCE))
+			// 2) Fall back to built-in resource (never changes, so parsed once)
+			TasksData builtIn = builtInTasksData;
+			if (builtIn == null)
 			{
-				if (in != null)
+				try (InputStream in = GridScapePlugin.class.getResourceAsStream(TASKS_RESOURCE))
 				{
-					tasksData = parseTasksDataFromStream(in);
-					if (tasksData != null && tasksData.getDefaultTasks() != null)
+					if (in != null)
 					{
-						log.debug("GridScape tasks loaded from built-in resource");
-						return tasksData;
+						builtIn = TaskJsonReader.readTasksData(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+						if (builtIn != null && builtIn.getDefaultTasks() != null)
+						{
+							log.debug("GridScape tasks loaded from built-in resource");
+							builtInTasksData = builtIn;
+						}
 					}
 				}
+				catch (Exception e)
+				{
+					log.warn("GridScape failed to load built-in tasks: {}", e.getMessage());
+				}
 			}
-			catch (Exception e)
+			if (builtIn != null && builtIn.getDefaultTasks() != null)
 			{
-				log.warn("GridScape failed to load built-in tasks: {}", e.getMessage());
+				tasksData = builtIn;
+				return tasksData;
 			}
 			// 3) Empty fallback so callers never get null
 			tasksData = new TasksData();
@@ -263,17 +430,24 @@ public class TaskGridService
 	/**
 	 * Base task set: from imported JSON override (KEY_TASKS_OVERRIDE) if present, otherwise
 	 * from {@link #loadTasksData()} (file path or built-in). Used by getEffectiveTasksData.
+	 * The parsed override is reused until its text changes.
 	 */
 	private TasksData loadBaseTasksData()
 	{
 		String override = configManager.getConfiguration(STATE_GROUP, KEY_TASKS_OVERRIDE);
 		if (override != null && !override.trim().isEmpty())
 		{
+			String raw = override.trim();
 			try
 			{
-				TasksData parsed = GSON.fromJson(override.trim(), TasksData.class);
-				if (parsed != null && parsed.getDefaultTasks() != null)
-					return parsed;
+				ParsedPayload<TasksData> cached = parsedOverride;
+				if (cached == null || !cached.matches(raw))
+				{
+					cached = new ParsedPayload<>(raw, parseTasksData(raw, false));
+					parsedOverride = cached;
+				}
+				if (cached.value != null && cached.value.getDefaultTasks() != null)
+					return cached.value;
 			}
 			catch (Exception e)
 			{
@@ -283,16 +457,24 @@ public class TaskGridService
 		return loadTasksData();
 	}
 
-	/** Loads the user's custom (in-plugin added) tasks from config. Returns empty list if unset or invalid. */
+	/**
+	 * Loads the user's custom (in-plugin added) tasks from config. Returns empty list if unset or invalid.
+	 * The returned list is a fresh copy callers may modify; the parse itself is reused until the config text changes.
+	 */
 	private List<TaskDefinition> loadCustomTasksFromConfig()
 	{
 		String raw = configManager.getConfiguration(STATE_GROUP, KEY_CUSTOM_TASKS);
 		if (raw == null || raw.trim().isEmpty()) return new ArrayList<>();
+		raw = raw.trim();
 		try
 		{
-			com.google.gson.reflect.TypeToken<List<TaskDefinition>> typeToken = new com.google.gson.reflect.TypeToken<List<TaskDefinition>>(){};
-			List<TaskDefinition> list = GSON.fromJson(raw.trim(), typeToken.getType());
-			return list != null ? list : new ArrayList<>();
+			ParsedPayload<List<TaskDefinition>> cached = parsedCustomTasks;
+			if (cached == null || !cached.matches(raw))
+			{
+				cached = new ParsedPayload<>(raw, TaskJsonReader.readTaskList(new StringReader(raw)));
+				parsedCustomTasks = cached;
+			}
+			return cached.value != null ? new ArrayList<>(cached.value) : new ArrayList<>();
 		}
 		catch (Exception e)
 		{
@@ -301,19 +483,39 @@ public class TaskGridService
 		}
 	}
 
-	/** Saves custom tasks to config as JSON and invalidates the tasks cache. */
+	/** Saves custom tasks to config as JSON, invalidates the tasks cache and rebuilds grids in the background. */
 	private void saveCustomTasksToConfig(List<TaskDefinition> list)
 	{
 		String json = GSON_SERIALIZE.toJson(list != null ? list : new ArrayList<>());
 		configManager.setConfiguration(STATE_GROUP, KEY_CUSTOM_TASKS, json);
 		invalidateTasksCache();
+		precomputeGrids();
 	}
 
-	/** All default tasks (base + custom). Used for grid, export, and World Unlock global task resolution. */
+	/** All default tasks (base + custom), unmodifiable. Used for grid, export, and World Unlock global task resolution. */
 	public List<TaskDefinition> getEffectiveDefaultTasks()
 	{
-		TasksData data = getEffectiveTasksData();
-		return data.getDefaultTasks() != null ? new ArrayList<>(data.getDefaultTasks()) : new ArrayList<>();
+		return getTaskCatalog().all();
+	}
+
+	/** Indexed catalog of {@link #getEffectiveDefaultTasks()}; rebuilt once after each {@link #invalidateTasksCache()}. */
+	public TaskCatalog getTaskCatalog()
+	{
+		TaskCatalog catalog = taskCatalog;
+		if (catalog != null)
+		{
+			return catalog;
+		}
+		synchronized (this)
+		{
+			catalog = taskCatalog;
+			if (catalog == null)
+			{
+				catalog = TaskCatalog.of(getEffectiveTasksData().getDefaultTasks());
+				taskCatalog = catalog;
+			}
+			return catalog;
+		}
 	}
 
 	/** Effective task set: base defaultTasks + custom tasks, and base areas. Used for grid and export. */
@@ -360,11 +562,22 @@ public class TaskGridService
 			clearTasksOverride();
 			return;
 		}
-		TasksData parsed = GSON.fromJson(tasksJson.trim(), TasksData.class);
+		String raw = tasksJson.trim();
+		TasksData parsed;
+		try
+		{
+			parsed = parseTasksData(raw, false);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			throw new IllegalArgumentException(e.getMessage(), e);
+		}
 		if (parsed == null || parsed.getDefaultTasks() == null)
 			throw new IllegalArgumentException("Invalid tasks JSON: need defaultTasks array");
-		configManager.setConfiguration(STATE_GROUP, KEY_TASKS_OVERRIDE, tasksJson.trim());
+		parsedOverride = new ParsedPayload<>(raw, parsed);
+		configManager.setConfiguration(STATE_GROUP, KEY_TASKS_OVERRIDE, raw);
 		invalidateTasksCache();
+		precomputeGrids();
 	}
 
 	/** Clear imported override so tasks load from file or built-in again. */
@@ -372,6 +585,7 @@ public class TaskGridService
 	{
 		configManager.unsetConfiguration(STATE_GROUP, KEY_TASKS_OVERRIDE);
 		invalidateTasksCache();
+		precomputeGrids();
 	}
 
 	/** Custom (in-plugin) tasks only. */
@@ -449,9 +663,9 @@ public class TaskGridService
 	 * prioritized (area-specific first, filler tasks second), capped at MAX_TASKS_PER_AREA, and
 	 * padded to MIN_TASKS_PER_AREA by repeating if needed.
 	 */
-	private List<TaskDefinition> getTasksForArea(String areaId)
+	private List<TaskDefinition> getTasksForArea(String areaId, GridInputs inputs)
 	{
-		TasksData data = getEffectiveTasksData();
+		TasksData data = inputs.tasksData;
 		List<TaskDefinition> list;
 		if (data.getAreas() != null && data.getAreas().containsKey(areaId))
 		{
@@ -459,12 +673,12 @@ public class TaskGridService
 			if (at != null && at.getTasks() != null && !at.getTasks().isEmpty())
 				list = filterTasksByArea(at.getTasks(), areaId);
 			else
-				list = filterTasksByArea(data.getDefaultTasks() != null ? data.getDefaultTasks() : new ArrayList<>(), areaId);
+				list = defaultTasksForArea(areaId, inputs.catalog);
 		}
 		else
-			list = filterTasksByArea(data.getDefaultTasks() != null ? data.getDefaultTasks() : new ArrayList<>(), areaId);
+			list = defaultTasksForArea(areaId, inputs.catalog);
 		// onceOnly: include only if this area is the one assigned to this task
-		Map<String, String> onceOnlyMap = getOnceOnlyAssignments();
+		Map<String, String> onceOnlyMap = inputs.onceOnlyAssignments;
 		list = list.stream()
 			.filter(t -> {
 				if (!Boolean.TRUE.equals(t.getOnceOnly())) return true;
@@ -532,6 +746,20 @@ public class TaskGridService
 		return name != null ? name.trim().toLowerCase() : "";
 	}
 
+	/**
+	 * Default tasks that apply to this area from the catalog indices: area-specific tasks, then tasks with no area
+	 * restriction. {@link #prioritizeAndCapTasksForArea} orders them the same way, so this matches filtering the full list.
+	 */
+	private List<TaskDefinition> defaultTasksForArea(String areaId, TaskCatalog catalog)
+	{
+		List<TaskDefinition> areaSpecific = catalog.byArea(areaId);
+		List<TaskDefinition> noArea = catalog.noArea();
+		List<TaskDefinition> out = new ArrayList<>(areaSpecific.size() + noArea.size());
+		out.addAll(areaSpecific);
+		out.addAll(noArea);
+		return out;
+	}
+
 	/** Keep only tasks that apply to this area (task has no area restriction, or areaId is in task's required area list). */
 	private List<TaskDefinition> filterTasksByArea(List<TaskDefinition> tasks, String areaId)
 	{
@@ -549,16 +777,13 @@ public class TaskGridService
 	{
 		Map<String, String> cache = onceOnlyAssignmentCache;
 		if (cache != null) return cache;
-		TasksData data = getEffectiveTasksData();
 		List<String> sortedAreaIds = areaGraphService.getAreas().stream()
 			.map(a -> a.getId())
 			.sorted()
 			.collect(Collectors.toList());
-		List<TaskDefinition> allTasks = new ArrayList<>(data.getDefaultTasks() != null ? data.getDefaultTasks() : Collections.emptyList());
 		Map<String, String> map = new HashMap<>();
-		for (TaskDefinition t : allTasks)
+		for (TaskDefinition t : getTaskCatalog().onceOnly())
 		{
-			if (!Boolean.TRUE.equals(t.getOnceOnly())) continue;
 			List<String> required = t.getRequiredAreaIds();
 			String assign = null;
 			for (String aid : sortedAreaIds)
@@ -577,18 +802,154 @@ public class TaskGridService
 	}
 
 	/**
-	 * Generate the full task grid for an area. Uses {@link #computeEffectiveMaxTier(String)} so the grid
+	 * Generate the full task grid for an area. Uses {@link #computeEffectiveMaxTier} so the grid
 	 * has enough tiers (up to {@value #MAX_GRID_TIERS}) to meet the area's point target and avoid soft lock.
 	 * Center (0,0) is tier 0 "Free". Tasks are randomized per area (seeded by areaId):
 	 * difficulty 1 near center, difficulty 5 at the outer edge.
+	 * <p>
+	 * Grids are deterministic for a given {@link GridKey}, so the result is cached per area and shared between
+	 * callers; the returned list is unmodifiable.
 	 */
 	public List<TaskTile> getGridForArea(String areaId)
 	{
-		List<TaskDefinition> taskDefs = getTasksForArea(areaId);
-		long seed = (long) areaId.hashCode() + getGridResetCounter();
+		return cachedGrid(areaId).grid;
+	}
+
+	/** Position-indexed view of {@link #getGridForArea(String)} (same tiles, same order). */
+	public TaskGrid getTaskGrid(String areaId)
+	{
+		return cachedGrid(areaId).taskGrid;
+	}
+
+	/**
+	 * Builds the grids of all unlocked and unlockable areas in the background and publishes them to the grid cache, so
+	 * the first popup after a reset, task import or tier points change does not pay for generation. The area list and
+	 * {@link GridInputs} are taken on the calling thread; returns immediately.
+	 */
+	public void precomputeGrids()
+	{
+		int generation = precomputeGeneration.incrementAndGet();
+		Set<String> areaIds = new LinkedHashSet<>(areaGraphService.getUnlockedAreaIds());
+		Set<String> completedIds = config.unlockMode() == GridScapeConfig.UnlockMode.POINTS_TO_COMPLETE
+			? new HashSet<>(areaCompletionService.getEffectiveCompletedAreaIds())
+			: null;
+		for (com.gridscape.data.Area area : areaGraphService.getUnlockableNeighbors(completedIds))
+			areaIds.add(area.getId());
+		List<String> snapshot = Collections.unmodifiableList(new ArrayList<>(areaIds));
+		GridInputs inputs = captureGridInputs();
+		gridPrecomputePool().execute(() -> runPrecompute(generation, snapshot, inputs));
+	}
+
+	private synchronized ForkJoinPool gridPrecomputePool()
+	{
+		if (gridPrecomputePool == null)
+		{
+			gridPrecomputePool = new ForkJoinPool(
+				Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+				pool -> {
+					ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+					t.setName("GridScape-GridPrecompute-" + t.getPoolIndex());
+					t.setDaemon(true);
+					return t;
+				},
+				null, false);
+		}
+		return gridPrecomputePool;
+	}
+
+	private void runPrecompute(int generation, List<String> areaIds, GridInputs inputs)
+	{
+		if (generation != precomputeGeneration.get()) return;
+		long start = System.nanoTime();
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(areaIds.size());
+		for (String areaId : areaIds)
+		{
+			tasks.add(ForkJoinTask.adapt(() -> {
+				if (generation != precomputeGeneration.get()) return;
+				try
+				{
+					cachedGrid(areaId, inputs);
+				}
+				catch (RuntimeException e)
+				{
+					log.warn("GridScape failed to precompute task grid for {}", areaId, e);
+				}
+			}));
+		}
+		ForkJoinTask.invokeAll(tasks);
+		if (generation == precomputeGeneration.get())
+			log.debug("Precomputed {} task grids in {} ms", tasks.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private GridKey gridKey()
+	{
+		return new GridKey(getGridResetCounter(), tasksVersion, areaGraphService.getStateVersion(),
+			Arrays.asList(config.taskMode(), config.unlockMode(), config.startingArea(),
+				config.taskTier1Points(), config.taskTier2Points(), config.taskTier3Points(),
+				config.taskTier4Points(), config.taskTier5Points()));
+	}
+
+	/**
+	 * Copies the current task data and area state for grid generation. Held under the service lock so the key, task
+	 * data, catalog and onceOnly map all come from the same {@link #invalidateTasksCache()} generation.
+	 */
+	private synchronized GridInputs captureGridInputs()
+	{
+		GridKey key = gridKey();
+		Set<String> unlocked = Collections.unmodifiableSet(new HashSet<>(areaGraphService.getUnlockedAreaIds()));
+		List<com.gridscape.data.Area> neighbors = Collections.unmodifiableList(
+			new ArrayList<>(areaGraphService.getUnlockableNeighbors(unlocked)));
+		return new GridInputs(key, getEffectiveTasksData(), getTaskCatalog(), getOnceOnlyAssignments(), unlocked, neighbors);
+	}
+
+	private CachedGrid cachedGrid(String areaId)
+	{
+		CachedGrid cached = gridCache.get(areaId);
+		if (cached != null && cached.key.matches(gridKey()))
+			return cached;
+		return cachedGrid(areaId, captureGridInputs());
+	}
+
+	private CachedGrid cachedGrid(String areaId, GridInputs inputs)
+	{
+		CachedGrid cached = gridCache.get(areaId);
+		if (cached != null && cached.key.matches(inputs.key))
+			return cached;
+		cached = new CachedGrid(inputs.key, Collections.unmodifiableList(buildGridForArea(areaId, inputs)));
+		gridCache.put(areaId, cached);
+		return cached;
+	}
+
+	/**
+	 * Claimed/completed bits for {@code grid}, rebuilt only when progress changed or a different grid list is passed.
+	 * The version is read before the sets so a concurrent change just causes another rebuild.
+	 */
+	private ProgressBits progressBits(String areaId, List<TaskTile> grid)
+	{
+		int version = progressVersion;
+		ProgressBits bits = progressBits.get(areaId);
+		if (bits != null && bits.source == grid && bits.version == version)
+			return bits;
+		TaskGrid taskGrid;
+		if (bits != null && bits.source == grid)
+			taskGrid = bits.taskGrid;
+		else
+		{
+			CachedGrid cached = gridCache.get(areaId);
+			taskGrid = cached != null && cached.grid == grid ? cached.taskGrid : TaskGrid.of(grid);
+		}
+		bits = new ProgressBits(grid, taskGrid, version, loadSet(areaId, SUFFIX_CLAIMED), loadSet(areaId, SUFFIX_COMPLETED));
+		progressBits.put(areaId, bits);
+		return bits;
+	}
+
+	private List<TaskTile> buildGridForArea(String areaId, GridInputs inputs)
+	{
+		List<TaskDefinition> taskDefs = getTasksForArea(areaId, inputs);
+		long seed = (long) areaId.hashCode() + inputs.key.resetCounter;
 		Random rng = new Random(seed);
 
-		int effectiveMaxTier = computeEffectiveMaxTier(areaId);
+		int effectiveMaxTier = computeEffectiveMaxTier(areaId, inputs);
 		// Partition tasks by difficulty (1-5); clamp invalid to 1 (needed before building positions for overfill)
 		List<List<TaskDefinition>> byDifficulty = new ArrayList<>();
 		for (int d = 0; d <= MAX_TIER; d++)
@@ -745,24 +1106,19 @@ public class TaskGridService
 			}
 		}
 
-		// Map (r,c) -> index into assigned (same order: tier 1 cells, then tier 2, ...)
-		java.util.Map<String, Integer> positionToIndex = new java.util.HashMap<>();
-		int idx = 0;
-		for (int tier = 1; tier <= effectiveMaxTier; tier++)
-			for (int[] rc : positionsByTier.get(tier))
-				positionToIndex.put(rc[0] + "," + rc[1], idx++);
-
-		// Build TaskTile list: center then all positions by tier (includes overfill cells)
+		// Build TaskTile list: center then all positions by tier (includes overfill cells). Cells are visited in the same
+		// order tasks were assigned (tier 1 cells, then tier 2, ...), so the running cell index is the assignment index.
 		List<TaskTile> out = new ArrayList<>();
 		out.add(new TaskTile(TaskTile.idFor(0, 0), 0, "Free", 0, 0, 0, null, null, true, null, null));
+		int ai = 0;
 		for (int tier = 1; tier <= effectiveMaxTier; tier++)
 		{
 			for (int[] rc : positionsByTier.get(tier))
 			{
 				int r = rc[0], c = rc[1];
 				String id = TaskTile.idFor(r, c);
-				Integer ai = positionToIndex.get(r + "," + c);
-				TaskDefinition def = (ai != null && ai < assigned.size()) ? assigned.get(ai) : null;
+				TaskDefinition def = ai < assigned.size() ? assigned.get(ai) : null;
+				ai++;
 				// Points follow the task's difficulty, not the cell tier, so filler tasks keep their original point value
 				int points = pointsForTier(def != null ? def.getDifficulty() : tier);
 				String displayName = def != null && def.getDisplayName() != null ? def.getDisplayName() : ("Task " + id);
@@ -776,7 +1132,7 @@ public class TaskGridService
 			}
 		}
 		// Enforce: no two mystery tiles may share a side or corner (at least one tile space between mystery tiles)
-		separateAdjacentMysteryTiles(out, areaId);
+		separateAdjacentMysteryTiles(out, areaId, inputs.unlockedAreaIds);
 		return out;
 	}
 
@@ -791,65 +1147,59 @@ public class TaskGridService
 	 * Ensures no two mystery tiles are adjacent (share side or corner). When two mystery tiles are
 	 * adjacent, swaps one with a non-mystery tile from a position that has no mystery neighbors.
 	 */
-	private void separateAdjacentMysteryTiles(List<TaskTile> grid, String areaId)
+	private void separateAdjacentMysteryTiles(List<TaskTile> grid, String areaId, Set<String> unlocked)
 	{
 		if (grid.size() <= 1) return;
-		Set<String> unlocked = areaGraphService.getUnlockedAreaIds();
 		// Index 0 is center; indices 1..size-1 are task tiles with positions
-		java.util.Map<String, Integer> posToIndex = new HashMap<>();
+		CoordMap<Integer> posToIndex = new CoordMap<>(grid.size());
 		for (int i = 1; i < grid.size(); i++)
-		{
-			TaskTile t = grid.get(i);
-			posToIndex.put(t.getRow() + "," + t.getCol(), i);
-		}
+			posToIndex.put(grid.get(i).getCoord(), i);
 		int maxIterations = grid.size() * 2; // avoid infinite loop
 		for (int iter = 0; iter < maxIterations; iter++)
 		{
+			// The string set only fixes which adjacent pair is found first (its iteration order is part of the
+			// seeded layout); membership tests use the packed coordinates.
 			Set<String> mysteryPositions = new HashSet<>();
+			CoordSet mysteryCoords = new CoordSet();
 			for (int i = 1; i < grid.size(); i++)
 			{
 				TaskTile t = grid.get(i);
 				if (t.isMystery(unlocked, areaId))
+				{
 					mysteryPositions.add(t.getRow() + "," + t.getCol());
+					mysteryCoords.add(t.getCoord());
+				}
 			}
 			// Find two adjacent mystery positions
-			String mysteryA = null;
-			String mysteryB = null;
+			int mysteryA = GridCoord.NONE;
 			for (String posA : mysteryPositions)
 			{
-				String[] pa = posA.split(",", 2);
-				int r1 = Integer.parseInt(pa[0]);
-				int c1 = Integer.parseInt(pa[1]);
+				int a = GridCoord.parse(posA);
 				for (String posB : mysteryPositions)
 				{
 					if (posA.compareTo(posB) >= 0) continue;
-					String[] pb = posB.split(",", 2);
-					int r2 = Integer.parseInt(pb[0]);
-					int c2 = Integer.parseInt(pb[1]);
-					if (isAdjacent(r1, c1, r2, c2))
+					int b = GridCoord.parse(posB);
+					if (isAdjacent(GridCoord.row(a), GridCoord.col(a), GridCoord.row(b), GridCoord.col(b)))
 					{
-						mysteryA = posA;
-						mysteryB = posB;
+						mysteryA = a;
 						break;
 					}
 				}
-				if (mysteryA != null) break;
+				if (mysteryA != GridCoord.NONE) break;
 			}
-			if (mysteryA == null) break; // no adjacent mystery pair
+			if (mysteryA == GridCoord.NONE) break; // no adjacent mystery pair
 			// Find a non-mystery position that has no mystery neighbor (so after swap it stays valid)
 			Integer idxSwap = null;
 			for (int i = 1; i < grid.size(); i++)
 			{
 				TaskTile t = grid.get(i);
-				String pos = t.getRow() + "," + t.getCol();
-				if (mysteryPositions.contains(pos)) continue; // must be non-mystery
+				if (mysteryCoords.contains(t.getCoord())) continue; // must be non-mystery
 				boolean hasMysteryNeighbor = false;
 				for (int dr = -1; dr <= 1 && !hasMysteryNeighbor; dr++)
 					for (int dc = -1; dc <= 1 && !hasMysteryNeighbor; dc++)
 					{
 						if (dr == 0 && dc == 0) continue;
-						String neighbor = (t.getRow() + dr) + "," + (t.getCol() + dc);
-						if (mysteryPositions.contains(neighbor))
+						if (mysteryCoords.contains(t.getRow() + dr, t.getCol() + dc))
 							hasMysteryNeighbor = true;
 					}
 				if (!hasMysteryNeighbor)
@@ -873,41 +1223,41 @@ public class TaskGridService
 		}
 	}
 
+	/**
+	 * Replaces {@code before} (the bits just prior to claiming {@code index}) with an updated copy, so a claim does not
+	 * rebuild the area's bits from the id sets. Skipped if any other progress change happened in between; the bits are
+	 * then rebuilt lazily as usual.
+	 */
+	private void advanceProgressBits(String areaId, ProgressBits before, int index)
+	{
+		int version = progressVersion;
+		if (before.version + 1 != version) return;
+		progressBits.replace(areaId, before, before.withClaimed(index, version));
+	}
+
 	/**
 	 * When every tile in a Chebyshev ring (same {@link GridPos#ringNumber(int, int)}) is claimed, awards
 	 * {@code min(ring × pointsForTier(mode difficulty), RING_BONUS_CAP)} where mode = most common difficulty tier in that ring.
+	 * Completion is read from the per-ring claimed counters; the ring's tiles are only walked once it is complete.
 	 * @return bonus points awarded this call, or 0
 	 */
-	private int maybeAwardRingCompletionBonus(String areaId, String claimedTaskId)
+	private int maybeAwardRingCompletionBonus(String areaId, TaskGrid taskGrid, int claimedIndex)
 	{
-		String[] p = claimedTaskId.split(",");
-		if (p.length != 2) return 0;
-		int r, c;
-		try
-		{
-			r = Integer.parseInt(p[0].trim());
-			c = Integer.parseInt(p[1].trim());
-		}
-		catch (NumberFormatException e)
-		{
-			return 0;
-		}
-		int ring = GridPos.ringNumber(r, c);
+		int ring = taskGrid.ring(claimedIndex);
 		if (ring <= 0) return 0;
 
-		Set<String> ringBonusDone = loadRingBonusSet(areaId);
-		if (ringBonusDone.contains(Integer.toString(ring))) return 0;
+		ProgressBits bits = progressBits(areaId, taskGrid.getTiles());
+		taskGrid = bits.taskGrid;
+		if (bits.claimedPerRing[ring] < taskGrid.ringSize(ring)) return 0;
 
-		List<TaskTile> grid = getGridForArea(areaId);
-		List<TaskTile> inRing = grid.stream()
-			.filter(t -> GridPos.ringNumber(t.getRow(), t.getCol()) == ring)
-			.collect(Collectors.toList());
-		if (inRing.isEmpty()) return 0;
+		Set<String> ringBonusDone = loadSet(areaId, SUFFIX_RING_BONUS);
+		if (ringBonusDone.contains(Integer.toString(ring))) return 0;
 
-		Set<String> claimed = loadSet(areaId, SUFFIX_CLAIMED);
-		for (TaskTile t : inRing)
+		List<TaskTile> inRing = new ArrayList<>(taskGrid.ringSize(ring));
+		for (int i = 0; i < taskGrid.size(); i++)
 		{
-			if (!claimed.contains(t.getId())) return 0;
+			if (taskGrid.ring(i) == ring)
+				inRing.add(taskGrid.get(i));
 		}
 
 		int modeTier = modeDifficultyTier(inRing);
@@ -915,9 +1265,10 @@ public class TaskGridService
 		int bonus = Math.min(ring * tierPoints, RING_BONUS_CAP);
 		if (bonus <= 0) return 0;
 
-		areaCompletionService.addEarnedInArea(areaId, bonus);
+		// Record the bonus before paying it, so a profile switch cannot drop the record and pay it again
 		ringBonusDone.add(Integer.toString(ring));
-		saveRingBonusSet(areaId, ringBonusDone);
+		writeSet(areaId, SUFFIX_RING_BONUS);
+		areaCompletionService.addEarnedInArea(areaId, bonus);
 		log.debug("Ring {} completion bonus in {}: +{} (mode tier {}, {} pts/tier)", ring, areaId, bonus, modeTier, tierPoints);
 		return bonus;
 	}
@@ -959,28 +1310,6 @@ public class TaskGridService
 		return 1;
 	}
 
-	private Set<String> loadRingBonusSet(String areaId)
-	{
-		String key = KEY_PREFIX + areaId + SUFFIX_RING_BONUS;
-		String raw = configManager.getConfiguration(STATE_GROUP, key);
-		Set<String> set = new HashSet<>();
-		if (raw != null && !raw.isEmpty())
-		{
-			for (String id : raw.split("\\" + ID_SEP))
-			{
-				String tid = id.trim();
-				if (!tid.isEmpty()) set.add(tid);
-			}
-		}
-		return set;
-	}
-
-	private void saveRingBonusSet(String areaId, Set<String> set)
-	{
-		String key = KEY_PREFIX + areaId + SUFFIX_RING_BONUS;
-		configManager.setConfiguration(STATE_GROUP, key, String.join(ID_SEP, set));
-	}
-
 	/** Returns points awarded when a task in the given tier is claimed (from config tier 1–5 points). Tier 6+ uses tier 5 value. */
 	private int pointsForTier(int tier)
 	{
@@ -1015,18 +1344,16 @@ public class TaskGridService
 	 * - Point buy: total points >= (most expensive unlockable neighbor cost) * buffer.
 	 * - Points to complete: total points >= (area's completion threshold) * buffer.
 	 */
-	private int computeEffectiveMaxTier(String areaId)
+	private int computeEffectiveMaxTier(String areaId, GridInputs inputs)
 	{
 		int target;
 		if (config.unlockMode() == GridScapeConfig.UnlockMode.POINT_BUY)
 		{
-			Set<String> unlocked = areaGraphService.getUnlockedAreaIds();
-			List<com.gridscape.data.Area> neighbors = areaGraphService.getUnlockableNeighbors(unlocked);
 			int maxCost = 0;
-			for (com.gridscape.data.Area a : neighbors)
+			for (com.gridscape.data.Area a : inputs.unlockableNeighbors)
 			{
 				if (a == null) continue;
-				int cost = areaGraphService.getCost(a.getId());
+				int cost = a.getUnlockCost();
 				if (cost > maxCost) maxCost = cost;
 			}
 			target = (int) Math.ceil(maxCost * TARGET_POINTS_BUFFER);
@@ -1176,42 +1503,66 @@ public class TaskGridService
 	 */
 	public TaskState getState(String areaId, String taskId, List<TaskTile> grid)
 	{
-		Set<String> claimed = loadSet(areaId, SUFFIX_CLAIMED);
-		Set<String> completed = loadSet(areaId, SUFFIX_COMPLETED);
-
-		boolean isCenter = "0,0".equals(taskId);
-		if (isCenter)
+		ProgressBits bits = progressBits(areaId, grid);
+		int index = bits.taskGrid.indexOf(taskId);
+		if (index < 0)
 		{
-			if (claimed.contains(taskId)) return TaskState.CLAIMED;
-			return TaskState.COMPLETED_UNCLAIMED; // "Free" tile: ready to claim
+			// Not a tile of this grid: answer from the sets; it has no neighbors to reveal it
+			if (loadSet(areaId, SUFFIX_CLAIMED).contains(taskId)) return TaskState.CLAIMED;
+			if ("0,0".equals(taskId) || loadSet(areaId, SUFFIX_COMPLETED).contains(taskId)) return TaskState.COMPLETED_UNCLAIMED;
+			return TaskState.LOCKED;
 		}
+		return getState(bits, index);
+	}
+
+	/**
+	 * State of the tile at (row, col) of {@code grid}, or null if the grid has no tile there. Same result as
+	 * {@link #getState(String, String, List)} for that tile's id, without building the id.
+	 */
+	public TaskState getStateAt(String areaId, List<TaskTile> grid, int row, int col)
+	{
+		ProgressBits bits = progressBits(areaId, grid);
+		int index = bits.taskGrid.indexAt(row, col);
+		return index < 0 ? null : getState(bits, index);
+	}
 
-		if (claimed.contains(taskId)) return TaskState.CLAIMED;
-		if (completed.contains(taskId)) return TaskState.COMPLETED_UNCLAIMED;
+	/** State of the tile at {@code index} of {@code bits.taskGrid}; see {@link #getState(String, String, List)}. */
+	private static TaskState getState(ProgressBits bits, int index)
+	{
+		if (bits.claimed.get(index)) return TaskState.CLAIMED;
+		TaskTile tile = bits.taskGrid.get(index);
+		if (tile.getRow() == 0 && tile.getCol() == 0) return TaskState.COMPLETED_UNCLAIMED; // "Free" tile: ready to claim
+		if (bits.completed.get(index)) return TaskState.COMPLETED_UNCLAIMED;
 
 		// Revealed if any neighbor is claimed (or center counts as "claimed" for revealing tier 1)
-		boolean revealed = isRevealed(taskId, claimed, grid);
-		return revealed ? TaskState.REVEALED : TaskState.LOCKED;
+		return isRevealed(bits, index) ? TaskState.REVEALED : TaskState.LOCKED;
 	}
 
 	/**
 	 * True if this task tile is revealed (at least one cardinal neighbor is claimed, or center counts for tier 1).
 	 * Used by getState to distinguish LOCKED vs REVEALED.
 	 */
-	private boolean isRevealed(String taskId, Set<String> claimed, List<TaskTile> grid)
+	private static boolean isRevealed(ProgressBits bits, int index)
 	{
-		TaskTile tile = grid.stream().filter(t -> t.getId().equals(taskId)).findFirst().orElse(null);
-		if (tile == null) return false;
 		// Cardinal neighbors only: (r±1,c) and (r,c±1)
-		int[][] deltas = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
-		for (int[] d : deltas)
+		for (int d = 0; d < 4; d++)
 		{
-			int nr = tile.getRow() + d[0];
-			int nc = tile.getCol() + d[1];
-			String neighborId = TaskTile.idFor(nr, nc);
-			if (claimed.contains(neighborId)) return true;
+			int n = bits.taskGrid.neighbor(index, d);
+			if (n >= 0 && bits.claimed.get(n)) return true;
 		}
-		return false;
+		return bits.strayClaimed != null && isRevealedByStrayClaim(bits, index);
+	}
+
+	/** Slow path for claimed ids that are not tiles of the current grid; only empty neighbor cells can match them. */
+	private static boolean isRevealedByStrayClaim(ProgressBits bits, int index)
+	{
+		TaskTile tile = bits.taskGrid.get(index);
+		int r = tile.getRow();
+		int c = tile.getCol();
+		return (bits.taskGrid.neighbor(index, 0) < 0 && bits.strayClaimed.contains(r + 1, c))
+			|| (bits.taskGrid.neighbor(index, 1) < 0 && bits.strayClaimed.contains(r - 1, c))
+			|| (bits.taskGrid.neighbor(index, 2) < 0 && bits.strayClaimed.contains(r, c + 1))
+			|| (bits.taskGrid.neighbor(index, 3) < 0 && bits.strayClaimed.contains(r, c - 1));
 	}
 
 	/**
@@ -1219,12 +1570,13 @@ public class TaskGridService
 	 */
 	public List<TaskTile> getRevealedTiles(String areaId)
 	{
-		List<TaskTile> grid = getGridForArea(areaId);
+		ProgressBits bits = progressBits(areaId, getGridForArea(areaId));
 		List<TaskTile> out = new ArrayList<>();
-		for (TaskTile tile : grid)
+		for (int i = 0; i < bits.taskGrid.size(); i++)
 		{
+			TaskTile tile = bits.taskGrid.get(i);
 			if (tile.getTier() == 0) continue; // center "Free" tile
-			if (getState(areaId, tile.getId(), grid) == TaskState.REVEALED)
+			if (getState(bits, i) == TaskState.REVEALED)
 				out.add(tile);
 		}
 		return out;
@@ -1232,86 +1584,59 @@ public class TaskGridService
 
 	/**
 	 * Marks a task as completed (e.g. by auto-completion logic). Does not award points; that happens
-	 * when the player clicks Claim. Persists to config immediately.
+	 * when the player clicks Claim. Written to config on the next progress flush.
 	 */
 	public void setCompleted(String areaId, String taskId)
 	{
 		Set<String> completed = loadSet(areaId, SUFFIX_COMPLETED);
 		completed.add(taskId);
-		saveSet(areaId, SUFFIX_COMPLETED, completed);
+		saveSet(areaId, SUFFIX_COMPLETED);
 	}
 
 	/**
-	 * Returns true if all quests listed in the requirements string are complete.
-	 * Requirements can be comma-separated quest names (e.g. "Waterfall Quest, Dragon Slayer II")
-	 * or "100% Quest Completion" to require every quest finished.
+	 * Marks every revealed tile for the task with this key ({@link TaskCatalog#keyOf}) as completed in each unlocked
+	 * area. Used by automatic completion; locked, mystery, completed and claimed tiles are left alone.
+	 *
+	 * @return number of tiles completed
 	 */
-	public boolean areQuestRequirementsMet(String requirements)
+	public int completeRevealedTask(String taskKey, Set<String> unlockedAreaIds)
 	{
-		if (requirements == null || requirements.isEmpty()) return true;
-		String req = requirements.trim();
-		if (req.equalsIgnoreCase("100% Quest Completion"))
+		int count = 0;
+		for (String areaId : unlockedAreaIds)
 		{
-			for (Quest q : Quest.values())
+			TaskGrid taskGrid = getTaskGrid(areaId);
+			int[] indices = taskGrid.indicesOfKey(taskKey);
+			if (indices.length == 0) continue;
+			ProgressBits bits = progressBits(areaId, taskGrid.getTiles());
+			for (int index : indices)
 			{
-				if (q.getState(client) != QuestState.FINISHED) return false;
+				TaskTile tile = taskGrid.get(index);
+				if (tile.getTier() == 0 || getState(bits, index) != TaskState.REVEALED
+					|| tile.isMystery(unlockedAreaIds, areaId)) continue;
+				setCompleted(areaId, tile.getId());
+				count++;
 			}
-			return true;
 		}
-		for (String name : parseQuestNamesFromRequirements(req))
-		{
-			Quest quest = findQuestByName(name);
-			if (quest == null || quest.getState(client) != QuestState.FINISHED) return false;
-		}
-		return true;
+		return count;
 	}
 
 	/**
-	 * Returns the list of required quest names that are not yet finished (for UI message).
-	 * Empty if all requirements are met or there are no quest requirements.
+	 * Returns true if all quests listed in the requirements string are complete.
+	 * Requirements can be comma-separated quest names (e.g. "Waterfall Quest, Dragon Slayer II")
+	 * or "100% Quest Completion" to require every quest finished. Reads {@link QuestStateService}'s cached states.
 	 */
-	public List<String> getUnmetQuestRequirements(String requirements)
-	{
-		List<String> unmet = new ArrayList<>();
-		if (requirements == null || requirements.isEmpty()) return unmet;
-		String req = requirements.trim();
-		if (req.equalsIgnoreCase("100% Quest Completion"))
-		{
-			for (Quest q : Quest.values())
-			{
-				if (q.getState(client) != QuestState.FINISHED) unmet.add(q.getName());
-			}
-			return unmet;
-		}
-		for (String name : parseQuestNamesFromRequirements(req))
-		{
-			Quest quest = findQuestByName(name);
-			if (quest == null) unmet.add(name);
-			else if (quest.getState(client) != QuestState.FINISHED) unmet.add(quest.getName());
-		}
-		return unmet;
-	}
-
-	private static List<String> parseQuestNamesFromRequirements(String requirements)
+	public boolean areQuestRequirementsMet(String requirements)
 	{
-		List<String> out = new ArrayList<>();
-		for (String part : requirements.split(","))
-		{
-			String name = part.trim();
-			if (!name.isEmpty()) out.add(name);
-		}
-		return out;
+		return questStateService.areRequirementsMet(requirements);
 	}
 
-	private static Quest findQuestByName(String name)
+	/**
+	 * Returns the list of required quest names that are not yet finished (for UI message).
+	 * Empty if all requirements are met or there are no quest requirements.
+	 */
+	public List<String> getUnmetQuestRequirements(String requirements)
 	{
-		if (name == null || name.isEmpty()) return null;
-		String n = name.trim();
-		for (Quest q : Quest.values())
-		{
-			if (q.getName().equalsIgnoreCase(n)) return q;
-		}
-		return null;
+		return questStateService.getUnmetRequirements(requirements);
 	}
 
 	/**
@@ -1325,26 +1650,27 @@ public class TaskGridService
 		Set<String> claimed = loadSet(areaId, SUFFIX_CLAIMED);
 		if (claimed.contains(taskId)) return 0;
 
-		List<TaskTile> grid = getGridForArea(areaId);
-		TaskTile tile = grid.stream().filter(t -> t.getId().equals(taskId)).findFirst().orElse(null);
+		TaskGrid taskGrid = getTaskGrid(areaId);
+		int index = taskGrid.indexOf(taskId);
+		TaskTile tile = index >= 0 ? taskGrid.get(index) : null;
 		if (tile != null && tile.getRequirements() != null && !tile.getRequirements().isEmpty()
 			&& !areQuestRequirementsMet(tile.getRequirements()))
 			return 0;
 
+		ProgressBits before = index >= 0 ? progressBits(areaId, taskGrid.getTiles()) : null;
 		claimed.add(taskId);
-		saveSet(areaId, SUFFIX_CLAIMED, claimed);
+		// Claims award points, so they are written now rather than on the debounced flush
+		writeSet(areaId, SUFFIX_CLAIMED);
+		if (before != null)
+			advanceProgressBits(areaId, before, index);
 
-		int points = tile != null ? tile.getPoints() : grid.stream()
-			.filter(t -> t.getId().equals(taskId))
-			.mapToInt(TaskTile::getPoints)
-			.findFirst()
-			.orElse(0);
+		int points = tile != null ? tile.getPoints() : 0;
 		if (points > 0)
 		{
 			areaCompletionService.addEarnedInArea(areaId, points);
 			log.debug("Task {} claimed in area {}, +{} points", taskId, areaId, points);
 		}
-		return maybeAwardRingCompletionBonus(areaId, taskId);
+		return index >= 0 ? maybeAwardRingCompletionBonus(areaId, taskGrid, index) : 0;
 	}
 
 	/**
@@ -1363,12 +1689,19 @@ public class TaskGridService
 		return true;
 	}
 
-	/** Loads a set of task IDs from config (key = taskProgress_&lt;areaId&gt;&lt;suffix&gt;, value = ID_SEP-separated). */
+	/**
+	 * Live set of task IDs for this area and suffix (key = taskProgress_&lt;areaId&gt;&lt;suffix&gt;, value = ID_SEP-separated).
+	 * Parsed from config on first access and kept in memory; callers that modify it must call {@link #saveSet}.
+	 */
 	private Set<String> loadSet(String areaId, String suffix)
 	{
-		String key = KEY_PREFIX + areaId + suffix;
+		return progressSets.computeIfAbsent(KEY_PREFIX + areaId + suffix, this::readProgressSet);
+	}
+
+	private Set<String> readProgressSet(String key)
+	{
 		String raw = configManager.getConfiguration(STATE_GROUP, key);
-		Set<String> set = new HashSet<>();
+		Set<String> set = ConcurrentHashMap.newKeySet();
 		if (raw != null && !raw.isEmpty())
 		{
 			for (String id : raw.split("\\" + ID_SEP))
@@ -1380,12 +1713,102 @@ public class TaskGridService
 		return set;
 	}
 
-	/** Persists a set of task IDs to config (same key format as loadSet). */
-	private void saveSet(String areaId, String suffix, Set<String> set)
+	/** Marks the set from {@link #loadSet} as changed; it is written to config on the next (debounced) flush. */
+	private void saveSet(String areaId, String suffix)
+	{
+		progressVersion++;
+		dirtyProgressKeys.add(KEY_PREFIX + areaId + suffix);
+		if (progressFlushScheduled.compareAndSet(false, true))
+		{
+			progressWriter().schedule(() -> {
+				progressFlushScheduled.set(false);
+				flushProgress();
+			}, PROGRESS_FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Like {@link #saveSet}, but writes the set to config before returning. Used for claims and ring bonuses: they award
+	 * points, which are persisted straight away, so the record of them must not wait for the debounce timer.
+	 */
+	private synchronized void writeSet(String areaId, String suffix)
 	{
-		String key = KEY_PREFIX + areaId + suffix;
-		String value = String.join(ID_SEP, set);
-		configManager.setConfiguration(STATE_GROUP, key, value);
+		progressVersion++;
+		writeProgressKey(KEY_PREFIX + areaId + suffix);
+	}
+
+	private synchronized ScheduledExecutorService progressWriter()
+	{
+		if (progressWriter == null)
+		{
+			progressWriter = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "GridScape-TaskProgress");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return progressWriter;
+	}
+
+	/** Writes every changed progress set to config now. Called by the debounce timer and on {@link #shutDown()}. */
+	public synchronized void flushProgress()
+	{
+		for (String key : new ArrayList<>(dirtyProgressKeys))
+			writeProgressKey(key);
+	}
+
+	/**
+	 * Writes pending progress, then stops the progress writer and the grid precompute pool (waiting briefly for work
+	 * already running). Called on plugin shutdown; both are started again on next use.
+	 */
+	public void shutDown() throws InterruptedException
+	{
+		ScheduledExecutorService writer;
+		ForkJoinPool pool;
+		synchronized (this)
+		{
+			flushProgress();
+			writer = progressWriter;
+			pool = gridPrecomputePool;
+			progressWriter = null;
+			gridPrecomputePool = null;
+			// The pending flush is cancelled below, so the next change must schedule a new one
+			progressFlushScheduled.set(false);
+		}
+		// Running precompute tasks stop at their next generation check
+		precomputeGeneration.incrementAndGet();
+		if (writer != null)
+		{
+			writer.shutdownNow();
+			writer.awaitTermination(EXECUTOR_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		}
+		if (pool != null)
+		{
+			pool.shutdown();
+			if (!pool.awaitTermination(EXECUTOR_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+				log.debug("GridScape grid precompute still running at shutdown");
+		}
+	}
+
+	private void writeProgressKey(String key)
+	{
+		dirtyProgressKeys.remove(key);
+		Set<String> set = progressSets.get(key);
+		if (set != null)
+			configManager.setConfiguration(STATE_GROUP, key, String.join(ID_SEP, set));
+	}
+
+	/**
+	 * Drops in-memory progress so it is re-read from config (e.g. after the RuneLite profile changed). Pending writes
+	 * are discarded: by the time the profile has switched they would land in the new profile, not the one they came from.
+	 * Only completions can be pending; claims and ring bonuses are written when made (see {@link #writeSet}).
+	 */
+	public synchronized void reloadProgress()
+	{
+		dirtyProgressKeys.clear();
+		progressSets.clear();
+		progressBits.clear();
+		progressVersion++;
 	}
 
 	/**
@@ -1406,29 +1829,38 @@ public class TaskGridService
 	}
 
 	/**
-	 * Increments the grid reset counter so next getGridForArea produces a new random assignment per area.
-	 * Does not clear task claimed/completed state; use clearAllTaskProgress for that.
+	 * Increments the grid reset counter so next getGridForArea produces a new random assignment per area, and starts
+	 * {@link #precomputeGrids()}. Does not clear task claimed/completed state; use clearAllTaskProgress for that.
 	 */
 	public void incrementGridResetCounter()
 	{
 		int next = getGridResetCounter() + 1;
 		configManager.setConfiguration(STATE_GROUP, KEY_GRID_RESET_COUNTER, next);
 		invalidateTasksCache();
+		precomputeGrids();
 	}
 
 	/**
 	 * Clears claimed and completed task state for the given area IDs. Used on reset progress; does not
-	 * remove custom tasks or task override. Custom areas are not modified by this plugin.
+	 * remove custom tasks or task override. Custom areas are not modified by this plugin. Synchronized with
+	 * {@link #flushProgress()}, so a pending write cannot put the cleared sets back.
 	 */
-	public void clearAllTaskProgress(java.util.Collection<String> areaIds)
+	public synchronized void clearAllTaskProgress(java.util.Collection<String> areaIds)
 	{
 		if (areaIds == null) return;
 		for (String areaId : areaIds)
 		{
+			for (String suffix : new String[]{ SUFFIX_CLAIMED, SUFFIX_COMPLETED, SUFFIX_RING_BONUS })
+			{
+				dirtyProgressKeys.remove(KEY_PREFIX + areaId + suffix);
+				progressSets.remove(KEY_PREFIX + areaId + suffix);
+			}
+			progressBits.remove(areaId);
 			configManager.unsetConfiguration(STATE_GROUP, KEY_PREFIX + areaId + SUFFIX_CLAIMED);
 			configManager.unsetConfiguration(STATE_GROUP, KEY_PREFIX + areaId + SUFFIX_COMPLETED);
 			configManager.unsetConfiguration(STATE_GROUP, KEY_PREFIX + areaId + SUFFIX_RING_BONUS);
 		}
+		progressVersion++;
 		invalidateTasksCache();
 	}
 }
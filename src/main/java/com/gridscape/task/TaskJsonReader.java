@@ -0,0 +1,211 @@
+package com.gridscape.task;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for task JSON (tasks.json, imported overrides, custom tasks). Reads tokens straight into
+ * {@link TaskDefinition}s without building a JSON tree first. Field handling matches the former tree deserializer:
+ * "area" is a comma-separated string or an array, unknown fields are skipped. A null field is treated as missing,
+ * where the tree deserializer rejected the whole payload for any null except "area".
+ */
+final class TaskJsonReader
+{
+	private TaskJsonReader() {}
+
+	/** Reads a root array of tasks or an object with {@code defaultTasks} (and optional {@code areas}). Null for JSON null. */
+	static TasksData readTasksData(Reader in) throws IOException
+	{
+		JsonReader reader = open(in);
+		TasksData data;
+		if (reader.peek() == JsonToken.NULL)
+		{
+			reader.nextNull();
+			data = null;
+		}
+		else if (reader.peek() == JsonToken.BEGIN_ARRAY)
+		{
+			data = new TasksData();
+			data.setDefaultTasks(readTaskArray(reader));
+		}
+		else
+			data = readTasksObject(reader);
+		expectEnd(reader);
+		return data;
+	}
+
+	/** Reads a root array of tasks (custom tasks payload). Null for JSON null. */
+	static List<TaskDefinition> readTaskList(Reader in) throws IOException
+	{
+		JsonReader reader = open(in);
+		List<TaskDefinition> list = readTaskArray(reader);
+		expectEnd(reader);
+		return list;
+	}
+
+	private static JsonReader open(Reader in)
+	{
+		JsonReader reader = new JsonReader(in);
+		reader.setLenient(true);
+		return reader;
+	}
+
+	private static void expectEnd(JsonReader reader) throws IOException
+	{
+		if (reader.peek() != JsonToken.END_DOCUMENT)
+			throw new JsonParseException("Did not consume the entire document.");
+	}
+
+	private static TasksData readTasksObject(JsonReader reader) throws IOException
+	{
+		TasksData data = new TasksData();
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			switch (reader.nextName())
+			{
+				case "defaultTasks":
+					data.setDefaultTasks(readTaskArray(reader));
+					break;
+				case "areas":
+					data.setAreas(readAreas(reader));
+					break;
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+		return data;
+	}
+
+	private static Map<String, TasksData.AreaTasks> readAreas(JsonReader reader) throws IOException
+	{
+		if (reader.peek() == JsonToken.NULL)
+		{
+			reader.nextNull();
+			return null;
+		}
+		Map<String, TasksData.AreaTasks> areas = new HashMap<>();
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			String areaId = reader.nextName();
+			if (reader.peek() == JsonToken.NULL)
+			{
+				reader.nextNull();
+				areas.put(areaId, null);
+				continue;
+			}
+			TasksData.AreaTasks at = new TasksData.AreaTasks();
+			reader.beginObject();
+			while (reader.hasNext())
+			{
+				if ("tasks".equals(reader.nextName()))
+					at.setTasks(readTaskArray(reader));
+				else
+					reader.skipValue();
+			}
+			reader.endObject();
+			areas.put(areaId, at);
+		}
+		reader.endObject();
+		return areas;
+	}
+
+	private static List<TaskDefinition> readTaskArray(JsonReader reader) throws IOException
+	{
+		if (reader.peek() == JsonToken.NULL)
+		{
+			reader.nextNull();
+			return null;
+		}
+		List<TaskDefinition> list = new ArrayList<>();
+		reader.beginArray();
+		while (reader.hasNext())
+		{
+			if (reader.peek() == JsonToken.NULL)
+			{
+				reader.nextNull();
+				list.add(null);
+			}
+			else
+				list.add(readTask(reader));
+		}
+		reader.endArray();
+		return list;
+	}
+
+	private static TaskDefinition readTask(JsonReader reader) throws IOException
+	{
+		TaskDefinition def = new TaskDefinition();
+		reader.beginObject();
+		while (reader.hasNext())
+		{
+			String name = reader.nextName();
+			if (reader.peek() == JsonToken.NULL)
+			{
+				reader.nextNull();
+				continue;
+			}
+			switch (name)
+			{
+				case "displayName": def.setDisplayName(reader.nextString()); break;
+				case "taskType": def.setTaskType(reader.nextString()); break;
+				case "difficulty": def.setDifficulty(reader.nextInt()); break;
+				case "area": readArea(reader, def); break;
+				case "f2p": def.setF2p(nextBoolean(reader)); break;
+				case "requirements": def.setRequirements(reader.nextString()); break;
+				case "areaRequirement": def.setAreaRequirement(reader.nextString()); break;
+				case "onceOnly": def.setOnceOnly(nextBoolean(reader)); break;
+				case "bossId": def.setBossId(reader.nextString()); break;
+				default: reader.skipValue(); break;
+			}
+		}
+		reader.endObject();
+		return def;
+	}
+
+	/** "area": comma-separated string (e.g. "lumbridge, draynor, varrock") or legacy JSON array. */
+	private static void readArea(JsonReader reader, TaskDefinition def) throws IOException
+	{
+		List<String> list = new ArrayList<>();
+		JsonToken token = reader.peek();
+		if (token == JsonToken.BEGIN_ARRAY)
+		{
+			reader.beginArray();
+			while (reader.hasNext())
+				list.add(reader.nextString().trim());
+			reader.endArray();
+		}
+		else if (token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN)
+		{
+			String raw = token == JsonToken.BOOLEAN ? Boolean.toString(reader.nextBoolean()) : reader.nextString();
+			for (String part : raw.split(","))
+			{
+				String id = part.trim();
+				if (!id.isEmpty()) list.add(id);
+			}
+		}
+		else
+			reader.skipValue();
+		if (list.size() == 1)
+			def.setArea(list.get(0));
+		else if (list.size() > 1)
+			def.setAreas(list);
+	}
+
+	private static boolean nextBoolean(JsonReader reader) throws IOException
+	{
+		if (reader.peek() == JsonToken.BOOLEAN)
+			return reader.nextBoolean();
+		return Boolean.parseBoolean(reader.nextString());
+	}
+}
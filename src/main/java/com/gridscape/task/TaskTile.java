@@ -1,5 +1,6 @@
 package com.gridscape.task;
 
+import com.gridscape.grid.GridCoord;
 import java.util.List;
 import lombok.Value;
 
@@ -57,6 +58,12 @@ public class TaskTile
 		return row + "," + col;
 	}
 
+	/** This tile's position as a packed {@link GridCoord}. */
+	public int getCoord()
+	{
+		return GridCoord.of(row, col);
+	}
+
 	/**
 	 * Returns true if this task should be shown as a mystery (question mark).
 	 * When requiredAreaIds is empty, the task is never a mystery.
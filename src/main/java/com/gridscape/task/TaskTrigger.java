@@ -0,0 +1,125 @@
+package com.gridscape.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.runelite.api.Skill;
+
+/**
+ * A game event that completes a task, compiled from the task's display name and type. Only unambiguous name patterns
+ * compile ("Reach 50 Combat", "Defeat Zulrah 5 times", "Obtain a Coal bag", "Complete Cook's Assistant", ...); tasks
+ * with extra qualifiers ("... in Lumbridge", "... from a Goblin") produce keys no event ever matches and stay manual.
+ */
+public final class TaskTrigger
+{
+	public enum Kind
+	{
+		/** Key is a {@link Skill} name, {@link #COMBAT}, {@link #TOTAL} or {@link #ANY_SKILL}; amount is the level. */
+		SKILL_LEVEL,
+		/** Key is a normalized item name seen in the inventory or equipment. */
+		ITEM,
+		/** Key is a normalized item name seen in the equipment. */
+		EQUIP,
+		/** Key is a normalized boss name from a kill count message; amount is the kill count. */
+		KILL_COUNT,
+		/** Key is a normalized item name from a "New item added to your collection log" message. */
+		COLLECTION_LOG,
+		/** Key is a normalized chat-derived event: {@code quest:<name>} or {@code clue:<tier>}. */
+		CHAT
+	}
+
+	public static final String COMBAT = "COMBAT";
+	public static final String TOTAL = "TOTAL";
+	public static final String ANY_SKILL = "ANY";
+
+	private static final Pattern REACH_COMBAT = Pattern.compile("(?i)reach (\\d+) combat(?: level)?");
+	private static final Pattern REACH_TOTAL = Pattern.compile("(?i)reach total level (\\d+)");
+	private static final Pattern FIRST_LEVEL = Pattern.compile("(?i)achieve your first level (\\d+)");
+	private static final Pattern REACH_SKILL = Pattern.compile("(?i)reach (?:level )?(\\d+) (?:in )?([a-z]+)");
+	private static final Pattern DEFEAT = Pattern.compile("(?i)defeat (.+?)(?: (\\d+) times)?");
+	private static final Pattern OBTAIN = Pattern.compile("(?i)obtain (.+)");
+	private static final Pattern EQUIP = Pattern.compile("(?i)equip (.+)");
+	private static final Pattern COMPLETE = Pattern.compile("(?i)complete (.+)");
+	private static final Pattern CLUE = Pattern.compile("(?i)complete an? (beginner|easy|medium|hard|elite|master) clue");
+	private static final Pattern LEADING_ARTICLE = Pattern.compile("^(?:a|an|the|some) ");
+
+	private final Kind kind;
+	private final String key;
+	private final int amount;
+
+	TaskTrigger(Kind kind, String key, int amount)
+	{
+		this.kind = kind;
+		this.key = key;
+		this.amount = amount;
+	}
+
+	public Kind getKind()
+	{
+		return kind;
+	}
+
+	public String getKey()
+	{
+		return key;
+	}
+
+	/** Level or kill count needed; 1 for triggers without a threshold. */
+	public int getAmount()
+	{
+		return amount;
+	}
+
+	/** Lower-cased, trimmed name without a leading article; used for both task names and event names. */
+	public static String normalizeName(String name)
+	{
+		if (name == null) return "";
+		String n = name.trim().toLowerCase(Locale.ROOT);
+		return LEADING_ARTICLE.matcher(n).replaceFirst("");
+	}
+
+	/** Triggers that complete this task; empty if it can only be completed by hand. */
+	public static List<TaskTrigger> compile(TaskDefinition t)
+	{
+		String name = t.getDisplayName() != null ? t.getDisplayName().trim() : "";
+		if (name.isEmpty()) return Collections.emptyList();
+		String type = t.getTaskType() != null ? t.getTaskType() : "";
+		List<TaskTrigger> out = new ArrayList<>(2);
+		Matcher m;
+		if ((m = REACH_COMBAT.matcher(name)).matches())
+			out.add(new TaskTrigger(Kind.SKILL_LEVEL, COMBAT, Integer.parseInt(m.group(1))));
+		else if ((m = REACH_TOTAL.matcher(name)).matches())
+			out.add(new TaskTrigger(Kind.SKILL_LEVEL, TOTAL, Integer.parseInt(m.group(1))));
+		else if ((m = FIRST_LEVEL.matcher(name)).matches())
+			out.add(new TaskTrigger(Kind.SKILL_LEVEL, ANY_SKILL, Integer.parseInt(m.group(1))));
+		else if ((m = REACH_SKILL.matcher(name)).matches() && skillNamed(m.group(2)) != null)
+			out.add(new TaskTrigger(Kind.SKILL_LEVEL, skillNamed(m.group(2)).name(), Integer.parseInt(m.group(1))));
+		else if ("killCount".equalsIgnoreCase(type) && (m = DEFEAT.matcher(name)).matches())
+			out.add(new TaskTrigger(Kind.KILL_COUNT, normalizeName(m.group(1)), m.group(2) != null ? Integer.parseInt(m.group(2)) : 1));
+		else if ((m = OBTAIN.matcher(name)).matches())
+		{
+			String item = normalizeName(m.group(1));
+			out.add(new TaskTrigger(Kind.COLLECTION_LOG, item, 1));
+			out.add(new TaskTrigger(Kind.ITEM, item, 1));
+		}
+		else if ((m = EQUIP.matcher(name)).matches())
+			out.add(new TaskTrigger(Kind.EQUIP, normalizeName(m.group(1)), 1));
+		else if ((m = CLUE.matcher(name)).matches())
+			out.add(new TaskTrigger(Kind.CHAT, "clue:" + m.group(1).toLowerCase(Locale.ROOT), 1));
+		else if ("Quest".equalsIgnoreCase(type) && (m = COMPLETE.matcher(name)).matches())
+			out.add(new TaskTrigger(Kind.CHAT, "quest:" + normalizeName(m.group(1)), 1));
+		return out;
+	}
+
+	private static Skill skillNamed(String name)
+	{
+		for (Skill s : Skill.values())
+		{
+			if (s.getName().equalsIgnoreCase(name)) return s;
+		}
+		return null;
+	}
+}
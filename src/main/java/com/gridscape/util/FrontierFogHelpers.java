@@ -1,13 +1,12 @@
 package com.gridscape.util;
 
+import com.gridscape.grid.CoordMap;
+import com.gridscape.grid.GridCoord;
 import com.gridscape.task.TaskState;
 import com.gridscape.task.TaskTile;
 import com.gridscape.worldunlock.WorldUnlockService;
-import com.gridscape.worldunlock.WorldUnlockTilePlacement;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.function.IntFunction;
 
 /** Cardinal fog-edge flags for frontier cells next to revealed-unclaimed neighbors. */
 public final class FrontierFogHelpers
@@ -21,27 +20,17 @@ public final class FrontierFogHelpers
 	}
 
 	/**
-	 * For a hidden cell at (row,col), sets north/east/south/west if the neighbor in that direction
-	 * exists in {@code idToTile}, has {@code isRevealedUnclaimedTaskState(getState.apply(neighborId))}, and
-	 * {@code includeNeighbor.test(neighborId)} (e.g. tile in grid list).
+	 * For a hidden cell at (row,col), sets north/east/south/west if the neighbor in that direction is a grid tile
+	 * ({@code stateAt} returns non-null for its packed {@link GridCoord}) whose state is revealed-unclaimed.
 	 */
-	public static boolean[] cardinalFlagsForHiddenCell(int row, int col,
-		java.util.function.Function<String, TaskState> getState,
-		java.util.function.Predicate<String> includeNeighbor)
+	public static boolean[] cardinalFlagsForHiddenCell(int row, int col, IntFunction<TaskState> stateAt)
 	{
 		boolean north = false, east = false, south = false, west = false;
-		String[] ids = {
-			TaskTile.idFor(row - 1, col),
-			TaskTile.idFor(row, col + 1),
-			TaskTile.idFor(row + 1, col),
-			TaskTile.idFor(row, col - 1)
-		};
+		int cell = GridCoord.of(row, col);
 		for (int i = 0; i < 4; i++)
 		{
-			String nid = ids[i];
-			if (!includeNeighbor.test(nid)) continue;
-			TaskState st = getState.apply(nid);
-			if (!isRevealedUnclaimedTaskState(st)) continue;
+			TaskState st = stateAt.apply(GridCoord.neighbor(cell, i));
+			if (st == null || !isRevealedUnclaimedTaskState(st)) continue;
 			switch (i)
 			{
 				case 0: north = true; break;
@@ -54,38 +43,26 @@ public final class FrontierFogHelpers
 		return new boolean[]{ north, east, south, west };
 	}
 
-	/** Build id -> TaskTile for positions present in grid. */
-	public static Map<String, TaskTile> idMap(List<TaskTile> grid)
+	/** Build packed position -> TaskTile for tiles present in grid. */
+	public static CoordMap<TaskTile> coordMap(List<TaskTile> grid)
 	{
-		Map<String, TaskTile> m = new HashMap<>();
+		CoordMap<TaskTile> m = new CoordMap<>(grid.size());
 		for (TaskTile t : grid)
-			if (t != null && t.getId() != null)
-				m.put(t.getId(), t);
+			if (t != null)
+				m.put(t.getCoord(), t);
 		return m;
 	}
 
 	/**
 	 * World unlock: neighbor qualifies if revealed on grid and not claimed (includes unlocked-unclaimed and revealed-but-locked).
 	 */
-	public static boolean[] cardinalFlagsWorldUnlock(int row, int col,
-		WorldUnlockService worldUnlockService, Set<String> claimed,
-		List<WorldUnlockTilePlacement> gridPlacements)
+	public static boolean[] cardinalFlagsWorldUnlock(int row, int col, WorldUnlockService.GridRevealSnapshot reveal)
 	{
-		Map<String, WorldUnlockTilePlacement> posToPlacement = new HashMap<>();
-		for (WorldUnlockTilePlacement p : gridPlacements)
-			posToPlacement.put(p.getRow() + "," + p.getCol(), p);
-
 		boolean north = false, east = false, south = false, west = false;
-		int[][] deltas = { { -1, 0 }, { 0, 1 }, { 1, 0 }, { 0, -1 } };
+		int cell = GridCoord.of(row, col);
 		for (int i = 0; i < 4; i++)
 		{
-			int nr = row + deltas[i][0], nc = col + deltas[i][1];
-			String np = nr + "," + nc;
-			WorldUnlockTilePlacement pl = posToPlacement.get(np);
-			if (pl == null) continue;
-			if (!worldUnlockService.isRevealed(pl, claimed, gridPlacements)) continue;
-			String tid = pl.getTile().getId();
-			if (claimed.contains(tid)) continue;
+			if (!reveal.isRevealedUnclaimedAt(GridCoord.neighbor(cell, i))) continue;
 			switch (i)
 			{
 				case 0: north = true; break;
@@ -0,0 +1,353 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.grid.ChunkedGrid;
+import com.gridscape.grid.CoordSet;
+import com.gridscape.grid.GridCoord;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The persisted global grid parsed into a {@link ChunkedGrid}: each cell holds its task key as an ordinal into a key
+ * table, and a state byte with the cell's claimed flag. Built from the base grid state and claimed positions plus the
+ * grid journal replayed on top, and shared read-only; writers take a {@link #copy()} (or {@link #withClaim}), then
+ * either append {@link #assignEntry}/{@link #claimEntry} entries to the journal or compact everything into new base
+ * strings with {@link #gridStateString()} and {@link #claimedPositionsString()}.
+ */
+final class GlobalGridCells
+{
+	/** State bit: the cell was claimed. */
+	static final byte CLAIMED = 1;
+
+	/** Separator between grid state entries ("||" not followed by a third "|"). */
+	private static final Pattern ENTRY_SPLIT = Pattern.compile("\\|\\|(?!\\|)");
+	/** Separator for grid state entries: pos + GRID_STATE_SEP + taskKey. */
+	private static final String GRID_STATE_SEP = "##";
+	/** Legacy entry "taskKey|||pos::pos". */
+	private static final String POS_KV_SEP = "::";
+	private static final String COMPOSITE_SEP = "|||";
+	private static final String POS_ENTRY_SEP = "||";
+	private static final String CLAIMED_POS_SEP = ";;";
+	/** Journal entry prefixes: "a:pos##taskKey" assigns a task to a cell, "c:pos" claims it. */
+	private static final String JOURNAL_ASSIGN = "a:";
+	private static final String JOURNAL_CLAIM = "c:";
+	private static final Pattern POSITION_LIKE = Pattern.compile("-?\\d+\\s*,\\s*-?\\d+");
+
+	/** Persisted strings these cells reflect. */
+	final String gridStateRaw;
+	final String claimedPositionsRaw;
+	final String journalRaw;
+	final boolean centerClaimed;
+	/** Entries in {@link #journalRaw}. */
+	final int journalEntries;
+	/**
+	 * Replaced whenever a task key changes, so two instances with the same layout object have the same task at every
+	 * cell (they may differ in claims).
+	 */
+	private Object layout;
+
+	private final ChunkedGrid cells;
+	/** Task key per ordinal; index 0 is unused so that value 0 means "no task". */
+	private final List<String> keys;
+	private final Map<String, Integer> ordinals;
+	/** Positions per ordinal, for {@link #positionsOf}; built on first use. */
+	private volatile Map<Integer, CoordSet> positionsByOrdinal;
+	private int claimedCount;
+
+	private GlobalGridCells(String gridStateRaw, String claimedPositionsRaw, String journalRaw, int journalEntries,
+		boolean centerClaimed, Object layout, ChunkedGrid cells, List<String> keys, Map<String, Integer> ordinals,
+		int claimedCount)
+	{
+		this.gridStateRaw = gridStateRaw;
+		this.claimedPositionsRaw = claimedPositionsRaw;
+		this.journalRaw = journalRaw;
+		this.journalEntries = journalEntries;
+		this.centerClaimed = centerClaimed;
+		this.layout = layout;
+		this.cells = cells;
+		this.keys = keys;
+		this.ordinals = ordinals;
+		this.claimedCount = claimedCount;
+	}
+
+	/**
+	 * Parses the grid state ("pos##taskKey" entries joined by "||", or legacy "taskKey|||pos::pos") and the claimed
+	 * positions ("row,col" joined by ";;"), then replays the journal (entries joined by "||") in order; the center
+	 * counts as claimed when {@code centerClaimed}.
+	 */
+	static GlobalGridCells parse(String gridStateRaw, String claimedPositionsRaw, String journalRaw, boolean centerClaimed)
+	{
+		List<String> keys = new ArrayList<>();
+		keys.add(null);
+		GlobalGridCells out = new GlobalGridCells(gridStateRaw, claimedPositionsRaw, journalRaw, 0, centerClaimed,
+			new Object(), new ChunkedGrid(), keys, new HashMap<>(), 0);
+		if (gridStateRaw != null && !gridStateRaw.isEmpty())
+		{
+			for (String entry : ENTRY_SPLIT.split(gridStateRaw))
+			{
+				entry = entry.trim();
+				if (entry.isEmpty()) continue;
+				// New format: pos##taskKey
+				int sep = entry.indexOf(GRID_STATE_SEP);
+				if (sep >= 0)
+				{
+					String taskKey = entry.substring(sep + GRID_STATE_SEP.length()).trim().toLowerCase();
+					if (!taskKey.isEmpty() && !isPositionLike(taskKey))
+						out.put(GridCoord.parse(entry.substring(0, sep)), taskKey);
+					continue;
+				}
+				// Legacy: taskKey|||pos::pos
+				int lastSep = entry.lastIndexOf(POS_KV_SEP);
+				if (lastSep < 0) continue;
+				String key = entry.substring(0, lastSep).trim();
+				String posVal = entry.substring(lastSep + POS_KV_SEP.length()).trim();
+				if (!key.contains(COMPOSITE_SEP) || isPositionLike(key) || posVal.isEmpty()) continue;
+				String tk = key.substring(0, key.indexOf(COMPOSITE_SEP)).trim().toLowerCase();
+				if (!tk.isEmpty() && !isPositionLike(tk))
+					out.put(GridCoord.parse(posVal), tk);
+			}
+		}
+		if (centerClaimed)
+			out.markClaimed(GridCoord.of(0, 0));
+		if (claimedPositionsRaw != null && !claimedPositionsRaw.isEmpty())
+		{
+			for (String pos : claimedPositionsRaw.split(Pattern.quote(CLAIMED_POS_SEP)))
+				out.markClaimed(GridCoord.parse(pos));
+		}
+		int entries = 0;
+		if (!journalRaw.isEmpty())
+		{
+			for (String entry : ENTRY_SPLIT.split(journalRaw))
+			{
+				entry = entry.trim();
+				if (entry.isEmpty()) continue;
+				entries++;
+				if (entry.startsWith(JOURNAL_CLAIM))
+					out.markClaimed(GridCoord.parse(entry.substring(JOURNAL_CLAIM.length())));
+				else if (entry.startsWith(JOURNAL_ASSIGN))
+				{
+					int sep = entry.indexOf(GRID_STATE_SEP);
+					if (sep < 0) continue;
+					String taskKey = entry.substring(sep + GRID_STATE_SEP.length()).trim().toLowerCase();
+					if (!taskKey.isEmpty() && !isPositionLike(taskKey))
+						out.put(GridCoord.parse(entry.substring(JOURNAL_ASSIGN.length(), sep)), taskKey);
+				}
+			}
+		}
+		return entries == 0 ? out : out.persistedAs(gridStateRaw, claimedPositionsRaw, journalRaw, entries);
+	}
+
+	/** True if these cells reflect exactly these persisted values. */
+	boolean isFrom(String gridStateRaw, String claimedPositionsRaw, String journalRaw, boolean centerClaimed)
+	{
+		return this.centerClaimed == centerClaimed && this.gridStateRaw.equals(gridStateRaw)
+			&& this.claimedPositionsRaw.equals(claimedPositionsRaw) && this.journalRaw.equals(journalRaw);
+	}
+
+	/** True if {@code other} has the same task at every cell. */
+	boolean sameLayout(GlobalGridCells other)
+	{
+		return other != null && other.layout == layout;
+	}
+
+	/** Independent copy whose task keys can be changed; the persisted strings stay those of this instance. */
+	GlobalGridCells copy()
+	{
+		return new GlobalGridCells(gridStateRaw, claimedPositionsRaw, journalRaw, journalEntries, centerClaimed, layout,
+			cells.copy(), new ArrayList<>(keys), new HashMap<>(ordinals), claimedCount);
+	}
+
+	/**
+	 * These cells after they were saved as the given persisted strings. Shares storage with this instance, which must
+	 * not be changed afterwards.
+	 */
+	GlobalGridCells persistedAs(String gridStateRaw, String claimedPositionsRaw, String journalRaw, int journalEntries)
+	{
+		GlobalGridCells out = new GlobalGridCells(gridStateRaw, claimedPositionsRaw, journalRaw, journalEntries,
+			centerClaimed, layout, cells, keys, ordinals, claimedCount);
+		out.positionsByOrdinal = positionsByOrdinal;
+		return out;
+	}
+
+	/** Copy with {@code coord} claimed; the layout and persisted strings stay those of this instance. */
+	GlobalGridCells withClaim(int coord)
+	{
+		GlobalGridCells out = new GlobalGridCells(gridStateRaw, claimedPositionsRaw, journalRaw, journalEntries,
+			centerClaimed, layout, cells.copy(), keys, ordinals, claimedCount);
+		out.markClaimed(coord);
+		return out;
+	}
+
+	/** Journal entry assigning {@code taskKey} to the cell. */
+	static String assignEntry(int coord, String taskKey)
+	{
+		return JOURNAL_ASSIGN + GridCoord.toId(coord) + GRID_STATE_SEP + taskKey;
+	}
+
+	/** Journal entry claiming the cell. */
+	static String claimEntry(int coord)
+	{
+		return JOURNAL_CLAIM + GridCoord.toId(coord);
+	}
+
+	/** Appends {@code entries} to a journal string. */
+	static String appendJournal(String journalRaw, List<String> entries)
+	{
+		String added = String.join(POS_ENTRY_SEP, entries);
+		return journalRaw.isEmpty() ? added : journalRaw + POS_ENTRY_SEP + added;
+	}
+
+	/** Task key at the cell, or null if it has none. */
+	String taskKeyAt(int row, int col)
+	{
+		int ordinal = cells.get(row, col);
+		return ordinal != 0 ? keys.get(ordinal) : null;
+	}
+
+	String taskKeyAt(int coord)
+	{
+		return taskKeyAt(GridCoord.row(coord), GridCoord.col(coord));
+	}
+
+	/** Number of cells with a task key. */
+	int size()
+	{
+		return cells.size();
+	}
+
+	/** Sets the task key of a cell. @return the previous key, or null */
+	String put(int coord, String taskKey)
+	{
+		if (coord == GridCoord.NONE) return null;
+		int ordinal = ordinals.computeIfAbsent(taskKey, k -> {
+			keys.add(k);
+			return keys.size() - 1;
+		});
+		int previous = cells.put(GridCoord.row(coord), GridCoord.col(coord), ordinal);
+		if (previous != ordinal)
+			layout = new Object();
+		Map<Integer, CoordSet> index = positionsByOrdinal;
+		if (index != null && previous != ordinal)
+		{
+			if (previous != 0)
+				index.get(previous).remove(coord);
+			index.computeIfAbsent(ordinal, k -> new CoordSet(1)).add(coord);
+		}
+		return previous != 0 ? keys.get(previous) : null;
+	}
+
+	/** Task keys currently placed on the grid. */
+	Set<String> taskKeys()
+	{
+		Set<String> out = new HashSet<>();
+		cells.forEach((row, col, value, state) -> {
+			if (value != 0)
+				out.add(keys.get(value));
+		});
+		return out;
+	}
+
+	/** Positions whose task key is {@code taskKey} (trimmed and lower-cased first). */
+	int[] positionsOf(String taskKey)
+	{
+		if (taskKey == null) return new int[0];
+		Integer ordinal = ordinals.get(taskKey.trim().toLowerCase());
+		if (ordinal == null) return new int[0];
+		Map<Integer, CoordSet> index = positionsByOrdinal;
+		if (index == null)
+		{
+			Map<Integer, CoordSet> built = new HashMap<>();
+			cells.forEach((row, col, value, state) -> {
+				if (value != 0)
+					built.computeIfAbsent(value, k -> new CoordSet(1)).add(GridCoord.of(row, col));
+			});
+			index = built;
+			positionsByOrdinal = index;
+		}
+		CoordSet positions = index.get(ordinal);
+		return positions != null ? positions.toArray() : new int[0];
+	}
+
+	boolean isClaimed(int row, int col)
+	{
+		return cells.hasState(row, col, CLAIMED);
+	}
+
+	/** Center, or any cardinal neighbor claimed (same rule as {@code RevealLogic.revealedByClaimedCoords}). */
+	boolean isRevealed(int row, int col)
+	{
+		if (row == 0 && col == 0) return true;
+		if (claimedCount == 0) return false;
+		return isClaimed(row + 1, col) || isClaimed(row - 1, col) || isClaimed(row, col + 1) || isClaimed(row, col - 1);
+	}
+
+	/** Receives one cell in {@link #forEachCell}. */
+	interface CellVisitor
+	{
+		void visit(int row, int col, boolean claimed);
+	}
+
+	/** Visits every cell that holds a task key or is claimed. */
+	void forEachCell(CellVisitor visitor)
+	{
+		cells.forEach((row, col, value, state) -> visitor.visit(row, col, (state & CLAIMED) != 0));
+	}
+
+	/** Claimed positions, including the center when claimed, as a new set. */
+	CoordSet claimedCoords()
+	{
+		CoordSet out = new CoordSet(claimedCount + 1);
+		cells.forEach((row, col, value, state) -> {
+			if ((state & CLAIMED) != 0)
+				out.add(GridCoord.of(row, col));
+		});
+		return out;
+	}
+
+	/** Grid state in the persisted "pos##taskKey" form, one entry per cell with a task key. */
+	String gridStateString()
+	{
+		StringBuilder sb = new StringBuilder(cells.size() * 24);
+		cells.forEach((row, col, value, state) -> {
+			if (value == 0) return;
+			if (sb.length() > 0) sb.append(POS_ENTRY_SEP);
+			sb.append(row).append(',').append(col).append(GRID_STATE_SEP).append(keys.get(value));
+		});
+		return sb.toString();
+	}
+
+	/**
+	 * Claimed positions in the persisted "row,col" form joined by ";;". The center is left out: its claim is stored on
+	 * its own (see {@link #parse}'s {@code centerClaimed}).
+	 */
+	String claimedPositionsString()
+	{
+		StringBuilder sb = new StringBuilder(claimedCount * 8);
+		cells.forEach((row, col, value, state) -> {
+			if ((state & CLAIMED) == 0 || (row == 0 && col == 0)) return;
+			if (sb.length() > 0) sb.append(CLAIMED_POS_SEP);
+			sb.append(row).append(',').append(col);
+		});
+		return sb.toString();
+	}
+
+	private void markClaimed(int coord)
+	{
+		if (coord == GridCoord.NONE) return;
+		int row = GridCoord.row(coord), col = GridCoord.col(coord);
+		byte state = cells.state(row, col);
+		if ((state & CLAIMED) != 0) return;
+		cells.setState(row, col, (byte) (state | CLAIMED));
+		claimedCount++;
+	}
+
+	/** True if the string looks like a position ("row,col"), not a task key. */
+	static boolean isPositionLike(String s)
+	{
+		return s == null || POSITION_LIKE.matcher(s.trim()).matches();
+	}
+}
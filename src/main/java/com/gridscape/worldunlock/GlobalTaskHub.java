@@ -568,9 +568,10 @@ public final class GlobalTaskHub extends JPanel
 		allRows.clear();
 		List<TaskTile> grid = service.buildGlobalGrid(layoutSeed);
 		Map<String, TaskDefinition> defByKey = service.buildTaskDefinitionIndex();
+		GlobalTaskListService.GlobalStateSnapshot states = service.getGlobalStateSnapshot(grid);
 		for (TaskTile t : grid)
 		{
-			TaskState st = service.getGlobalState(t.getId(), grid);
+			TaskState st = states.stateOf(t.getId());
 			if (st == TaskState.LOCKED)
 				continue;
 			if (!FrontierFogHelpers.isRevealedUnclaimedTaskState(st))
@@ -2,6 +2,9 @@ package com.gridscape.worldunlock;
 
 import com.gridscape.GridScapePlugin;
 import com.gridscape.GridScapeSounds;
+import com.gridscape.grid.CoordMap;
+import com.gridscape.grid.CoordSet;
+import com.gridscape.grid.GridCoord;
 import com.gridscape.grid.GridPos;
 import com.gridscape.util.FogTileCompositor;
 import com.gridscape.util.FrontierFogHelpers;
@@ -38,10 +41,8 @@ import java.awt.event.MouseMotionAdapter;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
@@ -459,36 +460,32 @@ public class GlobalTaskListPanel extends JPanel
 		int refSize = (combatScaled != null) ? Math.max(combatScaled.getWidth(), combatScaled.getHeight()) : iconMaxFit;
 
 		final List<TaskTile> gridFinal = grid;
-		Set<String> revealedPosSet = globalTaskListService.getRevealedPositionSet();
-		Set<String> fogPositions = new HashSet<>();
+		GlobalTaskListService.GlobalStateSnapshot states = globalTaskListService.getGlobalStateSnapshot(gridFinal);
+		CoordSet revealedCoords = globalTaskListService.getRevealedCoordSet();
+		CoordSet fogCoords = new CoordSet();
 		for (TaskTile t : gridFinal)
 		{
-			TaskState st = globalTaskListService.getGlobalState(t.getId(), gridFinal);
+			TaskState st = states.stateOf(t.getId());
 			if (!FrontierFogHelpers.isRevealedUnclaimedTaskState(st)) continue;
-			int r = t.getRow(), c = t.getCol();
-			int[][] deltas = { { -1, 0 }, { 0, 1 }, { 1, 0 }, { 0, -1 } };
-			for (int[] d : deltas)
+			for (int d = 0; d < 4; d++)
 			{
-				String nid = TaskTile.idFor(r + d[0], c + d[1]);
-				if (!revealedPosSet.contains(nid))
-					fogPositions.add(nid);
+				int n = GridCoord.neighbor(t.getCoord(), d);
+				if (!revealedCoords.contains(n))
+					fogCoords.add(n);
 			}
 		}
+		int[] fogPositions = fogCoords.toArray();
 		int maxRing = grid.stream()
 			.mapToInt(t -> Math.max(Math.abs(t.getRow()), Math.abs(t.getCol())))
 			.max().orElse(5);
-		for (String fp : fogPositions)
-		{
-			int[] rc = GridPos.parse(fp);
-			if (rc != null)
-				maxRing = Math.max(maxRing, Math.max(Math.abs(rc[0]), Math.abs(rc[1])));
-		}
+		for (int fp : fogPositions)
+			maxRing = Math.max(maxRing, GridCoord.ringNumber(fp));
 
 		int displayedCount = 0;
 		// Iterate all tiles in grid; skip LOCKED (not revealed)
 		for (TaskTile tile : grid)
 		{
-			TaskState state = globalTaskListService.getGlobalState(tile.getId(), gridFinal);
+			TaskState state = states.stateOf(tile.getId());
 			if (state == TaskState.LOCKED) continue;
 
 			displayedCount++;
@@ -528,18 +525,17 @@ public class GlobalTaskListPanel extends JPanel
 			gridPanel.add(cell, gbc);
 		}
 
-		for (String fp : fogPositions)
+		for (int fp : fogPositions)
 		{
-			int[] rc = GridPos.parse(fp);
-			if (rc == null) continue;
+			int fr = GridCoord.row(fp), fc = GridCoord.col(fp);
 			displayedCount++;
-			int gx = rc[1] + maxRing;
-			int gy = maxRing - rc[0];
+			int gx = fc + maxRing;
+			int gy = maxRing - fr;
 			GridBagConstraints gbc = new GridBagConstraints();
 			gbc.gridx = gx;
 			gbc.gridy = gy;
 			gbc.insets = new Insets(2, 2, 2, 2);
-			gridPanel.add(buildFogCell(rc[0], rc[1], gridFinal, tileSize), gbc);
+			gridPanel.add(buildFogCell(fr, fc, gridFinal, tileSize), gbc);
 		}
 
 		log.debug("[GlobalTaskPanel] refresh: grid size={}, displayed tiles={}", grid.size(), displayedCount);
@@ -846,10 +842,11 @@ public class GlobalTaskListPanel extends JPanel
 		final BufferedImage ftr = fogTopRight;
 		final BufferedImage fbl = fogBottomLeft;
 		final BufferedImage fbr = fogBottomRight;
-		Map<String, TaskTile> idMap = FrontierFogHelpers.idMap(grid);
-		boolean[] f = FrontierFogHelpers.cardinalFlagsForHiddenCell(row, col,
-			nid -> globalTaskListService.getGlobalState(nid, grid),
-			nid -> idMap.containsKey(nid));
+		CoordMap<TaskTile> tileAt = FrontierFogHelpers.coordMap(grid);
+		boolean[] f = FrontierFogHelpers.cardinalFlagsForHiddenCell(row, col, coord -> {
+			TaskTile t = tileAt.get(coord);
+			return t == null ? null : globalTaskListService.getGlobalState(t.getId(), grid);
+		});
 		JPanel cell = new JPanel()
 		{
 			@Override
@@ -3,26 +3,32 @@ package com.gridscape.worldunlock;
 import com.gridscape.GridScapeConfig;
 import com.gridscape.constants.TaskTypes;
 import com.gridscape.constants.WorldUnlockTileType;
+import com.gridscape.grid.CoordMap;
+import com.gridscape.grid.CoordSet;
+import com.gridscape.grid.GridCoord;
 import com.gridscape.grid.GridPos;
 import com.gridscape.grid.Spiral;
 import com.gridscape.grid.RevealLogic;
 import com.gridscape.points.PointsService;
+import com.gridscape.task.TaskCatalog;
 import com.gridscape.task.TaskDefinition;
 import com.gridscape.task.TaskGridService;
 import com.gridscape.task.TaskState;
 import com.gridscape.task.TaskTile;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -48,16 +54,10 @@ public class GlobalTaskListService
 	/** Max bonus points for completing one full ring on the global task grid. */
 	private static final int RING_BONUS_CAP = 250;
 	private static final String ID_SEP = ",";
-	private static final String POS_ENTRY_SEP = "||";
-	/** Separator for list of claimed positions (must not be comma, since position is "row,col"). */
-	private static final String CLAIMED_POS_SEP = ";;";
-	private static final String POS_KV_SEP = "::";
-	/** Separator for grid state entries: pos + GRID_STATE_SEP + taskKey (single source of truth: position -> task). */
-	private static final String GRID_STATE_SEP = "##";
-	/** Legacy separator (taskKey|||pos); still parsed on load for backward compatibility. */
-	private static final String COMPOSITE_SEP = "|||";
+	/** Grid journal entries after which the journal is folded into the grid state and claimed positions. */
+	private static final int GRID_JOURNAL_COMPACT_ENTRIES = 256;
 	private static final int MAX_TIER = 5;
-	/** Weight multipliers for {@link #pickWeightedTaskForCell}. */
+	/** Weight multipliers for {@link #taskWeightForCandidate}. */
 	private static final double WEIGHT_NEW_ELIGIBLE = 1.95;
 	private static final double WEIGHT_UNLOCKED_AREA = 1.55;
 	private static final double WEIGHT_AREA_TASK = 1.35;
@@ -67,10 +67,6 @@ public class GlobalTaskListService
 	private static final int MIN_RINGS = 9;
 	/** Maximum rings for "infinite" expansion. */
 	private static final int MAX_RINGS = 100;
-	/** Matches "[level] [skill]" requirement (e.g. "50 Agility", "70 Strength"). Group 1 = level, group 2 = skill name. */
-	private static final Pattern LEVEL_SKILL_REQUIREMENT = Pattern.compile("^(\\d+)\\s+(.+)$");
-	/** Matches bracket-only requirement (e.g. "41-50", "1-10", "31 - 40"). Used with taskType as skill name. Group 1 = min, group 2 = max. */
-	private static final Pattern SKILL_BRACKET_ONLY = Pattern.compile("^(\\d+)\\s*-\\s*(\\d+)$");
 
 	private final ConfigManager configManager;
 	private final GridScapeConfig config;
@@ -78,6 +74,190 @@ public class GlobalTaskListService
 	private final WorldUnlockService worldUnlockService;
 	private final TaskGridService taskGridService;
 
+	/** Claimed and task-holding cells per ring; see {@link #ringClaimCounts(GlobalGridCells)}. */
+	private volatile RingClaimCounts ringClaimCounts;
+	/** Compiled requirements of the current catalog's tasks; see {@link #requirementOf}. */
+	private volatile CompiledRequirements compiledRequirements;
+	/** Eligible pool for {@link #getGlobalTasks()}; guarded by {@code this}. */
+	private GlobalTaskPool globalTaskPool;
+	/** Last {@link #buildGlobalGrid(int)} result and the inputs it was built from. */
+	private volatile GlobalGridModel globalGridModel;
+	/** Persisted grid state and claimed positions, parsed; see {@link #loadGridCells()}. */
+	private volatile GlobalGridCells gridCells;
+	/** Parsed key sets by config key; see {@link #setView(String)}. */
+	private final Map<String, ParsedSet> parsedSets = new ConcurrentHashMap<>();
+	/** Last {@link #getGlobalStateSnapshot(List)} result. */
+	private volatile GlobalStateSnapshot globalStateSnapshot;
+
+	/** Nearest to the center first (Chebyshev ring), then by row and column. */
+	private static final Comparator<int[]> BY_DIST_FROM_CENTER = (a, b) -> {
+		int da = chebyshevDist(a[0], a[1], 0, 0);
+		int db = chebyshevDist(b[0], b[1], 0, 0);
+		if (da != db) return Integer.compare(da, db);
+		if (a[0] != b[0]) return Integer.compare(a[0], b[0]);
+		return Integer.compare(a[1], b[1]);
+	};
+
+	/**
+	 * {@link Requirement}s of every task in one catalog (tasks sharing a string share one) and the unlock tile of every
+	 * boss id; compiled on first use.
+	 */
+	private static final class CompiledRequirements
+	{
+		private final TaskCatalog catalog;
+		private final Map<TaskDefinition, Requirement> byTask = new IdentityHashMap<>();
+		/** Trimmed boss id -> boss tile id, or null when it names no tile. */
+		private final Map<String, String> bossTileIds = new HashMap<>();
+
+		CompiledRequirements(TaskCatalog catalog, WorldUnlockService service)
+		{
+			this.catalog = catalog;
+			Map<String, Requirement> byText = new HashMap<>();
+			for (TaskDefinition t : catalog.all())
+			{
+				String req = t.getRequirements();
+				if (req == null || req.trim().isEmpty()) continue;
+				String type = t.getTaskType();
+				byTask.put(t, byText.computeIfAbsent(type + "\n" + req, k -> Requirement.compile(req, type, service)));
+			}
+			for (TaskDefinition t : catalog.all())
+			{
+				String bossId = t.getBossId() != null ? t.getBossId().trim() : "";
+				if (!bossId.isEmpty() && !bossTileIds.containsKey(bossId))
+					bossTileIds.put(bossId, service.resolvePrerequisiteToTileId(bossId));
+			}
+		}
+	}
+
+	/**
+	 * The global grid as last built: the grid cells and settings it reflects, the task resolved at every revealed
+	 * position that has a grid state entry, and the output tiles. Immutable; replaced on each rebuild.
+	 */
+	private static final class GlobalGridModel
+	{
+		private final int reshuffleSeed;
+		private final TaskCatalog catalog;
+		private final GlobalGridCells cells;
+		private final int[] tierPoints;
+		private final CoordMap<TaskDefinition> assigned;
+		/** False when some revealed cell had no task left to assign; such cells are retried on every build. */
+		private final boolean complete;
+		private final List<TaskTile> tiles;
+
+		GlobalGridModel(int reshuffleSeed, TaskCatalog catalog, GlobalGridCells cells, int[] tierPoints,
+			CoordMap<TaskDefinition> assigned, boolean complete, List<TaskTile> tiles)
+		{
+			this.reshuffleSeed = reshuffleSeed;
+			this.catalog = catalog;
+			this.cells = cells;
+			this.tierPoints = tierPoints;
+			this.assigned = assigned;
+			this.complete = complete;
+			this.tiles = tiles;
+		}
+	}
+
+	/**
+	 * Per-ring counts for one {@link GlobalGridCells}: claimed cells, and cells that hold a task or are claimed. Cells
+	 * the pool could not fill hold no task and are not counted. Immutable.
+	 */
+	private static final class RingClaimCounts
+	{
+		private final GlobalGridCells source;
+		private final int[] claimed;
+		private final int[] cells;
+
+		RingClaimCounts(GlobalGridCells source, int[] claimed, int[] cells)
+		{
+			this.source = source;
+			this.claimed = claimed;
+			this.cells = cells;
+		}
+
+		int claimedInRing(int ring)
+		{
+			return ring < claimed.length ? claimed[ring] : 0;
+		}
+
+		int cellsInRing(int ring)
+		{
+			return ring < cells.length ? cells[ring] : 0;
+		}
+
+		/** Counts after claiming a not yet claimed cell in {@code ring}; {@code hadTask} is whether it held a task. */
+		RingClaimCounts withClaim(GlobalGridCells newSource, int ring, boolean hadTask)
+		{
+			int[] nextClaimed = Arrays.copyOf(claimed, Math.max(claimed.length, ring + 1));
+			int[] nextCells = Arrays.copyOf(cells, Math.max(cells.length, ring + 1));
+			nextClaimed[ring]++;
+			if (!hadTask)
+				nextCells[ring]++;
+			return new RingClaimCounts(newSource, nextClaimed, nextCells);
+		}
+	}
+
+	/** A persisted comma-separated key set and the unmodifiable set parsed from it. */
+	private static final class ParsedSet
+	{
+		private final String raw;
+		private final Set<String> set;
+
+		ParsedSet(String raw, Set<String> set)
+		{
+			this.raw = raw;
+			this.set = Collections.unmodifiableSet(set);
+		}
+	}
+
+	/**
+	 * Tile states of one global grid list against the persisted claim and completion state, each answered in constant
+	 * time: tiles are indexed by position, and claimed cells, reveal and the completed/claimed task sets are read from
+	 * already parsed state. Immutable; see {@link #getGlobalStateSnapshot(List)}.
+	 */
+	public static final class GlobalStateSnapshot
+	{
+		private final List<TaskTile> grid;
+		private final CoordMap<TaskTile> tiles;
+		private final GlobalGridCells cells;
+		private final Set<String> completed;
+		private final Set<String> claimed;
+
+		GlobalStateSnapshot(List<TaskTile> grid, GlobalGridCells cells, Set<String> completed, Set<String> claimed)
+		{
+			this.grid = grid;
+			this.tiles = new CoordMap<>(grid.size());
+			for (TaskTile t : grid)
+			{
+				if (tiles.get(t.getCoord()) == null)
+					tiles.put(t.getCoord(), t);
+			}
+			this.cells = cells;
+			this.completed = completed;
+			this.claimed = claimed;
+		}
+
+		/** Same as {@link GlobalTaskListService#getGlobalState(String, List)} for this snapshot's grid. */
+		public TaskState stateOf(String tileId)
+		{
+			// Center (0,0) is always shown: CLAIMED if claimed, else COMPLETED_UNCLAIMED (click to claim)
+			if ("0,0".equals(tileId))
+				return cells.centerClaimed ? TaskState.CLAIMED : TaskState.COMPLETED_UNCLAIMED;
+			int coord = GridCoord.parse(tileId);
+			TaskTile tile = coord != GridCoord.NONE ? tiles.get(coord) : null;
+			if (tile == null || !tile.getId().equals(tileId)) return TaskState.LOCKED;
+
+			// CLAIMED only at the specific position the user claimed (not every tile with the same task)
+			if (cells.isClaimed(tile.getRow(), tile.getCol())) return TaskState.CLAIMED;
+			// Completed-but-unclaimed only when this task is done and not yet claimed (anywhere)
+			String key = taskKeyFromName(tile.getDisplayName());
+			if (completed.contains(key) && !claimed.contains(key)) return TaskState.COMPLETED_UNCLAIMED;
+
+			// Revealed if any cardinal neighbor position is claimed (same logic as Area Task grid)
+			if (cells.isRevealed(tile.getRow(), tile.getCol())) return TaskState.REVEALED;
+			return TaskState.LOCKED;
+		}
+	}
+
 	@Inject
 	public GlobalTaskListService(ConfigManager configManager, GridScapeConfig config,
 		PointsService pointsService, WorldUnlockService worldUnlockService,
@@ -125,6 +305,38 @@ public class GlobalTaskListService
 		return displayName != null ? displayName.trim().toLowerCase() : "";
 	}
 
+	private CompiledRequirements compiledRequirements()
+	{
+		TaskCatalog catalog = taskGridService.getTaskCatalog();
+		CompiledRequirements compiled = compiledRequirements;
+		if (compiled == null || compiled.catalog != catalog)
+		{
+			compiled = new CompiledRequirements(catalog, worldUnlockService);
+			compiledRequirements = compiled;
+		}
+		return compiled;
+	}
+
+	/** The task's compiled requirements; compiled with the catalog, or on the spot for tasks outside it. */
+	private Requirement requirementOf(TaskDefinition task)
+	{
+		String req = task.getRequirements();
+		if (req == null || req.trim().isEmpty())
+			return Requirement.NONE;
+		Requirement r = compiledRequirements().byTask.get(task);
+		return r != null ? r : Requirement.compile(req, task.getTaskType(), worldUnlockService);
+	}
+
+	/** Unlock tile of the task's boss id, or null if it has none or it names no tile. */
+	private String bossTileIdOf(TaskDefinition task)
+	{
+		String bossId = task.getBossId() != null ? task.getBossId().trim() : "";
+		if (bossId.isEmpty())
+			return null;
+		Map<String, String> bossTileIds = compiledRequirements().bossTileIds;
+		return bossTileIds.containsKey(bossId) ? bossTileIds.get(bossId) : worldUnlockService.resolvePrerequisiteToTileId(bossId);
+	}
+
 	/** True if the task is area-specific and all (or any, if any) of its required areas are in the unlocked set. */
 	private static boolean isUnlockedAreaTask(TaskDefinition t, Set<String> unlockedAreaIds)
 	{
@@ -180,17 +392,9 @@ public class GlobalTaskListService
 			return false;
 		if (t.getBossId() != null && !t.getBossId().trim().isEmpty())
 			return true;
-		String req = t.getRequirements();
-		if (req == null || req.trim().isEmpty())
-			return false;
-		for (String part : req.split(","))
-		{
-			String token = part.trim();
-			if (token.isEmpty()) continue;
-			String tileId = worldUnlockService.resolvePrerequisiteToTileId(token);
-			if (tileId == null) continue;
-			WorldUnlockTile tile = worldUnlockService.getTileById(tileId);
-			if (tile != null && WorldUnlockTileType.BOSS.equals(tile.getType()))
+		for (Requirement.Token token : requirementOf(t).tokens)
+		{
+			if (WorldUnlockTileType.BOSS.equals(token.tileType))
 				return true;
 		}
 		return false;
@@ -208,41 +412,6 @@ public class GlobalTaskListService
 		return Math.max(1, Math.min(MAX_TIER, t.getDifficulty()));
 	}
 
-	/**
-	 * Max difficulty tier allowed for a Chebyshev ring (center = 0). Outer rings allow harder tasks.
-	 */
-	private static int maxDifficultyForRing(int ring)
-	{
-		if (ring <= 1) return 1;
-		if (ring == 2) return 2;
-		if (ring == 3) return 3;
-		return MAX_TIER;
-	}
-
-	/**
-	 * Tasks in {@code remaining} whose difficulty fits the ring cap, widening the cap until non-empty.
-	 */
-	private static List<TaskDefinition> candidatesForRing(List<TaskDefinition> remaining, int ring)
-	{
-		if (remaining.isEmpty())
-			return new ArrayList<>();
-		int cap = maxDifficultyForRing(ring);
-		for (;;)
-		{
-			List<TaskDefinition> list = new ArrayList<>();
-			for (TaskDefinition t : remaining)
-			{
-				if (difficultyTier(t) <= cap)
-					list.add(t);
-			}
-			if (!list.isEmpty())
-				return list;
-			if (cap >= MAX_TIER)
-				return new ArrayList<>(remaining);
-			cap++;
-		}
-	}
-
 	private double taskWeightForCandidate(TaskDefinition t, Set<String> newlyEligibleKeys, Set<String> unlockedAreaIds,
 		boolean applyCollectionLogDownweight)
 	{
@@ -259,58 +428,6 @@ public class GlobalTaskListService
 		return w;
 	}
 
-	private TaskDefinition pickWeightedTaskForCell(List<TaskDefinition> remaining, int ring,
-		Set<String> newlyEligibleKeys, Set<String> unlockedAreaIds, Random rnd)
-	{
-		List<TaskDefinition> candidates = candidatesForRing(remaining, ring);
-		if (candidates.isEmpty())
-			return null;
-		// Prefer lowest difficulty among candidates so tier 1 is exhausted before tier 2+ (new and existing tasks).
-		int minTier = Integer.MAX_VALUE;
-		for (TaskDefinition t : candidates)
-		{
-			int d = difficultyTier(t);
-			if (d < minTier)
-				minTier = d;
-		}
-		List<TaskDefinition> atMinTier = new ArrayList<>();
-		for (TaskDefinition t : candidates)
-		{
-			if (difficultyTier(t) == minTier)
-				atMinTier.add(t);
-		}
-		candidates = atMinTier;
-		boolean hasNonDeprioritized = false;
-		for (TaskDefinition t : candidates)
-		{
-			if (!isCollectionLogDeprioritized(t))
-			{
-				hasNonDeprioritized = true;
-				break;
-			}
-		}
-		boolean applyClDown = hasNonDeprioritized;
-		double total = 0.0;
-		double[] weights = new double[candidates.size()];
-		for (int i = 0; i < candidates.size(); i++)
-		{
-			double w = taskWeightForCandidate(candidates.get(i), newlyEligibleKeys, unlockedAreaIds, applyClDown);
-			weights[i] = w;
-			total += w;
-		}
-		if (total <= 0.0)
-			return candidates.get(0);
-		double pick = rnd.nextDouble() * total;
-		double acc = 0.0;
-		for (int i = 0; i < candidates.size(); i++)
-		{
-			acc += weights[i];
-			if (pick < acc)
-				return candidates.get(i);
-		}
-		return candidates.get(candidates.size() - 1);
-	}
-
 	/**
 	 * Returns the rollable task list for the Global Task panel.
 	 * Tasks are filtered by World Unlock panel state:
@@ -324,54 +441,184 @@ public class GlobalTaskListService
 	 */
 	public List<TaskDefinition> getGlobalTasks()
 	{
-		UnlockedContent unlocked = buildUnlockedContent();
-		LinkedHashMap<String, TaskDefinition> byKey = new LinkedHashMap<>();
-		Set<String> globalClaimedTaskKeys = loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED);
+		synchronized (this)
+		{
+			TaskCatalog catalog = taskGridService.getTaskCatalog();
+			Set<String> unlockedIds = worldUnlockService.getUnlockedIds();
+			Set<String> globalClaimedTaskKeys = loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED);
+			GlobalTaskPool pool = globalTaskPool;
+			if (pool == null || pool.catalog != catalog)
+			{
+				pool = compileGlobalTaskPool(catalog);
+				globalTaskPool = pool;
+			}
+			if (!pool.isCurrent(unlockedIds, globalClaimedTaskKeys))
+			{
+				UnlockedContent unlocked = buildUnlockedContent(unlockedIds);
+				GlobalTaskPool.Gate gate = (t, inPool) -> canTaskAppearWithUnlocks(t, unlocked, inPool, globalClaimedTaskKeys);
+				Set<String> added = new HashSet<>(unlockedIds);
+				added.removeAll(pool.unlockedIdsOrEmpty());
+				if (!pool.update(unlockedIds, globalClaimedTaskKeys, explicitTasksForUnlocks(added), gate))
+					pool.rebuild(unlockedIds, globalClaimedTaskKeys, explicitTasksForUnlocks(unlockedIds), gate);
+				log.debug("[GlobalTask] getGlobalTasks: unlocked={}, {} tasks", unlocked.summary(), pool.tasks().size());
+			}
+			return new ArrayList<>(pool.tasks());
+		}
+	}
 
-		// 1. Add tasks from unlocked taskDisplayNames tiles (explicit task lists)
-		// In World Unlock mode, Quest and Achievement Diary tasks do not populate.
-		for (String unlockId : worldUnlockService.getUnlockedIds())
+	/**
+	 * Tasks listed by unlocked taskDisplayNames tiles (explicit task lists), first task per key. These join the pool
+	 * without gating, except that Quest and Achievement Diary tasks do not populate in World Unlock mode.
+	 */
+	private Map<String, TaskDefinition> explicitTasksForUnlocks(Set<String> unlockIds)
+	{
+		Map<String, TaskDefinition> byKey = new LinkedHashMap<>();
+		for (String unlockId : unlockIds)
 		{
+			WorldUnlockTile tile = worldUnlockService.getTileById(unlockId);
+			if (tile == null || tile.getTaskLink() == null || !"taskDisplayNames".equals(tile.getTaskLink().getType()))
+				continue;
 			for (TaskDefinition t : worldUnlockService.getTasksForUnlock(unlockId))
 			{
 				if (isQuestOrDiaryTask(t)) continue;
-				WorldUnlockTile tile = worldUnlockService.getTileById(unlockId);
-				if (tile == null || tile.getTaskLink() == null) continue;
-				String linkType = tile.getTaskLink().getType();
-				if (!"taskDisplayNames".equals(linkType)) continue;
 				String key = taskKey(t);
-				if (!key.isEmpty() && !byKey.containsKey(key))
-					byKey.put(key, t);
+				if (!key.isEmpty())
+					byKey.putIfAbsent(key, t);
 			}
 		}
+		return byKey;
+	}
 
-		// 2. Filter all tasks by unlock state (area, skill, quest, diary, Collection Log, killCount chain)
-		// In World Unlock mode, Quest tasks do not populate. Achievement Diary tasks populate only when the diary tier for that area is unlocked.
-		List<TaskDefinition> allTasks = taskGridService.getEffectiveDefaultTasks();
-		// 2a. Add non-killCount tasks first (including Achievement Diary when area + diary tier unlocked)
-		for (TaskDefinition t : allTasks)
+	/**
+	 * Gated candidates of the catalog in evaluation order, each with the unlock tiles, claimed keys and prerequisite
+	 * task keys {@link #canTaskAppearWithUnlocks} can read for it. Non-killCount tasks (Quest tasks never populate) come
+	 * first in catalog order, then killCount tasks by difficulty 1–5 so a chain's previous step is evaluated first.
+	 */
+	private GlobalTaskPool compileGlobalTaskPool(TaskCatalog catalog)
+	{
+		List<TaskDefinition> candidates = new ArrayList<>();
+		for (TaskDefinition t : catalog.all())
 		{
-			if (isKillCountTask(t) || com.gridscape.constants.TaskTypes.QUEST.equalsIgnoreCase(t != null ? t.getTaskType() : null)) continue;
-			String key = taskKey(t);
-			if (key.isEmpty() || byKey.containsKey(key)) continue;
-			if (canTaskAppearWithUnlocks(t, unlocked, byKey, globalClaimedTaskKeys))
-				byKey.put(key, t);
+			if (isKillCountTask(t) || TaskTypes.QUEST.equalsIgnoreCase(t.getTaskType())) continue;
+			candidates.add(t);
 		}
-		// 2b. Add killCount tasks in order: difficulty 1, then 2–5 (chain: previous step must be claimed on global grid)
 		for (int difficulty = 1; difficulty <= 5; difficulty++)
+			candidates.addAll(catalog.byTypeAndDifficulty("killCount", difficulty));
+
+		UnlockTileIndex tiles = new UnlockTileIndex(worldUnlockService);
+		List<GlobalTaskPool.Dependencies> dependencies = new ArrayList<>(candidates.size());
+		for (TaskDefinition t : candidates)
+			dependencies.add(dependenciesOf(t, tiles));
+		log.debug("[GlobalTask] compiled {} gated global task candidates", candidates.size());
+		return new GlobalTaskPool(catalog, candidates, dependencies);
+	}
+
+	/** Unlock tiles grouped the way the gates look them up; built per catalog compile. */
+	private static final class UnlockTileIndex
+	{
+		/** Lower-cased skill name -> skill tile ids. */
+		final Map<String, List<String>> skillTiles = new HashMap<>();
+		final Set<String> allSkillNames = new HashSet<>();
+		/** Quest tile id -> lower-cased requirementsContains. */
+		final Map<String, String> questTiles = new HashMap<>();
+		/** Diary key -> achievement diary tile ids and area tile ids of that diary. */
+		final Map<String, Set<String>> diaryTiles = new HashMap<>();
+
+		UnlockTileIndex(WorldUnlockService service)
 		{
-			for (TaskDefinition t : allTasks)
+			for (WorldUnlockTile tile : service.getTiles())
 			{
-				if (!isKillCountTask(t) || t.getDifficulty() != difficulty) continue;
-				String key = taskKey(t);
-				if (key.isEmpty() || byKey.containsKey(key)) continue;
-				if (canTaskAppearWithUnlocks(t, unlocked, byKey, globalClaimedTaskKeys))
-					byKey.put(key, t);
+				TaskLink link = tile.getTaskLink();
+				String type = tile.getType();
+				if ("skill".equals(type) && link != null && link.getSkillName() != null)
+				{
+					allSkillNames.add(link.getSkillName());
+					skillTiles.computeIfAbsent(link.getSkillName().trim().toLowerCase(), k -> new ArrayList<>()).add(tile.getId());
+				}
+				else if ("quest".equals(type) && link != null && link.getRequirementsContains() != null)
+					questTiles.put(tile.getId(), link.getRequirementsContains().trim().toLowerCase());
+				else if (WorldUnlockTileType.ACHIEVEMENT_DIARY.equals(type))
+				{
+					String diaryKey = WorldUnlockService.getDiaryKeyFromTileId(tile.getId());
+					if (diaryKey != null)
+						diaryTiles.computeIfAbsent(diaryKey, k -> new HashSet<>()).add(tile.getId());
+				}
+				else if ("area".equals(type))
+				{
+					String diaryKey = service.getDiaryKeyForAreaId(tile.getId());
+					if (diaryKey != null)
+						diaryTiles.computeIfAbsent(diaryKey, k -> new HashSet<>()).add(tile.getId());
+				}
 			}
 		}
 
-		log.debug("[GlobalTask] getGlobalTasks: unlocked={}, returning {} tasks", unlocked.summary(), byKey.size());
-		return new ArrayList<>(byKey.values());
+		List<String> skillTilesFor(String skillName)
+		{
+			List<String> ids = skillName != null ? skillTiles.get(skillName.trim().toLowerCase()) : null;
+			return ids != null ? ids : Collections.emptyList();
+		}
+	}
+
+	/** Everything {@link #canTaskAppearWithUnlocks} can read for this task, section by section (a superset is fine). */
+	private GlobalTaskPool.Dependencies dependenciesOf(TaskDefinition task, UnlockTileIndex tiles)
+	{
+		GlobalTaskPool.Dependencies d = new GlobalTaskPool.Dependencies();
+		// 1. Areas
+		List<String> requiredAreas = task.getRequiredAreaIds();
+		if (requiredAreas.stream().anyMatch(a -> "undefined".equalsIgnoreCase(a)))
+			return d;
+		d.tileIds.addAll(requiredAreas);
+		// 2 / 2b. Skill tiles of the task type
+		String taskType = task.getTaskType();
+		d.tileIds.addAll(tiles.skillTilesFor(taskType));
+		// 3. Quest tiles whose requirement text matches a non-tile requirement token
+		Requirement req = requirementOf(task);
+		if (usesQuestUnlockSection(task, req, tiles.allSkillNames))
+		{
+			for (Requirement.Token token : req.tokens)
+			{
+				if (token.tileId != null) continue;
+				String q = token.lower;
+				for (Map.Entry<String, String> e : tiles.questTiles.entrySet())
+				{
+					if (e.getValue().contains(q) || q.contains(e.getValue()))
+						d.tileIds.add(e.getKey());
+				}
+			}
+		}
+		// 4. Achievement Diary: tier tiles and areas of the diary
+		if (TaskTypes.isAchievementDiaryType(taskType) && !requiredAreas.isEmpty())
+		{
+			String diaryKey = worldUnlockService.getDiaryKeyForAreaId(requiredAreas.get(0));
+			if (diaryKey != null && tiles.diaryTiles.containsKey(diaryKey))
+				d.tileIds.addAll(tiles.diaryTiles.get(diaryKey));
+		}
+		// 5 / 5b. Boss tile
+		String bossTileId = bossTileIdOf(task);
+		if (bossTileId != null)
+			d.tileIds.add(bossTileId);
+		// 6 / 7. Requirement tokens: resolved tiles, skill tiles of "[level] [skill]", prerequisite tasks
+		if (!req.isEmpty())
+		{
+			for (Requirement.Token token : req.tokens)
+			{
+				if (token.tileId != null)
+					d.tileIds.add(token.tileId);
+				if (token.kind == Requirement.Kind.SKILL_LEVEL)
+					d.tileIds.addAll(tiles.skillTilesFor(token.skillName));
+			}
+			if (req.single)
+			{
+				String prevKey = req.taskKey;
+				if (!prevKey.isEmpty())
+				{
+					d.taskKeys.add(prevKey);
+					if (isKillCountTask(task))
+						d.claimedKeys.add(prevKey);
+				}
+			}
+		}
+		return d;
 	}
 
 	/**
@@ -404,20 +651,6 @@ public class GlobalTaskListService
 		return tasks;
 	}
 
-	/** Returns the four cardinal neighbor position strings "row,col" for the given position. */
-	private static List<String> getNeighborPositions(String pos)
-	{
-		int[] rc = parsePos(pos);
-		if (rc == null) return new ArrayList<>();
-		int r = rc[0], c = rc[1];
-		List<String> out = new ArrayList<>(4);
-		out.add((r + 1) + "," + c);
-		out.add((r - 1) + "," + c);
-		out.add(r + "," + (c + 1));
-		out.add(r + "," + (c - 1));
-		return out;
-	}
-
 	private static boolean isKillCountTask(TaskDefinition t)
 	{
 		return t != null && "killCount".equalsIgnoreCase(t.getTaskType());
@@ -435,33 +668,12 @@ public class GlobalTaskListService
 	 * should use §1/§5/§7 only, not §3 quest text — same idea as legacy {@code "Defeat …"} prerequisites and {@link #isCombatWithBossId}.
 	 * If requirements include non-tile text (e.g. a quest name), §3 still applies.
 	 */
-	private boolean isCollectionLogBossGatedOnlyByUnlockTiles(TaskDefinition task)
+	private static boolean isCollectionLogBossGatedOnlyByUnlockTiles(TaskDefinition task, Requirement req)
 	{
 		if (task == null || !TaskTypes.isCollectionLogType(task.getTaskType())
 			|| task.getBossId() == null || task.getBossId().trim().isEmpty())
 			return false;
-		String req = task.getRequirements();
-		boolean hasReq = req != null && !req.trim().isEmpty();
-		return !hasReq || requirementsAllTokensResolveToWorldUnlockTiles(task);
-	}
-
-	/**
-	 * True when every comma-separated requirements token resolves to a world-unlock tile id (boss/area/quest/skill tile).
-	 * Used so tasks that only reference unlock tiles can pass §3 when no quest tiles are unlocked yet.
-	 */
-	private boolean requirementsAllTokensResolveToWorldUnlockTiles(TaskDefinition task)
-	{
-		String req = task.getRequirements();
-		if (req == null || req.trim().isEmpty())
-			return false;
-		for (String part : req.split(","))
-		{
-			String token = part.trim();
-			if (token.isEmpty()) continue;
-			if (worldUnlockService.resolvePrerequisiteToTileId(token) == null)
-				return false;
-		}
-		return true;
+		return req.isEmpty() || req.allTiles;
 	}
 
 	/** True if this task is a Quest or Achievement Diary task; such tasks do not populate in World Unlock mode. */
@@ -475,10 +687,10 @@ public class GlobalTaskListService
 	/**
 	 * True if this task can appear in the Global Task panel given current World Unlock state.
 	 * Mirrors the unlock-type gating from World Unlock tiles.
-	 * @param alreadyInList task catalog built so far (used to resolve killCount prerequisite display names)
+	 * @param alreadyInList pooled task for a key, or null (used to resolve killCount prerequisite display names)
 	 * @param globalClaimedTaskKeys keys claimed on the global task grid; killCount chains require the previous step to be claimed
 	 */
-	private boolean canTaskAppearWithUnlocks(TaskDefinition task, UnlockedContent u, Map<String, TaskDefinition> alreadyInList,
+	private boolean canTaskAppearWithUnlocks(TaskDefinition task, UnlockedContent u, Function<String, TaskDefinition> alreadyInList,
 		Set<String> globalClaimedTaskKeys)
 	{
 		// 1. Area: required areas must be unlocked
@@ -504,62 +716,40 @@ public class GlobalTaskListService
 
 		// 2. Skill: if taskType matches a skill unlock tile (case-insensitive), that skill must be unlocked
 		String taskType = task.getTaskType();
-		boolean hasRequirements = task.getRequirements() != null && !task.getRequirements().trim().isEmpty();
-		if (taskType != null && containsSkillNameIgnoreCase(u.allSkillNames, taskType) && !containsSkillNameIgnoreCase(u.skills, taskType))
+		Requirement req = requirementOf(task);
+		boolean hasRequirements = !req.isEmpty();
+		boolean isSkillTask = taskType != null && containsSkillNameIgnoreCase(u.allSkillNames, taskType);
+		if (isSkillTask && !containsSkillNameIgnoreCase(u.skills, taskType))
 			return false;
 
 		// 2b. Skill bracket: every "min-max" token must match an unlocked skill tile for this skill (comma-separated = AND).
-		if (taskType != null && containsSkillNameIgnoreCase(u.allSkillNames, taskType) && hasRequirements)
+		if (isSkillTask && hasRequirements)
 		{
-			String req = task.getRequirements();
-			if (req != null && !req.trim().isEmpty())
+			for (Requirement.Token token : req.tokens)
 			{
-				Set<String> unlockedIds = worldUnlockService.getUnlockedIds();
-				for (String part : req.split(","))
-				{
-					String token = part.trim();
-					if (token.isEmpty()) continue;
-					Matcher bracket = SKILL_BRACKET_ONLY.matcher(token);
-					if (bracket.matches())
-					{
-						int minLevel = Integer.parseInt(bracket.group(1));
-						String skillTileId = worldUnlockService.getSkillTileIdForLevel(taskType.trim(), minLevel);
-						if (skillTileId != null && !unlockedIds.contains(skillTileId))
-							return false;
-					}
-				}
+				if (token.kind == Requirement.Kind.SKILL_BRACKET && token.skillTileId != null && !u.unlockedIds.contains(token.skillTileId))
+					return false;
 			}
 		}
 
 		// 3. Quest: if task has quest requirements or is Quest type, need quest unlock
 		// (except for "Defeat ..." style prerequisite-task requirements)
-		boolean isTaskPrereqReq = isTaskPrerequisiteRequirement(task.getRequirements());
-		boolean isSkillTask = taskType != null && containsSkillNameIgnoreCase(u.allSkillNames, taskType);
-		boolean hasSkillBracketReq = isSkillTask && hasRequirements && task.getRequirements().matches(".*\\d+\\s*-\\s*\\d+.*");
-		boolean questTypeOrReqNeedsQuestUnlock = com.gridscape.constants.TaskTypes.QUEST.equalsIgnoreCase(taskType)
-			|| (hasRequirements && !isKillCountTask(task) && !isTaskPrereqReq && !hasSkillBracketReq && !isCollectionLogWithoutBossOrArea(task));
-		// Combat+bossId and Collection Log+bossId (tile-id-only requirements): gated by boss unlock + §7, not §3 quest text.
-		boolean useQuestUnlockSection = questTypeOrReqNeedsQuestUnlock && !isCombatWithBossId(task)
-			&& !isCollectionLogBossGatedOnlyByUnlockTiles(task);
-		if (useQuestUnlockSection)
+		if (usesQuestUnlockSection(task, req, u.allSkillNames))
 		{
-			boolean hasReqText = task.getRequirements() != null && !task.getRequirements().trim().isEmpty();
 			if (u.questRequirements.isEmpty())
 			{
 				// Allow when every requirement token is a resolvable unlock tile (checked in §7); otherwise need at least one quest tile unlocked.
-				if (!hasReqText || !requirementsAllTokensResolveToWorldUnlockTiles(task))
+				if (!req.allTiles)
 					return false;
 			}
-			else if (hasReqText)
+			else if (hasRequirements)
 			{
-				for (String part : task.getRequirements().split(","))
+				for (Requirement.Token token : req.tokens)
 				{
-					String raw = part.trim();
-					if (raw.isEmpty()) continue;
 					// Unlock-tile names/ids: satisfied by §6–7, not by quest-unlock text pool
-					if (worldUnlockService.resolvePrerequisiteToTileId(raw) != null)
+					if (token.tileId != null)
 						continue;
-					String q = raw.toLowerCase();
+					String q = token.lower;
 					boolean satisfied = u.questRequirements.stream()
 						.anyMatch(unlocked -> unlocked.contains(q) || q.contains(unlocked));
 					if (!satisfied)
@@ -590,48 +780,33 @@ public class GlobalTaskListService
 				return false;
 		}
 
-		// 5. Collection Log: require that boss tile only when bossId is set (section 1 already gated real areas)
-		if (taskType != null && TaskTypes.isCollectionLogType(taskType))
-		{
-			if (task.getBossId() != null && !task.getBossId().trim().isEmpty())
-			{
-				String bossTileId = worldUnlockService.resolvePrerequisiteToTileId(task.getBossId().trim());
-				if (bossTileId != null && !worldUnlockService.getUnlockedIds().contains(bossTileId))
-					return false;
-			}
-		}
-
-		// 5b. Combat (achievement) tasks whose prerequisite is a boss require that boss to be unlocked
-		if ("Combat".equalsIgnoreCase(taskType) && task.getBossId() != null && !task.getBossId().trim().isEmpty())
+		// 5 / 5b. Collection Log (section 1 already gated real areas) and Combat (achievement) tasks with a bossId require
+		// that boss to be unlocked
+		if ((taskType != null && TaskTypes.isCollectionLogType(taskType)) || "Combat".equalsIgnoreCase(taskType))
 		{
-			String bossTileId = worldUnlockService.resolvePrerequisiteToTileId(task.getBossId().trim());
-			if (bossTileId != null && !worldUnlockService.getUnlockedIds().contains(bossTileId))
+			String bossTileId = bossTileIdOf(task);
+			if (bossTileId != null && !u.unlockedIds.contains(bossTileId))
 				return false;
 		}
 
 		// 6. killCount: comma reqs = AND of unlocked tiles (boss + area, etc.); single req = prior chain step claimed OR unlock tile (quest/boss/area)
 		if ("killCount".equalsIgnoreCase(taskType))
 		{
-			String req = task.getRequirements() != null ? task.getRequirements().trim() : "";
 			if (req.isEmpty()) return false;
-			if (req.contains(","))
+			if (!req.single)
 			{
 				// AND: all resolved tiles must be unlocked (boss + area for first killCount task)
-				Set<String> unlockedIds = worldUnlockService.getUnlockedIds();
-				for (String part : req.split(","))
+				for (Requirement.Token token : req.tokens)
 				{
-					String token = part.trim();
-					if (token.isEmpty()) continue;
-					String tileId = worldUnlockService.resolvePrerequisiteToTileId(token);
-					if (tileId != null && !unlockedIds.contains(tileId))
+					if (token.tileId != null && !u.unlockedIds.contains(token.tileId))
 						return false;
 				}
 			}
 			else
 			{
-				String prevKey = taskKeyFromName(req);
-				boolean prevInCatalog = alreadyInList != null && !prevKey.isEmpty() && alreadyInList.containsKey(prevKey);
-				TaskDefinition prevTask = prevInCatalog ? alreadyInList.get(prevKey) : null;
+				String prevKey = req.taskKey;
+				TaskDefinition prevTask = alreadyInList != null && !prevKey.isEmpty() ? alreadyInList.apply(prevKey) : null;
+				boolean prevInCatalog = prevTask != null;
 				if (prevInCatalog && prevTask != null && isKillCountTask(prevTask))
 				{
 					// e.g. "Defeat Brutus 10 times" requires "Defeat Brutus 5 times" to be claimed before it appears in the pool
@@ -640,10 +815,10 @@ public class GlobalTaskListService
 				}
 				else if (!prevInCatalog)
 				{
-					String tileId = worldUnlockService.resolvePrerequisiteToTileId(req);
+					String tileId = req.singleTileId();
 					if (tileId != null)
 					{
-						if (!worldUnlockService.getUnlockedIds().contains(tileId))
+						if (!u.unlockedIds.contains(tileId))
 							return false;
 					}
 					else if (!prevKey.isEmpty())
@@ -654,62 +829,39 @@ public class GlobalTaskListService
 		else if (hasRequirements)
 		{
 			// 7a. "Defeat ..." prerequisite-task requirement: prerequisite task must already be present (revealed/available) in the global task list
-			if (isTaskPrereqReq)
+			if (req.namesTask)
 			{
-				String req = task.getRequirements().trim();
 				// Single prerequisite only (matches boss chain style)
-				if (!req.contains(","))
+				if (req.single)
 				{
-					String prevKey = taskKeyFromName(req);
-					if (!prevKey.isEmpty() && (alreadyInList == null || !alreadyInList.containsKey(prevKey)))
+					String prevKey = req.taskKey;
+					if (!prevKey.isEmpty() && (alreadyInList == null || alreadyInList.apply(prevKey) == null))
 						return false;
 				}
 			}
 
 			// 7. Requirements: each comma-separated token is checked; "[level] [skill]" and bracket tokens gate on unlock;
 			// resolved world-unlock tile ids (quest, area, boss, diary, …) each require that tile unlocked (AND across tokens).
-			Set<String> unlockedIds = worldUnlockService.getUnlockedIds();
-			for (String part : task.getRequirements().split(","))
+			Set<String> unlockedIds = u.unlockedIds;
+			for (Requirement.Token token : req.tokens)
 			{
-				String token = part.trim();
-				if (token.isEmpty()) continue;
-				Matcher levelSkill = LEVEL_SKILL_REQUIREMENT.matcher(token);
-				if (levelSkill.matches())
+				if (token.kind == Requirement.Kind.SKILL_LEVEL)
 				{
-					int level = Integer.parseInt(levelSkill.group(1));
-					String skillName = levelSkill.group(2).trim();
-					String skillTileId = worldUnlockService.getSkillTileIdForLevel(skillName, level);
-					if (skillTileId != null && !unlockedIds.contains(skillTileId))
+					if (token.skillTileId != null && !unlockedIds.contains(token.skillTileId))
 						return false;
 					continue;
 				}
 				// Bracket on its own (e.g. "41-50"): use taskType as skill name; same behaviour as "Skill [bracket]"
-				Matcher bracketOnly = SKILL_BRACKET_ONLY.matcher(token);
-				if (bracketOnly.matches() && taskType != null && containsSkillNameIgnoreCase(u.allSkillNames, taskType))
+				if (token.kind == Requirement.Kind.SKILL_BRACKET && isSkillTask)
 				{
-					int minLevel = Integer.parseInt(bracketOnly.group(1));
-					String skillTileId = worldUnlockService.getSkillTileIdForLevel(taskType, minLevel);
-					if (skillTileId != null && !unlockedIds.contains(skillTileId))
+					if (token.skillTileId != null && !unlockedIds.contains(token.skillTileId))
 						return false;
 					continue;
 				}
-				String tileId = worldUnlockService.resolvePrerequisiteToTileId(token);
+				String tileId = token.tileId;
 				if (tileId == null)
 					continue;
-				WorldUnlockTile tile = worldUnlockService.getTileById(tileId);
-				if (tile != null && WorldUnlockTileType.SKILL.equals(tile.getType()))
-				{
-					if (!unlockedIds.contains(tileId))
-						return false;
-					continue;
-				}
-				if (tile != null && WorldUnlockTileType.BOSS.equals(tile.getType()) && "Combat".equalsIgnoreCase(taskType))
-				{
-					if (!unlockedIds.contains(tileId))
-						return false;
-					continue;
-				}
-				if (tile != null && WorldUnlockTileType.BOSS.equals(tile.getType()) && isCollectionLogWithoutBossId(task))
+				if (WorldUnlockTileType.BOSS.equals(token.tileType) && isCollectionLogWithoutBossId(task))
 					continue;
 				if (!unlockedIds.contains(tileId))
 					return false;
@@ -719,6 +871,23 @@ public class GlobalTaskListService
 		return true;
 	}
 
+	/**
+	 * True if §3 of {@link #canTaskAppearWithUnlocks} applies: Quest tasks, and tasks whose requirements are quest text
+	 * rather than a prerequisite task, a skill bracket or (for Combat / Collection Log with bossId) unlock tiles.
+	 */
+	private static boolean usesQuestUnlockSection(TaskDefinition task, Requirement req, Set<String> allSkillNames)
+	{
+		String taskType = task.getTaskType();
+		boolean hasRequirements = !req.isEmpty();
+		boolean isSkillTask = taskType != null && containsSkillNameIgnoreCase(allSkillNames, taskType);
+		boolean hasSkillBracketReq = isSkillTask && req.mentionsBracket;
+		boolean questTypeOrReqNeedsQuestUnlock = com.gridscape.constants.TaskTypes.QUEST.equalsIgnoreCase(taskType)
+			|| (hasRequirements && !isKillCountTask(task) && !req.namesTask && !hasSkillBracketReq && !isCollectionLogWithoutBossOrArea(task));
+		// Combat+bossId and Collection Log+bossId (tile-id-only requirements): gated by boss unlock + §7, not §3 quest text.
+		return questTypeOrReqNeedsQuestUnlock && !isCombatWithBossId(task)
+			&& !isCollectionLogBossGatedOnlyByUnlockTiles(task, req);
+	}
+
 	/** True if the set contains a skill name that equals (ignore case) the given name. */
 	private static boolean containsSkillNameIgnoreCase(Set<String> skillNames, String name)
 	{
@@ -728,19 +897,6 @@ public class GlobalTaskListService
 		return skillNames.stream().anyMatch(s -> s != null && s.trim().equalsIgnoreCase(n));
 	}
 
-	/** True if the requirements string looks like a prerequisite-task reference (e.g. "Defeat Barrows"). */
-	private static boolean isTaskPrerequisiteRequirement(String requirements)
-	{
-		if (requirements == null) return false;
-		for (String part : requirements.split(","))
-		{
-			String t = part != null ? part.trim().toLowerCase() : "";
-			if (t.startsWith("defeat "))
-				return true;
-		}
-		return false;
-	}
-
 	/** Unlocked content derived from World Unlock panel tiles. */
 	private static final class UnlockedContent
 	{
@@ -754,11 +910,14 @@ public class GlobalTaskListService
 		final Set<String> unlockedOrRevealedTileIds;
 		/** Unlocked achievement diary tier keys: "diaryKey_difficulty" (e.g. varrock_1, desert_2). Easy=1, medium=2, hard=3, elite=4. */
 		final Set<String> unlockedDiaryTierKeys;
+		/** Unlocked tile ids, read once per evaluation instead of per gate. */
+		final Set<String> unlockedIds;
 
 		UnlockedContent(Set<String> areas, Set<String> skills, Set<String> questRequirements,
 			Set<String> diaryRequirements, Set<String> bossRequirements, Set<String> allSkillNames,
-			Set<String> unlockedOrRevealedTileIds, Set<String> unlockedDiaryTierKeys)
+			Set<String> unlockedOrRevealedTileIds, Set<String> unlockedDiaryTierKeys, Set<String> unlockedIds)
 		{
+			this.unlockedIds = unlockedIds;
 			this.areas = areas;
 			this.skills = skills;
 			this.questRequirements = questRequirements;
@@ -777,7 +936,7 @@ public class GlobalTaskListService
 		}
 	}
 
-	private UnlockedContent buildUnlockedContent()
+	private UnlockedContent buildUnlockedContent(Set<String> unlockedIds)
 	{
 		Set<String> areas = new HashSet<>();
 		Set<String> skills = new HashSet<>();
@@ -791,7 +950,7 @@ public class GlobalTaskListService
 		{
 			TaskLink link = tile.getTaskLink();
 			String type = tile.getType();
-			boolean unlocked = worldUnlockService.getUnlockedIds().contains(tile.getId());
+			boolean unlocked = unlockedIds.contains(tile.getId());
 
 			if ("area".equals(type))
 			{
@@ -822,13 +981,17 @@ public class GlobalTaskListService
 		}
 
 		Set<String> unlockedDiaryTierKeys = worldUnlockService.getUnlockedDiaryTierKeys();
-		return new UnlockedContent(areas, skills, questReqs, diaryReqs, bossReqs, allSkillNames, unlockedOrRevealedTileIds, unlockedDiaryTierKeys);
+		return new UnlockedContent(areas, skills, questReqs, diaryReqs, bossReqs, allSkillNames, unlockedOrRevealedTileIds, unlockedDiaryTierKeys, unlockedIds);
 	}
 
 	/**
 	 * Builds the grid using lazy assignment: only assign a task to a cell when it is first revealed
 	 * (adjacent to a claimed cell). Center (0,0) is the anchor. Each task is used at most once (strict one-use).
 	 * Available tasks = no-area + unlocked World Unlock state only.
+	 * <p>
+	 * The result is kept in a {@link GlobalGridModel}: while the seed, catalog, grid state, claimed positions and tier
+	 * points are unchanged the cached tiles are returned, and after a claim only the newly revealed frontier cells are
+	 * resolved or assigned. The task pool is only computed, and config only written, when a cell needs a new task.
 	 */
 	public List<TaskTile> buildGlobalGrid(int reshuffleSeed)
 	{
@@ -844,19 +1007,19 @@ public class GlobalTaskListService
 			return out;
 		}
 
-		// 1. Available task pool: only no-area + unlocked World Unlock state
-		List<TaskDefinition> availableTasks = getAvailableTasksForGlobalGrid();
-		Map<String, TaskDefinition> taskByKey = new LinkedHashMap<>();
-		Set<String> seen = new HashSet<>();
-		for (TaskDefinition t : availableTasks)
+		TaskCatalog catalog = taskGridService.getTaskCatalog();
+		GlobalGridCells cells = loadGridCells();
+		int[] tierPoints = tierPoints();
+		GlobalGridModel model = globalGridModel;
+		boolean sameLayout = model != null && model.reshuffleSeed == reshuffleSeed && model.catalog == catalog
+			&& model.cells.sameLayout(cells);
+		if (sameLayout && model.complete && model.cells == cells && Arrays.equals(model.tierPoints, tierPoints))
 		{
-			String key = taskKey(t);
-			if (!key.isEmpty() && seen.add(key))
-				taskByKey.put(key, t);
+			out.addAll(model.tiles);
+			return out;
 		}
-		log.debug("[GlobalTask] buildGlobalGrid: available pool size {}", taskByKey.size());
 
-		if (taskByKey.isEmpty())
+		if (catalog.all().isEmpty())
 		{
 			log.warn("[GlobalTask] No tasks available; returning center only");
 			return out;
@@ -864,46 +1027,95 @@ public class GlobalTaskListService
 
 		try
 		{
-		// 2. Single grid state: position -> task key. Only add when a position is first revealed; never overwrite.
-		Map<String, String> gridState = new HashMap<>(loadGridState());
-		Set<String> claimedPositions = getClaimedPositions();
-		Map<String, TaskDefinition> allTasksByKeyFallback = new HashMap<>();
-		for (TaskDefinition t : taskGridService.getEffectiveDefaultTasks())
-		{
-			String k = taskKey(t);
-			if (!k.isEmpty() && !allTasksByKeyFallback.containsKey(k))
-				allTasksByKeyFallback.put(k, t);
-		}
+		// 1. Single grid state (cells): position -> task key. Only add when a position is first revealed; never overwrite.
 
-		// 3. Revealed = center + claimed + neighbors of claimed
-		Set<String> revealedPositions = new HashSet<>();
-		revealedPositions.add("0,0");
-		for (String claimed : claimedPositions)
-		{
-			revealedPositions.add(normalizePos(claimed));
-			revealedPositions.addAll(getNeighborPositions(claimed));
-		}
+		// 2. Revealed = center + claimed + neighbors of claimed
+		CoordSet revealedPositions = RevealLogic.revealedAround(cells.claimedCoords());
 
-		// 4. For each revealed position: if in gridState use it (resolve to def or placeholder). Else add to toAssign (first time revealed).
-		Map<String, TaskDefinition> atPosition = new HashMap<>();
-		List<String> toAssign = new ArrayList<>();
-		for (String pos : revealedPositions)
+		// 3. For each revealed position: reuse the model's task, else resolve the grid state entry, else add to toAssign (first time revealed).
+		CoordMap<TaskDefinition> assigned = new CoordMap<>(revealedPositions.size());
+		List<int[]> toAssignRc = new ArrayList<>();
+		for (int pos : revealedPositions.toArray())
 		{
-			if ("0,0".equals(pos)) continue;
-			String normPos = normalizePos(pos);
-			String taskKeyAtPos = gridState.get(normPos);
+			int r = GridCoord.row(pos), c = GridCoord.col(pos);
+			if (r == 0 && c == 0) continue;
+			TaskDefinition known = sameLayout ? model.assigned.get(pos) : null;
+			if (known != null)
+			{
+				assigned.put(pos, known);
+				continue;
+			}
+			String taskKeyAtPos = cells.taskKeyAt(r, c);
 			if (taskKeyAtPos != null)
 			{
-				TaskDefinition def = allTasksByKeyFallback.get(taskKeyAtPos);
-				if (def == null) def = taskByKey.get(taskKeyAtPos);
-				atPosition.put(pos, def != null ? def : placeholderTile());
+				TaskDefinition def = taskKeyAtPos.isEmpty() ? null : catalog.firstByKey(taskKeyAtPos);
+				assigned.put(pos, def != null ? def : placeholderTile());
 			}
 			else
-				toAssign.add(pos);
+				toAssignRc.add(new int[]{ r, c });
+		}
+
+		// 4. Assign only to toAssign (newly revealed, not in grid state); cells left without a task show a placeholder and are retried next build.
+		CoordMap<TaskDefinition> placeholders = new CoordMap<>();
+		if (!toAssignRc.isEmpty())
+		{
+			GlobalGridCells next = cells.copy();
+			if (!assignFrontier(reshuffleSeed, toAssignRc, next, catalog, assigned, placeholders))
+				return out;
+			// Frontier cells had no entry, so each assignment is one journal entry
+			List<String> entries = new ArrayList<>();
+			for (int[] rc : toAssignRc)
+			{
+				String tk = next.taskKeyAt(rc[0], rc[1]);
+				if (tk != null)
+					entries.add(GlobalGridCells.assignEntry(GridCoord.of(rc[0], rc[1]), tk));
+			}
+			if (!entries.isEmpty())
+				cells = appendGridJournal(next, entries);
+		}
+
+		// 5. Output: center + all revealed positions with task
+		List<TaskTile> tiles = globalGridTiles(assigned, placeholders, tierPoints);
+		globalGridModel = new GlobalGridModel(reshuffleSeed, catalog, cells, tierPoints, assigned, placeholders.isEmpty() && assigned.size() == revealedPositions.size() - 1, tiles);
+		out.addAll(tiles);
+		log.debug("[GlobalTask] buildGlobalGrid output: {} tiles (revealed+assigned), {} newly assigned", out.size(), toAssignRc.size());
+		}
+		catch (Exception e)
+		{
+			log.warn("[GlobalTask] buildGlobalGrid failed, returning center + placeholder", e);
+			TaskDefinition ph = placeholderTile();
+			out.add(new TaskTile(TaskTile.idFor(1, 0), 1, ph.getDisplayName(), pointsForTier(1), 1, 0,
+				ph.getTaskType(), null, true, null, null));
+		}
+		return out;
+	}
+
+	/**
+	 * Picks tasks for the newly revealed cells {@code toAssignRc} from the available pool and records them in
+	 * {@code cells} and {@code assigned}; cells the pool cannot fill go to {@code placeholders}. Writes the eligible
+	 * snapshot when the eligible set changed.
+	 * @return false if no tasks are available at all
+	 */
+	private boolean assignFrontier(int reshuffleSeed, List<int[]> toAssignRc, GlobalGridCells cells,
+		TaskCatalog catalog, CoordMap<TaskDefinition> assigned, CoordMap<TaskDefinition> placeholders)
+	{
+		// Available task pool: only no-area + unlocked World Unlock state
+		Map<String, TaskDefinition> taskByKey = new LinkedHashMap<>();
+		for (TaskDefinition t : getAvailableTasksForGlobalGrid())
+		{
+			String key = taskKey(t);
+			if (!key.isEmpty())
+				taskByKey.putIfAbsent(key, t);
+		}
+		log.debug("[GlobalTask] buildGlobalGrid: available pool size {}, {} cells to assign", taskByKey.size(), toAssignRc.size());
+		if (taskByKey.isEmpty())
+		{
+			log.warn("[GlobalTask] No tasks available; returning center only");
+			return false;
 		}
 
-		// 5. Available for new assignment = pool minus (task keys already in grid state) minus (claimed). One-use: when we add to grid we remove from pool.
-		Set<String> usedTaskKeys = new HashSet<>(gridState.values());
+		// Available for new assignment = pool minus (task keys already in grid state) minus (claimed). One-use: when we add to grid we remove from pool.
+		Set<String> usedTaskKeys = cells.taskKeys();
 		usedTaskKeys.addAll(loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED));
 		List<TaskDefinition> availableForNew = new ArrayList<>();
 		for (TaskDefinition t : taskByKey.values())
@@ -941,90 +1153,64 @@ public class GlobalTaskListService
 			.map(t -> t.getId())
 			.collect(Collectors.toSet());
 
-		List<TaskDefinition> assignmentPool = new ArrayList<>(newTasks.size() + oldTasks.size());
-		assignmentPool.addAll(newTasks);
-		assignmentPool.addAll(oldTasks);
+		List<TaskDefinition> remaining = new ArrayList<>(newTasks.size() + oldTasks.size());
+		remaining.addAll(newTasks);
+		remaining.addAll(oldTasks);
+		GlobalTaskSampler sampler = new GlobalTaskSampler(remaining, MAX_TIER, GlobalTaskListService::difficultyTier,
+			this::isCollectionLogDeprioritized, (t, clDown) -> taskWeightForCandidate(t, newlyEligibleKeys, unlockedAreaIds, clDown));
 
-		saveSet(GlobalTaskListStateKeys.KEY_GLOBAL_ELIGIBLE_SNAPSHOT, eligibleKeysNow);
+		if (!eligibleKeysNow.equals(eligibleSnapshot))
+			saveSet(GlobalTaskListStateKeys.KEY_GLOBAL_ELIGIBLE_SNAPSHOT, eligibleKeysNow);
 
-		// 6. Assign only to toAssign (newly revealed, not in grid state). Weighted random by ring difficulty, area/new boosts, CL downweight.
-		Comparator<int[]> byDistFromCenter = (a, b) -> {
-			int da = chebyshevDist(a[0], a[1], 0, 0);
-			int db = chebyshevDist(b[0], b[1], 0, 0);
-			if (da != db) return Integer.compare(da, db);
-			if (a[0] != b[0]) return Integer.compare(a[0], b[0]);
-			return Integer.compare(a[1], b[1]);
-		};
-		List<int[]> toAssignRc = new ArrayList<>();
-		for (String pos : toAssign)
-		{
-			int[] rc = parsePos(pos);
-			if (rc != null) toAssignRc.add(rc);
-		}
-		toAssignRc.sort(byDistFromCenter);
-
-		List<TaskDefinition> remaining = new ArrayList<>(assignmentPool);
+		// Weighted random from the lowest remaining difficulty tier (tier 1 is exhausted before tier 2+), with area/new
+		// boosts and the CL downweight; nearest cells first.
+		toAssignRc.sort(BY_DIST_FROM_CENTER);
 		Random rnd = new Random(reshuffleSeed);
-		for (int i = 0; i < toAssignRc.size() && !remaining.isEmpty(); i++)
-		{
-			int[] rc = toAssignRc.get(i);
-			String pos = rc[0] + "," + rc[1];
-			int ring = GridPos.ringNumber(rc[0], rc[1]);
-			TaskDefinition def = pickWeightedTaskForCell(remaining, ring, newlyEligibleKeys, unlockedAreaIds, rnd);
-			if (def != null)
-				remaining.remove(def);
-			if (def == null)
-				def = placeholderTile();
+		for (int[] rc : toAssignRc)
+		{
+			if (sampler.isEmpty()) break;
+			TaskDefinition def = sampler.pickAndRemove(rnd);
 			String tk = taskKey(def);
-			if (!"unknown".equals(tk))
+			if ("unknown".equals(tk))
 			{
-				gridState.put(pos, tk);
-				usedTaskKeys.add(tk);
+				placeholders.put(GridCoord.of(rc[0], rc[1]), def);
+				continue;
 			}
-			atPosition.put(pos, def);
+			cells.put(GridCoord.of(rc[0], rc[1]), tk);
+			TaskDefinition stored = catalog.firstByKey(tk);
+			assigned.put(GridCoord.of(rc[0], rc[1]), stored != null ? stored : def);
 		}
+		return true;
+	}
 
-		// 7. Persist single grid state
-		saveGridState(gridState);
-
-		// 8. Output: center + all revealed positions with task (from atPosition)
-		List<String> positionsToOutput = new ArrayList<>(atPosition.keySet());
-		positionsToOutput.sort((a, b) -> {
-			int[] ar = parsePos(a), br = parsePos(b);
-			if (ar == null || br == null) return 0;
-			return byDistFromCenter.compare(ar, br);
-		});
+	/** Center-less output tiles for the revealed cells, nearest first. */
+	private static List<TaskTile> globalGridTiles(CoordMap<TaskDefinition> assigned, CoordMap<TaskDefinition> placeholders,
+		int[] tierPoints)
+	{
+		List<int[]> positions = new ArrayList<>(assigned.size() + placeholders.size());
+		for (int pos : assigned.keys())
+			positions.add(new int[]{ GridCoord.row(pos), GridCoord.col(pos) });
+		for (int pos : placeholders.keys())
+			positions.add(new int[]{ GridCoord.row(pos), GridCoord.col(pos) });
+		positions.sort(BY_DIST_FROM_CENTER);
 
-		for (String posStr : positionsToOutput)
+		List<TaskTile> tiles = new ArrayList<>(positions.size());
+		for (int[] rc : positions)
 		{
-			if ("0,0".equals(posStr)) continue;
-			int[] rc = parsePos(posStr);
-			if (rc == null) continue;
-			TaskDefinition def = atPosition.get(posStr);
-			if (def == null) def = placeholderTile();
 			int r = rc[0], c = rc[1];
+			TaskDefinition def = assigned.get(r, c);
+			if (def == null) def = placeholders.get(r, c);
 			String id = TaskTile.idFor(r, c);
 			int difficulty = Math.max(1, Math.min(MAX_TIER, def.getDifficulty()));
-			int points = pointsForTier(difficulty);
 			String displayName = def.getDisplayName() != null ? def.getDisplayName() : id;
-			out.add(new TaskTile(id, difficulty, displayName, points, r, c,
+			tiles.add(new TaskTile(id, difficulty, displayName, tierPoints[difficulty], r, c,
 				def.getTaskType(),
 				def.getRequiredAreaIds().isEmpty() ? null : new ArrayList<>(def.getRequiredAreaIds()),
 				!def.isAreaRequirementAny(),
 				def.getRequirements(),
 				def.getBossId()));
 		}
-
-		log.debug("[GlobalTask] buildGlobalGrid output: {} tiles (revealed+assigned)", out.size());
-		}
-		catch (Exception e)
-		{
-			log.warn("[GlobalTask] buildGlobalGrid failed, returning center + placeholder", e);
-			TaskDefinition ph = placeholderTile();
-			out.add(new TaskTile(TaskTile.idFor(1, 0), 1, ph.getDisplayName(), pointsForTier(1), 1, 0,
-				ph.getTaskType(), null, true, null, null));
-		}
-		return out;
+		return Collections.unmodifiableList(tiles);
 	}
 
 	private static boolean isAdjacentToAny(String pos, Set<String> positions)
@@ -1052,13 +1238,6 @@ public class GlobalTaskListService
 
 	private static int chebyshevDist(int r1, int c1, int r2, int c2) { return GridPos.chebyshevDist(r1, c1, r2, c2); }
 
-	/** Keys must be composite "taskKey|||pos"; reject position-as-key entries (e.g. "1,0") that would show coords as task name. */
-	private static boolean isPositionLike(String keyOrPos)
-	{
-		if (keyOrPos == null) return true;
-		return keyOrPos.trim().matches("-?\\d+\\s*,\\s*-?\\d+");
-	}
-
 	/** Tier 1 task with no area; used when a stored assignment cannot be resolved or on error. Never reassign. */
 	private static TaskDefinition placeholderTile()
 	{
@@ -1069,76 +1248,69 @@ public class GlobalTaskListService
 		return p;
 	}
 
-	/** Canonical position string "r,c" (no spaces) so load/store and comparisons match. */
-	private static String normalizePos(String pos)
+	/**
+	 * The persisted grid state and claimed positions as {@link GlobalGridCells}, shared read-only. Parsed again only
+	 * when one of the persisted values changed since the last load or save.
+	 */
+	private GlobalGridCells loadGridCells()
 	{
-		return GridPos.normalize(pos);
+		String gridStateRaw = gridStateRaw();
+		String claimedPositionsRaw = claimedPositionsRaw();
+		String journalRaw = gridJournalRaw();
+		boolean centerClaimed = isCenterClaimed();
+		GlobalGridCells cached = gridCells;
+		if (cached != null && cached.isFrom(gridStateRaw, claimedPositionsRaw, journalRaw, centerClaimed))
+			return cached;
+		cached = GlobalGridCells.parse(gridStateRaw, claimedPositionsRaw, journalRaw, centerClaimed);
+		gridCells = cached;
+		return cached;
 	}
 
-	/**
-	 * Loads the single grid state: normalized position -> task key.
-	 * Add to this map only when a position is first revealed (adjacent claimed); never overwrite.
-	 * Supports new format "pos##taskKey" and legacy "taskKey|||pos::pos".
-	 */
-	private Map<String, String> loadGridState()
+	/** Persisted grid state string, or "" if unset. */
+	private String gridStateRaw()
 	{
 		String raw = configManager.getConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_TASK_POSITIONS);
-		Map<String, String> gridState = new HashMap<>();
-		if (raw == null || raw.isEmpty()) return gridState;
-		Pattern entrySplit = Pattern.compile("\\|\\|(?!\\|)");
-		for (String entry : entrySplit.split(raw))
-		{
-			entry = entry.trim();
-			if (entry.isEmpty()) continue;
-			// New format: pos##taskKey (position is key in map)
-			if (entry.contains(GRID_STATE_SEP))
-			{
-				int i = entry.indexOf(GRID_STATE_SEP);
-				String pos = entry.substring(0, i).trim();
-				String taskKey = entry.substring(i + GRID_STATE_SEP.length()).trim().toLowerCase();
-				if (!pos.isEmpty() && !taskKey.isEmpty() && !isPositionLike(taskKey))
-					gridState.put(normalizePos(pos), taskKey);
-				continue;
-			}
-			// Legacy: taskKey|||pos::pos
-			int lastSep = entry.lastIndexOf(POS_KV_SEP);
-			if (lastSep < 0) continue;
-			String key = entry.substring(0, lastSep).trim();
-			String posVal = entry.substring(lastSep + POS_KV_SEP.length()).trim();
-			if (!key.contains(COMPOSITE_SEP) || isPositionLike(key) || posVal.isEmpty()) continue;
-			String tk = key.substring(0, key.indexOf(COMPOSITE_SEP)).trim().toLowerCase();
-			if (!tk.isEmpty() && !isPositionLike(tk))
-				gridState.put(normalizePos(posVal), tk);
-		}
-		return gridState;
+		return raw != null ? raw : "";
 	}
 
-	/** Saves grid state: one entry per position as "pos##taskKey". */
-	private void saveGridState(Map<String, String> gridState)
+	/** Persisted grid journal, or "" if unset. */
+	private String gridJournalRaw()
 	{
-		List<String> parts = new ArrayList<>();
-		for (Map.Entry<String, String> e : gridState.entrySet())
-		{
-			String pos = e.getKey();
-			String taskKey = e.getValue();
-			if (pos != null && !pos.isEmpty() && taskKey != null && !taskKey.isEmpty() && !isPositionLike(taskKey))
-				parts.add(pos + GRID_STATE_SEP + taskKey);
-		}
-		configManager.setConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_TASK_POSITIONS, String.join(POS_ENTRY_SEP, parts));
+		String raw = configManager.getConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_GRID_JOURNAL);
+		return raw != null ? raw : "";
+	}
+
+	/**
+	 * Persists the changes {@code entries} describe (made on {@code cells}, a copy of the loaded cells) by appending
+	 * them to the grid journal, so a claim or a newly revealed cell writes a few bytes instead of the whole grid; once
+	 * the journal is long it is compacted instead. Returns the saved cells, now cached.
+	 */
+	private GlobalGridCells appendGridJournal(GlobalGridCells cells, List<String> entries)
+	{
+		if (cells.journalEntries + entries.size() > GRID_JOURNAL_COMPACT_ENTRIES)
+			return compactGrid(cells);
+		String journal = GlobalGridCells.appendJournal(cells.journalRaw, entries);
+		configManager.setConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_GRID_JOURNAL, journal);
+		GlobalGridCells saved = cells.persistedAs(cells.gridStateRaw, cells.claimedPositionsRaw, journal,
+			cells.journalEntries + entries.size());
+		gridCells = saved;
+		return saved;
 	}
 
-	/** Returns all positions in grid state that have the given task key. */
-	private static List<String> getPositionsForTaskKey(Map<String, String> gridState, String taskKey)
+	/**
+	 * Saves {@code cells} as the grid state ("pos##taskKey" entries) and claimed positions and clears the journal.
+	 * Returns the saved cells, now cached.
+	 */
+	private GlobalGridCells compactGrid(GlobalGridCells cells)
 	{
-		List<String> out = new ArrayList<>();
-		if (taskKey == null || gridState == null) return out;
-		String normKey = taskKey.trim().toLowerCase();
-		for (Map.Entry<String, String> e : gridState.entrySet())
-		{
-			if (normKey.equals(e.getValue()))
-				out.add(e.getKey());
-		}
-		return out;
+		String gridStateRaw = cells.gridStateString();
+		String claimedRaw = cells.claimedPositionsString();
+		configManager.setConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_TASK_POSITIONS, gridStateRaw);
+		configManager.setConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED_POSITIONS, claimedRaw);
+		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_GRID_JOURNAL);
+		GlobalGridCells saved = cells.persistedAs(gridStateRaw, claimedRaw, "", 0);
+		gridCells = saved;
+		return saved;
 	}
 
 	/** Returns the pseudo-center position (e.g. "0,0" or last claimed). Defaults to "0,0" if null. */
@@ -1271,30 +1443,16 @@ public class GlobalTaskListService
 	{
 		if (taskKey == null || taskKey.isEmpty())
 			return null;
-		for (TaskDefinition def : taskGridService.getEffectiveDefaultTasks())
-		{
-			if (taskKey.equals(taskKey(def)))
-				return def;
-		}
-		return null;
+		return taskGridService.getTaskCatalog().firstByKey(taskKey);
 	}
 
 	/**
-	 * One map for batch hub/grid UI: normalized task key → definition.
-	 * Call once per rebuild, not per tile.
+	 * One map for batch hub/grid UI: normalized task key → definition (first task with that key, matching
+	 * {@link #findTaskDefinitionForKey}). Shared catalog index; unmodifiable.
 	 */
 	public Map<String, TaskDefinition> buildTaskDefinitionIndex()
 	{
-		Map<String, TaskDefinition> m = new HashMap<>();
-		List<TaskDefinition> list = taskGridService.getEffectiveDefaultTasks();
-		if (list == null)
-			return m;
-		for (TaskDefinition d : list)
-		{
-			if (d != null)
-				m.put(taskKey(d), d);
-		}
-		return m;
+		return taskGridService.getTaskCatalog().firstByKeyIndex();
 	}
 
 	/** Positions with a hub bookmark, as {@code "row,col"} keys (single config read per caller). */
@@ -1333,97 +1491,70 @@ public class GlobalTaskListService
 	 * Positions considered "revealed" for layout (center + claimed positions + cardinal neighbors of claimed).
 	 * Used for frontier fog: cells not in this set but adjacent to revealed-unclaimed tiles show fog.
 	 */
-	public Set<String> getRevealedPositionSet()
+	public CoordSet getRevealedCoordSet()
 	{
-		Set<String> revealedPositions = new HashSet<>();
-		revealedPositions.add("0,0");
-		Set<String> claimedPositions = getClaimedPositions();
-		for (String claimed : claimedPositions)
-		{
-			revealedPositions.add(normalizePos(claimed));
-			revealedPositions.addAll(getNeighborPositions(claimed));
-		}
-		return revealedPositions;
+		return RevealLogic.revealedAround(loadGridCells().claimedCoords());
 	}
 
 	/**
 	 * Returns the state of a tile in the global task grid.
 	 * Center tile is always revealed; other tiles are revealed when a cardinal neighbor is claimed.
+	 * Constant time while {@code grid} and the persisted state are unchanged; callers checking many tiles can hold a
+	 * {@link #getGlobalStateSnapshot(List)} instead.
 	 */
 	public TaskState getGlobalState(String tileId, List<TaskTile> grid)
 	{
-		// Center (0,0) is always shown: CLAIMED if claimed, else COMPLETED_UNCLAIMED (click to claim)
-		boolean isCenter = "0,0".equals(tileId);
-		if (isCenter)
-		{
-			if (isCenterClaimed()) return TaskState.CLAIMED;
-			return TaskState.COMPLETED_UNCLAIMED;
-		}
-
-		// Find tile in grid
-		TaskTile tile = null;
-		for (TaskTile t : grid)
-		{
-			if (t.getId().equals(tileId))
-			{
-				tile = t;
-				break;
-			}
-		}
-		if (tile == null) return TaskState.LOCKED;
-
-		Set<String> claimedPositions = getClaimedPositions();
-		// CLAIMED only at the specific position the user claimed (not every tile with the same task)
-		if (claimedPositions.contains(tileId)) return TaskState.CLAIMED;
-		// Completed-but-unclaimed only when this task is done and not yet claimed (anywhere)
-		String key = taskKeyFromName(tile.getDisplayName());
-		if (isCompleted(key) && !isClaimed(key)) return TaskState.COMPLETED_UNCLAIMED;
-
-		// Revealed if any cardinal neighbor position is claimed (same logic as Area Task grid)
-		if (isRevealedGlobal(tile, claimedPositions)) return TaskState.REVEALED;
-		return TaskState.LOCKED;
+		return getGlobalStateSnapshot(grid).stateOf(tileId);
 	}
 
 	/**
-	 * Same reveal logic as Area Task grid (TaskGridService.isRevealed):
-	 * tile is revealed if any cardinal neighbor position is in the claimed set.
-	 * Uses position-based claiming (not task-key) so it works for infinite rings.
+	 * Tile states of {@code grid} against the current persisted state. Reused while the grid list (by identity) and the
+	 * persisted claims and completions are unchanged.
 	 */
-	private boolean isRevealedGlobal(TaskTile tile, Set<String> claimedPositions)
+	public GlobalStateSnapshot getGlobalStateSnapshot(List<TaskTile> grid)
 	{
-		return RevealLogic.revealedByClaimedTaskIds(tile.getRow(), tile.getCol(), claimedPositions);
+		GlobalGridCells cells = loadGridCells();
+		Set<String> completed = setView(GlobalTaskListStateKeys.KEY_GLOBAL_COMPLETED);
+		Set<String> claimed = setView(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED);
+		GlobalStateSnapshot snapshot = globalStateSnapshot;
+		if (snapshot != null && snapshot.grid == grid && snapshot.cells == cells && snapshot.completed == completed
+			&& snapshot.claimed == claimed)
+			return snapshot;
+		snapshot = new GlobalStateSnapshot(grid, cells, completed, claimed);
+		globalStateSnapshot = snapshot;
+		return snapshot;
 	}
 
-	/** Returns claimed grid positions: center (if claimed) + explicitly stored claimed positions. */
-	private Set<String> getClaimedPositions()
+	/** Persisted claimed-positions string, or "" if unset. */
+	private String claimedPositionsRaw()
 	{
-		Set<String> claimed = new HashSet<>();
-		if (isCenterClaimed())
-			claimed.add("0,0");
-		claimed.addAll(loadClaimedPositions());
-		return claimed;
+		String raw = configManager.getConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED_POSITIONS);
+		return raw != null ? raw : "";
 	}
 
-	/** Loads the set of grid positions (row,col) that have been claimed (for reveal logic). */
-	private Set<String> loadClaimedPositions()
-	{
-		String raw = configManager.getConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED_POSITIONS);
-		Set<String> set = new HashSet<>();
-		if (raw != null && !raw.isEmpty())
-		{
-			for (String pos : raw.split(Pattern.quote(CLAIMED_POS_SEP)))
+	/**
+	 * Claimed and task-holding cells per Chebyshev ring of {@code cells}. Reused while the cells are unchanged; a claim
+	 * advances the counters instead of recounting.
+	 */
+	private RingClaimCounts ringClaimCounts(GlobalGridCells cells)
+	{
+		RingClaimCounts cached = ringClaimCounts;
+		if (cached != null && cached.source == cells) return cached;
+		int[][] counts = { new int[1], new int[1] };
+		cells.forEachCell((row, col, isClaimed) -> {
+			int ring = GridPos.ringNumber(row, col);
+			if (ring >= counts[0].length)
 			{
-				String p = pos.trim();
-				if (!p.isEmpty()) set.add(p);
+				int length = Math.max(ring + 1, counts[0].length * 2);
+				counts[0] = Arrays.copyOf(counts[0], length);
+				counts[1] = Arrays.copyOf(counts[1], length);
 			}
-		}
-		return set;
-	}
-
-	private void saveClaimedPositions(Set<String> positions)
-	{
-		configManager.setConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED_POSITIONS,
-			String.join(CLAIMED_POS_SEP, positions));
+			if (isClaimed) counts[0][ring]++;
+			counts[1][ring]++;
+		});
+		cached = new RingClaimCounts(cells, counts[0], counts[1]);
+		ringClaimCounts = cached;
+		return cached;
 	}
 
 	public boolean isCenterClaimed()
@@ -1443,9 +1574,8 @@ public class GlobalTaskListService
 	{
 		// Persist center as claimed
 		configManager.setConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_CENTER_CLAIMED, "true");
-		Set<String> claimedPos = loadClaimedPositions();
-		claimedPos.add("0,0");
-		saveClaimedPositions(claimedPos);
+		int center = GridCoord.of(0, 0);
+		appendGridJournal(loadGridCells(), Collections.singletonList(GlobalGridCells.claimEntry(center)));
 		savePseudoCenter("0,0");
 		removeTaskHubBookmark(0, 0);
 		// Auto-unlock the starter world tile (e.g. Lumbridge) so getGlobalTasks returns area tasks for adjacent slots
@@ -1489,8 +1619,8 @@ public class GlobalTaskListService
 
 		Set<String> completed = loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_COMPLETED);
 		Set<String> claimed = loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED);
-		Set<String> claimedPos = loadClaimedPositions();
-		Map<String, String> gridState = loadGridState();
+		GlobalGridCells cells = loadGridCells().copy();
+		List<String> replaced = new ArrayList<>();
 		Set<String> seenKeys = new HashSet<>();
 		boolean changed = false;
 
@@ -1509,12 +1639,14 @@ public class GlobalTaskListService
 				changed = true;
 			if (claimed.remove(key))
 				changed = true;
-			for (String pos : new ArrayList<>(getPositionsForTaskKey(gridState, key)))
+			for (int pos : cells.positionsOf(key))
 			{
-				String norm = normalizePos(pos);
-				String prev = gridState.put(norm, placeholderKey);
+				String prev = cells.put(pos, placeholderKey);
 				if (prev == null || !placeholderKey.equals(prev))
+				{
+					replaced.add(GlobalGridCells.assignEntry(pos, placeholderKey));
 					changed = true;
+				}
 			}
 		}
 
@@ -1522,19 +1654,19 @@ public class GlobalTaskListService
 		{
 			saveSet(GlobalTaskListStateKeys.KEY_GLOBAL_COMPLETED, completed);
 			saveSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED, claimed);
-			saveClaimedPositions(claimedPos);
-			saveGridState(gridState);
+			if (!replaced.isEmpty())
+				appendGridJournal(cells, replaced);
 		}
 	}
 
 	public boolean isCompleted(String taskKey)
 	{
-		return loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_COMPLETED).contains(taskKey);
+		return setView(GlobalTaskListStateKeys.KEY_GLOBAL_COMPLETED).contains(taskKey);
 	}
 
 	public boolean isClaimed(String taskKey)
 	{
-		return loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED).contains(taskKey);
+		return setView(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED).contains(taskKey);
 	}
 
 	/** Marks a task as completed (e.g. by auto-completion). Does not award points. */
@@ -1545,6 +1677,29 @@ public class GlobalTaskListService
 		saveSet(GlobalTaskListStateKeys.KEY_GLOBAL_COMPLETED, completed);
 	}
 
+	/**
+	 * Marks the task completed if it is placed on a revealed, unclaimed cell of the global grid and not already
+	 * completed or claimed. Used by automatic completion.
+	 *
+	 * @return true if the task was marked completed
+	 */
+	public boolean completeIfRevealed(String taskKey)
+	{
+		if (isCompleted(taskKey) || isClaimed(taskKey)) return false;
+		GlobalGridCells cells = loadGridCells();
+		for (int coord : cells.positionsOf(taskKey))
+		{
+			int r = GridCoord.row(coord), c = GridCoord.col(coord);
+			if (cells.isClaimed(r, c)) continue;
+			if (cells.isRevealed(r, c))
+			{
+				setCompleted(taskKey);
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/** Returns the points awarded when a task of the given difficulty is claimed. */
 	public int getPointsForDifficulty(int difficulty)
 	{
@@ -1585,21 +1740,28 @@ public class GlobalTaskListService
 		saveSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED, claimed);
 		removeTaskHubBookmarksForTaskKey(taskKey);
 
-		// Persist claimed position only when known so getClaimedPositions() reveals adjacent tiles
+		// Persist claimed position only when known so the grid cells reveal adjacent tiles
 		boolean positionKnown = (row != UNKNOWN_POS || col != UNKNOWN_POS);
 		if (positionKnown)
 		{
 			String pos = row + "," + col;
-			Set<String> claimedPos = loadClaimedPositions();
-			claimedPos.add(pos);
-			saveClaimedPositions(claimedPos);
+			GlobalGridCells before = loadGridCells();
+			if (!before.isClaimed(row, col))
+			{
+				int coord = GridCoord.of(row, col);
+				GlobalGridCells after = appendGridJournal(before.withClaim(coord),
+					Collections.singletonList(GlobalGridCells.claimEntry(coord)));
+				RingClaimCounts counts = ringClaimCounts;
+				if (counts != null && counts.source == before)
+					ringClaimCounts = counts.withClaim(after, GridPos.ringNumber(row, col), before.taskKeyAt(coord) != null);
+			}
 			savePseudoCenter(pos);
 		}
 		else
 		{
-			List<String> positions = getPositionsForTaskKey(loadGridState(), taskKey);
-			if (!positions.isEmpty())
-				savePseudoCenter(positions.get(0));
+			int[] positions = loadGridCells().positionsOf(taskKey);
+			if (positions.length > 0)
+				savePseudoCenter(GridCoord.toId(positions[0]));
 		}
 		if (points > 0)
 		{
@@ -1613,7 +1775,10 @@ public class GlobalTaskListService
 
 	/**
 	 * When every tile in a Chebyshev ring is claimed on the global grid, awards
-	 * {@code min(ring × pointsForTier(mode difficulty), RING_BONUS_CAP)}.
+	 * {@code min(ring × pointsForTier(mode difficulty), RING_BONUS_CAP)}. Only cells that hold a task count: cells the
+	 * pool ran out for can never be claimed. Checked against per-ring counters; the global grid is only rebuilt (to give
+	 * cells this claim revealed their task) when the ring has empty cells and looks complete, and the ring's tasks
+	 * are only resolved once it is complete.
 	 * @return bonus points awarded, or 0
 	 */
 	private int maybeAwardGlobalRingBonus(int row, int col)
@@ -1621,20 +1786,35 @@ public class GlobalTaskListService
 		int ring = GridPos.ringNumber(row, col);
 		if (ring <= 0) return 0;
 
+		GlobalGridCells cells = loadGridCells();
+		RingClaimCounts counts = ringClaimCounts(cells);
+		if (counts.claimedInRing(ring) < counts.cellsInRing(ring)) return 0;
+
 		Set<String> ringBonusDone = loadGlobalRingBonusSet();
 		if (ringBonusDone.contains(Integer.toString(ring))) return 0;
 
-		List<TaskTile> grid = buildGlobalGrid(getOrCreateLayoutSeed());
-		List<TaskTile> inRing = grid.stream()
-			.filter(t -> GridPos.ringNumber(t.getRow(), t.getCol()) == ring)
-			.collect(Collectors.toList());
-		if (inRing.isEmpty()) return 0;
+		if (counts.claimedInRing(ring) < 8 * ring)
+		{
+			buildGlobalGrid(getOrCreateLayoutSeed());
+			cells = loadGridCells();
+			counts = ringClaimCounts(cells);
+			if (counts.claimedInRing(ring) < counts.cellsInRing(ring)) return 0;
+		}
 
-		Set<String> claimed = loadSet(GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED);
-		for (TaskTile t : inRing)
+		TaskCatalog catalog = taskGridService.getTaskCatalog();
+		List<TaskTile> inRing = new ArrayList<>(8 * ring);
+		for (int r = -ring; r <= ring; r++)
 		{
-			String k = taskKeyFromName(t.getDisplayName());
-			if (k.isEmpty() || !claimed.contains(k)) return 0;
+			for (int c = -ring; c <= ring; c++)
+			{
+				if (GridPos.ringNumber(r, c) != ring) continue;
+				String key = cells.taskKeyAt(r, c);
+				if (key == null && !cells.isClaimed(r, c)) continue;
+				TaskDefinition def = key != null && !key.isEmpty() ? catalog.firstByKey(key) : null;
+				int difficulty = def != null ? Math.max(1, Math.min(MAX_TIER, def.getDifficulty())) : 1;
+				inRing.add(TaskTile.of(TaskTile.idFor(r, c), difficulty, def != null ? def.getDisplayName() : "Unknown",
+					pointsForTier(difficulty), r, c));
+			}
 		}
 
 		int modeTier = modeDifficultyTierFromTiles(inRing);
@@ -1719,11 +1899,31 @@ public class GlobalTaskListService
 		}
 	}
 
+	/** Points per tier, indexed 0..{@link #MAX_TIER}. */
+	private int[] tierPoints()
+	{
+		int[] points = new int[MAX_TIER + 1];
+		for (int tier = 0; tier <= MAX_TIER; tier++)
+			points[tier] = pointsForTier(tier);
+		return points;
+	}
+
+	/** Mutable copy of a persisted key set. */
 	private Set<String> loadSet(String key)
+	{
+		return new HashSet<>(setView(key));
+	}
+
+	/** Read-only view of a persisted key set, parsed again only when the stored string changed. */
+	private Set<String> setView(String key)
 	{
 		String raw = configManager.getConfiguration(STATE_GROUP, key);
+		if (raw == null) raw = "";
+		ParsedSet cached = parsedSets.get(key);
+		if (cached != null && cached.raw.equals(raw))
+			return cached.set;
 		Set<String> set = new HashSet<>();
-		if (raw != null && !raw.isEmpty())
+		if (!raw.isEmpty())
 		{
 			for (String id : raw.split("\\" + ID_SEP))
 			{
@@ -1731,13 +1931,16 @@ public class GlobalTaskListService
 				if (!tid.isEmpty()) set.add(tid);
 			}
 		}
-		return set;
+		cached = new ParsedSet(raw, set);
+		parsedSets.put(key, cached);
+		return cached.set;
 	}
 
 	private void saveSet(String key, Set<String> set)
 	{
 		String value = String.join(ID_SEP, set);
 		configManager.setConfiguration(STATE_GROUP, key, value);
+		parsedSets.put(key, new ParsedSet(value, new HashSet<>(set)));
 	}
 
 	/** Clears global task completed and claimed state (e.g. on reset). */
@@ -1748,6 +1951,7 @@ public class GlobalTaskListService
 		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_CENTER_CLAIMED);
 		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_CLAIMED_POSITIONS);
 		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_TASK_POSITIONS);
+		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_GRID_JOURNAL);
 		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_PSEUDO_CENTER);
 		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_LAST_VIEWED);
 		configManager.unsetConfiguration(STATE_GROUP, GlobalTaskListStateKeys.KEY_GLOBAL_RING_BONUS);
@@ -16,6 +16,8 @@ public final class GlobalTaskListStateKeys
 	public static final String KEY_GLOBAL_PSEUDO_CENTER = "globalTaskProgress_pseudoCenter";
 	public static final String KEY_GLOBAL_LAST_VIEWED = "globalTaskProgress_lastViewed";
 	public static final String KEY_GLOBAL_CLAIMED_POSITIONS = "globalTaskProgress_claimedPositions";
+	/** Assignments and claims since {@link #KEY_GLOBAL_TASK_POSITIONS} and {@link #KEY_GLOBAL_CLAIMED_POSITIONS} were last written. */
+	public static final String KEY_GLOBAL_GRID_JOURNAL = "globalTaskProgress_gridJournal";
 	public static final String KEY_GLOBAL_RING_BONUS = "globalTaskProgress_ringBonus";
 	public static final String KEY_GLOBAL_LAYOUT_SEED = "globalTaskProgress_layoutSeed";
 	public static final String KEY_GLOBAL_TASK_HUB_BOOKMARKS = "globalTaskProgress_taskHubBookmarks";
@@ -0,0 +1,241 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.task.TaskCatalog;
+import com.gridscape.task.TaskDefinition;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Live eligible task pool for the Global Task panel. Every gated candidate is compiled once (per task catalog) into the
+ * unlock tiles, claimed task keys and prerequisite task keys its gates read, with reverse indices from each of those to
+ * the dependent candidates. When tiles are unlocked or tasks claimed only the dependents are re-evaluated; a task key
+ * entering or leaving the pool re-evaluates the later candidates that name it as a prerequisite or share its key.
+ * Anything that shrinks the inputs (reset, unclaim) falls back to a full ordered rebuild.
+ * <p>
+ * A candidate only sees explicit tasks and candidates ranked before it (see {@link #evaluate}), both when rebuilding
+ * and when updating, so an update always ends in the pool a rebuild of the same inputs produces.
+ * <p>
+ * Not thread-safe; {@link GlobalTaskListService} guards it.
+ */
+final class GlobalTaskPool
+{
+	/** Gate for one candidate. {@code inPool} returns the pooled task for a key, or null. */
+	interface Gate
+	{
+		boolean test(TaskDefinition task, Function<String, TaskDefinition> inPool);
+	}
+
+	/** What one candidate's gates read; see {@link GlobalTaskListService}. */
+	static final class Dependencies
+	{
+		/** Unlock tile ids whose unlocked state can change the result. */
+		final Set<String> tileIds = new HashSet<>();
+		/** Task keys whose presence in the pool can change the result. */
+		final Set<String> taskKeys = new HashSet<>();
+		/** Task keys whose claimed state can change the result. */
+		final Set<String> claimedKeys = new HashSet<>();
+	}
+
+	final TaskCatalog catalog;
+	/** Gated candidates in evaluation order (non-killCount catalog order, then killCount by difficulty). */
+	private final List<TaskDefinition> candidates;
+	private final String[] keys;
+	private final Map<String, int[]> byTile;
+	private final Map<String, int[]> byTaskKey;
+	private final Map<String, int[]> byClaimedKey;
+	/** Candidate indices per key, in order. */
+	private final Map<String, int[]> ranksByKey;
+
+	private final BitSet eligible;
+	/** Eligible candidates per key. */
+	private final Map<String, Integer> eligibleCount = new HashMap<>();
+	/** Tasks listed by unlocked taskDisplayNames tiles; always in the pool, ahead of gated ones. */
+	private final LinkedHashMap<String, TaskDefinition> explicit = new LinkedHashMap<>();
+	private Set<String> unlockedIds;
+	private Set<String> claimedKeys;
+	private List<TaskDefinition> tasks;
+
+	GlobalTaskPool(TaskCatalog catalog, List<TaskDefinition> candidates, List<Dependencies> dependencies)
+	{
+		this.catalog = catalog;
+		this.candidates = candidates;
+		int n = candidates.size();
+		keys = new String[n];
+		Map<String, List<Integer>> tiles = new HashMap<>();
+		Map<String, List<Integer>> taskKeys = new HashMap<>();
+		Map<String, List<Integer>> claimed = new HashMap<>();
+		Map<String, List<Integer>> ranks = new HashMap<>();
+		for (int i = 0; i < n; i++)
+		{
+			keys[i] = TaskCatalog.keyOf(candidates.get(i));
+			ranks.computeIfAbsent(keys[i], k -> new ArrayList<>()).add(i);
+			Dependencies d = dependencies.get(i);
+			for (String id : d.tileIds)
+				tiles.computeIfAbsent(id, k -> new ArrayList<>()).add(i);
+			for (String key : d.taskKeys)
+				taskKeys.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+			for (String key : d.claimedKeys)
+				claimed.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+		}
+		byTile = toArrays(tiles);
+		byTaskKey = toArrays(taskKeys);
+		byClaimedKey = toArrays(claimed);
+		ranksByKey = toArrays(ranks);
+		eligible = new BitSet(n);
+	}
+
+	private static Map<String, int[]> toArrays(Map<String, List<Integer>> lists)
+	{
+		Map<String, int[]> out = new HashMap<>(lists.size() * 2);
+		for (Map.Entry<String, List<Integer>> e : lists.entrySet())
+			out.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+		return out;
+	}
+
+	int size()
+	{
+		return candidates.size();
+	}
+
+	/** Unlocked tile ids the pool was last built for; empty before the first build. */
+	Set<String> unlockedIdsOrEmpty()
+	{
+		return unlockedIds != null ? unlockedIds : Collections.emptySet();
+	}
+
+	/** True if the pool was built for exactly these unlocked tiles and claimed keys. */
+	boolean isCurrent(Set<String> unlockedIds, Set<String> claimedKeys)
+	{
+		return this.unlockedIds != null && this.unlockedIds.equals(unlockedIds) && this.claimedKeys.equals(claimedKeys);
+	}
+
+	/** Rebuilds from scratch in evaluation order: explicit tasks first, then each candidate by {@link #evaluate}. */
+	void rebuild(Set<String> unlockedIds, Set<String> claimedKeys, Map<String, TaskDefinition> explicitTasks, Gate gate)
+	{
+		eligible.clear();
+		eligibleCount.clear();
+		explicit.clear();
+		explicit.putAll(explicitTasks);
+		for (int i = 0; i < keys.length; i++)
+		{
+			if (evaluate(i, gate))
+				setEligible(i, true);
+		}
+		this.unlockedIds = new HashSet<>(unlockedIds);
+		this.claimedKeys = new HashSet<>(claimedKeys);
+		tasks = null;
+	}
+
+	/**
+	 * Applies newly unlocked tiles and newly claimed keys by re-evaluating only the dependent candidates. Candidates are
+	 * re-evaluated in rank order and a change only queues later ones, so each is tested at most once.
+	 * @param addedExplicit explicit tasks listed by the newly unlocked tiles
+	 * @return false if the change cannot be applied incrementally (first build, removed tiles or claims); the caller
+	 * then calls {@link #rebuild}
+	 */
+	boolean update(Set<String> unlockedIds, Set<String> claimedKeys, Map<String, TaskDefinition> addedExplicit, Gate gate)
+	{
+		if (this.unlockedIds == null || !unlockedIds.containsAll(this.unlockedIds) || !claimedKeys.containsAll(this.claimedKeys))
+			return false;
+		BitSet work = new BitSet(keys.length);
+		for (String id : unlockedIds)
+		{
+			if (!this.unlockedIds.contains(id))
+				enqueue(byTile.get(id), work, -1);
+		}
+		for (String key : claimedKeys)
+		{
+			if (!this.claimedKeys.contains(key))
+				enqueue(byClaimedKey.get(key), work, -1);
+		}
+		for (Map.Entry<String, TaskDefinition> e : addedExplicit.entrySet())
+		{
+			if (explicit.putIfAbsent(e.getKey(), e.getValue()) == null)
+			{
+				enqueue(byTaskKey.get(e.getKey()), work, -1);
+				enqueue(ranksByKey.get(e.getKey()), work, -1);
+			}
+		}
+
+		for (int i = work.nextSetBit(0); i >= 0; i = work.nextSetBit(i + 1))
+		{
+			boolean now = evaluate(i, gate);
+			if (now == eligible.get(i)) continue;
+			setEligible(i, now);
+			enqueue(byTaskKey.get(keys[i]), work, i);
+			enqueue(ranksByKey.get(keys[i]), work, i);
+		}
+		this.unlockedIds = new HashSet<>(unlockedIds);
+		this.claimedKeys = new HashSet<>(claimedKeys);
+		tasks = null;
+		return true;
+	}
+
+	/** The pool: explicit tasks, then eligible candidates in evaluation order, one task per key. Unmodifiable. */
+	List<TaskDefinition> tasks()
+	{
+		List<TaskDefinition> out = tasks;
+		if (out == null)
+		{
+			Set<String> seen = new HashSet<>(explicit.keySet());
+			out = new ArrayList<>(explicit.values());
+			for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1))
+			{
+				if (seen.add(keys[i]))
+					out.add(candidates.get(i));
+			}
+			out = Collections.unmodifiableList(out);
+			tasks = out;
+		}
+		return out;
+	}
+
+	/** Queues the candidates in {@code ranks} ranked after {@code after}; earlier ones cannot see the change. */
+	private static void enqueue(int[] ranks, BitSet work, int after)
+	{
+		if (ranks == null) return;
+		for (int i : ranks)
+		{
+			if (i > after)
+				work.set(i);
+		}
+	}
+
+	/**
+	 * Whether candidate {@code i} belongs in the pool: its key is not pooled yet by an explicit task or an earlier
+	 * candidate, and its gate passes against the explicit tasks and the eligible candidates ranked before it.
+	 */
+	private boolean evaluate(int i, Gate gate)
+	{
+		if (keys[i].isEmpty() || pooledBefore(keys[i], i) != null) return false;
+		return gate.test(candidates.get(i), key -> pooledBefore(key, i));
+	}
+
+	private void setEligible(int i, boolean value)
+	{
+		eligible.set(i, value);
+		eligibleCount.merge(keys[i], value ? 1 : -1, Integer::sum);
+	}
+
+	/** The pooled task for a key as seen by candidate {@code rank}: the explicit one, else an eligible earlier candidate. */
+	private TaskDefinition pooledBefore(String key, int rank)
+	{
+		TaskDefinition t = explicit.get(key);
+		if (t != null || eligibleCount.getOrDefault(key, 0) <= 0) return t;
+		for (int i : ranksByKey.get(key))
+		{
+			if (i >= rank) break;
+			if (eligible.get(i))
+				return candidates.get(i);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,177 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.task.TaskDefinition;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Weighted pick-and-remove over the tasks left to place on the global grid, O(log n) per draw. Tasks are bucketed by
+ * difficulty tier and the lowest non-empty tier is drawn from. Each tier keeps Fenwick trees over its tasks' weights in
+ * insertion order, one with the Collection Log downweight applied and one without. Draws follow the same distribution
+ * as a linear scan over the tier's cumulative weights; the tree adds the weights in a different order, so rounding can
+ * move a draw that lands right on a boundary to the neighbouring task. The sequence for a given {@link Random} is
+ * deterministic.
+ * <p>
+ * Not thread-safe; built and drained within one grid build.
+ */
+final class GlobalTaskSampler
+{
+	/** Weight of one task; see {@link GlobalTaskListService}. */
+	interface Weigher
+	{
+		double weight(TaskDefinition task, boolean applyCollectionLogDownweight);
+	}
+
+	/** Tasks of one tier, in insertion order. */
+	private static final class Tier
+	{
+		private final List<TaskDefinition> tasks = new ArrayList<>();
+		private final BitSet deprioritized = new BitSet();
+		private BitSet alive;
+		/** Weights with the Collection Log downweight, used while the tier has any other task left. */
+		private Fenwick damped;
+		/** Weights without it, used once only deprioritized tasks are left. */
+		private Fenwick plain;
+		private int size;
+		private int prioritized;
+	}
+
+	private final Tier[] tiers;
+	private int size;
+
+	/**
+	 * @param tierOf difficulty tier of a task, 1 to {@code maxTier}
+	 * @param isDeprioritized true for Collection Log tasks that get the downweight while other tasks remain in their tier
+	 */
+	GlobalTaskSampler(List<TaskDefinition> tasks, int maxTier, ToIntFunction<TaskDefinition> tierOf,
+		Predicate<TaskDefinition> isDeprioritized, Weigher weigher)
+	{
+		tiers = new Tier[maxTier + 1];
+		for (int i = 1; i <= maxTier; i++)
+			tiers[i] = new Tier();
+		for (TaskDefinition t : tasks)
+		{
+			Tier tier = tiers[tierOf.applyAsInt(t)];
+			boolean down = isDeprioritized.test(t);
+			if (down)
+				tier.deprioritized.set(tier.tasks.size());
+			else
+				tier.prioritized++;
+			tier.tasks.add(t);
+		}
+		for (int i = 1; i <= maxTier; i++)
+		{
+			Tier tier = tiers[i];
+			int n = tier.tasks.size();
+			double[] damped = new double[n];
+			double[] plain = new double[n];
+			for (int j = 0; j < n; j++)
+			{
+				damped[j] = weigher.weight(tier.tasks.get(j), true);
+				plain[j] = weigher.weight(tier.tasks.get(j), false);
+			}
+			tier.damped = new Fenwick(damped);
+			tier.plain = new Fenwick(plain);
+			tier.alive = new BitSet(n);
+			tier.alive.set(0, n);
+			tier.size = n;
+			size += n;
+		}
+	}
+
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/** Draws one task from the lowest non-empty tier by weight and removes it; null when empty. */
+	TaskDefinition pickAndRemove(Random rnd)
+	{
+		for (int i = 1; i < tiers.length; i++)
+		{
+			Tier tier = tiers[i];
+			if (tier.size == 0) continue;
+			Fenwick weights = tier.prioritized > 0 ? tier.damped : tier.plain;
+			double total = weights.total();
+			int index;
+			if (total <= 0.0)
+				index = tier.alive.nextSetBit(0);
+			else
+			{
+				index = tier.alive.nextSetBit(weights.search(rnd.nextDouble() * total));
+				if (index < 0)
+					index = tier.alive.previousSetBit(tier.tasks.size() - 1);
+			}
+			remove(tier, index);
+			return tier.tasks.get(index);
+		}
+		return null;
+	}
+
+	private void remove(Tier tier, int index)
+	{
+		tier.alive.clear(index);
+		tier.damped.set(index, 0.0);
+		tier.plain.set(index, 0.0);
+		if (!tier.deprioritized.get(index)) tier.prioritized--;
+		tier.size--;
+		size--;
+	}
+
+	/** Fenwick (binary indexed) tree over non-negative weights: point update, prefix sums and prefix search. */
+	private static final class Fenwick
+	{
+		private final double[] tree;
+		private final double[] values;
+
+		Fenwick(double[] weights)
+		{
+			int n = weights.length;
+			values = weights.clone();
+			tree = new double[n + 1];
+			for (int i = 1; i <= n; i++)
+			{
+				tree[i] += weights[i - 1];
+				int parent = i + (i & -i);
+				if (parent <= n)
+					tree[parent] += tree[i];
+			}
+		}
+
+		void set(int index, double value)
+		{
+			double delta = value - values[index];
+			values[index] = value;
+			for (int i = index + 1; i < tree.length; i += i & -i)
+				tree[i] += delta;
+		}
+
+		double total()
+		{
+			double sum = 0.0;
+			for (int i = tree.length - 1; i > 0; i -= i & -i)
+				sum += tree[i];
+			return sum;
+		}
+
+		/** First index whose prefix sum exceeds {@code target}; the length if none does. */
+		int search(double target)
+		{
+			int pos = 0;
+			for (int step = Integer.highestOneBit(Math.max(1, tree.length - 1)); step > 0; step >>= 1)
+			{
+				int next = pos + step;
+				if (next < tree.length && tree[next] <= target)
+				{
+					pos = next;
+					target -= tree[next];
+				}
+			}
+			return pos;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.constants.WorldUnlockTileType;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * World Unlock prerequisites compiled into a graph. Each prerequisite is an edge from a tile to the id it waits on,
+ * stored as a reverse edge on that id, and each tile counts its unmet edges. When an id becomes (or stops being)
+ * claimed, unlocked or revealed, only the tiles waiting on it are rechecked, so the set of tiles whose prerequisites
+ * are all met stays current between grid builds without re-evaluating every tile.
+ * <p>
+ * Edges follow the grid's assignment rules: a quest or boss prerequisite that resolves to a tile must be claimed; a
+ * skill prerequisite that resolves to a tile may be claimed, revealed or unlocked; anything else must be claimed or
+ * unlocked.
+ */
+final class PrerequisiteGraph
+{
+	private static final int CLAIMED = 1;
+	private static final int UNLOCKED = 2;
+	private static final int REVEALED = 4;
+
+	private final List<WorldUnlockTile> tiles;
+	/** Ids that at least one prerequisite waits on, by node index. */
+	private final String[] nodeIds;
+	/** Per node: indices of the tiles waiting on it, and the membership that satisfies each of those edges. */
+	private final int[][] dependents;
+	private final int[][] dependentMasks;
+	/** Current claimed/unlocked/revealed membership per node. */
+	private final int[] nodeMasks;
+	/** Unmet prerequisite edges per tile. */
+	private final int[] unmet;
+	/** Tiles with no unmet edges. */
+	private final BitSet ready;
+
+	/**
+	 * @param tiles tiles in file order; indices returned by {@link #ready} refer to this list
+	 * @param prerequisitesOf a tile's resolved prerequisites
+	 */
+	PrerequisiteGraph(List<WorldUnlockTile> tiles, Function<WorldUnlockTile, List<Requirement.Token>> prerequisitesOf)
+	{
+		this.tiles = new ArrayList<>(tiles);
+		int n = this.tiles.size();
+		unmet = new int[n];
+		ready = new BitSet(n);
+		Map<String, Integer> nodeIndex = new HashMap<>();
+		List<String> ids = new ArrayList<>();
+		// node, tile, mask
+		List<int[]> edges = new ArrayList<>();
+		for (int i = 0; i < n; i++)
+		{
+			WorldUnlockTile t = this.tiles.get(i);
+			if (t == null) continue;
+			for (Requirement.Token prereq : prerequisitesOf.apply(t))
+			{
+				Integer node = nodeIndex.get(prereq.id());
+				if (node == null)
+				{
+					node = ids.size();
+					nodeIndex.put(prereq.id(), node);
+					ids.add(prereq.id());
+				}
+				edges.add(new int[]{ node, i, edgeMask(t, prereq) });
+				unmet[i]++;
+			}
+			if (unmet[i] == 0)
+				ready.set(i);
+		}
+		nodeIds = ids.toArray(new String[0]);
+		int[] degree = new int[nodeIds.length];
+		for (int[] e : edges)
+			degree[e[0]]++;
+		dependents = new int[nodeIds.length][];
+		dependentMasks = new int[nodeIds.length][];
+		for (int k = 0; k < nodeIds.length; k++)
+		{
+			dependents[k] = new int[degree[k]];
+			dependentMasks[k] = new int[degree[k]];
+			degree[k] = 0;
+		}
+		for (int[] e : edges)
+		{
+			int k = e[0];
+			int j = degree[k]++;
+			dependents[k][j] = e[1];
+			dependentMasks[k][j] = e[2];
+		}
+		nodeMasks = new int[nodeIds.length];
+	}
+
+	private static int edgeMask(WorldUnlockTile tile, Requirement.Token prereq)
+	{
+		if (prereq.tileId == null)
+			return CLAIMED | UNLOCKED;
+		if (WorldUnlockTileType.QUEST.equals(tile.getType()) || WorldUnlockTileType.BOSS.equals(tile.getType()))
+			return CLAIMED;
+		if (WorldUnlockTileType.SKILL.equals(tile.getType()))
+			return CLAIMED | REVEALED | UNLOCKED;
+		return CLAIMED | UNLOCKED;
+	}
+
+	/**
+	 * Brings the graph up to date with the given ids and returns the indices of tiles whose prerequisites are all met.
+	 * Only tiles waiting on an id whose membership changed since the last call are touched.
+	 *
+	 * @param revealed tile ids assigned on the grid
+	 * @return a copy the caller may keep
+	 */
+	synchronized BitSet ready(Set<String> claimed, Set<String> unlocked, Set<String> revealed)
+	{
+		for (int k = 0; k < nodeIds.length; k++)
+		{
+			String id = nodeIds[k];
+			int mask = (claimed.contains(id) ? CLAIMED : 0)
+				| (unlocked.contains(id) ? UNLOCKED : 0)
+				| (revealed.contains(id) ? REVEALED : 0);
+			int previous = nodeMasks[k];
+			if (mask == previous) continue;
+			nodeMasks[k] = mask;
+			int[] tileIndices = dependents[k];
+			int[] masks = dependentMasks[k];
+			for (int j = 0; j < tileIndices.length; j++)
+			{
+				boolean was = (previous & masks[j]) != 0;
+				boolean is = (mask & masks[j]) != 0;
+				if (was == is) continue;
+				int i = tileIndices[j];
+				if (is)
+				{
+					if (--unmet[i] == 0)
+						ready.set(i);
+				}
+				else if (unmet[i]++ == 0)
+					ready.clear(i);
+			}
+		}
+		return (BitSet) ready.clone();
+	}
+
+	/** Tile at an index returned by {@link #ready}. */
+	WorldUnlockTile tile(int index)
+	{
+		return tiles.get(index);
+	}
+}
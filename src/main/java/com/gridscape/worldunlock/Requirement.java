@@ -0,0 +1,169 @@
+package com.gridscape.worldunlock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A task requirements string (or one tile prerequisite) compiled once into typed tokens, so eligibility checks read
+ * resolved tile ids and parsed levels instead of splitting, matching and resolving the text on every check. Task
+ * requirements are compiled per task catalog by {@link GlobalTaskListService}; tile prerequisites when
+ * {@link WorldUnlockService} loads its tiles.
+ */
+final class Requirement
+{
+	/** What a comma-separated token is, in the order the gates test for it. */
+	enum Kind
+	{
+		/** "[level] [skill]", e.g. "50 Agility". */
+		SKILL_LEVEL,
+		/** A level bracket on its own, e.g. "41-50"; the skill is the task type. */
+		SKILL_BRACKET,
+		/** A World Unlock tile id or display name. */
+		TILE,
+		/** A prerequisite task, e.g. "Defeat Barrows". */
+		TASK,
+		/** Anything else, e.g. a quest name; matched against quest tiles' requirement text. */
+		TEXT
+	}
+
+	/** One comma-separated token. */
+	static final class Token
+	{
+		final Kind kind;
+		/** Trimmed token text. */
+		final String text;
+		/** Lower-cased {@link #text}. */
+		final String lower;
+		/** Tile the text resolves to, whatever the kind; null if none. */
+		final String tileId;
+		/** Type of the {@link #tileId} tile, or null. */
+		final String tileType;
+		/** SKILL_LEVEL: the level; SKILL_BRACKET: the bracket minimum. */
+		final int level;
+		/** SKILL_LEVEL: the skill name. */
+		final String skillName;
+		/** Skill tile whose band covers {@link #level} (SKILL_LEVEL: of {@link #skillName}; SKILL_BRACKET: of the task type), or null. */
+		final String skillTileId;
+
+		private Token(Kind kind, String text, String tileId, String tileType, int level, String skillName, String skillTileId)
+		{
+			this.kind = kind;
+			this.text = text;
+			this.lower = text.toLowerCase();
+			this.tileId = tileId;
+			this.tileType = tileType;
+			this.level = level;
+			this.skillName = skillName;
+			this.skillTileId = skillTileId;
+		}
+
+		/** Resolved tile id, else the trimmed text; what tile prerequisites are checked against. */
+		String id()
+		{
+			return tileId != null ? tileId : text;
+		}
+	}
+
+	/** Matches "[level] [skill]" (e.g. "50 Agility"). Group 1 = level, group 2 = skill name. */
+	private static final Pattern LEVEL_SKILL = Pattern.compile("^(\\d+)\\s+(.+)$");
+	/** Matches a bracket on its own (e.g. "41-50", "31 - 40"). Group 1 = min, group 2 = max. */
+	private static final Pattern BRACKET_ONLY = Pattern.compile("^(\\d+)\\s*-\\s*(\\d+)$");
+	/** A bracket anywhere in the requirements string. */
+	private static final Pattern BRACKET_ANYWHERE = Pattern.compile("\\d+\\s*-\\s*\\d+");
+
+	static final Requirement NONE = new Requirement("", Collections.emptyList());
+
+	/** Trimmed requirements string; empty when there are none. */
+	final String text;
+	/** Non-empty comma-separated tokens, in order. */
+	final List<Token> tokens;
+	/** No comma: the whole string is one requirement, which killCount and prerequisite-task gates read as a task name. */
+	final boolean single;
+	/** Task key of the whole string; see {@link #single}. */
+	final String taskKey;
+	/** Some token names a prerequisite task ("Defeat ..."), whatever its kind. */
+	final boolean namesTask;
+	/** The string contains a level bracket somewhere. */
+	final boolean mentionsBracket;
+	/** Non-empty and every token resolves to an unlock tile. */
+	final boolean allTiles;
+
+	private Requirement(String text, List<Token> tokens)
+	{
+		this.text = text;
+		this.tokens = tokens;
+		this.single = !text.contains(",");
+		this.taskKey = GlobalTaskListService.taskKeyFromName(text);
+		boolean task = false;
+		boolean tilesOnly = !text.isEmpty();
+		for (Token t : tokens)
+		{
+			task |= t.lower.startsWith("defeat ");
+			tilesOnly &= t.tileId != null;
+		}
+		this.namesTask = task;
+		this.mentionsBracket = BRACKET_ANYWHERE.matcher(text).find();
+		this.allTiles = tilesOnly;
+	}
+
+	boolean isEmpty()
+	{
+		return text.isEmpty();
+	}
+
+	/** Tile the whole string resolves to when {@link #single}, or null. */
+	String singleTileId()
+	{
+		return single && !tokens.isEmpty() ? tokens.get(0).tileId : null;
+	}
+
+	/**
+	 * Compiles a comma-separated requirements string.
+	 * @param skillType task type, used as the skill of bracket-only tokens (may be null)
+	 */
+	static Requirement compile(String requirements, String skillType, WorldUnlockService service)
+	{
+		String text = requirements != null ? requirements.trim() : "";
+		if (text.isEmpty()) return NONE;
+		List<Token> tokens = new ArrayList<>();
+		for (String part : text.split(","))
+		{
+			String raw = part.trim();
+			if (!raw.isEmpty())
+				tokens.add(token(raw, skillType, service));
+		}
+		return new Requirement(text, Collections.unmodifiableList(tokens));
+	}
+
+	/** Compiles one tile prerequisite (no comma splitting). */
+	static Token prerequisite(String prerequisite, WorldUnlockService service)
+	{
+		return token(prerequisite != null ? prerequisite.trim() : "", null, service);
+	}
+
+	private static Token token(String text, String skillType, WorldUnlockService service)
+	{
+		String tileId = text.isEmpty() ? null : service.resolvePrerequisiteToTileId(text);
+		WorldUnlockTile tile = tileId != null ? service.getTileById(tileId) : null;
+		String tileType = tile != null ? tile.getType() : null;
+		Matcher m = LEVEL_SKILL.matcher(text);
+		if (m.matches() && m.group(1).length() < 10)
+		{
+			int level = Integer.parseInt(m.group(1));
+			String skill = m.group(2).trim();
+			return new Token(Kind.SKILL_LEVEL, text, tileId, tileType, level, skill, service.getSkillTileIdForLevel(skill, level));
+		}
+		m = BRACKET_ONLY.matcher(text);
+		if (m.matches() && m.group(1).length() < 10)
+		{
+			int min = Integer.parseInt(m.group(1));
+			String skillTileId = skillType != null ? service.getSkillTileIdForLevel(skillType, min) : null;
+			return new Token(Kind.SKILL_BRACKET, text, tileId, tileType, min, null, skillTileId);
+		}
+		Kind kind = tileId != null ? Kind.TILE : text.toLowerCase().startsWith("defeat ") ? Kind.TASK : Kind.TEXT;
+		return new Token(kind, text, tileId, tileType, 0, null, null);
+	}
+}
@@ -19,7 +19,7 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.Point;
-import com.gridscape.grid.GridPos;
+import com.gridscape.grid.GridCoord;
 import com.gridscape.util.FogTileCompositor;
 import com.gridscape.util.FrontierFogHelpers;
 import com.gridscape.util.GridClaimFocusAnimation;
@@ -309,36 +309,14 @@ public class WorldUnlockGridPanel extends JPanel
 		if (grid.isEmpty()) { gridPanel.revalidate(); gridPanel.repaint(); return; }
 
 		// Frontier fog: same rule as global task grid — cardinal neighbors of revealed "unclaimed" tiles that are not yet revealed positions (may be empty cells).
-		Set<String> revealedPos = new HashSet<>();
-		for (WorldUnlockTilePlacement p : grid)
-		{
-			if (worldUnlockService.isRevealed(p, claimed, grid))
-				revealedPos.add(p.getRow() + "," + p.getCol());
-		}
-		int[][] fogDeltas = { { -1, 0 }, { 0, 1 }, { 1, 0 }, { 0, -1 } };
-		Set<String> fogPositions = new HashSet<>();
-		for (WorldUnlockTilePlacement p : grid)
-		{
-			if (!worldUnlockService.isRevealed(p, claimed, grid)) continue;
-			String tid = p.getTile().getId();
-			if (claimed.contains(tid)) continue;
-			int r = p.getRow(), c = p.getCol();
-			for (int[] d : fogDeltas)
-			{
-				String nid = (r + d[0]) + "," + (c + d[1]);
-				if (!revealedPos.contains(nid))
-					fogPositions.add(nid);
-			}
-		}
+		// Reveal and fog for the whole grid come from one snapshot instead of a grid scan per placement.
+		WorldUnlockService.GridRevealSnapshot reveal = worldUnlockService.getRevealSnapshot(grid, claimed);
+		int[] fogCoords = reveal.fogCoords();
 		int maxRing = grid.stream()
 			.mapToInt(p -> Math.max(Math.abs(p.getRow()), Math.abs(p.getCol())))
 			.max().orElse(0);
-		for (String fp : fogPositions)
-		{
-			int[] rc = GridPos.parse(fp);
-			if (rc != null)
-				maxRing = Math.max(maxRing, Math.max(Math.abs(rc[0]), Math.abs(rc[1])));
-		}
+		for (int fc : fogCoords)
+			maxRing = Math.max(maxRing, Math.max(Math.abs(GridCoord.row(fc)), Math.abs(GridCoord.col(fc))));
 
 		int tileSize = Math.max(24, (int) (BASE_TILE_SIZE * zoom));
 		int iconMargin = Math.max(1, (tileSize * TILE_ICON_MARGIN) / BASE_TILE_SIZE);
@@ -346,7 +324,7 @@ public class WorldUnlockGridPanel extends JPanel
 
 		for (WorldUnlockTilePlacement placement : grid)
 		{
-			if (!worldUnlockService.isRevealed(placement, claimed, grid))
+			if (!reveal.isRevealed(placement))
 				continue;
 
 			WorldUnlockTile tile = placement.getTile();
@@ -357,24 +335,23 @@ public class WorldUnlockGridPanel extends JPanel
 			// The starter tile should show its area icon too (center is still a real tile).
 			BufferedImage tileIcon = loadUnlockTileIcon(tile, iconMaxFit);
 
-			JPanel cell = buildTileCell(placement, isCenter, isUnlocked, isClaimed, tileIcon, tileSize, iconMargin, grid, claimed);
+			JPanel cell = buildTileCell(placement, isCenter, isUnlocked, isClaimed, tileIcon, tileSize, iconMargin, reveal);
 			GridBagConstraints gbc = new GridBagConstraints();
 			gbc.gridx = placement.getCol() + maxRing;
 			gbc.gridy = maxRing - placement.getRow();
 			gbc.insets = new Insets(2, 2, 2, 2);
 			gridPanel.add(cell, gbc);
 		}
-		for (String fp : fogPositions)
+		for (int fc : fogCoords)
 		{
-			int[] rc = GridPos.parse(fp);
-			if (rc == null) continue;
-			boolean[] f = FrontierFogHelpers.cardinalFlagsWorldUnlock(rc[0], rc[1], worldUnlockService, claimed, grid);
+			int row = GridCoord.row(fc), col = GridCoord.col(fc);
+			boolean[] f = FrontierFogHelpers.cardinalFlagsWorldUnlock(row, col, reveal);
 			if (!f[0] && !f[1] && !f[2] && !f[3]) continue;
 			GridBagConstraints gbc = new GridBagConstraints();
-			gbc.gridx = rc[1] + maxRing;
-			gbc.gridy = maxRing - rc[0];
+			gbc.gridx = col + maxRing;
+			gbc.gridy = maxRing - row;
 			gbc.insets = new Insets(2, 2, 2, 2);
-			gridPanel.add(buildFogOnlyCell(rc[0], rc[1], f, tileSize), gbc);
+			gridPanel.add(buildFogOnlyCell(row, col, f, tileSize), gbc);
 		}
 		gridPanel.revalidate();
 		gridPanel.repaint();
@@ -587,8 +564,7 @@ public class WorldUnlockGridPanel extends JPanel
 	}
 
 	private JPanel buildTileCell(WorldUnlockTilePlacement placement, boolean isCenter, boolean isUnlocked, boolean isClaimed,
-		BufferedImage tileIcon, int tileSize, int iconMargin,
-		List<WorldUnlockTilePlacement> grid, Set<String> claimed)
+		BufferedImage tileIcon, int tileSize, int iconMargin, WorldUnlockService.GridRevealSnapshot reveal)
 	{
 		WorldUnlockTile tile = placement.getTile();
 
@@ -611,8 +587,7 @@ public class WorldUnlockGridPanel extends JPanel
 		final BufferedImage ftr = fogTopRight;
 		final BufferedImage fbl = fogBottomLeft;
 		final BufferedImage fbr = fogBottomRight;
-		final int fogRow = placement.getRow();
-		final int fogCol = placement.getCol();
+		final boolean[] f = FrontierFogHelpers.cardinalFlagsWorldUnlock(placement.getRow(), placement.getCol(), reveal);
 
 		JPanel cell = new JPanel()
 		{
@@ -626,7 +601,6 @@ public class WorldUnlockGridPanel extends JPanel
 					g.setColor(new Color(60, 55, 50));
 					g.fillRect(0, 0, getWidth(), getHeight());
 				}
-				boolean[] f = FrontierFogHelpers.cardinalFlagsWorldUnlock(fogRow, fogCol, worldUnlockService, claimed, grid);
 				if (f[0] || f[1] || f[2] || f[3])
 					FogTileCompositor.paintFogQuadrants(g, getWidth(), getHeight(), f[0], f[1], f[2], f[3], ftl, ftr, fbl, fbr);
 				super.paintComponent(g);
@@ -4,6 +4,9 @@ import com.google.gson.Gson;
 import com.gridscape.GridScapeConfig;
 import com.gridscape.area.AreaGraphService;
 import com.gridscape.constants.WorldUnlockTileType;
+import com.gridscape.grid.CoordMap;
+import com.gridscape.grid.CoordSet;
+import com.gridscape.grid.GridCoord;
 import com.gridscape.grid.GridPos;
 import com.gridscape.grid.RevealLogic;
 import com.gridscape.util.ConfigParsing;
@@ -13,17 +16,24 @@ import com.gridscape.util.ResourcePaths;
 import com.gridscape.data.Area;
 import com.gridscape.data.AreaMappingData;
 import com.gridscape.points.PointsService;
+import com.gridscape.task.TaskCatalog;
 import com.gridscape.task.TaskDefinition;
 import com.gridscape.task.TaskGridService;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -80,11 +90,110 @@ public class WorldUnlockService
 	private final Set<String> unlockedIds = new HashSet<>();
 	private final Set<String> claimedIds = new HashSet<>();
 	private boolean loaded = false;
+	/** Tile -> its prerequisites resolved once at load; see {@link #prerequisitesOf}. */
+	private Map<WorldUnlockTile, List<Requirement.Token>> prerequisiteTokens = Collections.emptyMap();
+	/** Prerequisite graph over {@link #tiles}; tracks which tiles are ready for assignment. Built at load. */
+	private PrerequisiteGraph prerequisiteGraph = new PrerequisiteGraph(Collections.emptyList(), this::prerequisitesOf);
+	/** Tile by id (first tile wins, as in file order); built at load. */
+	private Map<String, WorldUnlockTile> tilesById = Collections.emptyMap();
+	/** Lower-cased tile id or display name -> tile id, for {@link #resolvePrerequisiteToTileId}; built at load. */
+	private Map<String, String> tileIdsByName = Collections.emptyMap();
+	/** Lower-cased skill name -> that skill's tiles in file order, for {@link #getSkillTileIdForLevel}; built at load. */
+	private Map<String, List<WorldUnlockTile>> skillTilesByName = Collections.emptyMap();
+	/** {@link #getTasksForUnlock} results for one task catalog. */
+	private volatile UnlockTasks unlockTasks;
 	/** Lazy-built: area id -> achievement diary key (e.g. varrock -> varrock, al_kharid -> desert). Uses area_mapping.json when available. */
 	private Map<String, String> areaIdToDiaryKey = null;
 	/** Lazy-built from area_mapping.json: diary key (normalized) -> list of area ids in that diary. Empty if mapping not loaded. */
 	private Map<String, List<String>> diaryKeyToAreaIds = null;
 
+	/** One roll category's eligible tiles in roll order, bucketed by positive tier; shrinks as tiles are placed. */
+	private static final class EligibleTiles
+	{
+		private final List<WorldUnlockTile> tiles = new ArrayList<>();
+		private final TreeMap<Integer, List<WorldUnlockTile>> byTier = new TreeMap<>();
+
+		EligibleTiles(List<WorldUnlockTile> source, Predicate<WorldUnlockTile> filter)
+		{
+			for (WorldUnlockTile t : source)
+			{
+				if (!filter.test(t)) continue;
+				tiles.add(t);
+				if (t.getTier() > 0)
+					byTier.computeIfAbsent(t.getTier(), k -> new ArrayList<>()).add(t);
+			}
+		}
+
+		boolean isEmpty()
+		{
+			return tiles.isEmpty();
+		}
+
+		/** Eligible tiles of the lowest positive tier, in roll order; empty if none has a tier. */
+		List<WorldUnlockTile> lowestTier()
+		{
+			return byTier.isEmpty() ? Collections.emptyList() : byTier.firstEntry().getValue();
+		}
+
+		/** Drops the first occurrence of the tile, as its source list does when the tile is placed. */
+		void remove(WorldUnlockTile tile)
+		{
+			if (!tiles.remove(tile) || tile.getTier() <= 0) return;
+			List<WorldUnlockTile> bucket = byTier.get(tile.getTier());
+			bucket.remove(tile);
+			if (bucket.isEmpty())
+				byTier.remove(tile.getTier());
+		}
+	}
+
+	/**
+	 * Reveal and frontier-fog state of one World Unlock grid list against a claimed set, computed in a single pass over
+	 * the grid so each question is answered in constant time. Immutable; see {@link #getRevealSnapshot(List, Set)}.
+	 */
+	public static final class GridRevealSnapshot
+	{
+		private final Set<WorldUnlockTilePlacement> revealed;
+		private final CoordSet revealedUnclaimed;
+		private final CoordSet fog;
+
+		GridRevealSnapshot(Set<WorldUnlockTilePlacement> revealed, CoordSet revealedUnclaimed, CoordSet fog)
+		{
+			this.revealed = revealed;
+			this.revealedUnclaimed = revealedUnclaimed;
+			this.fog = fog;
+		}
+
+		/** Same as {@link WorldUnlockService#isRevealed} for a placement of this snapshot's grid. */
+		public boolean isRevealed(WorldUnlockTilePlacement placement)
+		{
+			return revealed.contains(placement);
+		}
+
+		/** True if the tile at the packed position (the last placement there) is revealed and not claimed. */
+		public boolean isRevealedUnclaimedAt(int coord)
+		{
+			return revealedUnclaimed.contains(coord);
+		}
+
+		/** Frontier fog: packed cardinal neighbors of revealed unclaimed tiles that hold no revealed tile. */
+		public int[] fogCoords()
+		{
+			return fog.toArray();
+		}
+	}
+
+	/** Tasks per unlock tile id, resolved on first use against one task catalog. */
+	private static final class UnlockTasks
+	{
+		private final TaskCatalog catalog;
+		private final Map<String, List<TaskDefinition>> byTileId = new ConcurrentHashMap<>();
+
+		UnlockTasks(TaskCatalog catalog)
+		{
+			this.catalog = catalog;
+		}
+	}
+
 	@Inject
 	public WorldUnlockService(ConfigManager configManager, GridScapeConfig config, PointsService pointsService,
 		TaskGridService taskGridService, AreaGraphService areaGraphService)
@@ -129,7 +238,57 @@ public class WorldUnlockService
 		}
 		if (bossClaimRepair)
 			persistClaimed();
+		indexTiles();
+		unlockTasks = null;
 		loaded = true;
+		Map<WorldUnlockTile, List<Requirement.Token>> prerequisites = new IdentityHashMap<>();
+		for (WorldUnlockTile t : tiles)
+		{
+			if (t != null && t.getPrerequisites() != null && !t.getPrerequisites().isEmpty())
+				prerequisites.put(t, compilePrerequisites(t));
+		}
+		prerequisiteTokens = prerequisites;
+		prerequisiteGraph = new PrerequisiteGraph(tiles, this::prerequisitesOf);
+	}
+
+	/** Builds the id, name and skill lookups over {@link #tiles}. */
+	private void indexTiles()
+	{
+		Map<String, WorldUnlockTile> byId = new HashMap<>();
+		Map<String, String> byName = new HashMap<>();
+		Map<String, List<WorldUnlockTile>> skills = new HashMap<>();
+		for (WorldUnlockTile t : tiles)
+		{
+			if (t == null || t.getId() == null) continue;
+			byId.putIfAbsent(t.getId(), t);
+			// Resolution takes the first tile whose id or display name matches
+			byName.putIfAbsent(t.getId().toLowerCase(), t.getId());
+			if (t.getDisplayName() != null)
+				byName.putIfAbsent(t.getDisplayName().trim().toLowerCase(), t.getId());
+			TaskLink link = t.getTaskLink();
+			if (WorldUnlockTileType.SKILL.equals(t.getType()) && link != null && link.getSkillName() != null)
+				skills.computeIfAbsent(link.getSkillName().toLowerCase(), k -> new ArrayList<>()).add(t);
+		}
+		tilesById = byId;
+		tileIdsByName = byName;
+		skillTilesByName = skills;
+	}
+
+	private List<Requirement.Token> compilePrerequisites(WorldUnlockTile tile)
+	{
+		List<Requirement.Token> tokens = new ArrayList<>(tile.getPrerequisites().size());
+		for (String prereq : tile.getPrerequisites())
+			tokens.add(Requirement.prerequisite(prereq, this));
+		return tokens;
+	}
+
+	/** The tile's prerequisites resolved to tile ids; compiled at load, or on the spot for tiles from elsewhere. */
+	private List<Requirement.Token> prerequisitesOf(WorldUnlockTile tile)
+	{
+		if (tile.getPrerequisites() == null || tile.getPrerequisites().isEmpty())
+			return Collections.emptyList();
+		List<Requirement.Token> tokens = prerequisiteTokens.get(tile);
+		return tokens != null ? tokens : compilePrerequisites(tile);
 	}
 
 	private void persistUnlocked()
@@ -144,7 +303,6 @@ public class WorldUnlockService
 
 	private static int[] parsePos(String pos) { return GridPos.parse(pos); }
 	private static String normalizePos(String pos) { return GridPos.normalize(pos); }
-	private static List<String> getNeighborPositions(String pos) { return GridPos.neighbors4(pos); }
 
 	/** Loads grid state: normalized position -> tile id. Only add when a position is first revealed; never overwrite. */
 	private Map<String, String> loadGridState()
@@ -242,47 +400,40 @@ public class WorldUnlockService
 		Map<String, String> gridState = new HashMap<>(loadGridState());
 
 		// 2. Claimed positions = positions whose tile has been claimed (unlock + action done). Only these reveal neighbors.
-		Set<String> claimedPositions = new HashSet<>();
-		claimedPositions.add("0,0"); // center counts as claimed for reveal so its neighbors are always revealed
+		CoordSet claimedPositions = new CoordSet(gridState.size() + 1);
+		claimedPositions.add(GridCoord.of(0, 0)); // center counts as claimed for reveal so its neighbors are always revealed
 		for (Map.Entry<String, String> e : gridState.entrySet())
 		{
 			if (claimedIds.contains(e.getValue()))
-				claimedPositions.add(e.getKey());
+				claimedPositions.add(GridCoord.parse(e.getKey()));
 		}
 
 		// 3. Revealed = center + claimed positions + neighbors of claimed positions (all sides of each claimed tile)
-		Set<String> revealedPositions = new HashSet<>();
-		revealedPositions.add("0,0");
-		for (String cp : claimedPositions)
-		{
-			revealedPositions.add(normalizePos(cp));
-			for (String neighbor : getNeighborPositions(cp))
-				revealedPositions.add(normalizePos(neighbor));
-		}
+		CoordSet revealedPositions = RevealLogic.revealedAround(claimedPositions);
 
-		// 4. toAssign = revealed positions that have no assignment yet (first time revealed), deduplicated
+		// 4. toAssign = revealed positions that have no assignment yet (first time revealed); grid state keys are the
+		// persisted "row,col" form
 		Set<String> placedIds = new HashSet<>(gridState.values());
-		Set<String> toAssignSet = new HashSet<>();
-		for (String pos : revealedPositions)
+		List<int[]> toAssignRc = new ArrayList<>();
+		for (int pos : revealedPositions.toArray())
 		{
-			String norm = normalizePos(pos);
-			if ("0,0".equals(norm)) continue;
-			if (!gridState.containsKey(norm))
-				toAssignSet.add(norm);
+			int r = GridCoord.row(pos), c = GridCoord.col(pos);
+			if (r == 0 && c == 0) continue;
+			if (!gridState.containsKey(GridCoord.toId(pos)))
+				toAssignRc.add(new int[]{ r, c });
 		}
-		List<String> toAssign = new ArrayList<>(toAssignSet);
 
 		// 5. Available = tiles (not center) not yet placed, with prerequisites satisfied (quest/boss: prereqs claimed; else unlocked or claimed).
-		// Skill tiles: each resolved prerequisite must be claimed, revealed on the grid, or unlocked (see {@link #prerequisitesSatisfied}).
-		Set<String> satisfiedIds = new HashSet<>(claimedIds);
-		satisfiedIds.addAll(unlockedIds);
+		// Skill tiles: each resolved prerequisite must be claimed, revealed on the grid, or unlocked (see {@link PrerequisiteGraph}).
+		// The prerequisite graph only rechecks tiles whose prerequisites changed since the last build.
 		Set<String> revealedTileIds = new HashSet<>(gridState.values());
+		BitSet ready = prerequisiteGraph.ready(claimedIds, unlockedIds, revealedTileIds);
 		List<WorldUnlockTile> available = new ArrayList<>();
-		for (WorldUnlockTile t : all)
+		for (int i = ready.nextSetBit(0); i >= 0; i = ready.nextSetBit(i + 1))
 		{
+			WorldUnlockTile t = prerequisiteGraph.tile(i);
 			if (t == centerTile) continue;
 			if (placedIds.contains(t.getId())) continue;
-			if (!prerequisitesSatisfied(t, satisfiedIds, claimedIds, revealedTileIds)) continue;
 			available.add(t);
 		}
 
@@ -317,6 +468,26 @@ public class WorldUnlockService
 		Collections.shuffle(questTiles, rng);
 		Collections.shuffle(bossTiles, rng);
 
+		// Eligibility does not change while assigning, so filter once; chosen tiles are dropped as they are placed.
+		EligibleTiles skill1To10 = new EligibleTiles(skillTiles, WorldUnlockService::isSkillLevel1To10);
+		EligibleTiles questEligible = new EligibleTiles(questTiles, this::hasUnlockedAreaPrerequisite);
+		EligibleTiles areaEligible = new EligibleTiles(areaTiles, t -> neighborAreaIds.contains(t.getId()));
+		// Boss tiles here already satisfy prerequisites via claimed ids; do not require a direct area prereq on the
+		// boss (e.g. Brutus only lists quest "Ides of Milk", which would wrongly exclude it from the boss roll).
+		EligibleTiles bossEligible = new EligibleTiles(bossTiles, t -> true);
+		EligibleTiles diaryEligible = new EligibleTiles(otherNonSkillTiles,
+			t -> WorldUnlockTileType.ACHIEVEMENT_DIARY.equals(t.getType()) && hasUnlockedAreaPrerequisite(t));
+		List<EligibleTiles> eligibleLists = Arrays.asList(skill1To10, questEligible, areaEligible, bossEligible, diaryEligible);
+		// Final fallback pool: never allow non-neighbor areas to populate, even as a fallback.
+		// This ensures the first revealed areas near the starter come from areas.json neighbor relationships.
+		List<WorldUnlockTile> fallbackTiles = new ArrayList<>();
+		for (WorldUnlockTile t : available)
+		{
+			if (!WorldUnlockTileType.AREA.equals(t.getType()) || neighborAreaIds.contains(t.getId()))
+				fallbackTiles.add(t);
+		}
+		Map<String, Integer> openSkillBands = lowestUnclaimedSkillBands(revealedTileIds);
+
 		// 8. Sort toAssign by spiral order (ring 1 first, then ring 2, then 3+)
 		Comparator<int[]> byDistFromCenter = (a, b) -> {
 			int da = chebyshevDist(a[0], a[1], 0, 0);
@@ -325,12 +496,6 @@ public class WorldUnlockService
 			if (a[0] != b[0]) return Integer.compare(a[0], b[0]);
 			return Integer.compare(a[1], b[1]);
 		};
-		List<int[]> toAssignRc = new ArrayList<>();
-		for (String pos : toAssign)
-		{
-			int[] rc = parsePos(pos);
-			if (rc != null) toAssignRc.add(rc);
-		}
 		toAssignRc.sort(byDistFromCenter);
 
 		// 9. Assign: rings 1–2 = only skill unlocks level 1–10; ring 3+ = weighted: skill, quest/boss (unlocked area prereq) ≥ neighbor area.
@@ -343,10 +508,9 @@ public class WorldUnlockService
 			if (ring <= 2)
 			{
 				// First two rings: only skill unlocks level 1–10
-				List<WorldUnlockTile> skill1To10 = skillTiles.stream().filter(WorldUnlockService::isSkillLevel1To10).collect(Collectors.toList());
 				if (!skill1To10.isEmpty())
 				{
-					chosen = skill1To10.get(rng.nextInt(skill1To10.size()));
+					chosen = skill1To10.tiles.get(rng.nextInt(skill1To10.tiles.size()));
 					skillTiles.remove(chosen);
 				}
 			}
@@ -354,18 +518,6 @@ public class WorldUnlockService
 			{
 				// Ring 3+: weighted roll with eligibility
 				double roll = rng.nextDouble();
-				List<WorldUnlockTile> questEligible = questTiles.stream().filter(this::hasUnlockedAreaPrerequisite).collect(Collectors.toList());
-				List<WorldUnlockTile> questLowestTier = lowestTierTiles(questEligible);
-				List<WorldUnlockTile> areaEligible = areaTiles.stream().filter(t -> neighborAreaIds.contains(t.getId())).collect(Collectors.toList());
-				List<WorldUnlockTile> areaLowestTier = lowestTierTiles(areaEligible);
-				// Boss tiles here already satisfy prerequisites via claimed ids; do not require a direct area prereq on the
-				// boss (e.g. Brutus only lists quest "Ides of Milk", which would wrongly exclude it from the boss roll).
-				List<WorldUnlockTile> bossEligible = new ArrayList<>(bossTiles);
-				List<WorldUnlockTile> bossLowestTier = lowestTierTiles(bossEligible);
-				List<WorldUnlockTile> diaryEligible = otherNonSkillTiles.stream()
-					.filter(t -> WorldUnlockTileType.ACHIEVEMENT_DIARY.equals(t.getType()) && hasUnlockedAreaPrerequisite(t))
-					.collect(Collectors.toList());
-				List<WorldUnlockTile> diaryLowestTier = lowestTierTiles(diaryEligible);
 
 				// Cumulative thresholds: base 65% / 12% / 10% / 10% / 3%; when bosses are eligible, shift 10% from skill → boss.
 				boolean bossRevealBoost = !bossEligible.isEmpty();
@@ -375,47 +527,42 @@ public class WorldUnlockService
 				double pBoss = pArea + (bossRevealBoost ? (0.10 + BOSS_REVEAL_BOOST_ROLL_SHARE) : 0.10);
 
 				if (roll < pSkill && !skillTiles.isEmpty())
-					chosen = chooseTileWithSkillBracketWeights(skillTiles, revealedTileIds, claimedIds, rng);
+					chosen = chooseTileWithSkillBracketWeights(skillTiles, openSkillBands, rng);
 				else if (roll < pQuest && !questEligible.isEmpty())
-					chosen = chooseFromLowestTier(questTiles, questEligible, questLowestTier, rng);
+					chosen = chooseFromLowestTier(questTiles, questEligible, rng);
 				else if (roll < pArea && !areaEligible.isEmpty())
-					chosen = chooseFromLowestTier(areaTiles, areaEligible, areaLowestTier, rng);
+					chosen = chooseFromLowestTier(areaTiles, areaEligible, rng);
 				else if (roll < pBoss && !bossEligible.isEmpty())
-					chosen = chooseFromLowestTier(bossTiles, bossEligible, bossLowestTier, rng);
+					chosen = chooseFromLowestTier(bossTiles, bossEligible, rng);
 				else if (!diaryEligible.isEmpty())
-					chosen = chooseFromLowestTier(otherNonSkillTiles, diaryEligible, diaryLowestTier, rng);
+					chosen = chooseFromLowestTier(otherNonSkillTiles, diaryEligible, rng);
 
 				// Fallback if rolled category was empty: skill → quest → area → boss → diary
 				if (chosen == null && !skillTiles.isEmpty())
-					chosen = chooseTileWithSkillBracketWeights(skillTiles, revealedTileIds, claimedIds, rng);
+					chosen = chooseTileWithSkillBracketWeights(skillTiles, openSkillBands, rng);
 				if (chosen == null && !questEligible.isEmpty())
-					chosen = chooseFromLowestTier(questTiles, questEligible, questLowestTier, rng);
+					chosen = chooseFromLowestTier(questTiles, questEligible, rng);
 				if (chosen == null && !areaEligible.isEmpty())
-					chosen = chooseFromLowestTier(areaTiles, areaEligible, areaLowestTier, rng);
+					chosen = chooseFromLowestTier(areaTiles, areaEligible, rng);
 				if (chosen == null && !bossEligible.isEmpty())
-					chosen = chooseFromLowestTier(bossTiles, bossEligible, bossLowestTier, rng);
+					chosen = chooseFromLowestTier(bossTiles, bossEligible, rng);
 				if (chosen == null && !diaryEligible.isEmpty())
-					chosen = chooseFromLowestTier(otherNonSkillTiles, diaryEligible, diaryLowestTier, rng);
+					chosen = chooseFromLowestTier(otherNonSkillTiles, diaryEligible, rng);
 			}
 
 			// Final fallback: always assign a tile to every revealed position so no empty gaps appear
 			if (chosen == null)
 			{
 				List<WorldUnlockTile> stillAvailable = new ArrayList<>();
-				for (WorldUnlockTile t : all)
+				for (WorldUnlockTile t : fallbackTiles)
 				{
-					if (t == centerTile) continue;
-					if (placedIds.contains(t.getId())) continue;
-					if (!prerequisitesSatisfied(t, satisfiedIds, claimedIds, revealedTileIds)) continue;
-					// Never allow non-neighbor areas to populate, even as a fallback.
-					// This ensures the first revealed areas near the starter come from areas.json neighbor relationships.
-					if (WorldUnlockTileType.AREA.equals(t.getType()) && !neighborAreaIds.contains(t.getId())) continue;
-					stillAvailable.add(t);
+					if (!placedIds.contains(t.getId()))
+						stillAvailable.add(t);
 				}
 				if (!stillAvailable.isEmpty())
 				{
 					double bossMult = bossTiles.isEmpty() ? 1.0 : BOSS_REVEAL_FALLBACK_WEIGHT_MULTIPLIER;
-					chosen = chooseTileWithRevealWeights(stillAvailable, revealedTileIds, claimedIds, rng, bossMult);
+					chosen = chooseTileWithRevealWeights(stillAvailable, openSkillBands, rng, bossMult);
 					skillTiles.remove(chosen);
 					questTiles.remove(chosen);
 					areaTiles.remove(chosen);
@@ -428,6 +575,8 @@ public class WorldUnlockService
 			{
 				gridState.put(pos, chosen.getId());
 				placedIds.add(chosen.getId());
+				for (EligibleTiles eligible : eligibleLists)
+					eligible.remove(chosen);
 			}
 		}
 
@@ -517,12 +666,12 @@ public class WorldUnlockService
 	 * Removes and returns one tile. Skill tiles that continue a chain before a lower revealed bracket is claimed use
 	 * {@link #SKILL_NEXT_BRACKET_WHILE_LOWER_UNCLAIMED_WEIGHT}; boss tiles use {@code bossPriorityMultiplier} on top when &gt; 1.
 	 */
-	private WorldUnlockTile chooseTileWithSkillBracketWeights(List<WorldUnlockTile> tiles, Set<String> revealedTileIds, Set<String> claimedIds, Random rng)
+	private static WorldUnlockTile chooseTileWithSkillBracketWeights(List<WorldUnlockTile> tiles, Map<String, Integer> openSkillBands, Random rng)
 	{
-		return chooseTileWithRevealWeights(tiles, revealedTileIds, claimedIds, rng, 1.0);
+		return chooseTileWithRevealWeights(tiles, openSkillBands, rng, 1.0);
 	}
 
-	private WorldUnlockTile chooseTileWithRevealWeights(List<WorldUnlockTile> tiles, Set<String> revealedTileIds, Set<String> claimedIds, Random rng, double bossPriorityMultiplier)
+	private static WorldUnlockTile chooseTileWithRevealWeights(List<WorldUnlockTile> tiles, Map<String, Integer> openSkillBands, Random rng, double bossPriorityMultiplier)
 	{
 		if (tiles == null || tiles.isEmpty())
 			return null;
@@ -532,7 +681,7 @@ public class WorldUnlockService
 		for (int i = 0; i < n; i++)
 		{
 			WorldUnlockTile t = tiles.get(i);
-			double w = isSkillNextBracketDeprioritized(t, revealedTileIds, claimedIds) ? SKILL_NEXT_BRACKET_WHILE_LOWER_UNCLAIMED_WEIGHT : 1.0;
+			double w = isSkillNextBracketDeprioritized(t, openSkillBands) ? SKILL_NEXT_BRACKET_WHILE_LOWER_UNCLAIMED_WEIGHT : 1.0;
 			if (bossPriorityMultiplier > 1.0 && WorldUnlockTileType.BOSS.equals(t.getType()))
 				w *= bossPriorityMultiplier;
 			weights[i] = w;
@@ -551,20 +700,12 @@ public class WorldUnlockService
 	}
 
 	/**
-	 * True if {@code candidate} is a skill tile strictly above another tile of the same skill that is already on the grid
-	 * and not yet claimed.
+	 * Lower-cased skill name -&gt; lowest level band among that skill's tiles that are on the grid and not yet claimed.
+	 * Built once per grid build for {@link #isSkillNextBracketDeprioritized}.
 	 */
-	private boolean isSkillNextBracketDeprioritized(WorldUnlockTile candidate, Set<String> revealedTileIds, Set<String> claimedIds)
+	private Map<String, Integer> lowestUnclaimedSkillBands(Set<String> revealedTileIds)
 	{
-		if (candidate == null || !WorldUnlockTileType.SKILL.equals(candidate.getType()))
-			return false;
-		TaskLink candLink = candidate.getTaskLink();
-		if (candLink == null || candLink.getSkillName() == null)
-			return false;
-		int candBand = getSkillLevelBand(candidate);
-		if (candBand < 0)
-			return false;
-		String skill = candLink.getSkillName();
+		Map<String, Integer> bands = new HashMap<>();
 		for (String tileId : revealedTileIds)
 		{
 			if (tileId == null || claimedIds.contains(tileId))
@@ -575,13 +716,29 @@ public class WorldUnlockService
 			TaskLink link = onGrid.getTaskLink();
 			if (link == null || link.getSkillName() == null)
 				continue;
-			if (!skill.equalsIgnoreCase(link.getSkillName()))
-				continue;
 			int band = getSkillLevelBand(onGrid);
-			if (band >= 0 && band < candBand)
-				return true;
+			if (band >= 0)
+				bands.merge(link.getSkillName().toLowerCase(), band, Math::min);
 		}
-		return false;
+		return bands;
+	}
+
+	/**
+	 * True if {@code candidate} is a skill tile strictly above another tile of the same skill that is already on the grid
+	 * and not yet claimed.
+	 */
+	private static boolean isSkillNextBracketDeprioritized(WorldUnlockTile candidate, Map<String, Integer> openSkillBands)
+	{
+		if (candidate == null || !WorldUnlockTileType.SKILL.equals(candidate.getType()))
+			return false;
+		TaskLink candLink = candidate.getTaskLink();
+		if (candLink == null || candLink.getSkillName() == null)
+			return false;
+		int candBand = getSkillLevelBand(candidate);
+		if (candBand < 0)
+			return false;
+		Integer openBand = openSkillBands.get(candLink.getSkillName().toLowerCase());
+		return openBand != null && openBand < candBand;
 	}
 
 	/** Puts tiles that are area type and whose id is in neighborAreaIds at the end, then shuffles each part. Used for ring 1–2 so skills 1–10 fill first. */
@@ -603,26 +760,15 @@ public class WorldUnlockService
 		return out;
 	}
 
-	/** Returns all tiles from eligible with the lowest tier present. */
-	private static List<WorldUnlockTile> lowestTierTiles(List<WorldUnlockTile> eligible)
-	{
-		if (eligible == null || eligible.isEmpty())
-			return Collections.emptyList();
-		int minTier = eligible.stream().mapToInt(t -> t.getTier() > 0 ? t.getTier() : Integer.MAX_VALUE).min().orElse(Integer.MAX_VALUE);
-		if (minTier == Integer.MAX_VALUE)
-			return Collections.emptyList();
-		return eligible.stream().filter(t -> t.getTier() == minTier).collect(Collectors.toList());
-	}
-
 	/**
 	 * Chooses from the lowest-tier eligible set when possible, otherwise from any eligible tile.
 	 * Used for quests, neighbor areas, bosses, and diaries so tier 1 appears before higher tiers when multiple are eligible.
 	 */
-	private static WorldUnlockTile chooseFromLowestTier(List<WorldUnlockTile> source, List<WorldUnlockTile> eligible,
-		List<WorldUnlockTile> lowestTierEligible, Random rng)
+	private static WorldUnlockTile chooseFromLowestTier(List<WorldUnlockTile> source, EligibleTiles eligible, Random rng)
 	{
-		List<WorldUnlockTile> pickFrom = (lowestTierEligible != null && !lowestTierEligible.isEmpty()) ? lowestTierEligible : eligible;
-		if (pickFrom == null || pickFrom.isEmpty())
+		List<WorldUnlockTile> lowestTier = eligible.lowestTier();
+		List<WorldUnlockTile> pickFrom = !lowestTier.isEmpty() ? lowestTier : eligible.tiles;
+		if (pickFrom.isEmpty())
 			return null;
 		WorldUnlockTile chosen = pickFrom.get(rng.nextInt(pickFrom.size()));
 		return removeRandom(source, chosen, rng);
@@ -636,11 +782,9 @@ public class WorldUnlockService
 	{
 		if (skillName == null || (skillName = skillName.trim()).isEmpty()) return null;
 		if (!loaded) load();
-		for (WorldUnlockTile t : tiles)
+		for (WorldUnlockTile t : skillTilesByName.getOrDefault(skillName.toLowerCase(), Collections.emptyList()))
 		{
-			if (!WorldUnlockTileType.SKILL.equals(t.getType())) continue;
 			TaskLink link = t.getTaskLink();
-			if (link == null || !skillName.equalsIgnoreCase(link.getSkillName())) continue;
 			Integer min = link.getLevelMin();
 			Integer max = link.getLevelMax();
 			if (min != null && max != null && level >= min && level <= max)
@@ -658,48 +802,18 @@ public class WorldUnlockService
 	{
 		if (prereq == null || (prereq = prereq.trim()).isEmpty()) return null;
 		if (!loaded) load();
-		for (WorldUnlockTile t : tiles)
-		{
-			if (prereq.equalsIgnoreCase(t.getId())) return t.getId();
-			if (t.getDisplayName() != null && prereq.equalsIgnoreCase(t.getDisplayName().trim())) return t.getId();
-		}
-		return null;
-	}
-
-	/**
-	 * True only when all prerequisites are satisfied (AND logic).
-	 * For {@link WorldUnlockTileType#QUEST} and {@link WorldUnlockTileType#BOSS} tiles, each prerequisite that resolves
-	 * to an unlock tile id must be in {@code claimedIds}.
-	 * For {@link WorldUnlockTileType#SKILL} tiles, each resolved prerequisite must be {@linkplain #claim claimed},
-	 * assigned on the grid ({@code revealedTileIds}), or {@linkplain #unlock unlocked}.
-	 * Other tile types: each prereq must be in {@code satisfiedIds} (typically unlocked ∪ claimed).
-	 */
-	private boolean prerequisitesSatisfied(WorldUnlockTile tile, Set<String> satisfiedIds, Set<String> claimedIds,
-		Set<String> revealedTileIds)
-	{
-		if (tile.getPrerequisites() == null || tile.getPrerequisites().isEmpty())
-			return true;
-		boolean requireClaimedPrereqs = WorldUnlockTileType.QUEST.equals(tile.getType())
-			|| WorldUnlockTileType.BOSS.equals(tile.getType());
-		boolean skillTile = WorldUnlockTileType.SKILL.equals(tile.getType());
-		return tile.getPrerequisites().stream().allMatch(prereq -> {
-			String tileId = resolvePrerequisiteToTileId(prereq);
-			String toCheck = (tileId != null) ? tileId : prereq.trim();
-			if (requireClaimedPrereqs && tileId != null)
-				return claimedIds.contains(tileId);
-			if (skillTile && tileId != null)
-				return claimedIds.contains(tileId) || revealedTileIds.contains(tileId) || unlockedIds.contains(tileId);
-			return satisfiedIds.contains(toCheck);
-		});
+		return tileIdsByName.get(prereq.toLowerCase());
 	}
 
-	/** Same id resolution as {@link #prerequisitesSatisfied}; prerequisites may use display name or id. */
-	private boolean isPrerequisiteUnlocked(String prereq)
+	/** True if every prerequisite of the tile is unlocked; prerequisites may use display name or id. */
+	private boolean prerequisitesUnlocked(WorldUnlockTile tile)
 	{
-		if (prereq == null) return false;
-		String tileId = resolvePrerequisiteToTileId(prereq);
-		String id = tileId != null ? tileId : prereq.trim();
-		return unlockedIds.contains(id);
+		for (Requirement.Token prereq : prerequisitesOf(tile))
+		{
+			if (!unlockedIds.contains(prereq.id()))
+				return false;
+		}
+		return true;
 	}
 
 	private static int chebyshevDist(int r1, int c1, int r2, int c2)
@@ -727,14 +841,9 @@ public class WorldUnlockService
 	/** True if at least one prerequisite resolves to an area tile that is currently unlocked on the world unlock grid. */
 	private boolean hasUnlockedAreaPrerequisite(WorldUnlockTile t)
 	{
-		if (t.getPrerequisites() == null || t.getPrerequisites().isEmpty()) return false;
-		for (String prereq : t.getPrerequisites())
+		for (Requirement.Token prereq : prerequisitesOf(t))
 		{
-			String tileId = resolvePrerequisiteToTileId(prereq);
-			String id = tileId != null ? tileId : prereq.trim();
-			if (!unlockedIds.contains(id)) continue;
-			WorldUnlockTile wt = getTileById(id);
-			if (wt != null && WorldUnlockTileType.AREA.equals(wt.getType()))
+			if (WorldUnlockTileType.AREA.equals(prereq.tileType) && unlockedIds.contains(prereq.tileId))
 				return true;
 		}
 		return false;
@@ -759,54 +868,115 @@ public class WorldUnlockService
 	 */
 	public boolean isRevealed(WorldUnlockTilePlacement placement, Set<String> claimed, List<WorldUnlockTilePlacement> grid)
 	{
-		int row = placement.getRow(), col = placement.getCol();
-		if (row == 0 && col == 0)
+		if (placement.getRow() == 0 && placement.getCol() == 0)
 			return true; // center (starter) is always revealed
+		return isRevealed(placement, claimed, claimedPositions(placementsByPosition(grid), claimed), gridTileIds(grid));
+	}
 
-		java.util.Map<String, String> posToId = new java.util.HashMap<>();
+	/**
+	 * Reveal state of every placement in {@code grid} plus its frontier fog, in one pass; use instead of calling
+	 * {@link #isRevealed(WorldUnlockTilePlacement, Set, List)} per placement, which rescans the grid each time.
+	 */
+	public GridRevealSnapshot getRevealSnapshot(List<WorldUnlockTilePlacement> grid, Set<String> claimed)
+	{
+		CoordMap<WorldUnlockTilePlacement> byPosition = placementsByPosition(grid);
+		CoordSet claimedPositions = claimedPositions(byPosition, claimed);
+		Set<String> gridTileIds = gridTileIds(grid);
+		Set<WorldUnlockTilePlacement> revealed = Collections.newSetFromMap(new IdentityHashMap<>());
+		CoordSet revealedPositions = new CoordSet(grid.size());
 		for (WorldUnlockTilePlacement p : grid)
-			posToId.put(p.getRow() + "," + p.getCol(), p.getTile().getId());
+		{
+			if (isRevealed(p, claimed, claimedPositions, gridTileIds))
+			{
+				revealed.add(p);
+				revealedPositions.add(GridCoord.of(p.getRow(), p.getCol()));
+			}
+		}
+		// Fog: cardinal neighbors of revealed unclaimed tiles that are not revealed positions (may be empty cells)
+		CoordSet fog = new CoordSet();
+		for (WorldUnlockTilePlacement p : grid)
+		{
+			if (!revealed.contains(p) || claimed.contains(p.getTile().getId())) continue;
+			int coord = GridCoord.of(p.getRow(), p.getCol());
+			for (int d = 0; d < 4; d++)
+			{
+				int n = GridCoord.neighbor(coord, d);
+				if (!revealedPositions.contains(n))
+					fog.add(n);
+			}
+		}
+		CoordSet revealedUnclaimed = new CoordSet();
+		for (int coord : byPosition.keys())
+		{
+			WorldUnlockTilePlacement p = byPosition.get(coord);
+			if (revealed.contains(p) && !claimed.contains(p.getTile().getId()))
+				revealedUnclaimed.add(coord);
+		}
+		return new GridRevealSnapshot(revealed, revealedUnclaimed, fog);
+	}
 
-		java.util.Set<String> claimedNeighborPositions = new java.util.HashSet<>();
-		for (String nPos : GridPos.neighbors4(row, col))
+	/** Placement per packed position; of several placements at one position, the last one wins. */
+	private static CoordMap<WorldUnlockTilePlacement> placementsByPosition(List<WorldUnlockTilePlacement> grid)
+	{
+		CoordMap<WorldUnlockTilePlacement> byPosition = new CoordMap<>(grid.size());
+		for (WorldUnlockTilePlacement p : grid)
+			byPosition.put(GridCoord.of(p.getRow(), p.getCol()), p);
+		return byPosition;
+	}
+
+	private static CoordSet claimedPositions(CoordMap<WorldUnlockTilePlacement> byPosition, Set<String> claimed)
+	{
+		CoordSet claimedPositions = new CoordSet(byPosition.size());
+		for (int coord : byPosition.keys())
+		{
+			if (claimed.contains(byPosition.get(coord).getTile().getId()))
+				claimedPositions.add(coord);
+		}
+		return claimedPositions;
+	}
+
+	/** Ids of every tile placed on the grid, whether or not revealed. */
+	private static Set<String> gridTileIds(List<WorldUnlockTilePlacement> grid)
+	{
+		Set<String> ids = new HashSet<>();
+		for (WorldUnlockTilePlacement p : grid)
 		{
-			String neighborId = posToId.get(nPos);
-			if (neighborId != null && claimed.contains(neighborId))
-				claimedNeighborPositions.add(nPos);
+			if (p != null && p.getTile() != null && p.getTile().getId() != null)
+				ids.add(p.getTile().getId());
 		}
-		if (!RevealLogic.revealedByClaimedPositions(row, col, claimedNeighborPositions))
+		return ids;
+	}
+
+	private boolean isRevealed(WorldUnlockTilePlacement placement, Set<String> claimed, CoordSet claimedPositions,
+		Set<String> gridTileIds)
+	{
+		int row = placement.getRow(), col = placement.getCol();
+		if (row == 0 && col == 0)
+			return true; // center (starter) is always revealed
+		if (!RevealLogic.revealedByClaimedCoords(row, col, claimedPositions))
 			return false;
 		WorldUnlockTile tile = placement.getTile();
 		if (tile != null && (WorldUnlockTileType.QUEST.equals(tile.getType()) || WorldUnlockTileType.BOSS.equals(tile.getType())))
 			return resolvedPrerequisitesAllClaimed(tile, claimed);
 		if (tile != null && WorldUnlockTileType.SKILL.equals(tile.getType()))
-			return skillPrerequisitesRevealedOrClaimed(tile, claimed, grid);
+			return skillPrerequisitesRevealedOrClaimed(tile, claimed, gridTileIds);
 		return true;
 	}
 
 	/**
-	 * Skill unlocks: prerequisite satisfied if claimed, placed on the grid, or unlocked (matches {@link #prerequisitesSatisfied}).
+	 * Skill unlocks: prerequisite satisfied if claimed, placed on the grid, or unlocked (matches {@link PrerequisiteGraph}).
 	 */
-	private boolean skillPrerequisitesRevealedOrClaimed(WorldUnlockTile tile, Set<String> claimedIds,
-		List<WorldUnlockTilePlacement> grid)
+	private boolean skillPrerequisitesRevealedOrClaimed(WorldUnlockTile tile, Set<String> claimedIds, Set<String> gridTileIds)
 	{
 		if (tile.getPrerequisites() == null || tile.getPrerequisites().isEmpty())
 			return true;
-		Set<String> revealedTileIds = new HashSet<>();
-		for (WorldUnlockTilePlacement p : grid)
+		for (Requirement.Token prereq : prerequisitesOf(tile))
 		{
-			if (p != null && p.getTile() != null && p.getTile().getId() != null)
-				revealedTileIds.add(p.getTile().getId());
-		}
-		Set<String> satisfiedIds = new HashSet<>(claimedIds);
-		satisfiedIds.addAll(unlockedIds);
-		return tile.getPrerequisites().stream().allMatch(prereq -> {
-			String tileId = resolvePrerequisiteToTileId(prereq);
-			String toCheck = (tileId != null) ? tileId : prereq.trim();
-			if (tileId != null)
-				return claimedIds.contains(tileId) || revealedTileIds.contains(tileId) || unlockedIds.contains(tileId);
-			return satisfiedIds.contains(toCheck);
-		});
+			String id = prereq.id();
+			if (!claimedIds.contains(id) && !unlockedIds.contains(id) && (prereq.tileId == null || !gridTileIds.contains(id)))
+				return false;
+		}
+		return true;
 	}
 
 	/** For quest/boss tiles: every prerequisite that maps to an unlock tile id must be in {@code claimedIds}. */
@@ -814,12 +984,12 @@ public class WorldUnlockService
 	{
 		if (tile.getPrerequisites() == null || tile.getPrerequisites().isEmpty())
 			return true;
-		return tile.getPrerequisites().stream().allMatch(prereq -> {
-			String tileId = resolvePrerequisiteToTileId(prereq);
-			if (tileId != null)
-				return claimedIds.contains(tileId);
-			return true;
-		});
+		for (Requirement.Token prereq : prerequisitesOf(tile))
+		{
+			if (prereq.tileId != null && !claimedIds.contains(prereq.tileId))
+				return false;
+		}
+		return true;
 	}
 
 	/** Returns the set of claimed tile ids (unlocked and action completed). Only claimed tiles reveal adjacent positions. */
@@ -905,10 +1075,11 @@ public class WorldUnlockService
 		Set<String> out = new HashSet<>(getUnlockedIds());
 		Set<String> claimed = getClaimedIds();
 		List<WorldUnlockTilePlacement> grid = getGrid();
+		GridRevealSnapshot reveal = getRevealSnapshot(grid, claimed);
 		for (WorldUnlockTilePlacement p : grid)
 		{
 			if (p == null || p.getTile() == null || p.getTile().getId() == null) continue;
-			if (!isRevealed(p, claimed, grid)) continue;
+			if (!reveal.isRevealed(p)) continue;
 			out.add(p.getTile().getId());
 		}
 		return out;
@@ -921,7 +1092,7 @@ public class WorldUnlockService
 		{
 			load();
 		}
-		return tiles.stream().filter(t -> id.equals(t.getId())).findFirst().orElse(null);
+		return id != null ? tilesById.get(id) : null;
 	}
 
 	/** Display name for the configured starter area (from areas.json when available), for use in the World Unlock panel. */
@@ -1107,15 +1278,9 @@ public class WorldUnlockService
 		{
 			return true; // already unlocked
 		}
-		if (tile.getPrerequisites() != null)
+		if (!prerequisitesUnlocked(tile))
 		{
-			for (String prereq : tile.getPrerequisites())
-			{
-				if (!isPrerequisiteUnlocked(prereq))
-				{
-					return false;
-				}
-			}
+			return false;
 		}
 		if (cost > 0 && !pointsService.spend(cost))
 		{
@@ -1140,7 +1305,7 @@ public class WorldUnlockService
 		{
 			return true;
 		}
-		return tile.getPrerequisites().stream().allMatch(this::isPrerequisiteUnlocked);
+		return prerequisitesUnlocked(tile);
 	}
 
 	/** Returns tiles that are not yet unlocked and whose prerequisites are satisfied. */
@@ -1359,15 +1524,34 @@ public class WorldUnlockService
 
 	/**
 	 * Returns the list of task definitions associated with this unlock tile (resolved from taskLink against tasks.json).
+	 * Resolved once per tile and task catalog; each call returns a new list.
 	 */
 	public List<TaskDefinition> getTasksForUnlock(String tileId)
+	{
+		TaskCatalog catalog = taskGridService.getTaskCatalog();
+		UnlockTasks cache = unlockTasks;
+		if (cache == null || cache.catalog != catalog)
+		{
+			cache = new UnlockTasks(catalog);
+			unlockTasks = cache;
+		}
+		if (tileId == null) return new ArrayList<>();
+		List<TaskDefinition> tasks = cache.byTileId.get(tileId);
+		if (tasks == null)
+		{
+			tasks = Collections.unmodifiableList(resolveTasksForUnlock(tileId, catalog));
+			cache.byTileId.put(tileId, tasks);
+		}
+		return new ArrayList<>(tasks);
+	}
+
+	private List<TaskDefinition> resolveTasksForUnlock(String tileId, TaskCatalog catalog)
 	{
 		WorldUnlockTile tile = getTileById(tileId);
 		if (tile == null || tile.getTaskLink() == null)
 		{
 			return Collections.emptyList();
 		}
-		List<TaskDefinition> all = taskGridService.getEffectiveDefaultTasks();
 		TaskLink link = tile.getTaskLink();
 		String linkType = link.getType() != null ? link.getType() : "";
 
@@ -1375,30 +1559,46 @@ public class WorldUnlockService
 		{
 			case WorldUnlockTileType.AREA:
 				// Tasks where task.area/areas contains this tile's id (area tile id = area id)
-				String areaId = tile.getId();
-				return all.stream()
-					.filter(t -> t.getRequiredAreaIds().contains(areaId))
-					.collect(Collectors.toList());
+				return new ArrayList<>(catalog.byArea(tile.getId()));
 			case WorldUnlockTileType.SKILL:
 				// taskType matches skillName, difficulty matches tier from level band (1-39->1, 40-59->2, 60-79->3, 80-89->4, 90-99->5)
 				String skillName = link.getSkillName();
 				int tier = levelBandToTier(link.getLevelMin() != null ? link.getLevelMin() : 1);
-				return all.stream()
-					.filter(t -> (skillName == null || skillName.equalsIgnoreCase(t.getTaskType())) && t.getDifficulty() == tier)
-					.collect(Collectors.toList());
+				return new ArrayList<>(skillName != null ? catalog.byTypeAndDifficulty(skillName, tier) : catalog.byDifficulty(tier));
 			case WorldUnlockTileType.TASK_FILTER:
-				return all.stream()
+			{
+				// Narrow by the indexed fields the filter pins down, then apply the full filter
+				List<TaskDefinition> candidates;
+				if (link.getTaskType() != null && link.getDifficulty() != null)
+					candidates = catalog.byTypeAndDifficulty(link.getTaskType(), link.getDifficulty());
+				else if (link.getTaskType() != null)
+					candidates = catalog.byType(link.getTaskType());
+				else if (link.getDifficulty() != null)
+					candidates = catalog.byDifficulty(link.getDifficulty());
+				else
+					candidates = catalog.all();
+				return candidates.stream()
 					.filter(t -> matchTaskFilter(tile, t, link))
 					.collect(Collectors.toList());
+			}
 			case "taskDisplayNames":
 				if (link.getTaskDisplayNames() == null || link.getTaskDisplayNames().isEmpty())
 					return Collections.emptyList();
+				// Display names are matched like task keys (trimmed, lower-cased); keep catalog order
 				java.util.Set<String> names = link.getTaskDisplayNames().stream()
 					.map(s -> s != null ? s.trim().toLowerCase() : "")
 					.collect(Collectors.toSet());
-				return all.stream()
-					.filter(t -> t.getDisplayName() != null && names.contains(t.getDisplayName().trim().toLowerCase()))
-					.collect(Collectors.toList());
+				List<TaskDefinition> named = new ArrayList<>();
+				for (String name : names)
+				{
+					for (TaskDefinition t : catalog.byKey(name))
+					{
+						if (t.getDisplayName() != null)
+							named.add(t);
+					}
+				}
+				named.sort(Comparator.comparingInt(catalog::indexOf));
+				return named;
 			default:
 				return Collections.emptyList();
 		}
@@ -0,0 +1,65 @@
+package com.gridscape.area;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileRegionTest
+{
+	private static List<int[]> square(int x1, int y1, int x2, int y2)
+	{
+		return Arrays.asList(new int[]{ x1, y1, 0 }, new int[]{ x2, y1, 0 }, new int[]{ x2, y2, 0 }, new int[]{ x1, y2, 0 });
+	}
+
+	@Test
+	public void differenceLeavesClassifiedHole()
+	{
+		TileRegion region = TileRegion.fromPolygon(square(0, 0, 10, 10));
+		region.subtract(square(3, 3, 6, 6));
+		Assert.assertEquals(91, region.tileCount());
+
+		List<TileRegion.Shell> shells = region.toShells();
+		Assert.assertEquals(1, shells.size());
+		Assert.assertEquals(4, shells.get(0).getOuter().size());
+		Assert.assertEquals(1, shells.get(0).getHoles().size());
+		Assert.assertEquals(4, shells.get(0).getHoles().get(0).size());
+	}
+
+	@Test
+	public void shellsRasterizeBackToSameTiles()
+	{
+		TileRegion region = TileRegion.fromPolygon(Arrays.asList(
+			new int[]{ 0, 0, 0 }, new int[]{ 20, 0, 0 }, new int[]{ 12, 15, 0 }));
+		region.subtract(square(5, 2, 9, 6));
+
+		TileRegion.Shell shell = region.toShells().get(0);
+		TileRegion back = TileRegion.fromPolygon(shell.getOuter());
+		for (List<int[]> hole : shell.getHoles())
+			back.subtract(hole);
+		for (int x = -2; x < 24; x++)
+		{
+			for (int y = -2; y < 18; y++)
+				Assert.assertEquals("tile " + x + "," + y, region.contains(x, y), back.contains(x, y));
+		}
+	}
+
+	@Test
+	public void diagonallyTouchingUnionStaysSeparateShells()
+	{
+		TileRegion region = TileRegion.fromPolygon(square(0, 0, 2, 2));
+		region.add(square(2, 2, 4, 4));
+		Assert.assertEquals(8, region.tileCount());
+		Assert.assertEquals(2, region.toShells().size());
+	}
+
+	@Test
+	public void intersectKeepsOverlapOnly()
+	{
+		TileRegion region = TileRegion.fromPolygon(square(0, 0, 10, 10));
+		region.intersect(square(5, 5, 15, 15));
+		Assert.assertEquals(25, region.tileCount());
+		Assert.assertTrue(region.contains(5, 5));
+		Assert.assertFalse(region.contains(4, 5));
+	}
+}
@@ -0,0 +1,55 @@
+package com.gridscape.grid;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChunkedGridTest
+{
+	@Test
+	public void matchesHashMapUnderRandomPuts()
+	{
+		Random rnd = new Random(5);
+		ChunkedGrid grid = new ChunkedGrid();
+		Map<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 50000; i++)
+		{
+			int row = rnd.nextInt(100) - 50, col = rnd.nextInt(100) - 50;
+			int c = GridCoord.of(row, col);
+			if (rnd.nextBoolean())
+			{
+				int value = rnd.nextInt(4);
+				Integer previous = value != 0 ? expected.put(c, value) : expected.remove(c);
+				Assert.assertEquals(previous != null ? (int) previous : 0, grid.put(row, col, value));
+			}
+			else
+				Assert.assertEquals(expected.getOrDefault(c, 0).intValue(), grid.get(row, col));
+		}
+		Assert.assertEquals(expected.size(), grid.size());
+		Map<Integer, Integer> visited = new HashMap<>();
+		grid.forEach((row, col, value, state) -> {
+			if (value != 0) visited.put(GridCoord.of(row, col), value);
+		});
+		Assert.assertEquals(expected, visited);
+	}
+
+	@Test
+	public void copyIsIndependentAndKeepsStates()
+	{
+		ChunkedGrid grid = new ChunkedGrid();
+		grid.put(-17, 3, 9);
+		grid.setState(-17, 3, (byte) 1);
+		grid.setState(40, -40, (byte) 3);
+		ChunkedGrid copy = grid.copy();
+		copy.put(-17, 3, 0);
+		copy.setState(40, -40, (byte) 0);
+		Assert.assertEquals(9, grid.get(-17, 3));
+		Assert.assertTrue(grid.hasState(40, -40, 3));
+		Assert.assertEquals(0, copy.get(-17, 3));
+		Assert.assertEquals(0, copy.size());
+		Assert.assertTrue(copy.hasState(-17, 3, 1));
+		Assert.assertFalse(copy.hasState(40, -40, 1));
+	}
+}
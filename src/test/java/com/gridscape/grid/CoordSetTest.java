@@ -0,0 +1,57 @@
+package com.gridscape.grid;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CoordSetTest
+{
+	@Test
+	public void packAndParseRoundTrip()
+	{
+		int c = GridCoord.parse(" -3 , 7");
+		Assert.assertEquals(-3, GridCoord.row(c));
+		Assert.assertEquals(7, GridCoord.col(c));
+		Assert.assertEquals("-32767,32767", GridCoord.toId(GridCoord.of(-32767, 32767)));
+		Assert.assertEquals(GridCoord.NONE, GridCoord.parse("1,x"));
+		Assert.assertEquals(GridCoord.NONE, GridCoord.parse("1"));
+		Assert.assertEquals(GridCoord.of(0, -1), GridCoord.neighbor(GridCoord.of(0, 0), 3));
+	}
+
+	@Test
+	public void matchesHashSetUnderRandomAddRemove()
+	{
+		Random rnd = new Random(1);
+		CoordSet set = new CoordSet();
+		Set<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 50000; i++)
+		{
+			int c = GridCoord.of(rnd.nextInt(60) - 30, rnd.nextInt(60) - 30);
+			switch (rnd.nextInt(3))
+			{
+				case 0: Assert.assertEquals(expected.add(c), set.add(c)); break;
+				case 1: Assert.assertEquals(expected.remove(c), set.remove(c)); break;
+				default: Assert.assertEquals(expected.contains(c), set.contains(c)); break;
+			}
+		}
+		Assert.assertEquals(expected.size(), set.size());
+		for (int c : set.toArray())
+			Assert.assertTrue(expected.contains(c));
+	}
+
+	@Test
+	public void revealedAroundIncludesCenterClaimedAndNeighbors()
+	{
+		CoordSet claimed = new CoordSet();
+		claimed.add(GridCoord.of(2, 0));
+		CoordSet revealed = RevealLogic.revealedAround(claimed);
+		Assert.assertEquals(6, revealed.size());
+		Assert.assertTrue(revealed.contains(0, 0));
+		Assert.assertTrue(revealed.contains(3, 0));
+		Assert.assertFalse(revealed.contains(1, 1));
+		Assert.assertTrue(RevealLogic.revealedByClaimedCoords(2, 1, claimed));
+		Assert.assertFalse(RevealLogic.revealedByClaimedCoords(1, 1, claimed));
+	}
+}
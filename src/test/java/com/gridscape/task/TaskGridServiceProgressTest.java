@@ -0,0 +1,85 @@
+package com.gridscape.task;
+
+import com.gridscape.GridScapeConfig;
+import com.gridscape.area.AreaGraphService;
+import com.gridscape.points.AreaCompletionService;
+import com.gridscape.points.PointsService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.client.config.ConfigManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Task progress write-back in TaskGridService: claims must reach config before the debounce timer fires, so a profile
+ * switch ({@link TaskGridService#reloadProgress()}) cannot drop a claim whose points were already paid.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class TaskGridServiceProgressTest
+{
+	private static final String STATE_GROUP = com.gridscape.util.GridScapeConfigConstants.STATE_GROUP;
+	private static final String AREA = "lumbridge";
+
+	@Mock
+	private ConfigManager configManager;
+
+	@Mock
+	private GridScapeConfig config;
+
+	@Mock
+	private PointsService pointsService;
+
+	@Mock
+	private AreaCompletionService areaCompletionService;
+
+	@Mock
+	private AreaGraphService areaGraphService;
+
+	@Mock
+	private QuestStateService questStateService;
+
+	private final Map<String, String> stored = new HashMap<>();
+	private final List<TaskTile> tiles = Arrays.asList(
+		TaskTile.of("0,0", 0, "Free", 0, 0, 0),
+		TaskTile.of("1,0", 1, "Chop some Logs", 10, 1, 0));
+	private TaskGridService service;
+
+	@Before
+	public void setUp()
+	{
+		when(configManager.getConfiguration(eq(STATE_GROUP), anyString())).thenAnswer(inv -> stored.get(inv.getArgument(1)));
+		doAnswer(inv -> stored.put(inv.getArgument(1), inv.getArgument(2)))
+			.when(configManager).setConfiguration(eq(STATE_GROUP), anyString(), anyString());
+
+		service = spy(new TaskGridService(configManager, config, pointsService, areaCompletionService,
+			areaGraphService, questStateService));
+		doReturn(TaskGrid.of(tiles)).when(service).getTaskGrid(AREA);
+	}
+
+	@Test
+	public void claimInsideDebounceWindowSurvivesReload()
+	{
+		service.setClaimed(AREA, "1,0");
+		// Profile switch before the debounce timer has fired
+		service.reloadProgress();
+
+		assertEquals(TaskState.CLAIMED, service.getState(AREA, "1,0", tiles));
+		assertEquals(0, service.setClaimed(AREA, "1,0"));
+		verify(areaCompletionService, times(1)).addEarnedInArea(AREA, 10);
+	}
+}
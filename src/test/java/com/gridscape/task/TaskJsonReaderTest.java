@@ -0,0 +1,192 @@
+package com.gridscape.task;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link TaskJsonReader} against the JsonParser tree plus per-task deserializer it replaced (kept here as
+ * {@link #LEGACY_GSON}): both must give equal {@link TaskDefinition}s for the bundled tasks and for the odd inputs the
+ * old path accepted.
+ */
+public class TaskJsonReaderTest
+{
+	/** The former TaskGridService deserializer, unchanged. */
+	private static final JsonDeserializer<TaskDefinition> LEGACY_DESERIALIZER = (json, typeOfT, context) ->
+	{
+		JsonObject obj = json.getAsJsonObject();
+		TaskDefinition def = new TaskDefinition();
+		if (obj.has("displayName")) def.setDisplayName(obj.get("displayName").getAsString());
+		if (obj.has("taskType")) def.setTaskType(obj.get("taskType").getAsString());
+		if (obj.has("difficulty")) def.setDifficulty(obj.get("difficulty").getAsInt());
+		if (obj.has("area"))
+		{
+			JsonElement areaEl = obj.get("area");
+			List<String> list = new ArrayList<>();
+			if (areaEl.isJsonArray())
+			{
+				for (JsonElement e : areaEl.getAsJsonArray())
+					list.add(e.getAsString().trim());
+			}
+			else if (areaEl.isJsonPrimitive())
+			{
+				for (String part : areaEl.getAsString().split(","))
+				{
+					String id = part.trim();
+					if (!id.isEmpty()) list.add(id);
+				}
+			}
+			if (list.size() == 1)
+				def.setArea(list.get(0));
+			else if (list.size() > 1)
+				def.setAreas(list);
+		}
+		if (obj.has("f2p")) def.setF2p(obj.get("f2p").getAsBoolean());
+		if (obj.has("requirements")) def.setRequirements(obj.get("requirements").getAsString());
+		if (obj.has("areaRequirement")) def.setAreaRequirement(obj.get("areaRequirement").getAsString());
+		if (obj.has("onceOnly")) def.setOnceOnly(obj.get("onceOnly").getAsBoolean());
+		if (obj.has("bossId")) def.setBossId(obj.get("bossId").getAsString());
+		return def;
+	};
+
+	private static final Gson LEGACY_GSON = new GsonBuilder()
+		.registerTypeAdapter(TaskDefinition.class, LEGACY_DESERIALIZER)
+		.create();
+
+	private static final Type LIST_TASK_DEFINITION = new TypeToken<List<TaskDefinition>>(){}.getType();
+
+	/** The former tasks file / built-in parse: a root array, or an object with defaultTasks. */
+	private static TasksData legacyTasksData(String json)
+	{
+		JsonElement root = JsonParser.parseString(json);
+		if (root.isJsonArray())
+		{
+			List<TaskDefinition> list = LEGACY_GSON.fromJson(root, LIST_TASK_DEFINITION);
+			TasksData data = new TasksData();
+			data.setDefaultTasks(list != null ? list : new ArrayList<>());
+			return data;
+		}
+		return LEGACY_GSON.fromJson(root, TasksData.class);
+	}
+
+	/** The former custom tasks parse. */
+	private static List<TaskDefinition> legacyTaskList(String json)
+	{
+		return LEGACY_GSON.fromJson(json, LIST_TASK_DEFINITION);
+	}
+
+	private static TasksData read(String json) throws IOException
+	{
+		return TaskJsonReader.readTasksData(new StringReader(json));
+	}
+
+	private static List<TaskDefinition> readList(String json) throws IOException
+	{
+		return TaskJsonReader.readTaskList(new StringReader(json));
+	}
+
+	private static void assertSameAsLegacy(String json) throws IOException
+	{
+		Assert.assertEquals(json, legacyTasksData(json), read(json));
+		if (json.trim().startsWith("["))
+			Assert.assertEquals(json, legacyTaskList(json), readList(json));
+	}
+
+	@Test
+	public void bundledTasksMatchLegacyParse() throws IOException
+	{
+		String json;
+		try (InputStream in = TaskJsonReaderTest.class.getResourceAsStream("/tasks.json"))
+		{
+			Assert.assertNotNull(in);
+			StringBuilder sb = new StringBuilder();
+			char[] buf = new char[8192];
+			InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+			for (int n; (n = reader.read(buf)) > 0; )
+				sb.append(buf, 0, n);
+			json = sb.toString();
+		}
+		TasksData legacy = legacyTasksData(json);
+		TasksData read = read(json);
+		Assert.assertTrue(legacy.getDefaultTasks().size() > 1000);
+		Assert.assertEquals(legacy.getDefaultTasks().size(), read.getDefaultTasks().size());
+		for (int i = 0; i < legacy.getDefaultTasks().size(); i++)
+			Assert.assertEquals("task " + i, legacy.getDefaultTasks().get(i), read.getDefaultTasks().get(i));
+		Assert.assertEquals(legacy, read);
+	}
+
+	@Test
+	public void areaStringAndArrayFormsMatchLegacy() throws IOException
+	{
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":\"lumbridge\"}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":\" lumbridge , draynor,varrock \"}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":\"lumbridge,\"}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":\" , \"}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":[\"lumbridge\"]}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":[\" lumbridge \",\"draynor\"]}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":[]}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":null}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"area\":{\"id\":\"lumbridge\"}}]");
+
+		List<TaskDefinition> read = readList("[{\"area\":\"lumbridge, draynor\"},{\"area\":[\"varrock\"]}]");
+		Assert.assertEquals(Arrays.asList("lumbridge", "draynor"), read.get(0).getAreas());
+		Assert.assertNull(read.get(0).getArea());
+		Assert.assertEquals("varrock", read.get(1).getArea());
+		Assert.assertNull(read.get(1).getAreas());
+	}
+
+	@Test
+	public void missingAndNullOptionalFieldsMatchLegacy() throws IOException
+	{
+		assertSameAsLegacy("[{}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\"}]");
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"difficulty\":\"3\",\"f2p\":\"true\",\"onceOnly\":false}]");
+		assertSameAsLegacy("[null,{\"displayName\":\"A\"}]");
+		assertSameAsLegacy("[]");
+		assertSameAsLegacy("{}");
+		assertSameAsLegacy("{\"defaultTasks\":null}");
+		assertSameAsLegacy("{\"defaultTasks\":[{\"displayName\":\"A\"}],\"areas\":null}");
+		assertSameAsLegacy("{\"defaultTasks\":[],\"areas\":{\"lumbridge\":{\"tasks\":[{\"displayName\":\"B\"}]},\"draynor\":null}}");
+		Assert.assertNull(readList("null"));
+		Assert.assertNull(legacyTaskList("null"));
+
+		TaskDefinition def = readList("[{\"displayName\":\"A\"}]").get(0);
+		Assert.assertEquals(1, def.getDifficulty());
+		Assert.assertNull(def.getTaskType());
+		Assert.assertNull(def.getF2p());
+		Assert.assertNull(def.getOnceOnly());
+	}
+
+	@Test
+	public void nullScalarFieldIsTreatedAsMissing() throws IOException
+	{
+		// The legacy deserializer threw on these (JsonNull has no value), dropping the whole payload
+		String json = "[{\"displayName\":\"A\",\"taskType\":null,\"difficulty\":null,\"f2p\":null,\"requirements\":null,"
+			+ "\"areaRequirement\":null,\"onceOnly\":null,\"bossId\":null}]";
+		Assert.assertEquals(legacyTaskList("[{\"displayName\":\"A\"}]"), readList(json));
+	}
+
+	@Test
+	public void unknownKeysAreSkipped() throws IOException
+	{
+		assertSameAsLegacy("[{\"displayName\":\"A\",\"notes\":\"x\",\"tags\":[1,[2],{\"a\":null}],\"meta\":{\"b\":{\"c\":[]}},"
+			+ "\"difficulty\":4,\"extra\":null,\"bossId\":\"obor\"}]");
+		assertSameAsLegacy("{\"version\":2,\"defaultTasks\":[{\"displayName\":\"A\",\"x\":{}}],\"comment\":[\"y\"],"
+			+ "\"areas\":{\"lumbridge\":{\"note\":1,\"tasks\":[{\"displayName\":\"B\",\"y\":true}]}}}");
+	}
+}
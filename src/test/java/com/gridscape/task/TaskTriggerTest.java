@@ -0,0 +1,61 @@
+package com.gridscape.task;
+
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TaskTriggerTest
+{
+	private static TaskDefinition task(String name, String type)
+	{
+		TaskDefinition t = new TaskDefinition();
+		t.setDisplayName(name);
+		t.setTaskType(type);
+		return t;
+	}
+
+	private static TaskTrigger only(String name, String type)
+	{
+		List<TaskTrigger> triggers = TaskTrigger.compile(task(name, type));
+		Assert.assertEquals(name, 1, triggers.size());
+		return triggers.get(0);
+	}
+
+	@Test
+	public void compilesLevelTasks()
+	{
+		TaskTrigger combat = only("Reach 25 Combat Level", "Level");
+		Assert.assertEquals(TaskTrigger.Kind.SKILL_LEVEL, combat.getKind());
+		Assert.assertEquals(TaskTrigger.COMBAT, combat.getKey());
+		Assert.assertEquals(25, combat.getAmount());
+		Assert.assertEquals(TaskTrigger.TOTAL, only("Reach Total Level 500", "Level").getKey());
+		Assert.assertEquals(TaskTrigger.ANY_SKILL, only("Achieve your first Level 10", "Level").getKey());
+		TaskTrigger skill = only("Reach level 50 Woodcutting", null);
+		Assert.assertEquals("WOODCUTTING", skill.getKey());
+		Assert.assertEquals(50, skill.getAmount());
+	}
+
+	@Test
+	public void compilesKillCountsOnlyForKillCountTasks()
+	{
+		TaskTrigger kc = only("Defeat Kalphite Queen 5 times", "killCount");
+		Assert.assertEquals(TaskTrigger.Kind.KILL_COUNT, kc.getKind());
+		Assert.assertEquals("kalphite queen", kc.getKey());
+		Assert.assertEquals(5, kc.getAmount());
+		Assert.assertEquals(1, only("Defeat Brutus", "killCount").getAmount());
+		Assert.assertTrue(TaskTrigger.compile(task("Defeat an Ice Warrior beneath Mudskipper Point", "Combat")).isEmpty());
+	}
+
+	@Test
+	public void compilesItemsQuestsAndClues()
+	{
+		List<TaskTrigger> obtain = TaskTrigger.compile(task("Obtain A Spirit angler top", "Collection Log"));
+		Assert.assertEquals(2, obtain.size());
+		Assert.assertEquals("spirit angler top", obtain.get(0).getKey());
+		Assert.assertEquals(TaskTrigger.Kind.EQUIP, only("Equip a Bronze Spear", "Equipment").getKind());
+		Assert.assertEquals("quest:restless ghost", only("Complete the Restless Ghost", "Quest").getKey());
+		Assert.assertEquals("clue:easy", only("Complete an Easy Clue", "Clue Scroll").getKey());
+		Assert.assertTrue(TaskTrigger.compile(task("Complete a Beginner Clue in Lumbridge", "Clue Scroll")).isEmpty());
+		Assert.assertTrue(TaskTrigger.compile(task("Browse the Seamstress' store", "Other")).isEmpty());
+	}
+}
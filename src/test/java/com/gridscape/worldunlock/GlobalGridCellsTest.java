@@ -0,0 +1,65 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.grid.GridCoord;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlobalGridCellsTest
+{
+	@Test
+	public void journalReplaysOverBaseState()
+	{
+		String journal = GlobalGridCells.appendJournal("", Arrays.asList(
+			GlobalGridCells.assignEntry(GridCoord.of(0, 1), "burn some logs"),
+			GlobalGridCells.claimEntry(GridCoord.of(1, 0)),
+			GlobalGridCells.assignEntry(GridCoord.of(1, 0), "unknown")));
+		GlobalGridCells cells = GlobalGridCells.parse("1,0##chop some logs||-1,0##fish shrimp", "", journal, true);
+
+		Assert.assertEquals(3, cells.journalEntries);
+		Assert.assertEquals("unknown", cells.taskKeyAt(1, 0));
+		Assert.assertEquals("burn some logs", cells.taskKeyAt(0, 1));
+		Assert.assertEquals("fish shrimp", cells.taskKeyAt(-1, 0));
+		Assert.assertTrue(cells.isClaimed(0, 0));
+		Assert.assertTrue(cells.isClaimed(1, 0));
+		Assert.assertTrue(cells.isRevealed(2, 0));
+		Assert.assertFalse(cells.isRevealed(2, 1));
+		Assert.assertEquals(0, cells.positionsOf("chop some logs").length);
+	}
+
+	@Test
+	public void compactedStringsParseToSameCells()
+	{
+		GlobalGridCells cells = GlobalGridCells.parse("0,1##a||0,-1##b", "0,1", "", false)
+			.withClaim(GridCoord.of(0, -1));
+		String journal = GlobalGridCells.appendJournal("", Collections.singletonList(
+			GlobalGridCells.assignEntry(GridCoord.of(0, 2), "c")));
+		GlobalGridCells journaled = GlobalGridCells.parse("0,1##a||0,-1##b", "0,1", journal, false);
+		GlobalGridCells compacted = GlobalGridCells.parse(journaled.gridStateString(),
+			cells.claimedPositionsString(), "", false);
+
+		Assert.assertEquals(3, compacted.size());
+		Assert.assertEquals("c", compacted.taskKeyAt(0, 2));
+		Assert.assertTrue(compacted.isClaimed(0, 1));
+		Assert.assertTrue(compacted.isClaimed(0, -1));
+		Assert.assertFalse(compacted.isClaimed(0, 0));
+		Assert.assertArrayEquals(new int[]{ GridCoord.of(0, -1) }, compacted.positionsOf(" B "));
+	}
+
+	@Test
+	public void claimedCenterStaysOutOfClaimedPositions()
+	{
+		String journal = GlobalGridCells.appendJournal("", Collections.singletonList(
+			GlobalGridCells.claimEntry(GridCoord.of(1, 0))));
+		GlobalGridCells cells = GlobalGridCells.parse("1,0##chop some logs", "", journal, true);
+
+		String claimedRaw = cells.claimedPositionsString();
+		Assert.assertEquals("1,0", claimedRaw);
+		GlobalGridCells compacted = GlobalGridCells.parse(cells.gridStateString(), claimedRaw, "", true);
+		Assert.assertTrue(compacted.isClaimed(0, 0));
+		Assert.assertTrue(compacted.isClaimed(1, 0));
+		Assert.assertEquals(claimedRaw, compacted.claimedPositionsString());
+		Assert.assertFalse(GlobalGridCells.parse(cells.gridStateString(), claimedRaw, "", false).isClaimed(0, 0));
+	}
+}
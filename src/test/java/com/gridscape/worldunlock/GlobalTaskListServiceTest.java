@@ -2,6 +2,7 @@ package com.gridscape.worldunlock;
 
 import com.gridscape.GridScapeConfig;
 import com.gridscape.points.PointsService;
+import com.gridscape.task.TaskCatalog;
 import com.gridscape.task.TaskDefinition;
 import com.gridscape.task.TaskGridService;
 import com.gridscape.task.TaskState;
@@ -85,6 +86,13 @@ public class GlobalTaskListServiceTest
 			worldUnlockService, taskGridService);
 	}
 
+	/** Stubs the effective task list and its catalog. */
+	private void stubTasks(List<TaskDefinition> tasks)
+	{
+		lenient().when(taskGridService.getEffectiveDefaultTasks()).thenReturn(tasks);
+		lenient().when(taskGridService.getTaskCatalog()).thenReturn(TaskCatalog.of(tasks));
+	}
+
 	/** Create a simple task for testing. */
 	private TaskDefinition task(String displayName, int difficulty)
 	{
@@ -106,7 +114,7 @@ public class GlobalTaskListServiceTest
 			task("Chop some Logs", 1),
 			task("Burn some Logs", 1)
 		);
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(noAreaTasks);
+		stubTasks(noAreaTasks);
 
 		List<TaskDefinition> result = service.getGlobalTasks();
 
@@ -121,7 +129,7 @@ public class GlobalTaskListServiceTest
 		when(configManager.getConfiguration(eq(STATE_GROUP), eq(KEY_CENTER_CLAIMED))).thenReturn(null);
 		when(worldUnlockService.getUnlockedIds()).thenReturn(Collections.emptySet());
 		when(worldUnlockService.getTiles()).thenReturn(Collections.emptyList());
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(Collections.emptyList());
+		stubTasks(Collections.emptyList());
 
 		List<TaskTile> grid = service.buildGlobalGrid(12345);
 
@@ -149,7 +157,7 @@ public class GlobalTaskListServiceTest
 		);
 		when(worldUnlockService.getUnlockedIds()).thenReturn(Collections.emptySet());
 		when(worldUnlockService.getTiles()).thenReturn(Collections.emptyList());
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(tasks);
+		stubTasks(tasks);
 
 		List<TaskTile> grid = service.buildGlobalGrid(12345);
 
@@ -226,7 +234,7 @@ public class GlobalTaskListServiceTest
 
 		when(worldUnlockService.getUnlockedIds()).thenReturn(Collections.emptySet());
 		when(worldUnlockService.getTiles()).thenReturn(Collections.emptyList());
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(allTasks);
+		stubTasks(allTasks);
 
 		List<TaskTile> grid = service.buildGlobalGrid(12345);
 
@@ -247,7 +255,7 @@ public class GlobalTaskListServiceTest
 		cl.setBossId("zulrah");
 		cl.setOnceOnly(true);
 
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(Collections.singletonList(cl));
+		stubTasks(Collections.singletonList(cl));
 		when(worldUnlockService.getUnlockedIds()).thenReturn(new HashSet<>(Arrays.asList("isafdar", "zulrah")));
 		when(worldUnlockService.getTasksForUnlock(anyString())).thenReturn(Collections.emptyList());
 
@@ -288,7 +296,7 @@ public class GlobalTaskListServiceTest
 		cl.setBossId("zulrah");
 		cl.setOnceOnly(true);
 
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(Collections.singletonList(cl));
+		stubTasks(Collections.singletonList(cl));
 		when(worldUnlockService.getUnlockedIds()).thenReturn(new HashSet<>(Collections.singletonList("isafdar")));
 		when(worldUnlockService.getTasksForUnlock(anyString())).thenReturn(Collections.emptyList());
 
@@ -317,6 +325,48 @@ public class GlobalTaskListServiceTest
 		assertFalse(result.stream().anyMatch(t -> "Obtain a Tanzanite fang".equals(t.getDisplayName())));
 	}
 
+	@Test
+	public void collectionLogWithBossIdJoinsGlobalTasksWhenBossUnlockedLater()
+	{
+		TaskDefinition cl = new TaskDefinition();
+		cl.setDisplayName("Obtain a Tanzanite fang");
+		cl.setTaskType("Collection Log");
+		cl.setDifficulty(4);
+		cl.setArea("isafdar");
+		cl.setRequirements("zulrah");
+		cl.setBossId("zulrah");
+		TaskDefinition other = task("Chop some Logs", 1);
+
+		stubTasks(Arrays.asList(cl, other));
+		when(worldUnlockService.getUnlockedIds()).thenReturn(new HashSet<>(Collections.singletonList("isafdar")));
+		WorldUnlockTile boss = new WorldUnlockTile();
+		boss.setType("boss");
+		boss.setId("zulrah");
+		WorldUnlockTile area = new WorldUnlockTile();
+		area.setType("area");
+		area.setId("isafdar");
+		when(worldUnlockService.getTiles()).thenReturn(Arrays.asList(boss, area));
+		when(worldUnlockService.resolvePrerequisiteToTileId(anyString())).thenAnswer(invocation -> {
+			String t = ((String) invocation.getArgument(0)).trim();
+			return "zulrah".equalsIgnoreCase(t) || "isafdar".equalsIgnoreCase(t) ? t.toLowerCase() : null;
+		});
+		when(worldUnlockService.getTileById(eq("zulrah"))).thenReturn(boss);
+		when(worldUnlockService.getTileById(eq("isafdar"))).thenReturn(area);
+		when(worldUnlockService.getUnlockedDiaryTierKeys()).thenReturn(Collections.emptySet());
+
+		List<TaskDefinition> before = service.getGlobalTasks();
+		assertFalse(before.stream().anyMatch(t -> "Obtain a Tanzanite fang".equals(t.getDisplayName())));
+		assertTrue(before.stream().anyMatch(t -> "Chop some Logs".equals(t.getDisplayName())));
+
+		when(worldUnlockService.getUnlockedIds()).thenReturn(new HashSet<>(Arrays.asList("isafdar", "zulrah")));
+		List<TaskDefinition> after = service.getGlobalTasks();
+		assertEquals(Arrays.asList("Obtain a Tanzanite fang", "Chop some Logs"),
+			Arrays.asList(after.get(0).getDisplayName(), after.get(1).getDisplayName()));
+
+		when(worldUnlockService.getUnlockedIds()).thenReturn(new HashSet<>(Collections.singletonList("isafdar")));
+		assertFalse(service.getGlobalTasks().stream().anyMatch(t -> "Obtain a Tanzanite fang".equals(t.getDisplayName())));
+	}
+
 	@Test
 	public void killCountChainNextStepOnlyAfterPreviousClaimed()
 	{
@@ -334,7 +384,7 @@ public class GlobalTaskListServiceTest
 		second.setArea("lumbridge");
 		second.setRequirements("Defeat Brutus");
 
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(Arrays.asList(first, second));
+		stubTasks(Arrays.asList(first, second));
 		when(worldUnlockService.getUnlockedIds()).thenReturn(new HashSet<>(Arrays.asList("lumbridge", "quest_ides")));
 		when(worldUnlockService.getTasksForUnlock(anyString())).thenReturn(Collections.emptyList());
 
@@ -387,7 +437,7 @@ public class GlobalTaskListServiceTest
 		when(configManager.getConfiguration(eq(STATE_GROUP), eq(KEY_PSEUDO_CENTER))).thenReturn("0,0");
 		when(worldUnlockService.getUnlockedIds()).thenReturn(Collections.emptySet());
 		when(worldUnlockService.getTiles()).thenReturn(Collections.emptyList());
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(tasks);
+		stubTasks(tasks);
 		when(worldUnlockService.getUnlockedOrRevealedTileIds()).thenReturn(Collections.emptySet());
 		when(worldUnlockService.getUnlockedDiaryTierKeys()).thenReturn(Collections.emptySet());
 		lenient().when(worldUnlockService.getSkillTileIdForLevel(anyString(), anyInt())).thenReturn(null);
@@ -439,7 +489,7 @@ public class GlobalTaskListServiceTest
 		});
 		when(worldUnlockService.getTileById(eq("zulrah"))).thenReturn(boss);
 		when(worldUnlockService.getUnlockedIds()).thenReturn(Collections.emptySet());
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(tasks);
+		stubTasks(tasks);
 		when(worldUnlockService.getUnlockedOrRevealedTileIds()).thenReturn(Collections.emptySet());
 		when(worldUnlockService.getUnlockedDiaryTierKeys()).thenReturn(Collections.emptySet());
 		lenient().when(worldUnlockService.getSkillTileIdForLevel(anyString(), anyInt())).thenReturn(null);
@@ -493,7 +543,7 @@ public class GlobalTaskListServiceTest
 		}
 		when(worldUnlockService.getTiles()).thenReturn(Collections.emptyList());
 		when(worldUnlockService.getUnlockedIds()).thenReturn(Collections.emptySet());
-		when(taskGridService.getEffectiveDefaultTasks()).thenReturn(tasks);
+		stubTasks(tasks);
 		when(worldUnlockService.getUnlockedOrRevealedTileIds()).thenReturn(Collections.emptySet());
 		when(worldUnlockService.getUnlockedDiaryTierKeys()).thenReturn(Collections.emptySet());
 		lenient().when(worldUnlockService.getSkillTileIdForLevel(anyString(), anyInt())).thenReturn(null);
@@ -517,4 +567,46 @@ public class GlobalTaskListServiceTest
 		assertTrue("CL without boss should be rarely picked: " + clAssignments + "/" + total,
 			clAssignments < total * 0.14);
 	}
+
+	@Test
+	public void ringBonusPaidWhenPoolRunsOutPartwayThroughRing()
+	{
+		Map<String, String> store = new HashMap<>();
+		when(configManager.getConfiguration(eq(STATE_GROUP), anyString())).thenAnswer(inv -> store.get(inv.getArgument(1)));
+		doAnswer(inv -> {
+			store.put(inv.getArgument(1), inv.getArgument(2));
+			return null;
+		}).when(configManager).setConfiguration(eq(STATE_GROUP), anyString(), anyString());
+		store.put(KEY_CENTER_CLAIMED, "true");
+		store.put(KEY_PSEUDO_CENTER, "0,0");
+
+		// Five tasks: the four cardinal cells, then the first diagonal revealed; the other three ring 1 cells stay empty
+		List<TaskDefinition> tasks = new ArrayList<>();
+		for (int i = 0; i < 5; i++)
+			tasks.add(task("Mine ore " + i, 1));
+		when(worldUnlockService.getTiles()).thenReturn(Collections.emptyList());
+		when(worldUnlockService.getUnlockedIds()).thenReturn(Collections.emptySet());
+		stubTasks(tasks);
+		when(worldUnlockService.getUnlockedOrRevealedTileIds()).thenReturn(Collections.emptySet());
+		when(worldUnlockService.getUnlockedDiaryTierKeys()).thenReturn(Collections.emptySet());
+		lenient().when(worldUnlockService.getSkillTileIdForLevel(anyString(), anyInt())).thenReturn(null);
+
+		int[][] claimOrder = { { -1, 0 }, { 0, -1 }, { 0, 1 }, { 1, 0 }, { -1, -1 } };
+		for (int i = 0; i < claimOrder.length; i++)
+		{
+			int row = claimOrder[i][0], col = claimOrder[i][1];
+			TaskTile tile = service.buildGlobalGrid(12345).stream()
+				.filter(t -> t.getRow() == row && t.getCol() == col)
+				.findFirst()
+				.orElse(null);
+			assertNotNull("no task at " + row + "," + col, tile);
+			int bonus = service.claimTask(GlobalTaskListService.taskKeyFromName(tile.getDisplayName()), row, col);
+			assertEquals("bonus after claim " + (i + 1), i == claimOrder.length - 1 ? 10 : 0, bonus);
+		}
+
+		long ringOneTiles = service.buildGlobalGrid(12345).stream()
+			.filter(t -> Math.max(Math.abs(t.getRow()), Math.abs(t.getCol())) == 1)
+			.count();
+		assertEquals(5, ringOneTiles);
+	}
 }
@@ -0,0 +1,184 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.task.TaskCatalog;
+import com.gridscape.task.TaskDefinition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlobalTaskPoolTest
+{
+	/** Synthetic gated task: needs its tile unlocked, an optional claimed key and optional pooled prerequisites. */
+	private static final class Spec
+	{
+		final TaskDefinition task = new TaskDefinition();
+		final String tile;
+		final String claimed;
+		final List<String> prerequisites;
+
+		Spec(String name, String tile, String claimed, String... prerequisites)
+		{
+			task.setDisplayName(name);
+			this.tile = tile;
+			this.claimed = claimed;
+			this.prerequisites = new ArrayList<>();
+			for (String p : prerequisites)
+				this.prerequisites.add(TaskCatalog.keyOfName(p));
+		}
+	}
+
+	private static GlobalTaskPool pool(List<Spec> specs)
+	{
+		List<TaskDefinition> candidates = new ArrayList<>();
+		List<GlobalTaskPool.Dependencies> dependencies = new ArrayList<>();
+		for (Spec s : specs)
+		{
+			candidates.add(s.task);
+			GlobalTaskPool.Dependencies d = new GlobalTaskPool.Dependencies();
+			d.tileIds.add(s.tile);
+			if (s.claimed != null)
+				d.claimedKeys.add(s.claimed);
+			d.taskKeys.addAll(s.prerequisites);
+			dependencies.add(d);
+		}
+		return new GlobalTaskPool(TaskCatalog.of(candidates), candidates, dependencies);
+	}
+
+	private static GlobalTaskPool.Gate gate(List<Spec> specs, Set<String> unlocked, Set<String> claimed)
+	{
+		Map<TaskDefinition, Spec> byTask = new IdentityHashMap<>();
+		for (Spec s : specs)
+			byTask.put(s.task, s);
+		return (task, inPool) -> {
+			Spec s = byTask.get(task);
+			if (!unlocked.contains(s.tile)) return false;
+			if (s.claimed != null && !claimed.contains(s.claimed)) return false;
+			for (String key : s.prerequisites)
+			{
+				if (inPool.apply(key) == null) return false;
+			}
+			return true;
+		};
+	}
+
+	private static List<String> names(List<TaskDefinition> tasks)
+	{
+		List<String> out = new ArrayList<>();
+		for (TaskDefinition t : tasks)
+			out.add(t.getDisplayName());
+		return out;
+	}
+
+	/** Applies {@code unlocked}/{@code claimed} to {@code live} by update (rebuilding if refused) and compares with a fresh rebuild. */
+	private static void assertUpdateMatchesRebuild(List<Spec> specs, GlobalTaskPool live, Set<String> unlocked, Set<String> claimed)
+	{
+		GlobalTaskPool.Gate gate = gate(specs, unlocked, claimed);
+		if (!live.update(unlocked, claimed, Collections.emptyMap(), gate))
+			live.rebuild(unlocked, claimed, Collections.emptyMap(), gate);
+		GlobalTaskPool fresh = pool(specs);
+		fresh.rebuild(unlocked, claimed, Collections.emptyMap(), gate);
+		Assert.assertEquals("unlocked=" + unlocked + " claimed=" + claimed, names(fresh.tasks()), names(live.tasks()));
+	}
+
+	@Test
+	public void prerequisiteRankedLaterIsNotSeenByUpdate()
+	{
+		// Non-killCount tasks come before killCount ones, so the bones task is ranked ahead of the boss it requires
+		List<Spec> specs = new ArrayList<>();
+		specs.add(new Spec("Bury some Brutus Bones", "cow", null, "Defeat Brutus"));
+		specs.add(new Spec("Defeat Brutus", "brutus", null));
+		GlobalTaskPool live = pool(specs);
+		Set<String> unlocked = new HashSet<>();
+		Set<String> claimed = new HashSet<>();
+		assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+		unlocked.add("cow");
+		assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+		unlocked.add("brutus");
+		assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+		Assert.assertEquals(Collections.singletonList("Defeat Brutus"), names(live.tasks()));
+	}
+
+	@Test
+	public void explicitTaskAddedByUpdateReplacesCandidateAndFeedsDependents()
+	{
+		List<Spec> specs = new ArrayList<>();
+		specs.add(new Spec("Bury some Brutus Bones", "cow", null, "Defeat Brutus"));
+		specs.add(new Spec("Defeat Brutus", "brutus", null));
+		TaskDefinition listed = new TaskDefinition();
+		listed.setDisplayName("Defeat Brutus");
+		Map<String, TaskDefinition> explicit = Collections.singletonMap(TaskCatalog.keyOf(listed), listed);
+		Set<String> unlocked = new HashSet<>();
+		unlocked.add("cow");
+		unlocked.add("brutus");
+		Set<String> claimed = Collections.emptySet();
+		GlobalTaskPool.Gate gate = gate(specs, unlocked, claimed);
+
+		GlobalTaskPool live = pool(specs);
+		live.rebuild(Collections.singleton("cow"), claimed, Collections.emptyMap(), gate(specs, Collections.singleton("cow"), claimed));
+		Assert.assertTrue(live.update(unlocked, claimed, explicit, gate));
+		GlobalTaskPool fresh = pool(specs);
+		fresh.rebuild(unlocked, claimed, explicit, gate);
+		Assert.assertEquals(names(fresh.tasks()), names(live.tasks()));
+		Assert.assertSame(listed, live.tasks().get(0));
+		Assert.assertEquals(2, live.tasks().size());
+	}
+
+	@Test
+	public void duplicateKeyKeepsFirstEligibleCandidate()
+	{
+		List<Spec> specs = new ArrayList<>();
+		specs.add(new Spec("Catch a Shrimp", "a", "net"));
+		specs.add(new Spec("Catch a Shrimp", "b", null));
+		specs.add(new Spec("Cook a Shrimp", "b", null, "Catch a Shrimp"));
+		GlobalTaskPool live = pool(specs);
+		Set<String> unlocked = new HashSet<>();
+		Set<String> claimed = new HashSet<>();
+		assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+		unlocked.add("b");
+		assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+		unlocked.add("a");
+		claimed.add("net");
+		assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+		Assert.assertSame(specs.get(0).task, live.tasks().get(0));
+	}
+
+	@Test
+	public void randomUnlockAndClaimSequencesMatchRebuild()
+	{
+		for (long seed = 1; seed <= 50; seed++)
+		{
+			Random rnd = new Random(seed);
+			List<Spec> specs = new ArrayList<>();
+			int n = 30;
+			for (int i = 0; i < n; i++)
+			{
+				String name = "Task " + rnd.nextInt(n - 5);
+				String tile = "t" + rnd.nextInt(8);
+				String claimed = rnd.nextInt(4) == 0 ? "c" + rnd.nextInt(4) : null;
+				List<String> prerequisites = new ArrayList<>();
+				for (int p = rnd.nextInt(3); p > 0; p--)
+					prerequisites.add("Task " + rnd.nextInt(n - 5));
+				specs.add(new Spec(name, tile, claimed, prerequisites.toArray(new String[0])));
+			}
+			GlobalTaskPool live = pool(specs);
+			Set<String> unlocked = new HashSet<>();
+			Set<String> claimed = new HashSet<>();
+			assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+			for (int step = 0; step < 12; step++)
+			{
+				if (rnd.nextBoolean())
+					unlocked.add("t" + rnd.nextInt(8));
+				else
+					claimed.add("c" + rnd.nextInt(4));
+				assertUpdateMatchesRebuild(specs, live, unlocked, claimed);
+			}
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.task.TaskDefinition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlobalTaskSamplerTest
+{
+	private static List<TaskDefinition> tasks(int n, Random rnd)
+	{
+		List<TaskDefinition> out = new ArrayList<>();
+		for (int i = 0; i < n; i++)
+		{
+			TaskDefinition t = new TaskDefinition();
+			t.setDisplayName("Task " + i);
+			t.setDifficulty(1 + rnd.nextInt(5));
+			t.setTaskType(rnd.nextInt(4) == 0 ? "Collection Log" : "Other");
+			out.add(t);
+		}
+		return out;
+	}
+
+	private static boolean deprioritized(TaskDefinition t)
+	{
+		return "Collection Log".equals(t.getTaskType());
+	}
+
+	private static double weight(TaskDefinition t, boolean clDown)
+	{
+		double w = 1.0 + (t.getDisplayName().hashCode() & 3) * 0.5;
+		return clDown && deprioritized(t) ? w * 0.28 : w;
+	}
+
+	private static GlobalTaskSampler sampler(List<TaskDefinition> tasks)
+	{
+		return new GlobalTaskSampler(tasks, 5, TaskDefinition::getDifficulty, GlobalTaskSamplerTest::deprioritized,
+			GlobalTaskSamplerTest::weight);
+	}
+
+	/** Draw probabilities of a linear scan over the lowest remaining tier, which the sampler should match. */
+	private static Map<TaskDefinition, Double> expectedOdds(List<TaskDefinition> remaining)
+	{
+		int minTier = remaining.stream().mapToInt(TaskDefinition::getDifficulty).min().getAsInt();
+		List<TaskDefinition> candidates = new ArrayList<>();
+		for (TaskDefinition t : remaining)
+		{
+			if (t.getDifficulty() == minTier)
+				candidates.add(t);
+		}
+		boolean clDown = candidates.stream().anyMatch(t -> !deprioritized(t));
+		double total = 0.0;
+		for (TaskDefinition t : candidates)
+			total += weight(t, clDown);
+		Map<TaskDefinition, Double> odds = new HashMap<>();
+		for (TaskDefinition t : candidates)
+			odds.put(t, weight(t, clDown) / total);
+		return odds;
+	}
+
+	@Test
+	public void drawsEachTaskOnceFromLowestTier()
+	{
+		List<TaskDefinition> all = tasks(400, new Random(3));
+		GlobalTaskSampler sampler = sampler(all);
+		List<TaskDefinition> remaining = new ArrayList<>(all);
+		Random rnd = new Random(42);
+		while (!remaining.isEmpty())
+		{
+			Set<TaskDefinition> allowed = expectedOdds(remaining).keySet();
+			TaskDefinition actual = sampler.pickAndRemove(rnd);
+			Assert.assertTrue(allowed.contains(actual));
+			Assert.assertTrue(remaining.remove(actual));
+		}
+		Assert.assertTrue(sampler.isEmpty());
+		Assert.assertNull(sampler.pickAndRemove(rnd));
+	}
+
+	@Test
+	public void drawsFollowLinearScanOdds()
+	{
+		List<TaskDefinition> all = tasks(12, new Random(5));
+		Random rnd = new Random(11);
+		int rounds = 40_000;
+		for (int removed = 0; removed < 3; removed++)
+		{
+			// Draw the next task from the same state many times; a fixed prefix of draws fixes the state
+			List<TaskDefinition> remaining = new ArrayList<>(all);
+			Map<TaskDefinition, Integer> counts = new HashMap<>();
+			for (int r = 0; r < rounds; r++)
+			{
+				GlobalTaskSampler sampler = sampler(all);
+				Random prefix = new Random(99);
+				for (int k = 0; k < removed; k++)
+					sampler.pickAndRemove(prefix);
+				counts.merge(sampler.pickAndRemove(rnd), 1, Integer::sum);
+			}
+			Random prefix = new Random(99);
+			GlobalTaskSampler replay = sampler(all);
+			for (int k = 0; k < removed; k++)
+				remaining.remove(replay.pickAndRemove(prefix));
+			Map<TaskDefinition, Double> odds = expectedOdds(remaining);
+			Assert.assertEquals(odds.keySet(), counts.keySet());
+			for (Map.Entry<TaskDefinition, Double> e : odds.entrySet())
+				Assert.assertEquals(e.getValue(), counts.get(e.getKey()) / (double) rounds, 0.01);
+		}
+	}
+
+	@Test
+	public void sameSeedSameOrder()
+	{
+		List<TaskDefinition> all = tasks(200, new Random(9));
+		GlobalTaskSampler first = sampler(all);
+		GlobalTaskSampler second = sampler(all);
+		Random a = new Random(7);
+		Random b = new Random(7);
+		while (!first.isEmpty())
+			Assert.assertSame(first.pickAndRemove(a), second.pickAndRemove(b));
+	}
+}
@@ -0,0 +1,131 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.constants.WorldUnlockTileType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrerequisiteGraphTest
+{
+	private static final Set<String> NONE = Collections.emptySet();
+
+	private final Map<String, WorldUnlockTile> tilesById = new HashMap<>();
+	/** Resolves prerequisites against {@link #tilesById}, as the loaded service does against its tiles. */
+	private final WorldUnlockService service = new WorldUnlockService(null, null, null, null, null)
+	{
+		@Override
+		public String resolvePrerequisiteToTileId(String prereq)
+		{
+			return tilesById.containsKey(prereq) ? prereq : null;
+		}
+
+		@Override
+		public WorldUnlockTile getTileById(String id)
+		{
+			return tilesById.get(id);
+		}
+	};
+
+	private WorldUnlockTile tile(String type, String id, String... prerequisites)
+	{
+		WorldUnlockTile t = new WorldUnlockTile();
+		t.setType(type);
+		t.setId(id);
+		t.setPrerequisites(Arrays.asList(prerequisites));
+		tilesById.put(id, t);
+		return t;
+	}
+
+	private PrerequisiteGraph graph(WorldUnlockTile... tiles)
+	{
+		return new PrerequisiteGraph(Arrays.asList(tiles), t -> {
+			List<Requirement.Token> tokens = new ArrayList<>();
+			for (String p : t.getPrerequisites())
+				tokens.add(Requirement.prerequisite(p, service));
+			return tokens;
+		});
+	}
+
+	private static Set<String> ids(String... ids)
+	{
+		return new HashSet<>(Arrays.asList(ids));
+	}
+
+	@Test
+	public void readyFollowsPrerequisiteAsItTogglesBackAndForth()
+	{
+		WorldUnlockTile lumbridge = tile(WorldUnlockTileType.AREA, "lumbridge");
+		WorldUnlockTile draynor = tile(WorldUnlockTileType.AREA, "draynor", "lumbridge");
+		PrerequisiteGraph graph = graph(lumbridge, draynor);
+
+		Assert.assertEquals(BitSet.valueOf(new long[]{ 0b01 }), graph.ready(NONE, NONE, NONE));
+		Assert.assertTrue(graph.ready(NONE, ids("lumbridge"), NONE).get(1));
+		Assert.assertFalse(graph.ready(NONE, NONE, NONE).get(1));
+		Assert.assertTrue(graph.ready(ids("lumbridge"), NONE, NONE).get(1));
+		Assert.assertTrue(graph.ready(ids("lumbridge"), ids("lumbridge"), NONE).get(1));
+		Assert.assertFalse(graph.ready(NONE, NONE, ids("lumbridge")).get(1));
+	}
+
+	@Test
+	public void questAndBossTilePrerequisitesMustBeClaimed()
+	{
+		WorldUnlockTile varrock = tile(WorldUnlockTileType.AREA, "varrock");
+		WorldUnlockTile quest = tile(WorldUnlockTileType.QUEST, "demon_slayer", "varrock");
+		WorldUnlockTile boss = tile(WorldUnlockTileType.BOSS, "obor", "varrock");
+		PrerequisiteGraph graph = graph(varrock, quest, boss);
+
+		BitSet unlockedOnly = graph.ready(NONE, ids("varrock"), ids("varrock"));
+		Assert.assertFalse(unlockedOnly.get(1));
+		Assert.assertFalse(unlockedOnly.get(2));
+		BitSet claimed = graph.ready(ids("varrock"), NONE, NONE);
+		Assert.assertTrue(claimed.get(1));
+		Assert.assertTrue(claimed.get(2));
+	}
+
+	@Test
+	public void questPrerequisiteThatIsNotATileAcceptsUnlocked()
+	{
+		WorldUnlockTile quest = tile(WorldUnlockTileType.QUEST, "dragon_slayer", "Some Quest Text");
+		PrerequisiteGraph graph = graph(quest);
+
+		Assert.assertFalse(graph.ready(NONE, NONE, NONE).get(0));
+		Assert.assertTrue(graph.ready(NONE, ids("Some Quest Text"), NONE).get(0));
+	}
+
+	@Test
+	public void skillTilePrerequisiteMayJustBeRevealed()
+	{
+		WorldUnlockTile low = tile(WorldUnlockTileType.SKILL, "mining_1_10");
+		WorldUnlockTile high = tile(WorldUnlockTileType.SKILL, "mining_11_20", "mining_1_10");
+		WorldUnlockTile area = tile(WorldUnlockTileType.AREA, "mining_guild", "mining_1_10");
+		PrerequisiteGraph graph = graph(low, high, area);
+
+		BitSet revealed = graph.ready(NONE, NONE, ids("mining_1_10"));
+		Assert.assertTrue(revealed.get(1));
+		Assert.assertFalse(revealed.get(2));
+		Assert.assertFalse(graph.ready(NONE, NONE, NONE).get(1));
+		Assert.assertTrue(graph.ready(NONE, ids("mining_1_10"), NONE).get(1));
+	}
+
+	@Test
+	public void prerequisiteListedTwiceCountsBothEdges()
+	{
+		WorldUnlockTile lumbridge = tile(WorldUnlockTileType.AREA, "lumbridge");
+		WorldUnlockTile twice = tile(WorldUnlockTileType.AREA, "al_kharid", "lumbridge", "lumbridge");
+		PrerequisiteGraph graph = graph(lumbridge, twice);
+
+		Assert.assertFalse(graph.ready(NONE, NONE, NONE).get(1));
+		Assert.assertTrue(graph.ready(ids("lumbridge"), NONE, NONE).get(1));
+		Assert.assertFalse(graph.ready(NONE, NONE, NONE).get(1));
+		Assert.assertTrue(graph.ready(NONE, ids("lumbridge"), NONE).get(1));
+		Assert.assertSame(twice, graph.tile(1));
+	}
+}
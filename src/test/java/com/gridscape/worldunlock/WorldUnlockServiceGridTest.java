@@ -0,0 +1,127 @@
+package com.gridscape.worldunlock;
+
+import com.gridscape.GridScapeConfig;
+import com.gridscape.area.AreaGraphService;
+import com.gridscape.points.PointsService;
+import com.gridscape.task.TaskGridService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.client.config.ConfigManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Seeded regression for {@link WorldUnlockService#getGrid()}: claims the first claimable revealed tile 40 times from a
+ * fixed start area and seed, and compares the layouts with ones recorded from the per-call prerequisite scan that
+ * {@link PrerequisiteGraph} replaced.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class WorldUnlockServiceGridTest
+{
+	private static final int STEPS = 40;
+
+	@Mock
+	private ConfigManager configManager;
+
+	@Mock
+	private GridScapeConfig config;
+
+	@Mock
+	private PointsService pointsService;
+
+	@Mock
+	private TaskGridService taskGridService;
+
+	private final Map<String, String> stored = new HashMap<>();
+
+	@Before
+	public void setUp()
+	{
+		when(configManager.getConfiguration(anyString(), anyString())).thenAnswer(inv -> stored.get(inv.getArgument(1)));
+		doAnswer(inv -> stored.put(inv.getArgument(1), inv.getArgument(2)))
+			.when(configManager).setConfiguration(anyString(), anyString(), anyString());
+	}
+
+	private static String layout(List<WorldUnlockTilePlacement> grid)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (WorldUnlockTilePlacement p : grid)
+			sb.append(p.getRow()).append(',').append(p.getCol()).append('=').append(p.getTile().getId()).append(' ');
+		return sb.toString();
+	}
+
+	/** Runs the claim walk; returns the first layout, then the hash of every layout, then the final size and hash. */
+	private String[] walk(String start, int seed)
+	{
+		stored.clear();
+		when(config.startingArea()).thenReturn(start);
+		AreaGraphService areaGraphService = new AreaGraphService(configManager);
+		areaGraphService.reloadAreas();
+		WorldUnlockService service = new WorldUnlockService(configManager, config, pointsService, taskGridService,
+			areaGraphService);
+		service.unlock(start, 0);
+		stored.put("worldUnlockGridSeed", Integer.toString(seed));
+
+		String first = null;
+		StringBuilder all = new StringBuilder();
+		for (int step = 0; step < STEPS; step++)
+		{
+			List<WorldUnlockTilePlacement> grid = service.getGrid();
+			String layout = layout(grid);
+			if (first == null) first = layout;
+			all.append(layout).append('\n');
+			String pick = null;
+			for (WorldUnlockTilePlacement p : grid)
+			{
+				String id = p.getTile().getId();
+				if (service.getClaimedIds().contains(id)) continue;
+				if (!service.isRevealed(p, service.getClaimedIds(), grid)) continue;
+				if (!service.getUnlockedIds().contains(id) && !service.isUnlockable(p.getTile())) continue;
+				pick = id;
+				break;
+			}
+			if (pick == null) break;
+			service.unlock(pick, 0);
+			service.claim(pick);
+		}
+		List<WorldUnlockTilePlacement> last = service.getGrid();
+		return new String[]{ first, Integer.toString(all.toString().hashCode()),
+			last.size() + " " + layout(last).hashCode() };
+	}
+
+	@Test
+	public void lumbridgeSeed0()
+	{
+		String[] walk = walk("lumbridge", 0);
+		assertEquals("0,0=lumbridge -1,0=fletching_1_10 0,-1=agility_1_10 0,1=mining_1_10 1,0=magic_1_10 ", walk[0]);
+		assertEquals("-1996146651", walk[1]);
+		assertEquals("66 -1370493114", walk[2]);
+	}
+
+	@Test
+	public void lumbridgeSeed5()
+	{
+		String[] walk = walk("lumbridge", 5);
+		assertEquals("0,0=lumbridge -1,0=agility_1_10 0,-1=mining_1_10 0,1=firemaking_1_10 1,0=crafting_1_10 ", walk[0]);
+		assertEquals("-568338522", walk[1]);
+		assertEquals("66 -2093646669", walk[2]);
+	}
+
+	@Test
+	public void varrockSeed2()
+	{
+		String[] walk = walk("varrock", 2);
+		assertEquals("0,0=varrock -1,0=agility_1_10 0,-1=smithing_1_10 0,1=thieving_1_10 1,0=mining_1_10 ", walk[0]);
+		assertEquals("705696853", walk[1]);
+		assertEquals("66 1959186366", walk[2]);
+	}
+}